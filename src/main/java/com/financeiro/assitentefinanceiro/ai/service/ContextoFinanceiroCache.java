@@ -0,0 +1,68 @@
+package com.financeiro.assitentefinanceiro.ai.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.evento.OuvinteMovimentacao;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Parte do contexto financeiro do assistente derivada das movimentações, por conta. A entrada da conta é descartada
+ * quando chega um evento de movimentação dela; a expiração cobre a virada do mês, que muda os totais do mês sem
+ * nenhuma escrita.
+ */
+@Service
+public class ContextoFinanceiroCache implements OuvinteMovimentacao {
+
+    private final Cache<Long, Map<String, Object>> contextos;
+    private final Counter cacheCounter;
+    private final Counter montagemCounter;
+
+    public ContextoFinanceiroCache(MeterRegistry meterRegistry,
+            @Value("${financeiro.ia.contexto.maximo-contas:1000}") long maximoContas,
+            @Value("${financeiro.ia.contexto.expiracao-minutos:10}") long expiracaoMinutos) {
+        this.contextos = Caffeine.newBuilder()
+                .maximumSize(maximoContas)
+                .expireAfterWrite(Duration.ofMinutes(expiracaoMinutos))
+                .build();
+        this.cacheCounter = contadorConsultas(meterRegistry, "cache");
+        this.montagemCounter = contadorConsultas(meterRegistry, "montagem");
+    }
+
+    public Map<String, Object> obter(Long contaId, Function<Long, Map<String, Object>> montar) {
+        Map<String, Object> contexto = contextos.getIfPresent(contaId);
+        if (contexto != null) {
+            cacheCounter.increment();
+            return contexto;
+        }
+        contexto = Map.copyOf(montar.apply(contaId));
+        montagemCounter.increment();
+        contextos.put(contaId, contexto);
+        return contexto;
+    }
+
+    @Override
+    public String getNome() {
+        return "contexto-ia";
+    }
+
+    @Override
+    public void processar(List<EventoMovimentacao> eventos) {
+        contextos.invalidateAll(eventos.stream().map(EventoMovimentacao::getContaId).distinct().toList());
+    }
+
+    private static Counter contadorConsultas(MeterRegistry meterRegistry, String origem) {
+        return Counter.builder("assitentefinanceiro_ia_contexto_consultas_total")
+                .description("Consultas ao contexto financeiro do assistente por origem")
+                .tag("origem", origem)
+                .register(meterRegistry);
+    }
+}
@@ -2,10 +2,13 @@ package com.financeiro.assitentefinanceiro.ai.service;
 
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
 import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.financeiro.analise.AcumuladorCentavos;
+import com.financeiro.assitentefinanceiro.financeiro.analise.ColunasMovimentacao;
 import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
-import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
 import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.AnaliseColunarService;
 import com.financeiro.assitentefinanceiro.financeiro.service.MetaEconomiaService;
 import com.financeiro.assitentefinanceiro.financeiro.service.MovimentacaoFinanceiraService;
 import org.slf4j.Logger;
@@ -19,26 +22,37 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class IADinamicaService {
 
     private static final Logger logger = LoggerFactory.getLogger(IADinamicaService.class);
+    private static final ColunasMovimentacao.Filtro CONCLUIDAS =
+        ColunasMovimentacao.Filtro.TODAS.comStatus(StatusMovimentacao.CONCLUIDA);
+    private static final ColunasMovimentacao.Filtro RECEITAS_CONCLUIDAS = CONCLUIDAS.comTipos(TipoMovimentacao.RECEITA);
+    private static final ColunasMovimentacao.Filtro DESPESAS_CONCLUIDAS = CONCLUIDAS.comTipos(TipoMovimentacao.DESPESA);
 
     private final MetaEconomiaService metaEconomiaService;
     private final MovimentacaoFinanceiraService movimentacaoFinanceiraService;
     private final CadastroContaService cadastroContaService;
     private final ChatClient.Builder chatClientBuilder;
+    private final AnaliseColunarService analiseColunarService;
+    private final ContextoFinanceiroCache contextoCache;
 
     public IADinamicaService(
             MetaEconomiaService metaEconomiaService,
             MovimentacaoFinanceiraService movimentacaoFinanceiraService,
             CadastroContaService cadastroContaService,
-            ChatClient.Builder chatClientBuilder) {
+            ChatClient.Builder chatClientBuilder,
+            AnaliseColunarService analiseColunarService,
+            ContextoFinanceiroCache contextoCache) {
         this.metaEconomiaService = metaEconomiaService;
         this.movimentacaoFinanceiraService = movimentacaoFinanceiraService;
         this.cadastroContaService = cadastroContaService;
         this.chatClientBuilder = chatClientBuilder;
+        this.analiseColunarService = analiseColunarService;
+        this.contextoCache = contextoCache;
     }
 
     public String responderPromptDinamico(String prompt, Long contaId) {
@@ -91,11 +105,9 @@ public class IADinamicaService {
 
                 List<MetaEconomia> metasAtivas = metaEconomiaService.buscarMetasAtivasPorConta(contaId);
                 BigDecimal totalMetas = metasAtivas.stream()
-                    .map(MetaEconomia::getValorMeta)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    .collect(AcumuladorCentavos.somando(MetaEconomia::getValorMeta));
                 BigDecimal totalAtual = metasAtivas.stream()
-                    .map(MetaEconomia::getValorAtual)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    .collect(AcumuladorCentavos.somando(MetaEconomia::getValorAtual));
 
                 contexto.put("totalMetas", metasAtivas.size());
                 contexto.put("valorTotalMetas", totalMetas);
@@ -120,62 +132,12 @@ public class IADinamicaService {
                     contexto.put("detalhesMetas", "Nenhuma meta cadastrada");
                 }
 
-                List<MovimentacaoFinanceira> movimentacoes = movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId);
-                List<MovimentacaoFinanceira> movimentacoesConcluidas = movimentacoes.stream()
-                    .filter(m -> StatusMovimentacao.CONCLUIDA.equals(m.getStatus()))
-                    .collect(Collectors.toList());
-
-                LocalDate inicioMes = LocalDate.now().withDayOfMonth(1);
-                LocalDate fimMes = LocalDate.now();
-                
-                BigDecimal receitasMes = movimentacoesConcluidas.stream()
-                    .filter(m -> TipoMovimentacao.RECEITA.equals(m.getTipoMovimentacao()))
-                    .filter(m -> !m.getDataMovimentacao().isBefore(inicioMes) && !m.getDataMovimentacao().isAfter(fimMes))
-                    .map(MovimentacaoFinanceira::getValor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal despesasMes = movimentacoesConcluidas.stream()
-                    .filter(m -> TipoMovimentacao.DESPESA.equals(m.getTipoMovimentacao()))
-                    .filter(m -> !m.getDataMovimentacao().isBefore(inicioMes) && !m.getDataMovimentacao().isAfter(fimMes))
-                    .map(MovimentacaoFinanceira::getValor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal totalReceitas = movimentacoesConcluidas.stream()
-                    .filter(m -> TipoMovimentacao.RECEITA.equals(m.getTipoMovimentacao()))
-                    .map(MovimentacaoFinanceira::getValor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal totalDespesas = movimentacoesConcluidas.stream()
-                    .filter(m -> TipoMovimentacao.DESPESA.equals(m.getTipoMovimentacao()))
-                    .map(MovimentacaoFinanceira::getValor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
                 BigDecimal saldoAtual = movimentacaoFinanceiraService.calcularSaldoAtual(contaId);
-                BigDecimal capacidadeEconomia = receitasMes.subtract(despesasMes);
-
-                Map<String, BigDecimal> despesasPorCategoria = movimentacoesConcluidas.stream()
-                    .filter(m -> TipoMovimentacao.DESPESA.equals(m.getTipoMovimentacao()))
-                    .collect(Collectors.groupingBy(
-                        m -> m.getCategoria().toString(),
-                        Collectors.reducing(BigDecimal.ZERO, MovimentacaoFinanceira::getValor, BigDecimal::add)
-                    ));
-
-                String topCategorias = despesasPorCategoria.entrySet().stream()
-                    .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                    .limit(5)
-                    .map(e -> String.format("%s: R$ %.2f", e.getKey(), e.getValue()))
-                    .collect(Collectors.joining("; "));
 
                 contexto.put("temConta", true);
                 contexto.put("contaId", contaId);
-                contexto.put("receitasMes", receitasMes);
-                contexto.put("despesasMes", despesasMes);
-                contexto.put("totalReceitas", totalReceitas);
-                contexto.put("totalDespesas", totalDespesas);
+                contexto.putAll(contextoCache.obter(contaId, this::resumirMovimentacoes));
                 contexto.put("saldoAtual", saldoAtual);
-                contexto.put("capacidadeEconomia", capacidadeEconomia);
-                contexto.put("totalMovimentacoes", movimentacoes.size());
-                contexto.put("topCategoriasDespesas", topCategorias);
 
                 logger.debug("Contexto financeiro coletado para conta {}: {}", contaId, contexto);
             } catch (Exception e) {
@@ -190,6 +152,41 @@ public class IADinamicaService {
     }
 
 
+    private Map<String, Object> resumirMovimentacoes(Long contaId) {
+        ColunasMovimentacao colunas = analiseColunarService.colunasDaConta(contaId);
+        LocalDate hoje = LocalDate.now();
+        ColunasMovimentacao.Filtro mesAtual = CONCLUIDAS.noPeriodo(hoje.withDayOfMonth(1), hoje);
+
+        BigDecimal receitasMes = ColunasMovimentacao.valor(colunas.somar(mesAtual.comTipos(TipoMovimentacao.RECEITA)));
+        BigDecimal despesasMes = ColunasMovimentacao.valor(colunas.somar(mesAtual.comTipos(TipoMovimentacao.DESPESA)));
+        BigDecimal totalReceitas = ColunasMovimentacao.valor(colunas.somar(RECEITAS_CONCLUIDAS));
+        BigDecimal totalDespesas = ColunasMovimentacao.valor(colunas.somar(DESPESAS_CONCLUIDAS));
+
+        long[] despesasPorCategoria = new long[ColunasMovimentacao.QUANTIDADE_CATEGORIAS];
+        colunas.somarPorCategoria(DESPESAS_CONCLUIDAS, despesasPorCategoria);
+
+        Map<String, Object> resumo = new HashMap<>();
+        resumo.put("receitasMes", receitasMes);
+        resumo.put("despesasMes", despesasMes);
+        resumo.put("totalReceitas", totalReceitas);
+        resumo.put("totalDespesas", totalDespesas);
+        resumo.put("capacidadeEconomia", receitasMes.subtract(despesasMes));
+        resumo.put("totalMovimentacoes", colunas.tamanho());
+        resumo.put("topCategoriasDespesas", topCategorias(despesasPorCategoria, 5));
+        return resumo;
+    }
+
+    private static String topCategorias(long[] centavosPorCategoria, int limite) {
+        CategoriaFinanceira[] categorias = CategoriaFinanceira.values();
+        return IntStream.range(0, categorias.length)
+            .filter(i -> centavosPorCategoria[i] != 0)
+            .boxed()
+            .sorted((a, b) -> Long.compare(centavosPorCategoria[b], centavosPorCategoria[a]))
+            .limit(limite)
+            .map(i -> String.format("%s: R$ %.2f", categorias[i], ColunasMovimentacao.valor(centavosPorCategoria[i])))
+            .collect(Collectors.joining("; "));
+    }
+
     private String gerarRespostaComIA(String prompt, Map<String, Object> contexto, List<String> historico) {
         try {
             ChatClient chatClient = chatClientBuilder.build();
@@ -214,32 +211,32 @@ public class IADinamicaService {
                 
                 if (contexto.get("saldoAtual") != null) {
                     promptCompleto.append(String.format("- Saldo Atual: R$ %.2f\n", 
-                        ((BigDecimal) contexto.get("saldoAtual")).doubleValue()));
+                        contexto.get("saldoAtual")));
                 }
                 
                 if (contexto.get("receitasMes") != null) {
                     promptCompleto.append(String.format("- Receitas do Mês: R$ %.2f\n", 
-                        ((BigDecimal) contexto.get("receitasMes")).doubleValue()));
+                        contexto.get("receitasMes")));
                 }
                 
                 if (contexto.get("despesasMes") != null) {
                     promptCompleto.append(String.format("- Despesas do Mês: R$ %.2f\n", 
-                        ((BigDecimal) contexto.get("despesasMes")).doubleValue()));
+                        contexto.get("despesasMes")));
                 }
                 
                 if (contexto.get("totalReceitas") != null) {
                     promptCompleto.append(String.format("- Total de Receitas: R$ %.2f\n", 
-                        ((BigDecimal) contexto.get("totalReceitas")).doubleValue()));
+                        contexto.get("totalReceitas")));
                 }
                 
                 if (contexto.get("totalDespesas") != null) {
                     promptCompleto.append(String.format("- Total de Despesas: R$ %.2f\n", 
-                        ((BigDecimal) contexto.get("totalDespesas")).doubleValue()));
+                        contexto.get("totalDespesas")));
                 }
                 
                 if (contexto.get("capacidadeEconomia") != null) {
                     promptCompleto.append(String.format("- Capacidade de Economia: R$ %.2f\n", 
-                        ((BigDecimal) contexto.get("capacidadeEconomia")).doubleValue()));
+                        contexto.get("capacidadeEconomia")));
                 }
                 
                 if (contexto.get("totalMovimentacoes") != null) {
@@ -251,11 +248,11 @@ public class IADinamicaService {
                     promptCompleto.append(String.format("- Metas Ativas: %d\n", contexto.get("totalMetas")));
                     if (contexto.get("valorTotalMetas") != null) {
                         promptCompleto.append(String.format("- Valor Total das Metas: R$ %.2f\n", 
-                            ((BigDecimal) contexto.get("valorTotalMetas")).doubleValue()));
+                            contexto.get("valorTotalMetas")));
                     }
                     if (contexto.get("valorAtualMetas") != null) {
                         promptCompleto.append(String.format("- Valor Atual das Metas: R$ %.2f\n", 
-                            ((BigDecimal) contexto.get("valorAtualMetas")).doubleValue()));
+                            contexto.get("valorAtualMetas")));
                     }
                     if (contexto.get("detalhesMetas") != null) {
                         promptCompleto.append(String.format("- Detalhes das Metas: %s\n", 
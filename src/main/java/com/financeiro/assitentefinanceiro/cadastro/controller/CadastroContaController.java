@@ -3,7 +3,9 @@ package com.financeiro.assitentefinanceiro.cadastro.controller;
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
 import com.financeiro.assitentefinanceiro.cadastro.domain.dto.DadosContaDTO;
 import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.common.Pagina;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -41,6 +43,25 @@ public class CadastroContaController {
         }
     }
 
+    @Operation(summary = "Listar contas paginadas", description = "Retorna contas cadastradas navegando por cursor")
+    @GetMapping("/pagina")
+    public ResponseEntity<Pagina<DadosContaDTO>> listarContasPaginadas(
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página", example = "50") @RequestParam(required = false) Integer tamanho) {
+        try {
+            logger.info("Solicitação para listar contas paginadas. Tamanho: {}", tamanho);
+            Pagina<DadosContaDTO> pagina = service.listarContasPaginadas(cursor, tamanho)
+                    .map(service::converterEntidadeParaDTO);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao listar contas paginadas: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao listar contas paginadas", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Buscar conta por ID", description = "Retorna os dados de uma conta específica pelo ID")
     @GetMapping("/{id}")
     public ResponseEntity<DadosContaDTO> buscarContaPorId(@PathVariable Long id) {
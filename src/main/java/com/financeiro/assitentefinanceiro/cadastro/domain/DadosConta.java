@@ -11,7 +11,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "dados_conta", indexes = {
-    @Index(name = "idx_numero_conta", columnList = "numeroConta", unique = true)
+    @Index(name = "idx_numero_conta", columnList = "numeroConta", unique = true),
+    @Index(name = "idx_conta_usuario", columnList = "usuario_id, id")
 })
 public class DadosConta {
 
@@ -34,6 +35,12 @@ public class DadosConta {
     @Column(nullable = false)
     private String responsavel;
 
+    /**
+     * Usuário que cadastrou a conta; nulo nas contas cadastradas sem usuário autenticado.
+     */
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
     public DadosConta(String banco, String numeroAgencia, String numeroConta, String tipoConta, String responsavel) {
         this.banco = banco.trim();
         this.numeroAgencia = numeroAgencia.trim();
@@ -1,9 +1,12 @@
 package com.financeiro.assitentefinanceiro.cadastro.reposiitory;
 
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +17,10 @@ public interface DadosContaRepository extends JpaRepository<DadosConta, Long> {
     boolean existsByNumeroConta(String numeroConta);
 
     boolean existsByNumeroContaAndIdNot(String numeroConta, Long id);
+
+    List<DadosConta> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<DadosConta> findByUsuarioIdOrderByIdAsc(Long usuarioId, Pageable pageable);
+
+    List<DadosConta> findByIdInOrderByIdAsc(Collection<Long> ids);
 }
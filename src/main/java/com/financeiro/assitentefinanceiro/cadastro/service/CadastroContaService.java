@@ -3,6 +3,10 @@ package com.financeiro.assitentefinanceiro.cadastro.service;
 import com.financeiro.assitentefinanceiro.cadastro.domain.dto.DadosContaDTO;
 import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.common.CursorPaginacao;
+import com.financeiro.assitentefinanceiro.common.Pagina;
+import com.financeiro.assitentefinanceiro.common.UsuarioAutenticado;
+import com.financeiro.assitentefinanceiro.login.domain.Usuario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
@@ -38,6 +42,7 @@ public class CadastroContaService {
             }
 
             DadosConta novaConta = DadosConta.fromDTO(dadosContaDTO);
+            UsuarioAutenticado.atual().map(Usuario::getId).ifPresent(novaConta::setUsuarioId);
             DadosConta contaSalva = repository.save(novaConta);
 
             logger.info("Conta cadastrada com sucesso. ID: {}, Responsável: {}", contaSalva.getId(),
@@ -51,12 +56,30 @@ public class CadastroContaService {
     public List<DadosConta> listarContas() {
         return executarComTratamentoErro(() -> {
             logger.info("Buscando lista de todas as contas");
-            List<DadosConta> contas = repository.findAll();
+            List<DadosConta> contas = repository.findByIdGreaterThanOrderByIdAsc(0L,
+                    CursorPaginacao.limite(CursorPaginacao.LIMITE_SEM_PAGINACAO + 1));
+            if (contas.size() > CursorPaginacao.LIMITE_SEM_PAGINACAO) {
+                logger.warn("Listagem de contas limitada a {} registros; use a listagem paginada",
+                        CursorPaginacao.LIMITE_SEM_PAGINACAO);
+                contas = List.copyOf(contas.subList(0, CursorPaginacao.LIMITE_SEM_PAGINACAO));
+            }
             logger.info("Total de contas encontradas: {}", contas.size());
             return contas;
         }, "listar contas");
     }
 
+    @Transactional(readOnly = true)
+    public Pagina<DadosConta> listarContasPaginadas(String cursor, Integer tamanho) {
+        return executarComTratamentoErro(() -> {
+            int tamanhoPagina = CursorPaginacao.validarTamanho(tamanho);
+            CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor);
+
+            List<DadosConta> contas = repository.findByIdGreaterThanOrderByIdAsc(posicao != null ? posicao.id() : 0L,
+                    CursorPaginacao.limite(tamanhoPagina + 1));
+            return CursorPaginacao.montar(contas, tamanhoPagina, conta -> CursorPaginacao.codificar(conta.getId()));
+        }, "listar contas paginadas");
+    }
+
     @Transactional(readOnly = true)
     @Cacheable(value = "contas", key = "#id")
     public DadosConta buscarContaPorId(Long id) {
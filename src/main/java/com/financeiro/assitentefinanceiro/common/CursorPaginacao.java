@@ -0,0 +1,81 @@
+package com.financeiro.assitentefinanceiro.common;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Codifica e decodifica cursores opacos de paginação por chave (keyset). O cursor carrega a
+ * posição do último item entregue, de modo que a próxima página parte de um índice e não de um offset.
+ */
+public final class CursorPaginacao {
+
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 500;
+    public static final int LIMITE_SEM_PAGINACAO = 1000;
+
+    private CursorPaginacao() {
+    }
+
+    public record Posicao(LocalDate data, Long id) {
+    }
+
+    public static int validarTamanho(Integer tamanho) {
+        if (tamanho == null) {
+            return TAMANHO_PADRAO;
+        }
+        if (tamanho <= 0 || tamanho > TAMANHO_MAXIMO) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO);
+        }
+        return tamanho;
+    }
+
+    public static Pageable limite(int tamanho) {
+        return PageRequest.ofSize(tamanho);
+    }
+
+    public static String codificar(LocalDate data, Long id) {
+        return codificarTexto(data + ":" + id);
+    }
+
+    public static String codificar(Long id) {
+        return codificarTexto(String.valueOf(id));
+    }
+
+    public static Posicao decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(':');
+            if (separador < 0) {
+                return new Posicao(null, Long.valueOf(texto));
+            }
+            return new Posicao(LocalDate.parse(texto.substring(0, separador)), Long.valueOf(texto.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code tamanho + 1} itens; o item excedente
+     * só indica que existe próxima página.
+     */
+    public static <T> Pagina<T> montar(List<T> itens, int tamanho, Function<T, String> cursorDoItem) {
+        boolean temMais = itens.size() > tamanho;
+        List<T> pagina = temMais ? List.copyOf(itens.subList(0, tamanho)) : itens;
+        String proximoCursor = temMais ? cursorDoItem.apply(pagina.get(pagina.size() - 1)) : null;
+        return new Pagina<>(pagina, proximoCursor, temMais);
+    }
+
+    private static String codificarTexto(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package com.financeiro.assitentefinanceiro.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de capacidade fixa e seguro para uso concorrente. Responde "talvez contenha"
+ * ou "certamente não contém"; a taxa de falso positivo só se mantém até a capacidade informada.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+    private final long capacidade;
+    private final AtomicLong insercoes = new AtomicLong();
+
+    public FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser maior que zero");
+        }
+        if (taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Taxa de falso positivo deve estar entre 0 e 1");
+        }
+
+        long bitsNecessarios = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavras = (int) Math.max(1, (bitsNecessarios + 63) / 64);
+        this.bits = new AtomicLongArray(palavras);
+        this.quantidadeBits = palavras * 64L;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * Math.log(2)));
+        this.capacidade = capacidade;
+    }
+
+    public void adicionar(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            long indice = Integer.toUnsignedLong(h1 + i * h2) % quantidadeBits;
+            marcar(indice);
+        }
+        insercoes.incrementAndGet();
+    }
+
+    public boolean podeConter(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            long indice = Integer.toUnsignedLong(h1 + i * h2) % quantidadeBits;
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isCheio() {
+        return insercoes.get() >= capacidade;
+    }
+
+    public long getCapacidade() {
+        return capacidade;
+    }
+
+    public long getInsercoes() {
+        return insercoes.get();
+    }
+
+    public long getTamanhoBytes() {
+        return quantidadeBits / 8;
+    }
+
+    public double getTaxaFalsoPositivoEstimada() {
+        return Math.pow(1 - Math.exp(-quantidadeHashes * (double) insercoes.get() / quantidadeBits), quantidadeHashes);
+    }
+
+    private void marcar(long indice) {
+        int palavra = (int) (indice >>> 6);
+        long mascara = 1L << indice;
+        long atual;
+        do {
+            atual = bits.get(palavra);
+            if ((atual & mascara) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+    }
+
+    private static long hash(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
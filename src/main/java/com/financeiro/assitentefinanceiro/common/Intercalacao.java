@@ -0,0 +1,78 @@
+package com.financeiro.assitentefinanceiro.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Intercala duas sequências já ordenadas pelo mesmo critério numa só, sem reordenar: é assim que as leituras juntam
+ * a tabela de movimentações e o arquivo, cada uma vinda do banco na ordem do índice.
+ */
+public final class Intercalacao {
+
+    private Intercalacao() {
+    }
+
+    public static <T> List<T> intercalar(List<? extends T> primeira, List<? extends T> segunda,
+            Comparator<? super T> ordem) {
+        List<T> resultado = new ArrayList<>(primeira.size() + segunda.size());
+        intercalar(primeira.iterator(), segunda.iterator(), ordem).forEachRemaining(resultado::add);
+        return resultado;
+    }
+
+    /**
+     * Stream preguiçoso com os elementos das duas na ordem; fechá-lo fecha as duas.
+     */
+    public static <T> Stream<T> intercalar(Stream<? extends T> primeira, Stream<? extends T> segunda,
+            Comparator<? super T> ordem) {
+        Iterator<T> iterador = intercalar(primeira.iterator(), segunda.iterator(), ordem);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterador, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try (primeira) {
+                        segunda.close();
+                    }
+                });
+    }
+
+    public static <T> Iterator<T> intercalar(Iterator<? extends T> primeira, Iterator<? extends T> segunda,
+            Comparator<? super T> ordem) {
+        return new Iterator<>() {
+            private boolean iniciado;
+            private T proximaPrimeira;
+            private T proximaSegunda;
+
+            @Override
+            public boolean hasNext() {
+                if (!iniciado) {
+                    proximaPrimeira = primeira.hasNext() ? primeira.next() : null;
+                    proximaSegunda = segunda.hasNext() ? segunda.next() : null;
+                    iniciado = true;
+                }
+                return proximaPrimeira != null || proximaSegunda != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T elemento;
+                if (proximaSegunda == null
+                        || (proximaPrimeira != null && ordem.compare(proximaPrimeira, proximaSegunda) <= 0)) {
+                    elemento = proximaPrimeira;
+                    proximaPrimeira = primeira.hasNext() ? primeira.next() : null;
+                } else {
+                    elemento = proximaSegunda;
+                    proximaSegunda = segunda.hasNext() ? segunda.next() : null;
+                }
+                return elemento;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.financeiro.assitentefinanceiro.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Schema(description = "Página de resultados navegada por cursor")
+public record Pagina<T>(
+        @Schema(description = "Itens da página")
+        List<T> itens,
+
+        @Schema(description = "Cursor opaco para buscar a próxima página; nulo na última página", example = "MjAyNC0wMS0xNTo0Mg")
+        String proximoCursor,
+
+        @Schema(description = "Indica se existem mais itens após esta página", example = "true")
+        boolean temMais
+) {
+
+    public <R> Pagina<R> map(Function<T, R> conversor) {
+        return new Pagina<>(itens.stream().map(conversor).toList(), proximoCursor, temMais);
+    }
+}
@@ -0,0 +1,25 @@
+package com.financeiro.assitentefinanceiro.common;
+
+import com.financeiro.assitentefinanceiro.login.domain.Usuario;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Usuário da requisição corrente, como o {@code JwtRequestFilter} o deixa no contexto de segurança. Vazio fora de
+ * uma requisição autenticada (jobs, testes de serviço).
+ */
+public final class UsuarioAutenticado {
+
+    private UsuarioAutenticado() {
+    }
+
+    public static Optional<Usuario> atual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.getPrincipal() instanceof Usuario usuario) {
+            return Optional.of(usuario);
+        }
+        return Optional.empty();
+    }
+}
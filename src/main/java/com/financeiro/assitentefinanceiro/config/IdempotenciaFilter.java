@@ -0,0 +1,479 @@
+package com.financeiro.assitentefinanceiro.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.assitentefinanceiro.common.ApiResponse;
+import com.financeiro.assitentefinanceiro.common.UsuarioAutenticado;
+import com.financeiro.assitentefinanceiro.idempotencia.domain.RespostaIdempotente;
+import com.financeiro.assitentefinanceiro.idempotencia.service.IdempotenciaService;
+import com.financeiro.assitentefinanceiro.login.domain.Usuario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Repete a resposta gravada quando uma requisição de escrita autenticada chega de novo com o mesmo
+ * {@code Idempotency-Key}. A chave vale por usuário, método e caminho; reutilizá-la com outra query string ou outro
+ * corpo devolve 422. Repetições concorrentes aguardam a primeira execução em vez de executar de novo.
+ *
+ * <p>Corpos multipart e de formulário não são lidos pelo filtro (o contêiner precisa deles intactos); nesses casos a
+ * impressão usa o tamanho declarado do corpo. A resposta segue direto para o cliente e só uma cópia limitada ao
+ * tamanho máximo gravável fica em memória; respostas assíncronas são gravadas quando o contexto assíncrono termina.
+ */
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotency-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaFilter.class);
+    private static final Set<String> METODOS_ESCRITA = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final IdempotenciaService idempotenciaService;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Timer executadaTimer;
+    private final Timer repetidaTimer;
+    private final Timer aguardadaTimer;
+
+    public IdempotenciaFilter(IdempotenciaService idempotenciaService, MeterRegistry meterRegistry) {
+        this.idempotenciaService = idempotenciaService;
+        this.executadaTimer = sobrecarga(meterRegistry, "executada");
+        this.repetidaTimer = sobrecarga(meterRegistry, "repetida");
+        this.aguardadaTimer = sobrecarga(meterRegistry, "aguardada");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(CABECALHO) == null || !METODOS_ESCRITA.contains(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain chain) throws ServletException, IOException {
+        Optional<Usuario> usuario = UsuarioAutenticado.atual();
+        if (usuario.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String valor = request.getHeader(CABECALHO).trim();
+        if (valor.isEmpty() || valor.length() > TAMANHO_MAXIMO_CHAVE) {
+            recusar(response, HttpStatus.BAD_REQUEST, CABECALHO + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE
+                    + " caracteres");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        HttpServletRequest requisicao = lerCorpo(request);
+        String chave = hash(usuario.get().getId() + "\n" + request.getMethod() + "\n" + request.getRequestURI()
+                + "\n" + valor);
+        String impressao = impressao(requisicao);
+        long espera = 0;
+
+        while (true) {
+            Optional<RespostaIdempotente> gravada = idempotenciaService.buscar(chave);
+            if (gravada.isPresent()) {
+                repetir(gravada.get(), impressao, response);
+                (espera > 0 ? aguardadaTimer : repetidaTimer).record(System.nanoTime() - inicio - espera,
+                        TimeUnit.NANOSECONDS);
+                return;
+            }
+
+            CompletableFuture<RespostaIdempotente> emAndamento = idempotenciaService.reservar(chave);
+            if (emAndamento == null) {
+                gravada = idempotenciaService.buscarEmMemoria(chave);
+                if (gravada.isPresent()) {
+                    idempotenciaService.liberar(chave, gravada.get());
+                    continue;
+                }
+                executar(requisicao, response, chain, chave, impressao, inicio);
+                return;
+            }
+
+            long inicioEspera = System.nanoTime();
+            try {
+                Optional<RespostaIdempotente> resposta = idempotenciaService.aguardar(emAndamento);
+                espera += System.nanoTime() - inicioEspera;
+                if (resposta.isPresent()) {
+                    repetir(resposta.get(), impressao, response);
+                    aguardadaTimer.record(System.nanoTime() - inicio - espera, TimeUnit.NANOSECONDS);
+                    return;
+                }
+            } catch (TimeoutException e) {
+                logger.warn("Tempo esgotado aguardando a execução em andamento da mesma chave de idempotência");
+                recusar(response, HttpStatus.CONFLICT, "Requisição com a mesma " + CABECALHO + " ainda em andamento");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Espera pela requisição idempotente interrompida", e);
+            }
+        }
+    }
+
+    private void executar(HttpServletRequest request, HttpServletResponse response, FilterChain chain, String chave,
+            String impressao, long inicio) throws ServletException, IOException {
+        RespostaCapturada resposta = new RespostaCapturada(response, idempotenciaService.getTamanhoMaximoResposta());
+        long execucao = 0;
+        boolean encaminhada = false;
+        try {
+            long inicioExecucao = System.nanoTime();
+            chain.doFilter(request, resposta);
+            execucao = System.nanoTime() - inicioExecucao;
+            if (request.isAsyncStarted()) {
+                concluirAoTerminar(request.getAsyncContext(), resposta, chave, impressao);
+            } else {
+                concluir(resposta, chave, impressao);
+            }
+            encaminhada = true;
+        } finally {
+            if (!encaminhada) {
+                idempotenciaService.liberar(chave, null);
+            }
+        }
+        executadaTimer.record(System.nanoTime() - inicio - execucao, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Respostas assíncronas ({@code StreamingResponseBody}, {@code DeferredResult}) só têm corpo completo quando o
+     * contexto assíncrono termina; até lá quem repete a chave aguarda a reserva.
+     */
+    private void concluirAoTerminar(AsyncContext contexto, RespostaCapturada resposta, String chave,
+            String impressao) {
+        contexto.addListener(new AsyncListener() {
+            private volatile boolean falhou;
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                if (falhou) {
+                    idempotenciaService.liberar(chave, null);
+                } else {
+                    concluir(resposta, chave, impressao);
+                }
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                falhou = true;
+                idempotenciaService.liberar(chave, null);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                falhou = true;
+                idempotenciaService.liberar(chave, null);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                event.getAsyncContext().addListener(this);
+            }
+        });
+    }
+
+    private void concluir(RespostaCapturada resposta, String chave, String impressao) {
+        resposta.descarregarEscritor();
+        if (resposta.excedeuLimite()) {
+            logger.warn("Resposta acima do limite de idempotência ({} bytes) não gravada",
+                    idempotenciaService.getTamanhoMaximoResposta());
+            idempotenciaService.liberar(chave, null);
+            return;
+        }
+        idempotenciaService.concluir(chave, impressao, resposta.getStatus(), resposta.getContentType(),
+                resposta.corpo());
+    }
+
+    private void repetir(RespostaIdempotente gravada, String impressao, HttpServletResponse response)
+            throws IOException {
+        if (!gravada.getImpressao().equals(impressao)) {
+            recusar(response, HttpStatus.UNPROCESSABLE_ENTITY, CABECALHO
+                    + " já utilizada com outro conteúdo de requisição");
+            return;
+        }
+        logger.debug("Resposta gravada repetida para a chave de idempotência");
+        response.setStatus(gravada.getStatus());
+        if (gravada.getTipoConteudo() != null) {
+            response.setContentType(gravada.getTipoConteudo());
+        }
+        response.setHeader(CABECALHO_REPETIDA, "true");
+        response.setContentLength(gravada.getCorpo().length);
+        response.getOutputStream().write(gravada.getCorpo());
+    }
+
+    private void recusar(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(objectMapper.writeValueAsString(ApiResponse.erro(mensagem)));
+    }
+
+    private static HttpServletRequest lerCorpo(HttpServletRequest request) throws IOException {
+        if (!corpoLegivel(request)) {
+            return request;
+        }
+        return new RequisicaoComCorpo(request, request.getInputStream().readAllBytes());
+    }
+
+    private static String impressao(HttpServletRequest request) {
+        String query = request.getQueryString() != null ? request.getQueryString() : "";
+        if (request instanceof RequisicaoComCorpo comCorpo) {
+            return hash(query, comCorpo.corpo);
+        }
+        return hash(query, String.valueOf(request.getContentLengthLong()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean corpoLegivel(HttpServletRequest request) {
+        String tipo = request.getContentType();
+        return tipo == null || !(tipo.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)
+                || tipo.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE));
+    }
+
+    private static String hash(String texto) {
+        return hash(texto, new byte[0]);
+    }
+
+    private static String hash(String texto, byte[] corpo) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(texto.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(corpo);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static Timer sobrecarga(MeterRegistry meterRegistry, String resultado) {
+        return Timer.builder("assitentefinanceiro_idempotencia_sobrecarga")
+                .description("Tempo acrescentado pelo controle de idempotência, sem a execução da requisição nem a espera por outra")
+                .tag("resultado", resultado)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Requisição com o corpo já lido, entregue de novo a quem o ler depois do filtro.
+     */
+    private static class RequisicaoComCorpo extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        RequisicaoComCorpo(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (entrada.available() > 0) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int inicio, int tamanho) {
+                    return entrada.read(destino, inicio, tamanho);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding())
+                            : StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Entrega a resposta ao cliente à medida que é escrita e guarda uma cópia do corpo até o tamanho máximo gravável;
+     * passado o limite a cópia é descartada, sem acumular o restante em memória.
+     */
+    private static class RespostaCapturada extends HttpServletResponseWrapper {
+
+        private final int tamanhoMaximo;
+        private ByteArrayOutputStream copia = new ByteArrayOutputStream();
+        private ServletOutputStream saida;
+        private PrintWriter escritor;
+
+        RespostaCapturada(HttpServletResponse response, int tamanhoMaximo) {
+            super(response);
+            this.tamanhoMaximo = tamanhoMaximo;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (escritor != null) {
+                throw new IllegalStateException("getWriter() já foi chamado nesta resposta");
+            }
+            if (saida == null) {
+                saida = new SaidaCapturada(super.getOutputStream());
+            }
+            return saida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (saida != null && escritor == null) {
+                throw new IllegalStateException("getOutputStream() já foi chamado nesta resposta");
+            }
+            if (escritor == null) {
+                String codificacao = getCharacterEncoding() != null ? getCharacterEncoding()
+                        : StandardCharsets.ISO_8859_1.name();
+                saida = new SaidaCapturada(super.getOutputStream());
+                escritor = new PrintWriter(new OutputStreamWriter(saida, Charset.forName(codificacao)));
+            }
+            return escritor;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            descarregarEscritor();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            descartarCopia();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            descartarCopia();
+        }
+
+        /**
+         * O {@link PrintWriter} entregue ao código da requisição tem buffer próprio; sem isto o que ficou nele não
+         * chegaria ao cliente nem à cópia.
+         */
+        void descarregarEscritor() {
+            if (escritor != null) {
+                escritor.flush();
+            }
+        }
+
+        boolean excedeuLimite() {
+            return copia == null;
+        }
+
+        byte[] corpo() {
+            return copia.toByteArray();
+        }
+
+        private void descartarCopia() {
+            if (copia != null) {
+                copia.reset();
+            }
+        }
+
+        private void copiar(byte[] dados, int inicio, int tamanho) {
+            if (copia == null) {
+                return;
+            }
+            if (copia.size() + tamanho > tamanhoMaximo) {
+                copia = null;
+                return;
+            }
+            copia.write(dados, inicio, tamanho);
+        }
+
+        private class SaidaCapturada extends ServletOutputStream {
+
+            private final ServletOutputStream destino;
+
+            SaidaCapturada(ServletOutputStream destino) {
+                this.destino = destino;
+            }
+
+            @Override
+            public void write(int dado) throws IOException {
+                destino.write(dado);
+                copiar(new byte[] {(byte) dado}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] dados, int inicio, int tamanho) throws IOException {
+                destino.write(dados, inicio, tamanho);
+                copiar(dados, inicio, tamanho);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                destino.flush();
+            }
+
+            @Override
+            public boolean isReady() {
+                return destino.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                destino.setWriteListener(listener);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.financeiro.assitentefinanceiro.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -56,6 +57,14 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/metrics").permitAll()
                         .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/movimentacoes/saldos/**").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/movimentacoes/resumos-mensais/**").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/movimentacoes/eventos/**").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/resumo/contas/**").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/metas/progresso/reconciliar").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/categorizacao/regras").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/v1/categorizacao/regras/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/categorizacao/recarregar").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
@@ -0,0 +1,69 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Soma de valores monetários em centavos num {@code long}, sem criar um {@link BigDecimal} a cada parcela. Valores
+ * com mais de duas casas são arredondados como na coluna {@code NUMERIC(15, 2)} das movimentações; a soma é exata
+ * e lança {@link ArithmeticException} se ultrapassar o limite do {@code long}.
+ */
+public final class AcumuladorCentavos {
+
+    private long total;
+
+    public AcumuladorCentavos adicionar(BigDecimal valor) {
+        if (valor != null) {
+            total = Math.addExact(total, centavos(valor));
+        }
+        return this;
+    }
+
+    public AcumuladorCentavos subtrair(BigDecimal valor) {
+        if (valor != null) {
+            total = Math.subtractExact(total, centavos(valor));
+        }
+        return this;
+    }
+
+    public AcumuladorCentavos adicionarCentavos(long centavos) {
+        total = Math.addExact(total, centavos);
+        return this;
+    }
+
+    public AcumuladorCentavos combinar(AcumuladorCentavos outro) {
+        return adicionarCentavos(outro.total);
+    }
+
+    public long centavos() {
+        return total;
+    }
+
+    public BigDecimal valor() {
+        return valor(total);
+    }
+
+    /**
+     * Coletor que soma os valores extraídos dos elementos, ignorando valores nulos.
+     */
+    public static <T> Collector<T, ?, BigDecimal> somando(Function<? super T, BigDecimal> extrator) {
+        return Collector.of(AcumuladorCentavos::new,
+                (acumulador, elemento) -> acumulador.adicionar(extrator.apply(elemento)),
+                AcumuladorCentavos::combinar,
+                AcumuladorCentavos::valor);
+    }
+
+    /**
+     * Converte para centavos. {@code movePointRight} mantém o valor compacto, sem passar por {@code BigInteger},
+     * o que permite ao JIT eliminar a alocação intermediária em laços quentes.
+     */
+    public static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal valor(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
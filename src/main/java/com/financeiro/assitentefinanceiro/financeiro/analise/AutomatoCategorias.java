@@ -0,0 +1,211 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Autômato de Aho–Corasick com as palavras-chave de categorização compiladas num único DFA. A descrição é lida uma
+ * vez, caractere a caractere, sem expressões regulares nem laço por regra; o alfabeto é o do
+ * {@link NormalizadorTexto}, de modo que acentos e caixa são ignorados e os termos só casam com palavras inteiras.
+ * Imutável depois de compilado, pode ser lido por várias threads enquanto outro é montado para substituí-lo.
+ */
+public final class AutomatoCategorias {
+
+    private static final int SEPARADOR = NormalizadorTexto.SEPARADOR;
+    private static final int TAMANHO_ALFABETO = NormalizadorTexto.TAMANHO_ALFABETO;
+    private static final int SEM_TIPO = TipoMovimentacao.values().length;
+    private static final int SLOTS_TIPO = SEM_TIPO + 1;
+
+    private final int[] transicoes;
+    private final int[] saidas;
+    private final int[] pontuacoes;
+    private final CategoriaFinanceira[] categorias;
+    private final int quantidadeEstados;
+
+    private AutomatoCategorias(int[] transicoes, int[] saidas, int[] pontuacoes, CategoriaFinanceira[] categorias,
+            int quantidadeEstados) {
+        this.transicoes = transicoes;
+        this.saidas = saidas;
+        this.pontuacoes = pontuacoes;
+        this.categorias = categorias;
+        this.quantidadeEstados = quantidadeEstados;
+    }
+
+    /**
+     * Palavra-chave a compilar. Sem tipo, vale para qualquer tipo de movimentação. Quando vários termos casam na
+     * mesma descrição vence o de maior prioridade, depois o mais longo e, por fim, o que aparece primeiro.
+     */
+    public record PalavraChave(String termo, CategoriaFinanceira categoria, TipoMovimentacao tipoMovimentacao,
+            int prioridade) {
+    }
+
+    public static AutomatoCategorias compilar(Collection<PalavraChave> palavras) {
+        int limiteEstados = 1;
+        List<byte[]> sequencias = new ArrayList<>(palavras.size());
+        for (PalavraChave palavra : palavras) {
+            if (palavra.categoria() == null) {
+                throw new IllegalArgumentException("Categoria é obrigatória para o termo: " + palavra.termo());
+            }
+            if (palavra.prioridade() < 0 || palavra.prioridade() > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Prioridade inválida para o termo: " + palavra.termo());
+            }
+            byte[] sequencia = sequencia(palavra.termo());
+            sequencias.add(sequencia);
+            limiteEstados += sequencia.length;
+        }
+
+        int[] transicoes = new int[limiteEstados * TAMANHO_ALFABETO];
+        Arrays.fill(transicoes, -1);
+        int[] saidas = new int[limiteEstados * SLOTS_TIPO];
+        Arrays.fill(saidas, -1);
+        int[] pontuacoes = new int[sequencias.size()];
+        CategoriaFinanceira[] categorias = new CategoriaFinanceira[sequencias.size()];
+
+        int estados = 1;
+        int padrao = 0;
+        for (PalavraChave palavra : palavras) {
+            byte[] sequencia = sequencias.get(padrao);
+            int estado = 0;
+            for (byte simbolo : sequencia) {
+                int indice = estado * TAMANHO_ALFABETO + simbolo;
+                if (transicoes[indice] < 0) {
+                    transicoes[indice] = estados++;
+                }
+                estado = transicoes[indice];
+            }
+
+            categorias[padrao] = palavra.categoria();
+            pontuacoes[padrao] = palavra.prioridade() << 16 | Math.min(sequencia.length, 0xFFFF);
+            if (palavra.tipoMovimentacao() != null) {
+                registrarSaida(saidas, pontuacoes, estado * SLOTS_TIPO + palavra.tipoMovimentacao().ordinal(), padrao);
+            } else {
+                for (int slot = 0; slot < SLOTS_TIPO; slot++) {
+                    registrarSaida(saidas, pontuacoes, estado * SLOTS_TIPO + slot, padrao);
+                }
+            }
+            padrao++;
+        }
+
+        int[] falhas = new int[estados];
+        int[] fila = new int[estados];
+        int inicioFila = 0;
+        int fimFila = 0;
+        for (int simbolo = 0; simbolo < TAMANHO_ALFABETO; simbolo++) {
+            int filho = transicoes[simbolo];
+            if (filho < 0) {
+                transicoes[simbolo] = 0;
+            } else {
+                fila[fimFila++] = filho;
+            }
+        }
+        while (inicioFila < fimFila) {
+            int estado = fila[inicioFila++];
+            int falha = falhas[estado];
+            for (int slot = 0; slot < SLOTS_TIPO; slot++) {
+                int herdada = saidas[falha * SLOTS_TIPO + slot];
+                if (herdada >= 0) {
+                    registrarSaida(saidas, pontuacoes, estado * SLOTS_TIPO + slot, herdada);
+                }
+            }
+            for (int simbolo = 0; simbolo < TAMANHO_ALFABETO; simbolo++) {
+                int indice = estado * TAMANHO_ALFABETO + simbolo;
+                int destinoFalha = transicoes[falha * TAMANHO_ALFABETO + simbolo];
+                if (transicoes[indice] < 0) {
+                    transicoes[indice] = destinoFalha;
+                } else {
+                    falhas[transicoes[indice]] = destinoFalha;
+                    fila[fimFila++] = transicoes[indice];
+                }
+            }
+        }
+
+        return new AutomatoCategorias(Arrays.copyOf(transicoes, estados * TAMANHO_ALFABETO),
+                Arrays.copyOf(saidas, estados * SLOTS_TIPO), pontuacoes, categorias, estados);
+    }
+
+    /**
+     * Categoria do termo vencedor na descrição, ou {@code null} se nenhum termo compatível com o tipo casar. Termos
+     * restritos a um tipo só participam quando o tipo é informado.
+     */
+    public CategoriaFinanceira categorizar(CharSequence descricao, TipoMovimentacao tipoMovimentacao) {
+        if (descricao == null) {
+            return null;
+        }
+        int slot = tipoMovimentacao != null ? tipoMovimentacao.ordinal() : SEM_TIPO;
+        int estado = transicoes[SEPARADOR];
+        boolean emSeparador = true;
+        int vencedor = -1;
+
+        for (int i = 0, tamanho = descricao.length(); i <= tamanho; i++) {
+            int simbolo;
+            if (i < tamanho) {
+                simbolo = NormalizadorTexto.simbolo(descricao.charAt(i));
+                if (simbolo == SEPARADOR) {
+                    if (emSeparador) {
+                        continue;
+                    }
+                    emSeparador = true;
+                } else {
+                    emSeparador = false;
+                }
+            } else if (emSeparador) {
+                break;
+            } else {
+                simbolo = SEPARADOR;
+            }
+
+            estado = transicoes[estado * TAMANHO_ALFABETO + simbolo];
+            int padrao = saidas[estado * SLOTS_TIPO + slot];
+            if (padrao >= 0 && (vencedor < 0 || pontuacoes[padrao] > pontuacoes[vencedor])) {
+                vencedor = padrao;
+            }
+        }
+        return vencedor >= 0 ? categorias[vencedor] : null;
+    }
+
+    public int getQuantidadeTermos() {
+        return categorias.length;
+    }
+
+    public int getQuantidadeEstados() {
+        return quantidadeEstados;
+    }
+
+    public long getTamanhoBytes() {
+        return 4L * (transicoes.length + saidas.length + pontuacoes.length) + 4L * categorias.length;
+    }
+
+    /**
+     * Forma do termo como o autômato o enxerga: minúsculo, sem acentos e com um espaço entre as palavras.
+     */
+    public static String normalizar(String termo) {
+        return NormalizadorTexto.normalizar(termo);
+    }
+
+    private static void registrarSaida(int[] saidas, int[] pontuacoes, int indice, int padrao) {
+        int atual = saidas[indice];
+        if (atual < 0 || pontuacoes[padrao] > pontuacoes[atual]
+                || (pontuacoes[padrao] == pontuacoes[atual] && padrao < atual)) {
+            saidas[indice] = padrao;
+        }
+    }
+
+    private static byte[] sequencia(String termo) {
+        String normalizado = normalizar(termo);
+        if (normalizado.isEmpty()) {
+            throw new IllegalArgumentException("Termo sem letras ou dígitos: " + termo);
+        }
+        byte[] sequencia = new byte[normalizado.length() + 2];
+        sequencia[0] = SEPARADOR;
+        for (int i = 0; i < normalizado.length(); i++) {
+            sequencia[i + 1] = (byte) NormalizadorTexto.simbolo(normalizado.charAt(i));
+        }
+        sequencia[sequencia.length - 1] = SEPARADOR;
+        return sequencia;
+    }
+}
@@ -0,0 +1,265 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Movimentações de uma conta armazenadas em colunas de tipos primitivos, ordenadas por ID: valor em centavos,
+ * data em epoch-day, mês como {@code ano * 12 + mês - 1} e tipo, categoria e status como ordinais. As consultas
+ * varrem os arrays sem criar objetos; agrupamentos escrevem nos arrays recebidos de quem chama.
+ */
+public class ColunasMovimentacao {
+
+    public static final int QUANTIDADE_CATEGORIAS = CategoriaFinanceira.values().length;
+
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private long[] ids;
+    private long[] centavos;
+    private int[] dias;
+    private int[] meses;
+    private byte[] tipos;
+    private byte[] categorias;
+    private byte[] status;
+    private int tamanho;
+
+    public ColunasMovimentacao() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    public ColunasMovimentacao(int capacidade) {
+        int inicial = Math.max(capacidade, 1);
+        ids = new long[inicial];
+        centavos = new long[inicial];
+        dias = new int[inicial];
+        meses = new int[inicial];
+        tipos = new byte[inicial];
+        categorias = new byte[inicial];
+        status = new byte[inicial];
+    }
+
+    public void registrar(MovimentacaoFinanceira movimentacao) {
+        registrar(movimentacao.getId(), movimentacao.getValor(), movimentacao.getDataMovimentacao(),
+                movimentacao.getTipoMovimentacao(), movimentacao.getCategoria(), movimentacao.getStatus());
+    }
+
+    /**
+     * Inclui a movimentação ou substitui a linha de mesmo ID. IDs crescentes, o caso comum, são acrescentados ao
+     * fim; IDs fora de ordem deslocam o restante das colunas.
+     */
+    public void registrar(long id, BigDecimal valor, LocalDate data, TipoMovimentacao tipo,
+            CategoriaFinanceira categoria, StatusMovimentacao statusMovimentacao) {
+        long valorCentavos = centavos(valor);
+        trava.writeLock().lock();
+        try {
+            int posicao = tamanho > 0 && ids[tamanho - 1] < id ? -(tamanho + 1) : Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao < 0) {
+                posicao = -(posicao + 1);
+                garantirCapacidade(tamanho + 1);
+                deslocar(posicao, posicao + 1, tamanho - posicao);
+                tamanho++;
+            }
+            ids[posicao] = id;
+            centavos[posicao] = valorCentavos;
+            dias[posicao] = (int) data.toEpochDay();
+            meses[posicao] = mes(data);
+            tipos[posicao] = (byte) tipo.ordinal();
+            categorias[posicao] = (byte) categoria.ordinal();
+            status[posicao] = (byte) statusMovimentacao.ordinal();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public boolean remover(long id) {
+        trava.writeLock().lock();
+        try {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao < 0) {
+                return false;
+            }
+            deslocar(posicao + 1, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public int contar(Filtro filtro) {
+        trava.readLock().lock();
+        try {
+            int quantidade = 0;
+            for (int i = 0; i < tamanho; i++) {
+                if (filtro.aceita(tipos[i], categorias[i], status[i], dias[i])) {
+                    quantidade++;
+                }
+            }
+            return quantidade;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Soma em centavos dos valores das movimentações aceitas pelo filtro.
+     */
+    public long somar(Filtro filtro) {
+        trava.readLock().lock();
+        try {
+            long total = 0;
+            for (int i = 0; i < tamanho; i++) {
+                if (filtro.aceita(tipos[i], categorias[i], status[i], dias[i])) {
+                    total += centavos[i];
+                }
+            }
+            return total;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Acumula em {@code destino[ordinal da categoria]} a soma em centavos por categoria. O array precisa ter
+     * {@link #QUANTIDADE_CATEGORIAS} posições e não é zerado antes.
+     */
+    public void somarPorCategoria(Filtro filtro, long[] destino) {
+        if (destino.length < QUANTIDADE_CATEGORIAS) {
+            throw new IllegalArgumentException("Destino deve ter " + QUANTIDADE_CATEGORIAS + " posições");
+        }
+        trava.readLock().lock();
+        try {
+            for (int i = 0; i < tamanho; i++) {
+                if (filtro.aceita(tipos[i], categorias[i], status[i], dias[i])) {
+                    destino[categorias[i]] += centavos[i];
+                }
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Acumula em {@code destino[i]} a soma em centavos do mês {@code mesInicial + i}, com os meses no formato de
+     * {@link #mes(LocalDate)}. Meses fora do array são ignorados; o array não é zerado antes.
+     */
+    public void somarPorMes(Filtro filtro, int mesInicial, long[] destino) {
+        trava.readLock().lock();
+        try {
+            for (int i = 0; i < tamanho; i++) {
+                int indice = meses[i] - mesInicial;
+                if (indice >= 0 && indice < destino.length
+                        && filtro.aceita(tipos[i], categorias[i], status[i], dias[i])) {
+                    destino[indice] += centavos[i];
+                }
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public static int mes(LocalDate data) {
+        return data.getYear() * 12 + data.getMonthValue() - 1;
+    }
+
+    public static long centavos(BigDecimal valor) {
+        return AcumuladorCentavos.centavos(valor);
+    }
+
+    public static BigDecimal valor(long centavos) {
+        return AcumuladorCentavos.valor(centavos);
+    }
+
+    private void garantirCapacidade(int necessaria) {
+        if (necessaria <= ids.length) {
+            return;
+        }
+        int capacidade = Math.max(necessaria, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacidade);
+        centavos = Arrays.copyOf(centavos, capacidade);
+        dias = Arrays.copyOf(dias, capacidade);
+        meses = Arrays.copyOf(meses, capacidade);
+        tipos = Arrays.copyOf(tipos, capacidade);
+        categorias = Arrays.copyOf(categorias, capacidade);
+        status = Arrays.copyOf(status, capacidade);
+    }
+
+    private void deslocar(int origem, int destino, int quantidade) {
+        if (quantidade <= 0) {
+            return;
+        }
+        System.arraycopy(ids, origem, ids, destino, quantidade);
+        System.arraycopy(centavos, origem, centavos, destino, quantidade);
+        System.arraycopy(dias, origem, dias, destino, quantidade);
+        System.arraycopy(meses, origem, meses, destino, quantidade);
+        System.arraycopy(tipos, origem, tipos, destino, quantidade);
+        System.arraycopy(categorias, origem, categorias, destino, quantidade);
+        System.arraycopy(status, origem, status, destino, quantidade);
+    }
+
+    /**
+     * Filtro imutável por máscaras de bits de tipo, categoria e status e por intervalo fechado de epoch-days.
+     * Filtros usados com frequência podem ser guardados em constantes.
+     */
+    public record Filtro(int tiposAceitos, long categoriasAceitas, int statusAceitos, int diaInicio, int diaFim) {
+
+        public static final Filtro TODAS = new Filtro(-1, -1L, -1, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        public Filtro comTipos(TipoMovimentacao... tipos) {
+            int mascara = 0;
+            for (TipoMovimentacao tipo : tipos) {
+                mascara |= 1 << tipo.ordinal();
+            }
+            return new Filtro(mascara, categoriasAceitas, statusAceitos, diaInicio, diaFim);
+        }
+
+        public Filtro comCategorias(CategoriaFinanceira... categorias) {
+            long mascara = 0;
+            for (CategoriaFinanceira categoria : categorias) {
+                mascara |= 1L << categoria.ordinal();
+            }
+            return new Filtro(tiposAceitos, mascara, statusAceitos, diaInicio, diaFim);
+        }
+
+        public Filtro comStatus(StatusMovimentacao... status) {
+            int mascara = 0;
+            for (StatusMovimentacao item : status) {
+                mascara |= 1 << item.ordinal();
+            }
+            return new Filtro(tiposAceitos, categoriasAceitas, mascara, diaInicio, diaFim);
+        }
+
+        /**
+         * Restringe ao período fechado entre as datas; uma data nula deixa o lado correspondente em aberto.
+         */
+        public Filtro noPeriodo(LocalDate inicio, LocalDate fim) {
+            return new Filtro(tiposAceitos, categoriasAceitas, statusAceitos,
+                    inicio != null ? (int) inicio.toEpochDay() : Integer.MIN_VALUE,
+                    fim != null ? (int) fim.toEpochDay() : Integer.MAX_VALUE);
+        }
+
+        boolean aceita(byte tipo, byte categoria, byte statusMovimentacao, int dia) {
+            return (tiposAceitos & (1 << tipo)) != 0
+                    && (categoriasAceitas & (1L << categoria)) != 0
+                    && (statusAceitos & (1 << statusMovimentacao)) != 0
+                    && dia >= diaInicio && dia <= diaFim;
+        }
+    }
+}
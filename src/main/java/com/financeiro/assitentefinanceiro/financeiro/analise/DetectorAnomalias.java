@@ -0,0 +1,214 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.MotivoAnomalia;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estatísticas das despesas de uma conta por categoria, em centavos, e o conjunto dos estabelecimentos já vistos,
+ * para apontar despesas atípicas no momento do registro. Avaliar e registrar custam O(1) e não alocam: o
+ * estabelecimento é um hash de 64 bits das primeiras palavras da descrição sem dígitos, calculado direto sobre os
+ * caracteres pelo {@link NormalizadorTexto}.
+ *
+ * <p>Uma despesa é atípica quando passa de {@code fatorMedia} vezes a EWMA da categoria, quando fica
+ * {@code desviosMinimos} desvios-padrão acima da média, ou quando vem de um estabelecimento novo com valor de pelo
+ * menos {@code fatorNovoEstabelecimento} vezes a EWMA. Nada é apontado antes de {@code minimoObservacoes} despesas
+ * na categoria.
+ */
+public final class DetectorAnomalias {
+
+    private static final int QUANTIDADE_CATEGORIAS = CategoriaFinanceira.values().length;
+    private static final int PALAVRAS_ESTABELECIMENTO = 3;
+    private static final int MAXIMO_ESTABELECIMENTOS = 2048;
+    private static final double DESVIO_MINIMO_RELATIVO = 0.1;
+    private static final long PRIMO_HASH = 0x100000001B3L;
+
+    private final Parametros parametros;
+    private final EstatisticaStreaming[] estatisticas = new EstatisticaStreaming[QUANTIDADE_CATEGORIAS];
+    private long[] estabelecimentos = new long[16];
+    private int quantidadeEstabelecimentos;
+    private long versao;
+
+    public DetectorAnomalias(Parametros parametros) {
+        this.parametros = parametros;
+    }
+
+    public record Parametros(int minimoObservacoes, double desviosMinimos, double fatorMedia,
+            double fatorNovoEstabelecimento, double alfa) {
+
+        public Parametros {
+            if (minimoObservacoes < 2) {
+                throw new IllegalArgumentException("Mínimo de observações deve ser pelo menos 2");
+            }
+            if (desviosMinimos <= 0 || fatorMedia <= 1 || fatorNovoEstabelecimento <= 0) {
+                throw new IllegalArgumentException(
+                        "Limiares de anomalia devem ser positivos e o fator da média maior que 1");
+            }
+            if (alfa <= 0 || alfa >= 1) {
+                throw new IllegalArgumentException("Alfa da EWMA deve estar entre 0 e 1");
+            }
+        }
+    }
+
+    /**
+     * Motivo da anomalia, a EWMA da categoria em centavos e a distância à média em desvios-padrão.
+     */
+    public record Anomalia(MotivoAnomalia motivo, double referencia, double desvios) {
+    }
+
+    public record Snapshot(CategoriaFinanceira categoria, long quantidade, double media, double m2, double ewma) {
+    }
+
+    /**
+     * Avalia a despesa contra as estatísticas atuais, sem registrá-la; {@code null} se ela não for atípica.
+     */
+    public synchronized Anomalia avaliar(long centavos, CategoriaFinanceira categoria, CharSequence descricao) {
+        EstatisticaStreaming estatistica = categoria != null ? estatisticas[categoria.ordinal()] : null;
+        if (estatistica == null || estatistica.getQuantidade() < parametros.minimoObservacoes()) {
+            return null;
+        }
+        double referencia = estatistica.getEwma();
+        double desvioPadrao = Math.max(estatistica.getDesvioPadrao(), estatistica.getMedia() * DESVIO_MINIMO_RELATIVO);
+        double desvios = desvioPadrao > 0 ? (centavos - estatistica.getMedia()) / desvioPadrao : 0;
+
+        if (referencia > 0 && centavos >= parametros.fatorMedia() * referencia) {
+            return new Anomalia(MotivoAnomalia.VALOR_ACIMA_DO_HABITUAL, referencia, desvios);
+        }
+        if (desvios >= parametros.desviosMinimos()) {
+            return new Anomalia(MotivoAnomalia.VALOR_FORA_DO_PADRAO, referencia, desvios);
+        }
+        long estabelecimento = chaveEstabelecimento(descricao);
+        if (estabelecimento != 0 && quantidadeEstabelecimentos < MAXIMO_ESTABELECIMENTOS
+                && centavos >= parametros.fatorNovoEstabelecimento() * referencia
+                && !contemEstabelecimento(estabelecimento)) {
+            return new Anomalia(MotivoAnomalia.NOVO_ESTABELECIMENTO, referencia, desvios);
+        }
+        return null;
+    }
+
+    public synchronized void registrar(long centavos, CategoriaFinanceira categoria, CharSequence descricao) {
+        if (categoria != null) {
+            EstatisticaStreaming estatistica = estatisticas[categoria.ordinal()];
+            if (estatistica == null) {
+                estatistica = new EstatisticaStreaming();
+                estatisticas[categoria.ordinal()] = estatistica;
+            }
+            estatistica.registrar(centavos, parametros.alfa());
+        }
+        adicionarEstabelecimento(chaveEstabelecimento(descricao));
+        versao++;
+    }
+
+    /**
+     * Marca o estabelecimento como conhecido sem alterar as estatísticas, para montar o conjunto a partir do
+     * histórico quando as estatísticas vêm de um snapshot.
+     */
+    public synchronized void registrarEstabelecimento(CharSequence descricao) {
+        adicionarEstabelecimento(chaveEstabelecimento(descricao));
+    }
+
+    public synchronized void restaurar(Snapshot snapshot) {
+        EstatisticaStreaming estatistica = new EstatisticaStreaming();
+        estatistica.restaurar(snapshot.quantidade(), snapshot.media(), snapshot.m2(), snapshot.ewma());
+        estatisticas[snapshot.categoria().ordinal()] = estatistica;
+    }
+
+    public synchronized List<Snapshot> snapshots() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (CategoriaFinanceira categoria : CategoriaFinanceira.values()) {
+            EstatisticaStreaming estatistica = estatisticas[categoria.ordinal()];
+            if (estatistica != null) {
+                snapshots.add(new Snapshot(categoria, estatistica.getQuantidade(), estatistica.getMedia(),
+                        estatistica.getM2(), estatistica.getEwma()));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Contador de registros, para saber se há estatísticas ainda não persistidas.
+     */
+    public synchronized long getVersao() {
+        return versao;
+    }
+
+    public synchronized int getQuantidadeEstabelecimentos() {
+        return quantidadeEstabelecimentos;
+    }
+
+    /**
+     * Hash FNV-1a das primeiras palavras da descrição normalizada que não contêm dígitos, ou zero se não houver
+     * nenhuma: "PAG*UBER TRIP 12/03" e "Uber trip 15/04" caem no mesmo estabelecimento.
+     */
+    static long chaveEstabelecimento(CharSequence descricao) {
+        if (descricao == null) {
+            return 0;
+        }
+        long chave = 0xCBF29CE484222325L;
+        long palavra = 0xCBF29CE484222325L;
+        boolean temLetra = false;
+        boolean temDigito = false;
+        int palavras = 0;
+        for (int i = 0, tamanho = descricao.length(); i <= tamanho && palavras < PALAVRAS_ESTABELECIMENTO; i++) {
+            int simbolo = i < tamanho ? NormalizadorTexto.simbolo(descricao.charAt(i)) : NormalizadorTexto.SEPARADOR;
+            if (simbolo != NormalizadorTexto.SEPARADOR) {
+                palavra = (palavra ^ simbolo) * PRIMO_HASH;
+                temLetra |= simbolo <= 26;
+                temDigito |= simbolo > 26;
+                continue;
+            }
+            if (temLetra && !temDigito) {
+                chave = (chave ^ palavra) * PRIMO_HASH;
+                palavras++;
+            }
+            palavra = 0xCBF29CE484222325L;
+            temLetra = false;
+            temDigito = false;
+        }
+        return palavras == 0 ? 0 : (chave == 0 ? 1 : chave);
+    }
+
+    private boolean contemEstabelecimento(long chave) {
+        int mascara = estabelecimentos.length - 1;
+        for (int posicao = espalhar(chave) & mascara; ; posicao = (posicao + 1) & mascara) {
+            if (estabelecimentos[posicao] == chave) {
+                return true;
+            }
+            if (estabelecimentos[posicao] == 0) {
+                return false;
+            }
+        }
+    }
+
+    private void adicionarEstabelecimento(long chave) {
+        if (chave == 0 || quantidadeEstabelecimentos >= MAXIMO_ESTABELECIMENTOS || contemEstabelecimento(chave)) {
+            return;
+        }
+        if ((quantidadeEstabelecimentos + 1) * 2 > estabelecimentos.length) {
+            long[] antigos = estabelecimentos;
+            estabelecimentos = new long[antigos.length * 2];
+            for (long antigo : antigos) {
+                if (antigo != 0) {
+                    inserir(antigo);
+                }
+            }
+        }
+        inserir(chave);
+        quantidadeEstabelecimentos++;
+    }
+
+    private void inserir(long chave) {
+        int mascara = estabelecimentos.length - 1;
+        int posicao = espalhar(chave) & mascara;
+        while (estabelecimentos[posicao] != 0) {
+            posicao = (posicao + 1) & mascara;
+        }
+        estabelecimentos[posicao] = chave;
+    }
+
+    private static int espalhar(long chave) {
+        return (int) (chave ^ (chave >>> 32));
+    }
+}
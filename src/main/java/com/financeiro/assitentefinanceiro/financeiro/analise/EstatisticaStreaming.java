@@ -0,0 +1,57 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+/**
+ * Estatística de uma série de valores atualizada em O(1) por observação, sem guardar os valores: média e
+ * variância de Welford sobre toda a série e média exponencialmente ponderada (EWMA), que acompanha os valores
+ * recentes. Não é thread-safe; quem a usa sincroniza.
+ */
+public final class EstatisticaStreaming {
+
+    private long quantidade;
+    private double media;
+    private double m2;
+    private double ewma;
+
+    public void registrar(double valor, double alfa) {
+        quantidade++;
+        double delta = valor - media;
+        media += delta / quantidade;
+        m2 += delta * (valor - media);
+
+        ewma = quantidade == 1 ? valor : ewma + alfa * (valor - ewma);
+    }
+
+    public void restaurar(long quantidade, double media, double m2, double ewma) {
+        this.quantidade = quantidade;
+        this.media = media;
+        this.m2 = m2;
+        this.ewma = ewma;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public double getM2() {
+        return m2;
+    }
+
+    public double getEwma() {
+        return ewma;
+    }
+
+    /**
+     * Variância amostral de toda a série; zero com menos de duas observações.
+     */
+    public double getVariancia() {
+        return quantidade > 1 ? m2 / (quantidade - 1) : 0;
+    }
+
+    public double getDesvioPadrao() {
+        return Math.sqrt(getVariancia());
+    }
+}
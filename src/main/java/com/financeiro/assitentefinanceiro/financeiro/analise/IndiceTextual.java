@@ -0,0 +1,643 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido da descrição e das observações das movimentações de uma conta. Os termos passam pelo
+ * {@link NormalizadorTexto} e as palavras vazias do português são descartadas. Cada movimentação recebe um número
+ * de documento crescente, então a lista de postagens de um termo é apenas acrescentada: documentos em delta e
+ * frequência, ambos em varint, num {@code byte[]}, com um ponto de salto a cada {@value #INTERVALO_SALTOS}
+ * postagens para que a interseção com um termo raro não decodifique a lista inteira. Alterar ou excluir uma movimentação marca o documento antigo
+ * como removido, e a alteração entra como documento novo.
+ *
+ * <p>A busca exige todos os termos da consulta, percorrendo as postagens em paralelo, e ordena por BM25. Um termo
+ * terminado em {@code *} casa por prefixo. Os termos da descrição contam em dobro.
+ *
+ * <p>{@link #serializar()} grava os documentos e as postagens como estão, já compactadas, para que o índice volte
+ * com {@link #restaurar(byte[])} sem reler as movimentações.
+ */
+public class IndiceTextual {
+
+    private static final int PESO_DESCRICAO = 2;
+    private static final int MAXIMO_EXPANSOES_PREFIXO = 64;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int CAPACIDADE_INICIAL = 64;
+    private static final int INTERVALO_SALTOS = 128;
+    private static final int VERSAO_FORMATO = 1;
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of("a", "o", "as", "os", "e", "de", "da", "do", "das",
+            "dos", "em", "no", "na", "nos", "nas", "um", "uma", "para", "pra", "por", "com", "ao", "aos", "que", "se");
+    private static final Comparator<Acerto> PIOR_PRIMEIRO = Comparator.comparingDouble(Acerto::relevancia)
+            .thenComparingInt(Acerto::dia)
+            .thenComparingLong(Acerto::id);
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postagens> termos = new TreeMap<>();
+    private long[] ids;
+    private int[] dias;
+    private int[] comprimentos;
+    private long[] removidos;
+    private int documentos;
+    private int quantidadeRemovidos;
+    private long somaComprimentos;
+    private long[] chavesDocumento;
+    private int[] valoresDocumento;
+    private int ocupacaoDocumento;
+
+    public IndiceTextual() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    public IndiceTextual(int capacidade) {
+        int inicial = Math.max(capacidade, 1);
+        ids = new long[inicial];
+        dias = new int[inicial];
+        comprimentos = new int[inicial];
+        removidos = new long[(inicial + 63) >>> 6];
+        int capacidadeMapa = Integer.highestOneBit(Math.max(inicial, 8) * 2 - 1) << 1;
+        chavesDocumento = new long[capacidadeMapa];
+        valoresDocumento = new int[capacidadeMapa];
+    }
+
+    /**
+     * Resultado de uma busca: quantos documentos vivos casaram com a consulta e os mais relevantes, em ordem.
+     */
+    public record Resultado(int encontrados, List<Acerto> acertos) {
+    }
+
+    public record Acerto(long id, double relevancia, int dia) {
+    }
+
+    /**
+     * Indexa a movimentação ou substitui a versão anterior de mesmo ID.
+     */
+    public void registrar(long id, String descricao, String observacoes, LocalDate data) {
+        Map<String, int[]> frequencias = new HashMap<>();
+        int comprimento = contarTermos(descricao, PESO_DESCRICAO, frequencias)
+                + contarTermos(observacoes, 1, frequencias);
+
+        trava.writeLock().lock();
+        try {
+            removerDocumento(documentoDe(id));
+            int documento = documentos;
+            garantirCapacidade(documento + 1);
+            ids[documento] = id;
+            dias[documento] = (int) data.toEpochDay();
+            comprimentos[documento] = comprimento;
+            documentos++;
+            somaComprimentos += comprimento;
+            for (Map.Entry<String, int[]> frequencia : frequencias.entrySet()) {
+                termos.computeIfAbsent(frequencia.getKey(), termo -> new Postagens())
+                        .adicionar(documento, frequencia.getValue()[0]);
+            }
+            associarDocumento(id, documento);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void remover(long id) {
+        trava.writeLock().lock();
+        try {
+            int documento = documentoDe(id);
+            if (documento >= 0) {
+                removerDocumento(documento);
+                associarDocumento(id, -1);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos com todos os termos da consulta dentro do período, limitado às {@code limite}
+     * movimentações mais relevantes. Datas nulas deixam o lado correspondente do período em aberto.
+     */
+    public Resultado buscar(String consulta, LocalDate inicio, LocalDate fim, int limite) {
+        List<TermoConsulta> termosConsulta = termosDaConsulta(consulta);
+        if (termosConsulta.isEmpty()) {
+            return new Resultado(0, List.of());
+        }
+        int diaInicio = inicio != null ? (int) inicio.toEpochDay() : Integer.MIN_VALUE;
+        int diaFim = fim != null ? (int) fim.toEpochDay() : Integer.MAX_VALUE;
+
+        trava.readLock().lock();
+        try {
+            int vivos = documentos - quantidadeRemovidos;
+            if (vivos == 0) {
+                return new Resultado(0, List.of());
+            }
+            double comprimentoMedio = Math.max((double) somaComprimentos / vivos, 1);
+
+            Grupo[] grupos = new Grupo[termosConsulta.size()];
+            for (int i = 0; i < grupos.length; i++) {
+                grupos[i] = grupo(termosConsulta.get(i), vivos);
+                if (grupos[i] == null) {
+                    return new Resultado(0, List.of());
+                }
+            }
+            Arrays.sort(grupos, Comparator.comparingLong(Grupo::tamanho));
+
+            PriorityQueue<Acerto> melhores = new PriorityQueue<>(limite + 1, PIOR_PRIMEIRO);
+            int encontrados = 0;
+            int alvo = grupos[0].documento();
+            while (alvo != Integer.MAX_VALUE) {
+                boolean todos = true;
+                for (Grupo grupo : grupos) {
+                    int documento = grupo.avancarAte(alvo);
+                    if (documento != alvo) {
+                        alvo = documento;
+                        todos = false;
+                        break;
+                    }
+                }
+                if (!todos) {
+                    continue;
+                }
+
+                if (!removido(alvo) && dias[alvo] >= diaInicio && dias[alvo] <= diaFim) {
+                    encontrados++;
+                    double normalizacao = K1 * (1 - B + B * comprimentos[alvo] / comprimentoMedio);
+                    double relevancia = 0;
+                    for (Grupo grupo : grupos) {
+                        relevancia += grupo.relevancia(alvo, normalizacao);
+                    }
+                    Acerto acerto = new Acerto(ids[alvo], relevancia, dias[alvo]);
+                    if (melhores.size() < limite) {
+                        melhores.add(acerto);
+                    } else if (PIOR_PRIMEIRO.compare(acerto, melhores.peek()) > 0) {
+                        melhores.poll();
+                        melhores.add(acerto);
+                    }
+                }
+                alvo = grupos[0].avancarAte(alvo + 1);
+            }
+
+            List<Acerto> acertos = new ArrayList<>(melhores);
+            acertos.sort(PIOR_PRIMEIRO.reversed());
+            return new Resultado(encontrados, acertos);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return documentos - quantidadeRemovidos;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public int getQuantidadeTermos() {
+        trava.readLock().lock();
+        try {
+            return termos.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fração dos documentos indexados que já foram substituídos ou excluídos e ainda ocupam as postagens.
+     */
+    public double getFracaoRemovida() {
+        trava.readLock().lock();
+        try {
+            return documentos == 0 ? 0 : (double) quantidadeRemovidos / documentos;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public long getTamanhoBytes() {
+        trava.readLock().lock();
+        try {
+            long bytes = 8L * ids.length + 4L * dias.length + 4L * comprimentos.length + 8L * removidos.length
+                    + 12L * chavesDocumento.length;
+            for (Map.Entry<String, Postagens> termo : termos.entrySet()) {
+                bytes += 56 + 2L * termo.getKey().length() + termo.getValue().dados.length
+                        + 8L * termo.getValue().saltosDocumento.length;
+            }
+            return bytes;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documentos, marcas de removidos e postagens de cada termo, na versão {@value #VERSAO_FORMATO} do formato.
+     */
+    public byte[] serializar() {
+        trava.readLock().lock();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 * documentos + 64);
+            DataOutputStream saida = new DataOutputStream(bytes);
+            saida.writeInt(VERSAO_FORMATO);
+            saida.writeInt(documentos);
+            saida.writeInt(quantidadeRemovidos);
+            saida.writeLong(somaComprimentos);
+            for (int documento = 0; documento < documentos; documento++) {
+                saida.writeLong(ids[documento]);
+                saida.writeInt(dias[documento]);
+                saida.writeInt(comprimentos[documento]);
+            }
+            for (int palavra = 0; palavra < (documentos + 63) >>> 6; palavra++) {
+                saida.writeLong(removidos[palavra]);
+            }
+            saida.writeInt(termos.size());
+            for (Map.Entry<String, Postagens> termo : termos.entrySet()) {
+                saida.writeUTF(termo.getKey());
+                termo.getValue().escreverEm(saida);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Índice gravado por {@link #serializar()}; o mapa de IDs para documentos é remontado pelos documentos vivos.
+     */
+    public static IndiceTextual restaurar(byte[] dados) {
+        try {
+            DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados));
+            int versao = entrada.readInt();
+            if (versao != VERSAO_FORMATO) {
+                throw new IllegalArgumentException("Versão de índice textual não suportada: " + versao);
+            }
+            int documentos = entrada.readInt();
+            IndiceTextual indice = new IndiceTextual(documentos);
+            indice.documentos = documentos;
+            indice.quantidadeRemovidos = entrada.readInt();
+            indice.somaComprimentos = entrada.readLong();
+            for (int documento = 0; documento < documentos; documento++) {
+                indice.ids[documento] = entrada.readLong();
+                indice.dias[documento] = entrada.readInt();
+                indice.comprimentos[documento] = entrada.readInt();
+            }
+            for (int palavra = 0; palavra < (documentos + 63) >>> 6; palavra++) {
+                indice.removidos[palavra] = entrada.readLong();
+            }
+            int quantidadeTermos = entrada.readInt();
+            for (int i = 0; i < quantidadeTermos; i++) {
+                indice.termos.put(entrada.readUTF(), Postagens.lerDe(entrada));
+            }
+            for (int documento = 0; documento < documentos; documento++) {
+                if (!indice.removido(documento)) {
+                    indice.associarDocumento(indice.ids[documento], documento);
+                }
+            }
+            return indice;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Índice textual gravado está corrompido", e);
+        }
+    }
+
+    private Grupo grupo(TermoConsulta termo, int vivos) {
+        List<Postagens> listas = new ArrayList<>();
+        if (termo.prefixo()) {
+            SortedMap<String, Postagens> expansoes = termos.subMap(termo.texto(), termo.texto() + Character.MAX_VALUE);
+            for (Postagens postagens : expansoes.values()) {
+                listas.add(postagens);
+                if (listas.size() == MAXIMO_EXPANSOES_PREFIXO) {
+                    break;
+                }
+            }
+        } else {
+            Postagens postagens = termos.get(termo.texto());
+            if (postagens != null) {
+                listas.add(postagens);
+            }
+        }
+        if (listas.isEmpty()) {
+            return null;
+        }
+        Cursor[] cursores = new Cursor[listas.size()];
+        for (int i = 0; i < cursores.length; i++) {
+            Postagens postagens = listas.get(i);
+            double idf = Math.log(1 + (vivos - postagens.quantidade + 0.5) / (postagens.quantidade + 0.5));
+            cursores[i] = new Cursor(postagens, Math.max(idf, 0.01));
+        }
+        return new Grupo(cursores);
+    }
+
+    private static List<TermoConsulta> termosDaConsulta(String consulta) {
+        List<TermoConsulta> termosConsulta = new ArrayList<>();
+        if (consulta == null) {
+            return termosConsulta;
+        }
+        for (String parte : consulta.trim().split("\\s+")) {
+            String[] palavras = NormalizadorTexto.normalizar(parte).split(" ");
+            for (int i = 0; i < palavras.length; i++) {
+                boolean prefixo = i == palavras.length - 1 && parte.endsWith("*");
+                if (!palavras[i].isEmpty() && (prefixo || !PALAVRAS_VAZIAS.contains(palavras[i]))) {
+                    termosConsulta.add(new TermoConsulta(palavras[i], prefixo));
+                }
+            }
+        }
+        return termosConsulta;
+    }
+
+    private static int contarTermos(String texto, int peso, Map<String, int[]> frequencias) {
+        String normalizado = NormalizadorTexto.normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return 0;
+        }
+        int comprimento = 0;
+        for (String palavra : normalizado.split(" ")) {
+            if (!PALAVRAS_VAZIAS.contains(palavra)) {
+                frequencias.computeIfAbsent(palavra, chave -> new int[1])[0] += peso;
+                comprimento += peso;
+            }
+        }
+        return comprimento;
+    }
+
+    private boolean removido(int documento) {
+        return (removidos[documento >>> 6] & (1L << documento)) != 0;
+    }
+
+    private void removerDocumento(int documento) {
+        if (documento < 0 || removido(documento)) {
+            return;
+        }
+        removidos[documento >>> 6] |= 1L << documento;
+        quantidadeRemovidos++;
+        somaComprimentos -= comprimentos[documento];
+    }
+
+    private void garantirCapacidade(int capacidade) {
+        if (capacidade <= ids.length) {
+            return;
+        }
+        int nova = Math.max(capacidade, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, nova);
+        dias = Arrays.copyOf(dias, nova);
+        comprimentos = Arrays.copyOf(comprimentos, nova);
+        removidos = Arrays.copyOf(removidos, (nova + 63) >>> 6);
+    }
+
+    /**
+     * Documento atual do ID, ou -1. Mapa de endereçamento aberto com sondagem linear; IDs excluídos continuam no
+     * mapa apontando para -1, o que dispensa remoção de chaves.
+     */
+    private int documentoDe(long id) {
+        int mascara = chavesDocumento.length - 1;
+        for (int posicao = espalhar(id) & mascara; ; posicao = (posicao + 1) & mascara) {
+            long chave = chavesDocumento[posicao];
+            if (chave == id) {
+                return valoresDocumento[posicao];
+            }
+            if (chave == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void associarDocumento(long id, int documento) {
+        if ((ocupacaoDocumento + 1) * 2 > chavesDocumento.length) {
+            long[] chavesAntigas = chavesDocumento;
+            int[] valoresAntigos = valoresDocumento;
+            chavesDocumento = new long[chavesAntigas.length * 2];
+            valoresDocumento = new int[chavesAntigas.length * 2];
+            ocupacaoDocumento = 0;
+            for (int i = 0; i < chavesAntigas.length; i++) {
+                if (chavesAntigas[i] != 0) {
+                    inserirDocumento(chavesAntigas[i], valoresAntigos[i]);
+                }
+            }
+        }
+        inserirDocumento(id, documento);
+    }
+
+    private void inserirDocumento(long id, int documento) {
+        int mascara = chavesDocumento.length - 1;
+        int posicao = espalhar(id) & mascara;
+        while (chavesDocumento[posicao] != 0 && chavesDocumento[posicao] != id) {
+            posicao = (posicao + 1) & mascara;
+        }
+        if (chavesDocumento[posicao] == 0) {
+            chavesDocumento[posicao] = id;
+            ocupacaoDocumento++;
+        }
+        valoresDocumento[posicao] = documento;
+    }
+
+    private static int espalhar(long id) {
+        long misturado = id * 0x9E3779B97F4A7C15L;
+        return (int) (misturado ^ (misturado >>> 32));
+    }
+
+    private record TermoConsulta(String texto, boolean prefixo) {
+    }
+
+    /**
+     * Postagens de um termo: para cada documento, a distância ao documento anterior e a frequência, em varint. O
+     * ponto de salto guarda o documento anterior e a posição em bytes da postagem de número múltiplo do intervalo.
+     */
+    private static final class Postagens {
+        private static final int[] SEM_SALTOS = new int[0];
+
+        private byte[] dados = new byte[8];
+        private int tamanho;
+        private int quantidade;
+        private int ultimoDocumento = -1;
+        private int[] saltosDocumento = SEM_SALTOS;
+        private int[] saltosPosicao = SEM_SALTOS;
+        private int quantidadeSaltos;
+
+        void adicionar(int documento, int frequencia) {
+            if (tamanho + 10 > dados.length) {
+                dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + 10));
+            }
+            if (quantidade > 0 && quantidade % INTERVALO_SALTOS == 0) {
+                if (quantidadeSaltos == saltosDocumento.length) {
+                    saltosDocumento = Arrays.copyOf(saltosDocumento, Math.max(quantidadeSaltos * 2, 4));
+                    saltosPosicao = Arrays.copyOf(saltosPosicao, saltosDocumento.length);
+                }
+                saltosDocumento[quantidadeSaltos] = ultimoDocumento;
+                saltosPosicao[quantidadeSaltos] = tamanho;
+                quantidadeSaltos++;
+            }
+            escrever(documento - ultimoDocumento);
+            escrever(frequencia);
+            ultimoDocumento = documento;
+            quantidade++;
+        }
+
+        void escreverEm(DataOutputStream saida) throws IOException {
+            saida.writeInt(quantidade);
+            saida.writeInt(ultimoDocumento);
+            saida.writeInt(tamanho);
+            saida.write(dados, 0, tamanho);
+            saida.writeInt(quantidadeSaltos);
+            for (int i = 0; i < quantidadeSaltos; i++) {
+                saida.writeInt(saltosDocumento[i]);
+                saida.writeInt(saltosPosicao[i]);
+            }
+        }
+
+        static Postagens lerDe(DataInputStream entrada) throws IOException {
+            Postagens postagens = new Postagens();
+            postagens.quantidade = entrada.readInt();
+            postagens.ultimoDocumento = entrada.readInt();
+            postagens.tamanho = entrada.readInt();
+            postagens.dados = new byte[Math.max(postagens.tamanho, 8)];
+            entrada.readFully(postagens.dados, 0, postagens.tamanho);
+            postagens.quantidadeSaltos = entrada.readInt();
+            if (postagens.quantidadeSaltos > 0) {
+                postagens.saltosDocumento = new int[postagens.quantidadeSaltos];
+                postagens.saltosPosicao = new int[postagens.quantidadeSaltos];
+                for (int i = 0; i < postagens.quantidadeSaltos; i++) {
+                    postagens.saltosDocumento[i] = entrada.readInt();
+                    postagens.saltosPosicao[i] = entrada.readInt();
+                }
+            }
+            return postagens;
+        }
+
+        private void escrever(int valor) {
+            while ((valor & ~0x7F) != 0) {
+                dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            dados[tamanho++] = (byte) valor;
+        }
+    }
+
+    private static final class Cursor {
+        private final byte[] dados;
+        private final int tamanho;
+        private final int[] saltosDocumento;
+        private final int[] saltosPosicao;
+        private final int quantidadeSaltos;
+        private final double idf;
+        private int posicao;
+        private int salto;
+        private int documento = -1;
+        private int frequencia;
+
+        Cursor(Postagens postagens, double idf) {
+            this.dados = postagens.dados;
+            this.tamanho = postagens.tamanho;
+            this.saltosDocumento = postagens.saltosDocumento;
+            this.saltosPosicao = postagens.saltosPosicao;
+            this.quantidadeSaltos = postagens.quantidadeSaltos;
+            this.idf = idf;
+            proximo();
+        }
+
+        /**
+         * Posiciona na primeira postagem com documento maior ou igual ao alvo, pulando pelo último ponto de salto
+         * cujo documento anterior ainda é menor que o alvo.
+         */
+        void avancarAte(int alvo) {
+            if (documento >= alvo) {
+                return;
+            }
+            if (salto < quantidadeSaltos && saltosDocumento[salto] < alvo) {
+                while (salto + 1 < quantidadeSaltos && saltosDocumento[salto + 1] < alvo) {
+                    salto++;
+                }
+                if (saltosPosicao[salto] >= posicao) {
+                    posicao = saltosPosicao[salto];
+                    documento = saltosDocumento[salto];
+                    proximo();
+                }
+                salto++;
+            }
+            while (documento < alvo) {
+                proximo();
+            }
+        }
+
+        void proximo() {
+            if (posicao >= tamanho) {
+                documento = Integer.MAX_VALUE;
+                return;
+            }
+            documento += ler();
+            frequencia = ler();
+        }
+
+        private int ler() {
+            int valor = 0;
+            for (int deslocamento = 0; ; deslocamento += 7) {
+                byte atual = dados[posicao++];
+                valor |= (atual & 0x7F) << deslocamento;
+                if (atual >= 0) {
+                    return valor;
+                }
+            }
+        }
+    }
+
+    /**
+     * União das postagens das expansões de um termo da consulta, percorrida em ordem de documento.
+     */
+    private static final class Grupo {
+        private final Cursor[] cursores;
+        private final long tamanho;
+
+        Grupo(Cursor[] cursores) {
+            this.cursores = cursores;
+            long total = 0;
+            for (Cursor cursor : cursores) {
+                total += cursor.tamanho;
+            }
+            this.tamanho = total;
+        }
+
+        long tamanho() {
+            return tamanho;
+        }
+
+        int documento() {
+            int menor = Integer.MAX_VALUE;
+            for (Cursor cursor : cursores) {
+                menor = Math.min(menor, cursor.documento);
+            }
+            return menor;
+        }
+
+        int avancarAte(int alvo) {
+            int menor = Integer.MAX_VALUE;
+            for (Cursor cursor : cursores) {
+                cursor.avancarAte(alvo);
+                menor = Math.min(menor, cursor.documento);
+            }
+            return menor;
+        }
+
+        double relevancia(int documento, double normalizacao) {
+            double relevancia = 0;
+            for (Cursor cursor : cursores) {
+                if (cursor.documento == documento) {
+                    relevancia += cursor.idf * cursor.frequencia * (K1 + 1) / (cursor.frequencia + normalizacao);
+                }
+            }
+            return relevancia;
+        }
+    }
+}
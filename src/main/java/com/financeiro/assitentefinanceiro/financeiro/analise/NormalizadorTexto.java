@@ -0,0 +1,61 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import java.text.Normalizer;
+
+/**
+ * Forma canônica do texto das movimentações para categorização e busca: letras minúsculas sem acento, dígitos e
+ * separadores. Cada caractere latino vira um símbolo de uma tabela calculada uma única vez, sem chamar o
+ * {@link Normalizer} por texto.
+ */
+public final class NormalizadorTexto {
+
+    public static final int SEPARADOR = 0;
+    public static final int TAMANHO_ALFABETO = 1 + 26 + 10;
+
+    private static final byte[] SIMBOLOS = tabelaSimbolos();
+
+    private NormalizadorTexto() {
+    }
+
+    /**
+     * Símbolo do caractere: letras sem acento de 1 a 26, dígitos de 27 a 36 e {@link #SEPARADOR} para o resto.
+     */
+    public static int simbolo(char caractere) {
+        return caractere < SIMBOLOS.length ? SIMBOLOS[caractere] : SEPARADOR;
+    }
+
+    /**
+     * Texto minúsculo, sem acentos e com um espaço entre as palavras; vazio se não houver letras nem dígitos.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        StringBuilder normalizado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            int simbolo = simbolo(texto.charAt(i));
+            if (simbolo != SEPARADOR) {
+                normalizado.append(simbolo <= 26 ? (char) ('a' + simbolo - 1) : (char) ('0' + simbolo - 27));
+            } else if (!normalizado.isEmpty() && normalizado.charAt(normalizado.length() - 1) != ' ') {
+                normalizado.append(' ');
+            }
+        }
+        int fim = normalizado.length();
+        return fim > 0 && normalizado.charAt(fim - 1) == ' ' ? normalizado.substring(0, fim - 1)
+                : normalizado.toString();
+    }
+
+    private static byte[] tabelaSimbolos() {
+        byte[] simbolos = new byte[0x250];
+        for (char caractere = 0; caractere < simbolos.length; caractere++) {
+            char base = Character.toLowerCase(
+                    Normalizer.normalize(String.valueOf(caractere), Normalizer.Form.NFD).charAt(0));
+            if (base >= 'a' && base <= 'z') {
+                simbolos[caractere] = (byte) (1 + base - 'a');
+            } else if (base >= '0' && base <= '9') {
+                simbolos[caractere] = (byte) (27 + base - '0');
+            }
+        }
+        return simbolos;
+    }
+}
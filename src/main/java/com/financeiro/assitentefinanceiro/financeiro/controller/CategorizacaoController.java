@@ -0,0 +1,116 @@
+package com.financeiro.assitentefinanceiro.financeiro.controller;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.AutomatoCategorias;
+import com.financeiro.assitentefinanceiro.financeiro.domain.RegraCategorizacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RegraCategorizacaoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.CategorizacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Tag(name = "Categorização", description = "Categorização automática de descrições e regras do usuário")
+@RestController
+@RequestMapping("/api/v1/categorizacao")
+public class CategorizacaoController {
+
+    private final CategorizacaoService service;
+    private static final Logger logger = LoggerFactory.getLogger(CategorizacaoController.class);
+
+    public CategorizacaoController(CategorizacaoService service) {
+        this.service = service;
+    }
+
+    @Operation(summary = "Sugerir categoria", description = "Retorna a categoria que a categorização automática atribuiria à descrição")
+    @GetMapping("/sugestao")
+    public ResponseEntity<Map<String, Object>> sugerirCategoria(
+            @Parameter(description = "Descrição da movimentação") @RequestParam String descricao,
+            @Parameter(description = "Tipo da movimentação") @RequestParam(required = false) TipoMovimentacao tipo) {
+        try {
+            CategoriaFinanceira categoria = service.categorizar(descricao, tipo);
+            Map<String, Object> response = new HashMap<>();
+            response.put("descricao", descricao);
+            response.put("tipoMovimentacao", tipo);
+            response.put("categoria", categoria);
+            response.put("categorizada", categoria != null);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Erro ao sugerir categoria", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Listar regras", description = "Retorna as regras de categorização cadastradas pelo usuário")
+    @GetMapping("/regras")
+    public ResponseEntity<List<RegraCategorizacaoDTO>> listarRegras() {
+        try {
+            List<RegraCategorizacaoDTO> regras = service.listarRegras().stream()
+                    .map(RegraCategorizacaoDTO::fromRegraCategorizacao)
+                    .toList();
+            logger.info("Regras de categorização retornadas com sucesso. Total: {}", regras.size());
+            return ResponseEntity.ok(regras);
+        } catch (Exception e) {
+            logger.error("Erro ao listar regras de categorização", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Criar regra", description = "Cadastra uma regra de categorização; ela passa a valer assim que o autômato é recompilado, logo após a gravação")
+    @PostMapping("/regras")
+    public ResponseEntity<RegraCategorizacaoDTO> criarRegra(@RequestBody RegraCategorizacaoDTO regraDTO) {
+        try {
+            logger.info("Solicitação para criar regra de categorização. Termo: {}, Categoria: {}",
+                    regraDTO.termo(), regraDTO.categoria());
+            RegraCategorizacao regra = service.criarRegra(regraDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(RegraCategorizacaoDTO.fromRegraCategorizacao(regra));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao criar regra de categorização: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao criar regra de categorização", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Excluir regra", description = "Remove uma regra de categorização")
+    @DeleteMapping("/regras/{id}")
+    public ResponseEntity<Void> excluirRegra(@Parameter(description = "ID da regra") @PathVariable Long id) {
+        try {
+            logger.info("Solicitação para excluir regra de categorização: {}", id);
+            service.excluirRegra(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Regra de categorização não encontrada: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            logger.error("Erro ao excluir regra de categorização", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Recarregar categorização", description = "Recompila o autômato com o dicionário e as regras gravadas, sem interromper as importações em andamento")
+    @PostMapping("/recarregar")
+    public ResponseEntity<Map<String, Object>> recarregar() {
+        try {
+            AutomatoCategorias automato = service.recarregar();
+            Map<String, Object> response = new HashMap<>();
+            response.put("termos", automato.getQuantidadeTermos());
+            response.put("estados", automato.getQuantidadeEstados());
+            response.put("tamanhoBytes", automato.getTamanhoBytes());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Erro ao recarregar categorização", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.financeiro.assitentefinanceiro.financeiro.controller;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.ImportacaoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ImportacaoArquivoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.FormatoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.service.ImportacaoArquivoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@Tag(name = "Importação de Extratos", description = "Importação de extratos bancários CSV e OFX")
+@RestController
+@RequestMapping("/api/v1/importacoes")
+public class ImportacaoArquivoController {
+
+    private final ImportacaoArquivoService service;
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoArquivoController.class);
+
+    public ImportacaoArquivoController(ImportacaoArquivoService service) {
+        this.service = service;
+    }
+
+    @Operation(summary = "Importar extrato", description = "Recebe um extrato CSV ou OFX e processa em segundo plano, em chunks retomáveis, ignorando identificadores externos já importados")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacaoArquivoDTO> importarArquivo(
+            @Parameter(description = "ID da conta de destino") @RequestParam Long contaId,
+            @Parameter(description = "Arquivo de extrato") @RequestParam("arquivo") MultipartFile arquivo,
+            @Parameter(description = "Formato do arquivo; detectado pela extensão quando omitido") @RequestParam(required = false) FormatoArquivo formato,
+            @Parameter(description = "Charset do arquivo", example = "UTF-8") @RequestParam(required = false) String charset) {
+        try {
+            logger.info("Solicitação para importar arquivo {} na conta {}",
+                    arquivo != null ? arquivo.getOriginalFilename() : null, contaId);
+
+            ImportacaoArquivo importacao = service.iniciarImportacao(contaId, arquivo, formato, charset);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ImportacaoArquivoDTO.fromImportacaoArquivo(importacao));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao importar arquivo: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao importar arquivo", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Consultar importação", description = "Retorna o progresso e a vazão de uma importação")
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacaoArquivoDTO> buscarImportacao(
+            @Parameter(description = "ID da importação") @PathVariable Long id) {
+        try {
+            ImportacaoArquivo importacao = service.buscarImportacaoPorId(id);
+            return ResponseEntity.ok(ImportacaoArquivoDTO.fromImportacaoArquivo(importacao));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Importação não encontrada: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            logger.error("Erro ao buscar importação ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Listar importações por arquivo", description = "Retorna o progresso das importações de um arquivo de origem")
+    @GetMapping
+    public ResponseEntity<List<ImportacaoArquivoDTO>> buscarImportacoesPorArquivo(
+            @Parameter(description = "Nome do arquivo de origem") @RequestParam String arquivoOrigem) {
+        try {
+            List<ImportacaoArquivoDTO> importacoes = service.buscarImportacoesPorArquivo(arquivoOrigem).stream()
+                    .map(ImportacaoArquivoDTO::fromImportacaoArquivo)
+                    .toList();
+            return ResponseEntity.ok(importacoes);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao listar importações: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao listar importações do arquivo {}", arquivoOrigem, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Retomar importação", description = "Retoma uma importação interrompida a partir do último chunk confirmado")
+    @PostMapping("/{id}/retomar")
+    public ResponseEntity<ImportacaoArquivoDTO> retomarImportacao(
+            @Parameter(description = "ID da importação") @PathVariable Long id) {
+        try {
+            ImportacaoArquivo importacao = service.retomarImportacao(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ImportacaoArquivoDTO.fromImportacaoArquivo(importacao));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao retomar importação: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao retomar importação ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.financeiro.assitentefinanceiro.financeiro.controller;
 
 import com.financeiro.assitentefinanceiro.ai.service.AssistenteFinanceiroService;
 import com.financeiro.assitentefinanceiro.common.ApiResponse;
+import com.financeiro.assitentefinanceiro.common.Pagina;
 import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MetaEconomiaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoProgressoMetaDTO;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMeta;
 import com.financeiro.assitentefinanceiro.financeiro.service.MetaEconomiaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -74,6 +76,25 @@ public class MetaEconomiaController {
         }
     }
 
+    @Operation(summary = "Listar metas paginadas", description = "Retorna metas de economia navegando por cursor")
+    @GetMapping("/pagina")
+    public ResponseEntity<Pagina<MetaEconomiaDTO>> listarMetasPaginadas(
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página", example = "50") @RequestParam(required = false) Integer tamanho) {
+        try {
+            logger.info("Solicitação para listar metas paginadas. Tamanho: {}", tamanho);
+            Pagina<MetaEconomiaDTO> pagina = service.listarMetasPaginadas(cursor, tamanho)
+                .map(service::converterEntidadeParaDTO);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao listar metas paginadas: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao listar metas paginadas", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Buscar meta por ID", description = "Retorna os dados de uma meta específica pelo ID")
     @GetMapping("/{id}")
     public ResponseEntity<MetaEconomiaDTO> buscarMetaPorId(
@@ -330,6 +351,25 @@ public class MetaEconomiaController {
         }
     }
 
+    @Operation(summary = "Reconciliar progresso das metas", description = "Recalcula o progresso das metas vinculadas a categorias a partir das movimentações e reporta divergências")
+    @PostMapping("/progresso/reconciliar")
+    public ResponseEntity<ReconciliacaoProgressoMetaDTO> reconciliarProgresso(
+            @Parameter(description = "Corrigir as divergências encontradas") @RequestParam(defaultValue = "false") boolean corrigir) {
+        try {
+            logger.info("Solicitação para reconciliar progresso das metas. Corrigir: {}", corrigir);
+            ReconciliacaoProgressoMetaDTO resultado = service.reconciliarProgresso(corrigir);
+            logger.info("Reconciliação do progresso concluída. Metas verificadas: {}, Divergentes: {}",
+                    resultado.metasVerificadas(), resultado.metasDivergentes());
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao reconciliar progresso das metas: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao reconciliar progresso das metas", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Criar meta com análise de IA", 
                description = "Cria uma nova meta de economia com análise de viabilidade usando IA")
     @PostMapping("/com-analise-ia")
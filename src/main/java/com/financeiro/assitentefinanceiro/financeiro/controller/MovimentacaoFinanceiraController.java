@@ -1,22 +1,40 @@
 package com.financeiro.assitentefinanceiro.financeiro.controller;
 
+import com.financeiro.assitentefinanceiro.common.Pagina;
 import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.AlertaAnomaliaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.BuscaMovimentacoesDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.DistribuicaoCategoriasDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.OuvinteEventoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoSaldoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconstrucaoResumoMensalDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ResultadoLoteDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ResumoMensalDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.SaldoDiarioDTO;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.ExportacaoMovimentacaoService;
 import com.financeiro.assitentefinanceiro.financeiro.service.MovimentacaoFinanceiraService;
+import com.financeiro.assitentefinanceiro.financeiro.service.MovimentacaoLoteService;
+import com.financeiro.assitentefinanceiro.financeiro.service.RelatorioPdfService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @Tag(name = "Movimentações Financeiras", description = "Operações de gerenciamento de movimentações financeiras")
@@ -25,10 +43,19 @@ import java.util.List;
 public class MovimentacaoFinanceiraController {
 
     private final MovimentacaoFinanceiraService service;
+    private final MovimentacaoLoteService loteService;
+    private final ExportacaoMovimentacaoService exportacaoService;
+    private final RelatorioPdfService relatorioPdfService;
     private static final Logger logger = LoggerFactory.getLogger(MovimentacaoFinanceiraController.class);
 
-    public MovimentacaoFinanceiraController(MovimentacaoFinanceiraService service) {
+    public MovimentacaoFinanceiraController(MovimentacaoFinanceiraService service,
+            MovimentacaoLoteService loteService,
+            ExportacaoMovimentacaoService exportacaoService,
+            RelatorioPdfService relatorioPdfService) {
         this.service = service;
+        this.loteService = loteService;
+        this.exportacaoService = exportacaoService;
+        this.relatorioPdfService = relatorioPdfService;
     }
 
     @Operation(summary = "Registrar movimentação financeira", description = "Registra uma nova movimentação financeira")
@@ -55,6 +82,28 @@ public class MovimentacaoFinanceiraController {
         }
     }
 
+    @Operation(summary = "Registrar lote de movimentações", description = "Registra até milhares de movimentações de uma ou mais contas em uma única requisição, reportando erros por item")
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteDTO> registrarLote(@RequestBody List<MovimentacaoFinanceiraDTO> movimentacoes) {
+        try {
+            logger.info("Solicitação para registrar lote de movimentações. Itens: {}",
+                    movimentacoes != null ? movimentacoes.size() : 0);
+
+            ResultadoLoteDTO resultado = loteService.registrarLote(movimentacoes);
+
+            logger.info("Lote processado. Registradas: {}, Com erro: {}",
+                    resultado.totalRegistrado(), resultado.totalComErro());
+
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao registrar lote: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao registrar lote de movimentações", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Listar movimentações", description = "Retorna uma lista de todas as movimentações financeiras")
     @GetMapping
     public ResponseEntity<List<MovimentacaoFinanceiraDTO>> listarMovimentacoes() {
@@ -72,6 +121,25 @@ public class MovimentacaoFinanceiraController {
         }
     }
 
+    @Operation(summary = "Listar movimentações paginadas", description = "Retorna movimentações da mais recente para a mais antiga, navegando por cursor")
+    @GetMapping("/pagina")
+    public ResponseEntity<Pagina<MovimentacaoFinanceiraDTO>> listarMovimentacoesPaginadas(
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página", example = "50") @RequestParam(required = false) Integer tamanho) {
+        try {
+            logger.info("Solicitação para listar movimentações paginadas. Tamanho: {}", tamanho);
+            Pagina<MovimentacaoFinanceiraDTO> pagina = service.listarMovimentacoesPaginadas(cursor, tamanho)
+                    .map(service::converterEntidadeParaDTO);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao listar movimentações paginadas: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao listar movimentações paginadas", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Buscar movimentação por ID", description = "Retorna os dados de uma movimentação específica pelo ID")
     @GetMapping("/{id}")
     public ResponseEntity<MovimentacaoFinanceiraDTO> buscarMovimentacaoPorId(
@@ -114,6 +182,46 @@ public class MovimentacaoFinanceiraController {
         }
     }
 
+    @Operation(summary = "Buscar movimentações por conta paginadas", description = "Retorna movimentações de uma conta da mais recente para a mais antiga, navegando por cursor")
+    @GetMapping("/conta/{contaId}/pagina")
+    public ResponseEntity<Pagina<MovimentacaoFinanceiraDTO>> buscarMovimentacoesPorContaPaginadas(
+            @Parameter(description = "ID da conta") @PathVariable Long contaId,
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página", example = "50") @RequestParam(required = false) Integer tamanho) {
+        try {
+            logger.info("Solicitação para buscar movimentações paginadas da conta: {}", contaId);
+            Pagina<MovimentacaoFinanceiraDTO> pagina = service.buscarMovimentacoesPorContaPaginadas(contaId, cursor, tamanho)
+                    .map(service::converterEntidadeParaDTO);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao buscar movimentações paginadas por conta: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao buscar movimentações paginadas por conta", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Exportar movimentações por conta em NDJSON", description = "Transmite todas as movimentações de uma conta, da mais antiga para a mais recente, uma por linha em JSON, sem carregar o resultado inteiro em memória")
+    @GetMapping(value = "/conta/{contaId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarMovimentacoesPorConta(
+            @Parameter(description = "ID da conta") @PathVariable Long contaId) {
+        try {
+            logger.info("Solicitação para exportar movimentações da conta: {}", contaId);
+            exportacaoService.validarConta(contaId);
+            StreamingResponseBody corpo = saida -> exportacaoService.exportarNdjson(contaId, saida);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(corpo);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao exportar movimentações por conta: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao exportar movimentações por conta", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Buscar movimentações por período", description = "Retorna movimentações de uma conta em um período específico")
     @GetMapping("/conta/{contaId}/periodo")
     public ResponseEntity<List<MovimentacaoFinanceiraDTO>> buscarMovimentacoesPorPeriodo(
@@ -225,13 +333,14 @@ public class MovimentacaoFinanceiraController {
         }
     }
 
-    @Operation(summary = "Calcular saldo atual", description = "Calcula o saldo atual de uma conta")
+    @Operation(summary = "Calcular saldo", description = "Retorna o saldo atual materializado de uma conta ou, com o parâmetro em, o saldo ao final da data informada")
     @GetMapping("/conta/{contaId}/saldo")
     public ResponseEntity<BigDecimal> calcularSaldoAtual(
-            @Parameter(description = "ID da conta") @PathVariable Long contaId) {
+            @Parameter(description = "ID da conta") @PathVariable Long contaId,
+            @Parameter(description = "Data de referência (yyyy-MM-dd)") @RequestParam(required = false) LocalDate em) {
         try {
-            logger.info("Solicitação para calcular saldo da conta: {}", contaId);
-            BigDecimal saldo = service.calcularSaldoAtual(contaId);
+            logger.info("Solicitação para calcular saldo da conta: {}, Data: {}", contaId, em);
+            BigDecimal saldo = em != null ? service.calcularSaldoEm(contaId, em) : service.calcularSaldoAtual(contaId);
             logger.info("Saldo calculado com sucesso para conta {}. Valor: {}", contaId, saldo);
             return ResponseEntity.ok(saldo);
         } catch (IllegalArgumentException e) {
@@ -243,6 +352,180 @@ public class MovimentacaoFinanceiraController {
         }
     }
 
+    @Operation(summary = "Buscar série de saldo", description = "Retorna o saldo ao final de cada dia do período, calculado a partir dos checkpoints mensais")
+    @GetMapping("/conta/{contaId}/saldo/serie")
+    public ResponseEntity<List<SaldoDiarioDTO>> buscarSerieSaldo(
+            @Parameter(description = "ID da conta") @PathVariable Long contaId,
+            @Parameter(description = "Data de início (yyyy-MM-dd)") @RequestParam LocalDate inicio,
+            @Parameter(description = "Data de fim (yyyy-MM-dd)") @RequestParam LocalDate fim) {
+        try {
+            logger.info("Solicitação para buscar série de saldo da conta {} de {} a {}", contaId, inicio, fim);
+            List<SaldoDiarioDTO> serie = service.buscarSerieSaldo(contaId, inicio, fim);
+            logger.info("Série de saldo retornada com sucesso. Dias: {}", serie.size());
+            return ResponseEntity.ok(serie);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao buscar série de saldo: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao buscar série de saldo", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Reconciliar saldos", description = "Recalcula o saldo de todas as contas a partir das movimentações e reporta divergências do saldo materializado")
+    @PostMapping("/saldos/reconciliar")
+    public ResponseEntity<ReconciliacaoSaldoDTO> reconciliarSaldos(
+            @Parameter(description = "Corrigir as divergências encontradas") @RequestParam(defaultValue = "false") boolean corrigir) {
+        try {
+            logger.info("Solicitação para reconciliar saldos. Corrigir: {}", corrigir);
+            ReconciliacaoSaldoDTO resultado = service.reconciliarSaldos(corrigir);
+            logger.info("Reconciliação concluída. Contas verificadas: {}, Divergentes: {}",
+                    resultado.contasVerificadas(), resultado.contasDivergentes());
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao reconciliar saldos: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao reconciliar saldos", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Buscar resumo mensal", description = "Retorna os totais mensais da conta por categoria, tipo e status, lidos do resumo mantido a cada escrita")
+    @GetMapping("/conta/{contaId}/resumo-mensal")
+    public ResponseEntity<List<ResumoMensalDTO>> buscarResumoMensal(
+            @Parameter(description = "ID da conta") @PathVariable Long contaId,
+            @Parameter(description = "Mês inicial (yyyy-MM)", example = "2024-01") @RequestParam(required = false) YearMonth inicio,
+            @Parameter(description = "Mês final (yyyy-MM)", example = "2024-12") @RequestParam(required = false) YearMonth fim) {
+        try {
+            logger.info("Solicitação para buscar resumo mensal da conta {} de {} a {}", contaId, inicio, fim);
+            List<ResumoMensalDTO> resumos = service.buscarResumoMensal(contaId, inicio, fim).stream()
+                    .map(ResumoMensalDTO::fromResumoMensal)
+                    .toList();
+            logger.info("Resumo mensal retornado com sucesso. Linhas: {}", resumos.size());
+            return ResponseEntity.ok(resumos);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao buscar resumo mensal: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao buscar resumo mensal", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Buscar distribuição por categoria", description = "Retorna as categorias das movimentações concluídas ordenadas pelo total, com a participação de cada uma, agregadas no banco e mantidas em cache até a próxima escrita na conta")
+    @GetMapping("/conta/{contaId}/categorias")
+    public ResponseEntity<DistribuicaoCategoriasDTO> buscarDistribuicaoCategorias(
+            @Parameter(description = "ID da conta") @PathVariable Long contaId,
+            @Parameter(description = "Data de início (yyyy-MM-dd)") @RequestParam(required = false) LocalDate inicio,
+            @Parameter(description = "Data de fim (yyyy-MM-dd)") @RequestParam(required = false) LocalDate fim,
+            @Parameter(description = "Tipo de movimentação (padrão DESPESA)") @RequestParam(required = false) TipoMovimentacao tipo,
+            @Parameter(description = "Quantidade máxima de categorias") @RequestParam(required = false) Integer top) {
+        try {
+            logger.info("Solicitação para buscar distribuição por categoria da conta {}. Tipo: {}, Período: {} a {}, Top: {}",
+                    contaId, tipo, inicio, fim, top);
+            DistribuicaoCategoriasDTO distribuicao = service.buscarDistribuicaoCategorias(contaId, inicio, fim, tipo, top);
+            logger.info("Distribuição por categoria retornada com sucesso. Categorias: {}", distribuicao.categorias().size());
+            return ResponseEntity.ok(distribuicao);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao buscar distribuição por categoria: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao buscar distribuição por categoria", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Buscar movimentações por texto", description = "Busca na descrição e nas observações das movimentações da conta, sem diferenciar acentos e maiúsculas, exigindo todos os termos; um termo terminado em * casa por prefixo. Resultados ordenados por relevância")
+    @GetMapping("/conta/{contaId}/busca")
+    public ResponseEntity<BuscaMovimentacoesDTO> buscarPorTexto(
+            @Parameter(description = "ID da conta") @PathVariable Long contaId,
+            @Parameter(description = "Termos da busca") @RequestParam String q,
+            @Parameter(description = "Data de início (yyyy-MM-dd)") @RequestParam(required = false) LocalDate inicio,
+            @Parameter(description = "Data de fim (yyyy-MM-dd)") @RequestParam(required = false) LocalDate fim,
+            @Parameter(description = "Quantidade máxima de resultados (padrão 20, máximo 100)") @RequestParam(required = false) Integer limite) {
+        try {
+            logger.info("Solicitação para buscar movimentações da conta {} por texto. Consulta: '{}', Período: {} a {}, Limite: {}",
+                    contaId, q, inicio, fim, limite);
+            BuscaMovimentacoesDTO busca = service.buscarPorTexto(contaId, q, inicio, fim, limite);
+            logger.info("Busca textual retornada com sucesso. Encontradas: {}, Retornadas: {}",
+                    busca.totalEncontrado(), busca.resultados().size());
+            return ResponseEntity.ok(busca);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao buscar movimentações por texto: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao buscar movimentações por texto", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Buscar alertas de despesas atípicas", description = "Retorna as despesas apontadas no registro como atípicas para a categoria ou como estabelecimento novo com valor alto, da mais recente para a mais antiga")
+    @GetMapping("/conta/{contaId}/alertas")
+    public ResponseEntity<List<AlertaAnomaliaDTO>> buscarAlertas(
+            @Parameter(description = "ID da conta") @PathVariable Long contaId,
+            @Parameter(description = "Quantidade máxima de alertas (padrão 50, máximo 500)") @RequestParam(required = false) Integer limite) {
+        try {
+            logger.info("Solicitação para buscar alertas de despesas atípicas da conta {}. Limite: {}", contaId, limite);
+            List<AlertaAnomaliaDTO> alertas = service.buscarAlertas(contaId, limite);
+            logger.info("Alertas retornados com sucesso. Total: {}", alertas.size());
+            return ResponseEntity.ok(alertas);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao buscar alertas de despesas atípicas: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao buscar alertas de despesas atípicas", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Reconstruir resumo mensal", description = "Recalcula o resumo mensal a partir das movimentações de uma conta ou de todas as contas")
+    @PostMapping("/resumos-mensais/reconstruir")
+    public ResponseEntity<ReconstrucaoResumoMensalDTO> reconstruirResumoMensal(
+            @Parameter(description = "ID da conta; todas as contas quando omitido") @RequestParam(required = false) Long contaId) {
+        try {
+            logger.info("Solicitação para reconstruir resumo mensal. Conta: {}", contaId);
+            ReconstrucaoResumoMensalDTO resultado = service.reconstruirResumoMensal(contaId);
+            logger.info("Reconstrução do resumo mensal concluída. Contas: {}, Linhas: {}",
+                    resultado.contasProcessadas(), resultado.linhasGeradas());
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao reconstruir resumo mensal: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao reconstruir resumo mensal", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Listar ouvintes de eventos", description = "Retorna a posição e o atraso de cada ouvinte da fila de eventos de movimentação")
+    @GetMapping("/eventos/ouvintes")
+    public ResponseEntity<List<OuvinteEventoDTO>> listarOuvintesEventos() {
+        try {
+            return ResponseEntity.ok(service.listarOuvintesEventos());
+        } catch (Exception e) {
+            logger.error("Erro ao listar ouvintes de eventos", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Reprocessar eventos", description = "Volta a posição do ouvinte para que receba de novo os eventos a partir da posição informada")
+    @PostMapping("/eventos/ouvintes/{ouvinte}/reprocessar")
+    public ResponseEntity<OuvinteEventoDTO> reprocessarEventos(
+            @Parameter(description = "Nome do ouvinte") @PathVariable String ouvinte,
+            @Parameter(description = "Primeira posição a reprocessar") @RequestParam Long aPartirDe) {
+        try {
+            logger.info("Solicitação para reprocessar eventos do ouvinte {} a partir da posição {}", ouvinte, aPartirDe);
+            return ResponseEntity.ok(service.reprocessarEventos(ouvinte, aPartirDe));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao reprocessar eventos: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao reprocessar eventos do ouvinte {}", ouvinte, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Buscar dados do relatório", description = "Retorna os dados do relatório em JSON para geração de PDF no frontend")
     @PostMapping("/relatorio/dados")
     public ResponseEntity<RelatorioDadosDTO> buscarDadosRelatorio(@RequestBody RelatorioPDFParametrosDTO parametros) {
@@ -264,4 +547,30 @@ public class MovimentacaoFinanceiraController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    @Operation(summary = "Gerar relatório em PDF", description = "Gera o extrato em PDF no servidor, lendo as movimentações por cursor e transmitindo o documento diretamente na resposta")
+    @PostMapping(value = "/relatorio/pdf", produces = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<StreamingResponseBody> gerarRelatorioPdf(@RequestBody RelatorioPDFParametrosDTO parametros) {
+        try {
+            logger.info("Solicitação para gerar relatório PDF. Conta: {}, Período: {} a {}, Tipo: {}",
+                    parametros.contaId(), parametros.dataInicio(), parametros.dataFim(), parametros.tipoMovimentacao());
+
+            RelatorioDadosDTO resumo = relatorioPdfService.prepararRelatorio(parametros);
+            StreamingResponseBody corpo = saida -> relatorioPdfService.gerarPdf(parametros, resumo, saida);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename("relatorio-conta-" + parametros.contaId() + ".pdf")
+                            .build()
+                            .toString())
+                    .body(corpo);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao gerar relatório PDF: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao gerar relatório PDF", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package com.financeiro.assitentefinanceiro.financeiro.controller;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.RelatorioJob;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioJobDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusRelatorioJob;
+import com.financeiro.assitentefinanceiro.financeiro.service.RelatorioJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.security.Principal;
+
+@Tag(name = "Relatórios", description = "Geração assíncrona de relatórios PDF")
+@RestController
+@RequestMapping("/api/v1/relatorios")
+public class RelatorioJobController {
+
+    private static final String USUARIO_ANONIMO = "anonimo";
+
+    private final RelatorioJobService service;
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioJobController.class);
+
+    public RelatorioJobController(RelatorioJobService service) {
+        this.service = service;
+    }
+
+    @Operation(summary = "Solicitar relatório PDF", description = "Enfileira a geração do relatório e retorna o ID do job; relatórios idênticos sobre dados inalterados são concluídos imediatamente a partir do cache")
+    @PostMapping("/jobs")
+    public ResponseEntity<RelatorioJobDTO> solicitarRelatorio(@RequestBody RelatorioPDFParametrosDTO parametros,
+            Principal principal) {
+        try {
+            logger.info("Solicitação de relatório assíncrono. Conta: {}, Período: {} a {}, Tipo: {}",
+                    parametros.contaId(), parametros.dataInicio(), parametros.dataFim(), parametros.tipoMovimentacao());
+
+            RelatorioJob job = service.submeter(parametros, usuario(principal));
+            HttpStatus status = StatusRelatorioJob.CONCLUIDO.equals(job.getStatus())
+                    ? HttpStatus.OK
+                    : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(RelatorioJobDTO.fromRelatorioJob(job));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao solicitar relatório: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (IllegalStateException e) {
+            logger.warn("Relatório recusado: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (Exception e) {
+            logger.error("Erro ao solicitar relatório", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Consultar job de relatório", description = "Retorna o status do job e, quando concluído, o caminho para download do PDF")
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<RelatorioJobDTO> buscarJob(
+            @Parameter(description = "ID do job") @PathVariable String id, Principal principal) {
+        try {
+            RelatorioJob job = service.buscarJob(id, usuario(principal));
+            return ResponseEntity.ok(RelatorioJobDTO.fromRelatorioJob(job));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Job de relatório não encontrado: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            logger.error("Erro ao buscar job de relatório ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Baixar relatório PDF", description = "Transmite o PDF de um job concluído")
+    @GetMapping(value = "/jobs/{id}/pdf", produces = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<StreamingResponseBody> baixarPdf(
+            @Parameter(description = "ID do job") @PathVariable String id, Principal principal) {
+        try {
+            InputStream pdf = service.abrirPdf(id, usuario(principal));
+            StreamingResponseBody corpo = saida -> {
+                try (pdf) {
+                    pdf.transferTo(saida);
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename("relatorio-" + id + ".pdf")
+                            .build()
+                            .toString())
+                    .body(corpo);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Job de relatório não encontrado: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalStateException e) {
+            logger.warn("Relatório indisponível para download: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            logger.error("Erro ao baixar relatório do job ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private static String usuario(Principal principal) {
+        return principal != null ? principal.getName() : USUARIO_ANONIMO;
+    }
+}
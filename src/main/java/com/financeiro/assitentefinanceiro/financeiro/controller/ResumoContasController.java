@@ -0,0 +1,70 @@
+package com.financeiro.assitentefinanceiro.financeiro.controller;
+
+import com.financeiro.assitentefinanceiro.common.UsuarioAutenticado;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ResumoContasDTO;
+import com.financeiro.assitentefinanceiro.financeiro.service.ResumoContasService;
+import com.financeiro.assitentefinanceiro.login.domain.Usuario;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@Tag(name = "Resumo de Contas", description = "Saldo, totais do mês e metas ativas de várias contas em uma chamada")
+@RestController
+@RequestMapping("/api/v1/resumo")
+public class ResumoContasController {
+
+    private final ResumoContasService service;
+    private static final Logger logger = LoggerFactory.getLogger(ResumoContasController.class);
+
+    public ResumoContasController(ResumoContasService service) {
+        this.service = service;
+    }
+
+    @Operation(summary = "Resumo das contas do usuário", description = "Retorna saldo, receitas e despesas concluídas no mês e metas ativas de todas as contas cadastradas pelo usuário autenticado")
+    @GetMapping
+    public ResponseEntity<ResumoContasDTO> resumirContasDoUsuario() {
+        Optional<Usuario> usuario = UsuarioAutenticado.atual();
+        if (usuario.isEmpty()) {
+            logger.warn("Solicitação de resumo de contas sem usuário autenticado");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            logger.info("Solicitação para resumir contas do usuário: {}", usuario.get().getId());
+            ResumoContasDTO resumo = service.resumirContasDoUsuario(usuario.get().getId());
+            logger.info("Resumo de contas retornado com sucesso. Contas: {}", resumo.contas().size());
+            return ResponseEntity.ok(resumo);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao resumir contas do usuário: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao resumir contas do usuário", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Resumo de contas informadas", description = "Retorna o mesmo resumo para a lista de contas informada (administrador)")
+    @GetMapping("/contas")
+    public ResponseEntity<ResumoContasDTO> resumirContas(
+            @Parameter(description = "IDs das contas", example = "1,2,3") @RequestParam List<Long> ids) {
+        try {
+            logger.info("Solicitação para resumir contas: {}", ids);
+            ResumoContasDTO resumo = service.resumirContas(ids);
+            logger.info("Resumo de contas retornado com sucesso. Contas: {}", resumo.contas().size());
+            return ResponseEntity.ok(resumo);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Erro de validação ao resumir contas: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Erro ao resumir contas", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.MotivoAnomalia;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "alerta_anomalia", indexes = @Index(name = "idx_alerta_anomalia_conta", columnList = "conta_id, id"))
+public class AlertaAnomalia {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Column(nullable = false)
+    private Long movimentacaoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MotivoAnomalia motivo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoriaFinanceira categoria;
+
+    @Column(nullable = false, length = 500)
+    private String descricao;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal valor;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal valorHabitual;
+
+    @Column(nullable = false)
+    private double desvios;
+
+    @Column(nullable = false)
+    private LocalDate dataMovimentacao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataRegistro;
+
+    public AlertaAnomalia(EventoMovimentacao evento, MotivoAnomalia motivo, BigDecimal valorHabitual,
+            double desvios) {
+        this.contaId = evento.getContaId();
+        this.movimentacaoId = evento.getMovimentacaoId();
+        this.motivo = motivo;
+        this.categoria = evento.getCategoria();
+        this.descricao = evento.getDescricao();
+        this.valor = evento.getValor();
+        this.valorHabitual = valorHabitual;
+        this.desvios = desvios;
+        this.dataMovimentacao = evento.getDataMovimentacao();
+        this.dataRegistro = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,53 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Parte ainda não aplicada de um rebalanceamento de saldos: as movimentações da conta com ID maior que
+ * {@code aposId} e até {@code ateId} devem ter {@code saldoAnterior} e {@code saldoAtual} somados à diferença.
+ * {@code ateId} é a última movimentação da conta quando o rebalanceamento foi gravado, então as registradas depois
+ * dele, que já partem do saldo atualizado, ficam de fora.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "deslocamento_saldo_pendente", indexes = @Index(name = "idx_deslocamento_saldo_pendente_conta",
+        columnList = "conta_id"))
+public class DeslocamentoSaldoPendente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Column(nullable = false)
+    private Long aposId;
+
+    @Column(nullable = false)
+    private Long ateId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal diferenca;
+
+    @Column(nullable = false)
+    private LocalDateTime dataRegistro;
+
+    public DeslocamentoSaldoPendente(Long contaId, Long aposId, Long ateId, BigDecimal diferenca) {
+        this.contaId = contaId;
+        this.aposId = aposId;
+        this.ateId = ateId;
+        this.diferenca = diferenca;
+        this.dataRegistro = LocalDateTime.now();
+    }
+
+    public void avancar(Long aposId) {
+        this.aposId = aposId;
+    }
+}
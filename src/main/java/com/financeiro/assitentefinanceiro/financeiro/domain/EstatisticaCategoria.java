@@ -0,0 +1,64 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.DetectorAnomalias;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot das estatísticas de despesas de uma conta numa categoria, em centavos, gravado periodicamente para que
+ * o detector de anomalias não precise reler o histórico ao voltar para a memória.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "estatistica_categoria", uniqueConstraints = @UniqueConstraint(
+        name = "uk_estatistica_categoria_conta_categoria", columnNames = { "conta_id", "categoria" }))
+public class EstatisticaCategoria {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoriaFinanceira categoria;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Column(nullable = false)
+    private double media;
+
+    @Column(nullable = false)
+    private double m2;
+
+    @Column(nullable = false)
+    private double ewma;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public EstatisticaCategoria(Long contaId, CategoriaFinanceira categoria) {
+        this.contaId = contaId;
+        this.categoria = categoria;
+    }
+
+    public void atualizar(DetectorAnomalias.Snapshot snapshot) {
+        this.quantidade = snapshot.quantidade();
+        this.media = snapshot.media();
+        this.m2 = snapshot.m2();
+        this.ewma = snapshot.ewma();
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public DetectorAnomalias.Snapshot paraSnapshot() {
+        return new DetectorAnomalias.Snapshot(categoria, quantidade, media, m2, ewma);
+    }
+}
@@ -0,0 +1,131 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoEventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de alteração de uma movimentação gravado na mesma transação da escrita (outbox). Os campos sem sufixo são o
+ * estado depois da alteração (na exclusão, o estado excluído); os terminados em {@code Anterior} só são preenchidos
+ * em atualizações e estornos.
+ *
+ * <p>O {@code id} vem de uma sequência e pode ficar fora da ordem de commit; a ordem de entrega é a {@code posicao},
+ * atribuída pelo despacho aos eventos já confirmados, sem lacunas.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "evento_movimentacao", indexes = {
+        @Index(name = "uk_evento_movimentacao_posicao", columnList = "posicao", unique = true),
+        @Index(name = "idx_evento_movimentacao_conta", columnList = "conta_id, posicao")
+})
+public class EventoMovimentacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_movimentacao_seq")
+    @SequenceGenerator(name = "evento_movimentacao_seq", sequenceName = "evento_movimentacao_seq",
+            allocationSize = 50)
+    private Long id;
+
+    private Long posicao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEventoMovimentacao tipo;
+
+    @Column(nullable = false)
+    private Long movimentacaoId;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoMovimentacao tipoMovimentacao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoriaFinanceira categoria;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusMovimentacao status;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal valor;
+
+    @Column(nullable = false)
+    private LocalDate dataMovimentacao;
+
+    @Column(nullable = false, length = 500)
+    private String descricao;
+
+    @Column(length = 1000)
+    private String observacoes;
+
+    /**
+     * Registro feito pelo lote ou pela importação de extrato, que não gera alertas de despesa atípica.
+     */
+    @Column(nullable = false)
+    private boolean emLote;
+
+    @Enumerated(EnumType.STRING)
+    private TipoMovimentacao tipoMovimentacaoAnterior;
+
+    @Enumerated(EnumType.STRING)
+    private CategoriaFinanceira categoriaAnterior;
+
+    @Enumerated(EnumType.STRING)
+    private StatusMovimentacao statusAnterior;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal valorAnterior;
+
+    private LocalDate dataMovimentacaoAnterior;
+
+    @Column(nullable = false)
+    private LocalDateTime dataRegistro;
+
+    public EventoMovimentacao(TipoEventoMovimentacao tipo, MovimentacaoFinanceira movimentacao) {
+        this.tipo = tipo;
+        this.movimentacaoId = movimentacao.getId();
+        this.contaId = movimentacao.getConta().getId();
+        this.tipoMovimentacao = movimentacao.getTipoMovimentacao();
+        this.categoria = movimentacao.getCategoria();
+        this.status = movimentacao.getStatus();
+        this.valor = movimentacao.getValor();
+        this.dataMovimentacao = movimentacao.getDataMovimentacao();
+        this.descricao = movimentacao.getDescricao();
+        this.observacoes = movimentacao.getObservacoes();
+        this.dataRegistro = LocalDateTime.now();
+    }
+
+    /**
+     * Copia o estado de {@code anterior}, montado antes da alteração, para os campos {@code Anterior} deste evento.
+     */
+    public EventoMovimentacao comAnterior(EventoMovimentacao anterior) {
+        this.tipoMovimentacaoAnterior = anterior.tipoMovimentacao;
+        this.categoriaAnterior = anterior.categoria;
+        this.statusAnterior = anterior.status;
+        this.valorAnterior = anterior.valor;
+        this.dataMovimentacaoAnterior = anterior.dataMovimentacao;
+        return this;
+    }
+
+    public EventoMovimentacao emLote() {
+        this.emLote = true;
+        return this;
+    }
+
+    public void sequenciar(long posicao) {
+        this.posicao = posicao;
+    }
+}
@@ -0,0 +1,123 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.FormatoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusImportacao;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "importacao_arquivo", indexes = {
+    @Index(name = "idx_importacao_arquivo_origem", columnList = "arquivoOrigem"),
+    @Index(name = "idx_importacao_status", columnList = "status")
+})
+public class ImportacaoArquivo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Column(nullable = false, length = 100)
+    private String arquivoOrigem;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private FormatoArquivo formato;
+
+    @Column(nullable = false, length = 30)
+    private String charset;
+
+    @Column(nullable = false, length = 500)
+    private String caminhoArquivo;
+
+    @Column(nullable = false)
+    private long tamanhoBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusImportacao status;
+
+    private long registrosProcessados;
+
+    private long registrosImportados;
+
+    private long registrosDuplicados;
+
+    private long registrosComErro;
+
+    private long bytesProcessados;
+
+    private long tempoProcessamentoMs;
+
+    @Column(length = 500)
+    private String mensagemErro;
+
+    @Column(nullable = false)
+    private LocalDateTime dataInicio;
+
+    private LocalDateTime dataAtualizacao;
+
+    private LocalDateTime dataConclusao;
+
+    public ImportacaoArquivo(Long contaId, String arquivoOrigem, FormatoArquivo formato, String charset,
+                             String caminhoArquivo, long tamanhoBytes) {
+        this.contaId = contaId;
+        this.arquivoOrigem = arquivoOrigem;
+        this.formato = formato;
+        this.charset = charset;
+        this.caminhoArquivo = caminhoArquivo;
+        this.tamanhoBytes = tamanhoBytes;
+        this.status = StatusImportacao.EM_ANDAMENTO;
+        this.dataInicio = LocalDateTime.now();
+        this.dataAtualizacao = this.dataInicio;
+    }
+
+    public void registrarChunk(long processados, long importados, long duplicados, long comErro,
+                               long bytesProcessados, long tempoMs) {
+        this.registrosProcessados += processados;
+        this.registrosImportados += importados;
+        this.registrosDuplicados += duplicados;
+        this.registrosComErro += comErro;
+        this.bytesProcessados = bytesProcessados;
+        this.tempoProcessamentoMs += tempoMs;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public void retomar() {
+        this.status = StatusImportacao.EM_ANDAMENTO;
+        this.mensagemErro = null;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public void concluir() {
+        this.status = StatusImportacao.CONCLUIDA;
+        this.bytesProcessados = this.tamanhoBytes;
+        this.dataAtualizacao = LocalDateTime.now();
+        this.dataConclusao = this.dataAtualizacao;
+    }
+
+    public void falhar(String mensagemErro) {
+        this.status = StatusImportacao.FALHOU;
+        this.mensagemErro = mensagemErro != null && mensagemErro.length() > 500
+                ? mensagemErro.substring(0, 500) : mensagemErro;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public double getPercentualConcluido() {
+        if (StatusImportacao.CONCLUIDA.equals(status) || tamanhoBytes <= 0) {
+            return StatusImportacao.CONCLUIDA.equals(status) ? 100.0 : 0.0;
+        }
+        return Math.min(100.0, bytesProcessados * 100.0 / tamanhoBytes);
+    }
+
+    public double getRegistrosPorSegundo() {
+        return tempoProcessamentoMs > 0 ? registrosProcessados * 1000.0 / tempoProcessamentoMs : 0.0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.IndiceTextual;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot do {@link IndiceTextual} de uma conta, com as postagens compactadas como estão em memória. Reflete os
+ * eventos de movimentação até {@code posicaoEvento}; ao voltar para a memória, o índice recebe os eventos seguintes
+ * da conta em vez de ser remontado a partir das movimentações.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "indice_textual_conta")
+public class IndiceTextualConta {
+
+    @Id
+    @Column(name = "conta_id")
+    private Long contaId;
+
+    @Column(nullable = false)
+    private long posicaoEvento;
+
+    @Column(nullable = false)
+    private int documentos;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false)
+    private byte[] postagens;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public IndiceTextualConta(Long contaId) {
+        this.contaId = contaId;
+    }
+
+    public void atualizar(byte[] postagens, int documentos, long posicaoEvento) {
+        this.postagens = postagens;
+        this.documentos = documentos;
+        this.posicaoEvento = posicaoEvento;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
@@ -2,23 +2,35 @@ package com.financeiro.assitentefinanceiro.financeiro.domain;
 
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MetaEconomiaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
 import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMeta;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate
 @Entity
-@Table(name = "meta_economia")
+@Table(name = "meta_economia", indexes = {
+        @Index(name = "idx_meta_conta_status_data_fim", columnList = "conta_id, status, dataFim"),
+        @Index(name = "idx_meta_conta_data_fim", columnList = "conta_id, dataFim"),
+        @Index(name = "idx_meta_conta_tipo", columnList = "conta_id, tipoMeta"),
+        @Index(name = "idx_meta_conta_percentual", columnList = "conta_id, percentualConcluido")
+})
 public class MetaEconomia {
 
     @Id
@@ -64,6 +76,14 @@ public class MetaEconomia {
     @JoinColumn(name = "conta_id", nullable = false)
     private DadosConta conta;
 
+    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
+    @CollectionTable(name = "meta_economia_categoria", joinColumns = @JoinColumn(name = "meta_id"),
+            indexes = @Index(name = "idx_meta_categoria_categoria", columnList = "categoria, meta_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "categoria", nullable = false)
+    private Set<CategoriaFinanceira> categoriasVinculadas = EnumSet.noneOf(CategoriaFinanceira.class);
+
     public MetaEconomia(String nome, String descricao, TipoMeta tipoMeta, BigDecimal valorMeta,
                         LocalDate dataInicio, LocalDate dataFim, String observacoes, DadosConta conta) {
         this.nome = nome.trim();
@@ -99,7 +119,7 @@ public class MetaEconomia {
     }
 
     public static MetaEconomia fromDTO(MetaEconomiaDTO dto, DadosConta conta) {
-        return new MetaEconomia(
+        MetaEconomia meta = new MetaEconomia(
                 dto.nome(),
                 dto.descricao(),
                 dto.tipoMeta(),
@@ -113,6 +133,8 @@ public class MetaEconomia {
                 dto.percentualConcluido(),
                 conta
         );
+        meta.vincularCategorias(dto.categoriasVinculadas());
+        return meta;
     }
 
     public void atualizarProgresso(BigDecimal valorAdicionado) {
@@ -140,6 +162,37 @@ public class MetaEconomia {
                 .multiply(new BigDecimal("100"));
     }
 
+    /**
+     * Substitui as categorias cujas movimentações concluídas alimentam o progresso da meta. Sem categorias, o
+     * progresso volta a ser informado só manualmente.
+     */
+    public void vincularCategorias(Collection<CategoriaFinanceira> categorias) {
+        this.categoriasVinculadas.clear();
+        if (categorias != null) {
+            this.categoriasVinculadas.addAll(categorias);
+        }
+    }
+
+    public boolean isVinculadaACategorias() {
+        return !this.categoriasVinculadas.isEmpty();
+    }
+
+    /**
+     * Define o progresso calculado a partir das movimentações, com a mesma regra do incremento atômico de
+     * {@code MetaEconomiaRepository.aplicarAporte}: percentual entre 0 e 100 e conclusão das metas ativas que
+     * atingem o valor.
+     */
+    public void redefinirProgresso(BigDecimal valorAtual) {
+        this.valorAtual = valorAtual;
+        this.percentualConcluido = valorAtual.signum() <= 0 ? BigDecimal.ZERO
+                : valorAtual.compareTo(this.valorMeta) >= 0 ? new BigDecimal("100")
+                : valorAtual.multiply(new BigDecimal("100")).divide(this.valorMeta, 2, RoundingMode.HALF_UP);
+
+        if (StatusMeta.ATIVA.equals(this.status) && valorAtual.compareTo(this.valorMeta) >= 0) {
+            this.status = StatusMeta.CONCLUIDA;
+        }
+    }
+
     public boolean isConcluida() {
         return StatusMeta.CONCLUIDA.equals(this.status);
     }
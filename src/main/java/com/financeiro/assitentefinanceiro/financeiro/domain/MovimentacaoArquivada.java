@@ -0,0 +1,95 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.FonteMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Movimentação concluída anterior ao horizonte de arquivamento, movida de {@link MovimentacaoFinanceira} com o mesmo
+ * ID e as mesmas colunas. Não é alterada depois de arquivada; os totais de cada conta no arquivo ficam em
+ * {@link SaldoAbertura}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "movimentacao_arquivada", uniqueConstraints = @UniqueConstraint(
+        name = "uk_movimentacao_arquivada_conta_identificador_externo",
+        columnNames = {"conta_id", "identificadorExterno"}),
+        indexes = @Index(name = "idx_movimentacao_arquivada_conta_data_id", columnList = "conta_id, dataMovimentacao, id"))
+public class MovimentacaoArquivada {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoMovimentacao tipoMovimentacao;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal valor;
+
+    @Column(nullable = false, length = 500)
+    private String descricao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoriaFinanceira categoria;
+
+    @Column(nullable = false)
+    private LocalDate dataMovimentacao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataRegistro;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusMovimentacao status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private FonteMovimentacao fonteMovimentacao;
+
+    @Column(length = 1000)
+    private String observacoes;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal saldoAnterior;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal saldoAtual;
+
+    @Column(length = 100)
+    private String arquivoOrigem;
+
+    @Column(length = 50)
+    private String identificadorExterno;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    public MovimentacaoFinanceiraDTO paraDTO() {
+        return new MovimentacaoFinanceiraDTO(id, tipoMovimentacao, valor, descricao, categoria, dataMovimentacao,
+                dataRegistro, status, fonteMovimentacao, observacoes, saldoAnterior, saldoAtual, arquivoOrigem,
+                identificadorExterno, contaId);
+    }
+
+    /**
+     * Cópia desanexada como {@link MovimentacaoFinanceira}, para as leituras que devolvem entidades; não deve ser
+     * gravada.
+     */
+    public MovimentacaoFinanceira paraMovimentacao(DadosConta conta) {
+        return new MovimentacaoFinanceira(id, tipoMovimentacao, valor, descricao, categoria, dataMovimentacao,
+                dataRegistro, status, fonteMovimentacao, observacoes, saldoAnterior, saldoAtual, arquivoOrigem,
+                identificadorExterno, conta);
+    }
+}
@@ -19,11 +19,23 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "movimentacao_financeira")
+@Table(name = "movimentacao_financeira", uniqueConstraints = @UniqueConstraint(
+        name = "uk_movimentacao_conta_identificador_externo", columnNames = {"conta_id", "identificadorExterno"}),
+        indexes = {
+                @Index(name = "idx_movimentacao_data_id", columnList = "dataMovimentacao, id"),
+                @Index(name = "idx_movimentacao_conta_data_id", columnList = "conta_id, dataMovimentacao, id"),
+                @Index(name = "idx_movimentacao_conta_tipo_data", columnList = "conta_id, tipoMovimentacao, dataMovimentacao"),
+                @Index(name = "idx_movimentacao_conta_categoria_data", columnList = "conta_id, categoria, dataMovimentacao"),
+                @Index(name = "idx_movimentacao_conta_status_tipo_valor", columnList = "conta_id, status, tipoMovimentacao, valor"),
+                @Index(name = "idx_movimentacao_identificador_externo", columnList = "identificadorExterno"),
+                @Index(name = "idx_movimentacao_arquivo_origem", columnList = "arquivoOrigem")
+        })
 public class MovimentacaoFinanceira {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimentacao_financeira_seq")
+    @SequenceGenerator(name = "movimentacao_financeira_seq", sequenceName = "movimentacao_financeira_seq",
+            allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -156,5 +168,8 @@ public class MovimentacaoFinanceira {
 
     public void estornar() {
         this.status = StatusMovimentacao.ESTORNADA;
+        if (this.saldoAnterior != null) {
+            this.saldoAtual = this.saldoAnterior;
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Última posição de {@link EventoMovimentacao} processada por um ouvinte, gravada na mesma transação do
+ * processamento do lote.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "posicao_ouvinte_evento")
+public class PosicaoOuvinteEvento {
+
+    @Id
+    @Column(length = 100)
+    private String ouvinte;
+
+    @Column(nullable = false)
+    private long posicao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public PosicaoOuvinteEvento(String ouvinte, long posicao) {
+        this.ouvinte = ouvinte;
+        this.posicao = posicao;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public void mover(long posicao) {
+        this.posicao = posicao;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
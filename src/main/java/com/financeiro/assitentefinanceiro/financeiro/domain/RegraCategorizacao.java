@@ -0,0 +1,40 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "regra_categorizacao")
+public class RegraCategorizacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String termo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoriaFinanceira categoria;
+
+    @Enumerated(EnumType.STRING)
+    private TipoMovimentacao tipoMovimentacao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataRegistro;
+
+    public RegraCategorizacao(String termo, CategoriaFinanceira categoria, TipoMovimentacao tipoMovimentacao) {
+        this.termo = termo.trim();
+        this.categoria = categoria;
+        this.tipoMovimentacao = tipoMovimentacao;
+        this.dataRegistro = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,64 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusRelatorioJob;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Geração assíncrona de um relatório PDF. Mantido apenas em memória pelo {@code RelatorioJobService}; o PDF gerado
+ * fica em um arquivo temporário compartilhado por todos os jobs com os mesmos parâmetros e dados.
+ */
+@Getter
+public class RelatorioJob {
+
+    private final String id;
+    private final String usuario;
+    private final Long contaId;
+    private final LocalDateTime dataCriacao;
+    private volatile StatusRelatorioJob status;
+    private volatile LocalDateTime dataInicio;
+    private volatile LocalDateTime dataConclusao;
+    private volatile Artefato artefato;
+    private volatile boolean emCache;
+    private volatile String mensagemErro;
+
+    public RelatorioJob(String id, String usuario, Long contaId) {
+        this.id = id;
+        this.usuario = usuario;
+        this.contaId = contaId;
+        this.dataCriacao = LocalDateTime.now();
+        this.status = StatusRelatorioJob.PENDENTE;
+    }
+
+    public static RelatorioJob doCache(String id, String usuario, Long contaId, Artefato artefato) {
+        RelatorioJob job = new RelatorioJob(id, usuario, contaId);
+        job.emCache = true;
+        job.dataInicio = job.dataCriacao;
+        job.concluir(artefato);
+        return job;
+    }
+
+    public void iniciar() {
+        this.dataInicio = LocalDateTime.now();
+        this.status = StatusRelatorioJob.EM_EXECUCAO;
+    }
+
+    public void concluir(Artefato artefato) {
+        this.artefato = artefato;
+        this.dataConclusao = LocalDateTime.now();
+        this.status = StatusRelatorioJob.CONCLUIDO;
+    }
+
+    public void falhar(String mensagemErro) {
+        this.mensagemErro = mensagemErro != null && mensagemErro.length() > 500
+                ? mensagemErro.substring(0, 500)
+                : mensagemErro;
+        this.dataConclusao = LocalDateTime.now();
+        this.status = StatusRelatorioJob.FALHOU;
+    }
+
+    public record Artefato(Path arquivo, long tamanhoBytes, int paginas, LocalDateTime dataGeracao) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "resumo_mensal", uniqueConstraints = @UniqueConstraint(name = "uk_resumo_mensal_chave",
+        columnNames = { "conta_id", "anoMes", "categoria", "tipoMovimentacao", "status" }))
+public class ResumoMensal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Column(nullable = false, length = 7)
+    private String anoMes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoriaFinanceira categoria;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoMovimentacao tipoMovimentacao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusMovimentacao status;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public ResumoMensal(Long contaId, String anoMes, CategoriaFinanceira categoria,
+                        TipoMovimentacao tipoMovimentacao, StatusMovimentacao status,
+                        long quantidade, BigDecimal total) {
+        this.contaId = contaId;
+        this.anoMes = anoMes;
+        this.categoria = categoria;
+        this.tipoMovimentacao = tipoMovimentacao;
+        this.status = status;
+        this.quantidade = quantidade;
+        this.total = total;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public void somar(long quantidade, BigDecimal valor) {
+        this.quantidade += quantidade;
+        this.total = this.total.add(valor);
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public boolean isVazio() {
+        return quantidade <= 0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de abertura da conta carregado do arquivo: totais das receitas e despesas concluídas já movidas para
+ * {@link MovimentacaoArquivada}. Somado às movimentações da tabela principal, dá o saldo total da conta. Todas as
+ * movimentações arquivadas são anteriores a {@code dataLimite}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "saldo_abertura")
+public class SaldoAbertura {
+
+    @Id
+    @Column(name = "conta_id")
+    private Long contaId;
+
+    @Column(nullable = false)
+    private LocalDate dataLimite;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalReceitas;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalDespesas;
+
+    @Column(nullable = false)
+    private long quantidadeMovimentacoes;
+
+    private Long ultimaMovimentacaoId;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public SaldoAbertura(Long contaId, LocalDate dataLimite) {
+        this.contaId = contaId;
+        this.dataLimite = dataLimite;
+        this.totalReceitas = BigDecimal.ZERO;
+        this.totalDespesas = BigDecimal.ZERO;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public BigDecimal getSaldo() {
+        return totalReceitas.subtract(totalDespesas);
+    }
+
+    /**
+     * Soma um lote recém-arquivado e avança a data limite, que nunca recua.
+     */
+    public void acumular(LocalDate dataLimite, BigDecimal receitas, BigDecimal despesas, long quantidade,
+            Long ultimaMovimentacaoId) {
+        if (dataLimite.isAfter(this.dataLimite)) {
+            this.dataLimite = dataLimite;
+        }
+        this.totalReceitas = this.totalReceitas.add(receitas);
+        this.totalDespesas = this.totalDespesas.add(despesas);
+        this.quantidadeMovimentacoes += quantidade;
+        if (ultimaMovimentacaoId != null && (this.ultimaMovimentacaoId == null
+                || ultimaMovimentacaoId > this.ultimaMovimentacaoId)) {
+            this.ultimaMovimentacaoId = ultimaMovimentacaoId;
+        }
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
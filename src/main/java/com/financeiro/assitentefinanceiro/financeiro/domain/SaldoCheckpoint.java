@@ -0,0 +1,40 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "saldo_checkpoint", uniqueConstraints = @UniqueConstraint(name = "uk_saldo_checkpoint_conta_data",
+        columnNames = { "conta_id", "dataReferencia" }))
+public class SaldoCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Column(nullable = false)
+    private LocalDate dataReferencia;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public SaldoCheckpoint(Long contaId, LocalDate dataReferencia, BigDecimal saldo) {
+        this.contaId = contaId;
+        this.dataReferencia = dataReferencia;
+        this.saldo = saldo;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
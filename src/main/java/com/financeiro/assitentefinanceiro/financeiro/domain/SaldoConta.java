@@ -0,0 +1,104 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "saldo_conta")
+public class SaldoConta {
+
+    @Id
+    @Column(name = "conta_id")
+    private Long contaId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalReceitas;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalDespesas;
+
+    private Long ultimaMovimentacaoId;
+
+    /**
+     * Incrementado a cada movimentação aplicada ou revertida, inclusive as que não alteram o saldo, para servir de
+     * marca d'água dos dados da conta.
+     */
+    @Column(nullable = false)
+    private long sequenciaAlteracao;
+
+    @Version
+    private Long versao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public SaldoConta(Long contaId, BigDecimal totalReceitas, BigDecimal totalDespesas, Long ultimaMovimentacaoId) {
+        this.contaId = contaId;
+        this.totalReceitas = totalReceitas;
+        this.totalDespesas = totalDespesas;
+        this.saldo = totalReceitas.subtract(totalDespesas);
+        this.ultimaMovimentacaoId = ultimaMovimentacaoId;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public static BigDecimal efeito(TipoMovimentacao tipoMovimentacao, StatusMovimentacao status, BigDecimal valor) {
+        if (!StatusMovimentacao.CONCLUIDA.equals(status) || valor == null) {
+            return BigDecimal.ZERO;
+        }
+        if (TipoMovimentacao.RECEITA.equals(tipoMovimentacao)) {
+            return valor;
+        } else if (TipoMovimentacao.DESPESA.equals(tipoMovimentacao)) {
+            return valor.negate();
+        }
+        return BigDecimal.ZERO;
+    }
+
+    public void aplicar(TipoMovimentacao tipoMovimentacao, StatusMovimentacao status, BigDecimal valor,
+                        Long movimentacaoId) {
+        somar(tipoMovimentacao, status, valor);
+        this.ultimaMovimentacaoId = movimentacaoId;
+        this.sequenciaAlteracao++;
+    }
+
+    public void reverter(TipoMovimentacao tipoMovimentacao, StatusMovimentacao status, BigDecimal valor,
+                         Long movimentacaoId) {
+        somar(tipoMovimentacao, status, valor != null ? valor.negate() : null);
+        this.ultimaMovimentacaoId = movimentacaoId;
+        this.sequenciaAlteracao++;
+    }
+
+    public void redefinir(BigDecimal totalReceitas, BigDecimal totalDespesas, Long ultimaMovimentacaoId) {
+        this.totalReceitas = totalReceitas;
+        this.totalDespesas = totalDespesas;
+        this.saldo = totalReceitas.subtract(totalDespesas);
+        this.ultimaMovimentacaoId = ultimaMovimentacaoId;
+        this.sequenciaAlteracao++;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    private void somar(TipoMovimentacao tipoMovimentacao, StatusMovimentacao status, BigDecimal valor) {
+        if (!StatusMovimentacao.CONCLUIDA.equals(status) || valor == null) {
+            return;
+        }
+        if (TipoMovimentacao.RECEITA.equals(tipoMovimentacao)) {
+            this.totalReceitas = this.totalReceitas.add(valor);
+        } else if (TipoMovimentacao.DESPESA.equals(tipoMovimentacao)) {
+            this.totalDespesas = this.totalDespesas.add(valor);
+        } else {
+            return;
+        }
+        this.saldo = this.totalReceitas.subtract(this.totalDespesas);
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
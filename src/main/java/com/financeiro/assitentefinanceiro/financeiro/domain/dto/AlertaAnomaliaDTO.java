@@ -0,0 +1,50 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.AlertaAnomalia;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.MotivoAnomalia;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Schema(description = "Despesa apontada como atípica no momento do registro")
+public record AlertaAnomaliaDTO(
+        @Schema(description = "ID do alerta", example = "1")
+        Long id,
+
+        @Schema(description = "ID da movimentação que gerou o alerta", example = "42")
+        Long movimentacaoId,
+
+        @Schema(description = "Motivo do alerta", example = "VALOR_ACIMA_DO_HABITUAL")
+        MotivoAnomalia motivo,
+
+        @Schema(description = "Categoria da despesa", example = "ALIMENTACAO")
+        CategoriaFinanceira categoria,
+
+        @Schema(description = "Descrição da despesa", example = "Restaurante Fasano")
+        String descricao,
+
+        @Schema(description = "Valor da despesa", example = "1450.00")
+        BigDecimal valor,
+
+        @Schema(description = "Valor habitual da categoria (média móvel exponencial) antes da despesa", example = "85.30")
+        BigDecimal valorHabitual,
+
+        @Schema(description = "Distância do valor à média da categoria, em desvios-padrão", example = "12.4")
+        double desvios,
+
+        @Schema(description = "Data da movimentação", example = "2024-03-15")
+        LocalDate dataMovimentacao,
+
+        @Schema(description = "Data de registro do alerta", example = "2024-03-15T10:30:00")
+        LocalDateTime dataRegistro
+) {
+
+    public static AlertaAnomaliaDTO fromAlertaAnomalia(AlertaAnomalia alerta) {
+        return new AlertaAnomaliaDTO(alerta.getId(), alerta.getMovimentacaoId(), alerta.getMotivo(),
+                alerta.getCategoria(), alerta.getDescricao(), alerta.getValor(), alerta.getValorHabitual(),
+                alerta.getDesvios(), alerta.getDataMovimentacao(), alerta.getDataRegistro());
+    }
+}
@@ -0,0 +1,29 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Movimentações de uma conta que contêm todos os termos da consulta, da mais para a menos relevante")
+public record BuscaMovimentacoesDTO(
+        @Schema(description = "ID da conta", example = "1")
+        Long contaId,
+
+        @Schema(description = "Consulta recebida", example = "farmacia sao joao")
+        String consulta,
+
+        @Schema(description = "Quantidade de movimentações encontradas, inclusive as que ficaram fora do limite", example = "37")
+        int totalEncontrado,
+
+        @Schema(description = "Movimentações mais relevantes")
+        List<ItemBuscaDTO> resultados
+) {
+    public record ItemBuscaDTO(
+            @Schema(description = "Relevância BM25 da movimentação para a consulta", example = "7.42")
+            double relevancia,
+
+            @Schema(description = "Movimentação encontrada")
+            MovimentacaoFinanceiraDTO movimentacao
+    ) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Totais das movimentações concluídas de uma conta por categoria, do maior para o menor")
+public record DistribuicaoCategoriasDTO(
+        @Schema(description = "ID da conta", example = "1")
+        Long contaId,
+
+        @Schema(description = "Tipo das movimentações", example = "DESPESA")
+        TipoMovimentacao tipoMovimentacao,
+
+        @Schema(description = "Data de início do período, quando informada", example = "2024-01-01")
+        LocalDate dataInicio,
+
+        @Schema(description = "Data de fim do período, quando informada", example = "2024-12-31")
+        LocalDate dataFim,
+
+        @Schema(description = "Soma de todas as categorias, inclusive as que ficaram fora do ranking", example = "4820.40")
+        BigDecimal total,
+
+        @Schema(description = "Categorias ordenadas pelo total")
+        List<TotalCategoriaDTO> categorias
+) {
+    public DistribuicaoCategoriasDTO limitar(int quantidade) {
+        if (quantidade >= categorias.size()) {
+            return this;
+        }
+        return new DistribuicaoCategoriasDTO(contaId, tipoMovimentacao, dataInicio, dataFim, total,
+                categorias.subList(0, quantidade));
+    }
+
+    public record TotalCategoriaDTO(
+            @Schema(description = "Posição no ranking, a partir de 1", example = "1")
+            int posicao,
+
+            @Schema(description = "Categoria das movimentações", example = "MORADIA")
+            CategoriaFinanceira categoria,
+
+            @Schema(description = "Quantidade de movimentações", example = "12")
+            long quantidade,
+
+            @Schema(description = "Soma dos valores", example = "1800.00")
+            BigDecimal total,
+
+            @Schema(description = "Participação no total, em percentual", example = "37.34")
+            BigDecimal percentual
+    ) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.ImportacaoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.enums.FormatoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusImportacao;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Progresso de uma importação de extrato")
+public record ImportacaoArquivoDTO(
+        @Schema(description = "ID da importação", example = "1")
+        Long id,
+
+        @Schema(description = "ID da conta de destino", example = "1")
+        Long contaId,
+
+        @Schema(description = "Nome do arquivo de origem", example = "extrato_jan_2024.csv")
+        String arquivoOrigem,
+
+        @Schema(description = "Formato do arquivo", example = "CSV")
+        FormatoArquivo formato,
+
+        @Schema(description = "Status da importação", example = "EM_ANDAMENTO")
+        StatusImportacao status,
+
+        @Schema(description = "Registros lidos e confirmados", example = "1500")
+        long registrosProcessados,
+
+        @Schema(description = "Movimentações criadas", example = "1480")
+        long registrosImportados,
+
+        @Schema(description = "Registros ignorados por identificador externo já existente", example = "15")
+        long registrosDuplicados,
+
+        @Schema(description = "Registros rejeitados", example = "5")
+        long registrosComErro,
+
+        @Schema(description = "Percentual do arquivo já processado", example = "42.5")
+        double percentualConcluido,
+
+        @Schema(description = "Vazão em registros por segundo", example = "3500.0")
+        double registrosPorSegundo,
+
+        @Schema(description = "Mensagem de erro da última execução")
+        String mensagemErro,
+
+        @Schema(description = "Data de início", example = "2024-01-15T10:30:00")
+        LocalDateTime dataInicio,
+
+        @Schema(description = "Data da última atualização de progresso", example = "2024-01-15T10:31:00")
+        LocalDateTime dataAtualizacao,
+
+        @Schema(description = "Data de conclusão", example = "2024-01-15T10:32:00")
+        LocalDateTime dataConclusao
+) {
+
+    public static ImportacaoArquivoDTO fromImportacaoArquivo(ImportacaoArquivo importacao) {
+        return new ImportacaoArquivoDTO(
+                importacao.getId(),
+                importacao.getContaId(),
+                importacao.getArquivoOrigem(),
+                importacao.getFormato(),
+                importacao.getStatus(),
+                importacao.getRegistrosProcessados(),
+                importacao.getRegistrosImportados(),
+                importacao.getRegistrosDuplicados(),
+                importacao.getRegistrosComErro(),
+                importacao.getPercentualConcluido(),
+                importacao.getRegistrosPorSegundo(),
+                importacao.getMensagemErro(),
+                importacao.getDataInicio(),
+                importacao.getDataAtualizacao(),
+                importacao.getDataConclusao()
+        );
+    }
+}
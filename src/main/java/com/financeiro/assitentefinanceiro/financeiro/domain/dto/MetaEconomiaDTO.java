@@ -1,6 +1,7 @@
 package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
 
 import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
 import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMeta;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 public record MetaEconomiaDTO(
         @Schema(description = "ID da meta", example = "1", required = true)
@@ -47,18 +49,21 @@ public record MetaEconomiaDTO(
         BigDecimal percentualConcluido,
 
         @Schema(description = "ID da conta relacionada", example = "1", required = true)
-        Long contaId
+        Long contaId,
+
+        @Schema(description = "Categorias de poupança ou investimento cujas movimentações concluídas atualizam o progresso", example = "[\"POUPANCA\", \"CDB\"]")
+        Set<CategoriaFinanceira> categoriasVinculadas
 ) {
 
     public static MetaEconomiaDTO paraCadastro(String nome, String descricao, TipoMeta tipoMeta, BigDecimal valorMeta, LocalDate dataInicio, LocalDate dataFim, String observacoes, Long contaId) {
-        return new MetaEconomiaDTO(null, nome.trim(), descricao != null ? descricao.trim() : null, tipoMeta, valorMeta, BigDecimal.ZERO, dataInicio, dataFim, StatusMeta.ATIVA, LocalDateTime.now(), observacoes != null ? observacoes.trim() : null, BigDecimal.ZERO, contaId);
+        return new MetaEconomiaDTO(null, nome.trim(), descricao != null ? descricao.trim() : null, tipoMeta, valorMeta, BigDecimal.ZERO, dataInicio, dataFim, StatusMeta.ATIVA, LocalDateTime.now(), observacoes != null ? observacoes.trim() : null, BigDecimal.ZERO, contaId, null);
     }
 
     public static MetaEconomiaDTO paraAtualizacao(Long id, String nome, String descricao, TipoMeta tipoMeta, BigDecimal valorMeta, LocalDate dataInicio, LocalDate dataFim, String observacoes, Long contaId) {
-        return new MetaEconomiaDTO(id, nome.trim(), descricao != null ? descricao.trim() : null, tipoMeta, valorMeta, null, dataInicio, dataFim, null, null, observacoes != null ? observacoes.trim() : null, null, contaId);
+        return new MetaEconomiaDTO(id, nome.trim(), descricao != null ? descricao.trim() : null, tipoMeta, valorMeta, null, dataInicio, dataFim, null, null, observacoes != null ? observacoes.trim() : null, null, contaId, null);
     }
 
     public static MetaEconomiaDTO fromMetaEconomia(MetaEconomia meta) {
-        return new MetaEconomiaDTO(meta.getId(), meta.getNome(), meta.getDescricao(), meta.getTipoMeta(), meta.getValorMeta(), meta.getValorAtual(), meta.getDataInicio(), meta.getDataFim(), meta.getStatus(), meta.getDataRegistro(), meta.getObservacoes(), meta.getPercentualConcluido(), meta.getConta().getId());
+        return new MetaEconomiaDTO(meta.getId(), meta.getNome(), meta.getDescricao(), meta.getTipoMeta(), meta.getValorMeta(), meta.getValorAtual(), meta.getDataInicio(), meta.getDataFim(), meta.getStatus(), meta.getDataRegistro(), meta.getObservacoes(), meta.getPercentualConcluido(), meta.getConta().getId(), Set.copyOf(meta.getCategoriasVinculadas()));
     }
 }
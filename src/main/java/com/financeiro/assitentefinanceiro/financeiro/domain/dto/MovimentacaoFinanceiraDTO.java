@@ -78,6 +78,12 @@ public record MovimentacaoFinanceiraDTO(
                 null, null, null, null, contaId);
     }
 
+    public MovimentacaoFinanceiraDTO comCategoria(CategoriaFinanceira novaCategoria) {
+        return new MovimentacaoFinanceiraDTO(id, tipoMovimentacao, valor, descricao, novaCategoria, dataMovimentacao,
+                dataRegistro, status, fonteMovimentacao, observacoes, saldoAnterior, saldoAtual, arquivoOrigem,
+                identificadorExterno, contaId);
+    }
+
     public static MovimentacaoFinanceiraDTO fromMovimentacaoFinanceira(MovimentacaoFinanceira movimentacao) {
         return new MovimentacaoFinanceiraDTO(
                 movimentacao.getId(),
@@ -0,0 +1,19 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Posição de um ouvinte na fila de eventos de movimentação")
+public record OuvinteEventoDTO(
+        @Schema(description = "Nome do ouvinte", example = "contexto-ia")
+        String ouvinte,
+
+        @Schema(description = "Última posição processada pelo ouvinte", example = "1520")
+        long posicao,
+
+        @Schema(description = "Última posição atribuída a um evento", example = "1532")
+        long ultimaPosicao,
+
+        @Schema(description = "Eventos ainda não processados pelo ouvinte", example = "12")
+        long atraso
+) {
+}
@@ -0,0 +1,46 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Resultado da reconciliação do progresso das metas vinculadas a categorias com o histórico de movimentações")
+public record ReconciliacaoProgressoMetaDTO(
+        @Schema(description = "Quantidade de metas verificadas", example = "40")
+        int metasVerificadas,
+
+        @Schema(description = "Quantidade de metas com divergência", example = "1")
+        int metasDivergentes,
+
+        @Schema(description = "Indica se as divergências foram corrigidas", example = "true")
+        boolean corrigido,
+
+        @Schema(description = "Divergências encontradas")
+        List<DivergenciaProgressoDTO> divergencias,
+
+        @Schema(description = "Duração da reconciliação em milissegundos", example = "85")
+        long duracaoMs,
+
+        @Schema(description = "Data de execução da reconciliação", example = "2024-01-15T03:45:00")
+        LocalDateTime dataExecucao
+) {
+    public record DivergenciaProgressoDTO(
+            @Schema(description = "ID da meta", example = "1")
+            Long metaId,
+
+            @Schema(description = "ID da conta", example = "1")
+            Long contaId,
+
+            @Schema(description = "Valor atual registrado antes da verificação", example = "2500.00")
+            BigDecimal valorRegistrado,
+
+            @Schema(description = "Valor recalculado a partir das movimentações", example = "2400.00")
+            BigDecimal valorCalculado,
+
+            @Schema(description = "Diferença (registrado - calculado)", example = "100.00")
+            BigDecimal diferenca
+    ) {
+    }
+}
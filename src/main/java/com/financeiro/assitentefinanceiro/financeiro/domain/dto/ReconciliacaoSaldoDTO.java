@@ -0,0 +1,40 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Resultado da reconciliação dos saldos materializados com o histórico de movimentações")
+public record ReconciliacaoSaldoDTO(
+        @Schema(description = "Quantidade de contas verificadas", example = "120")
+        int contasVerificadas,
+
+        @Schema(description = "Quantidade de contas com divergência", example = "2")
+        int contasDivergentes,
+
+        @Schema(description = "Indica se as divergências foram corrigidas", example = "true")
+        boolean corrigido,
+
+        @Schema(description = "Divergências encontradas")
+        List<DivergenciaSaldoDTO> divergencias,
+
+        @Schema(description = "Data de execução da reconciliação", example = "2024-01-15T03:00:00")
+        LocalDateTime dataExecucao
+) {
+    public record DivergenciaSaldoDTO(
+            @Schema(description = "ID da conta", example = "1")
+            Long contaId,
+
+            @Schema(description = "Saldo materializado antes da verificação", example = "1500.00")
+            BigDecimal saldoRegistrado,
+
+            @Schema(description = "Saldo recalculado a partir das movimentações", example = "1450.00")
+            BigDecimal saldoCalculado,
+
+            @Schema(description = "Diferença (registrado - calculado)", example = "50.00")
+            BigDecimal diferenca
+    ) {
+    }
+}
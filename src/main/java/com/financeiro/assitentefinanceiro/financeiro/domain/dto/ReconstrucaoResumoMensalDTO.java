@@ -0,0 +1,21 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Resultado da reconstrução do resumo mensal a partir do histórico de movimentações")
+public record ReconstrucaoResumoMensalDTO(
+        @Schema(description = "Quantidade de contas reconstruídas", example = "120")
+        int contasProcessadas,
+
+        @Schema(description = "Quantidade de linhas geradas no resumo mensal", example = "4800")
+        long linhasGeradas,
+
+        @Schema(description = "Duração da reconstrução em milissegundos", example = "850")
+        long duracaoMs,
+
+        @Schema(description = "Data de execução da reconstrução", example = "2024-01-15T03:00:00")
+        LocalDateTime dataExecucao
+) {
+}
@@ -0,0 +1,32 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.RegraCategorizacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Regra do usuário para a categorização automática de descrições")
+public record RegraCategorizacaoDTO(
+        @Schema(description = "ID da regra", example = "1")
+        Long id,
+
+        @Schema(description = "Termo procurado na descrição, como palavra inteira e sem diferenciar acentos", example = "academia do bairro", required = true)
+        String termo,
+
+        @Schema(description = "Categoria atribuída quando o termo aparece", example = "SAUDE", required = true)
+        CategoriaFinanceira categoria,
+
+        @Schema(description = "Tipo de movimentação ao qual a regra se restringe; vazio vale para todos", example = "DESPESA")
+        TipoMovimentacao tipoMovimentacao,
+
+        @Schema(description = "Data de registro", example = "2024-01-15T10:30:00")
+        LocalDateTime dataRegistro
+) {
+
+    public static RegraCategorizacaoDTO fromRegraCategorizacao(RegraCategorizacao regra) {
+        return new RegraCategorizacaoDTO(regra.getId(), regra.getTermo(), regra.getCategoria(),
+                regra.getTipoMovimentacao(), regra.getDataRegistro());
+    }
+}
@@ -40,7 +40,16 @@ public record RelatorioDadosDTO(
         LocalDate dataFim,
 
         @Schema(description = "Tipo de movimentação filtrado")
-        String tipoMovimentacao
+        String tipoMovimentacao,
+
+        @Schema(description = "Quantidade de movimentações no relatório", example = "42")
+        long quantidadeMovimentacoes,
+
+        @Schema(description = "Data da primeira movimentação do relatório", example = "2024-01-02")
+        LocalDate dataPrimeiraMovimentacao,
+
+        @Schema(description = "Data da última movimentação do relatório", example = "2024-12-28")
+        LocalDate dataUltimaMovimentacao
 ) {
     public record DadosContaResumoDTO(
             @Schema(description = "Nome do banco", example = "Inter")
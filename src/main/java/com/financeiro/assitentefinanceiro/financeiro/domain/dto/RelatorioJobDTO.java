@@ -0,0 +1,62 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.RelatorioJob;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusRelatorioJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Situação de uma geração assíncrona de relatório PDF")
+public record RelatorioJobDTO(
+        @Schema(description = "ID do job", example = "3f2a7c1e-9b7d-4d8e-8a51-0c6f1f3b2a10")
+        String id,
+
+        @Schema(description = "ID da conta do relatório", example = "1")
+        Long contaId,
+
+        @Schema(description = "Status do job", example = "CONCLUIDO")
+        StatusRelatorioJob status,
+
+        @Schema(description = "Indica se o PDF foi reaproveitado de um relatório idêntico já gerado", example = "false")
+        boolean emCache,
+
+        @Schema(description = "Quantidade de páginas do PDF", example = "12")
+        Integer paginas,
+
+        @Schema(description = "Tamanho do PDF em bytes", example = "48213")
+        Long tamanhoBytes,
+
+        @Schema(description = "Caminho para download do PDF quando concluído", example = "/api/v1/relatorios/jobs/3f2a7c1e-9b7d-4d8e-8a51-0c6f1f3b2a10/pdf")
+        String urlDownload,
+
+        @Schema(description = "Mensagem de erro quando o job falha")
+        String mensagemErro,
+
+        @Schema(description = "Data de criação", example = "2024-01-15T10:30:00")
+        LocalDateTime dataCriacao,
+
+        @Schema(description = "Data de início da geração", example = "2024-01-15T10:30:01")
+        LocalDateTime dataInicio,
+
+        @Schema(description = "Data de conclusão", example = "2024-01-15T10:30:04")
+        LocalDateTime dataConclusao
+) {
+
+    public static RelatorioJobDTO fromRelatorioJob(RelatorioJob job) {
+        RelatorioJob.Artefato artefato = job.getArtefato();
+        boolean concluido = StatusRelatorioJob.CONCLUIDO.equals(job.getStatus());
+        return new RelatorioJobDTO(
+                job.getId(),
+                job.getContaId(),
+                job.getStatus(),
+                job.isEmCache(),
+                artefato != null ? artefato.paginas() : null,
+                artefato != null ? artefato.tamanhoBytes() : null,
+                concluido ? "/api/v1/relatorios/jobs/" + job.getId() + "/pdf" : null,
+                job.getMensagemErro(),
+                job.getDataCriacao(),
+                job.getDataInicio(),
+                job.getDataConclusao()
+        );
+    }
+}
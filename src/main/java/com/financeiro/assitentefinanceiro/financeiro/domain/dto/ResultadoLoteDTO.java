@@ -0,0 +1,38 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado do registro de um lote de movimentações")
+public record ResultadoLoteDTO(
+        @Schema(description = "Quantidade de itens recebidos", example = "1000")
+        int totalRecebido,
+
+        @Schema(description = "Quantidade de movimentações registradas", example = "998")
+        int totalRegistrado,
+
+        @Schema(description = "Quantidade de itens rejeitados", example = "2")
+        int totalComErro,
+
+        @Schema(description = "Erros por item do lote")
+        List<ErroItemLoteDTO> erros,
+
+        @Schema(description = "Duração do processamento em milissegundos", example = "420")
+        long duracaoMs,
+
+        @Schema(description = "Vazão de gravação em linhas por segundo", example = "2376.19")
+        double linhasPorSegundo
+) {
+    public record ErroItemLoteDTO(
+            @Schema(description = "Posição do item no lote (iniciando em 0)", example = "17")
+            int indice,
+
+            @Schema(description = "ID da conta informada no item", example = "1")
+            Long contaId,
+
+            @Schema(description = "Motivo da rejeição", example = "Valor deve ser maior que zero")
+            String mensagem
+    ) {
+    }
+}
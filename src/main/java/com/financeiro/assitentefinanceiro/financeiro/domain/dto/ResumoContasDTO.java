@@ -0,0 +1,58 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Resumo consolidado de várias contas: saldo, totais concluídos do mês corrente e metas ativas")
+public record ResumoContasDTO(
+        @Schema(description = "Mês dos totais de receitas e despesas", example = "2024-01")
+        String anoMes,
+
+        @Schema(description = "Soma dos saldos das contas", example = "12500.00")
+        BigDecimal saldoTotal,
+
+        @Schema(description = "Soma das receitas concluídas no mês", example = "8000.00")
+        BigDecimal receitasMes,
+
+        @Schema(description = "Soma das despesas concluídas no mês", example = "5200.00")
+        BigDecimal despesasMes,
+
+        @Schema(description = "Quantidade de metas ativas nas contas", example = "3")
+        long metasAtivas,
+
+        @Schema(description = "Resumo de cada conta, em ordem de ID")
+        List<ResumoContaDTO> contas,
+
+        @Schema(description = "Data de geração do resumo", example = "2024-01-15T10:30:00")
+        LocalDateTime dataGeracao
+) {
+    public record ResumoContaDTO(
+            @Schema(description = "ID da conta", example = "1")
+            Long contaId,
+
+            @Schema(description = "Banco", example = "Banco do Brasil")
+            String banco,
+
+            @Schema(description = "Número da conta", example = "123456")
+            String numeroConta,
+
+            @Schema(description = "Tipo de conta", example = "Corrente")
+            String tipoConta,
+
+            @Schema(description = "Saldo materializado da conta", example = "1500.00")
+            BigDecimal saldo,
+
+            @Schema(description = "Receitas concluídas no mês", example = "5000.00")
+            BigDecimal receitasMes,
+
+            @Schema(description = "Despesas concluídas no mês", example = "3200.00")
+            BigDecimal despesasMes,
+
+            @Schema(description = "Quantidade de metas ativas da conta", example = "2")
+            long metasAtivas
+    ) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.ResumoMensal;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Totais mensais de uma conta por categoria, tipo e status de movimentação")
+public record ResumoMensalDTO(
+        @Schema(description = "Mês de referência (yyyy-MM)", example = "2024-01")
+        String anoMes,
+
+        @Schema(description = "Categoria das movimentações", example = "ALIMENTACAO")
+        CategoriaFinanceira categoria,
+
+        @Schema(description = "Tipo das movimentações", example = "DESPESA")
+        TipoMovimentacao tipoMovimentacao,
+
+        @Schema(description = "Status das movimentações", example = "CONCLUIDA")
+        StatusMovimentacao status,
+
+        @Schema(description = "Quantidade de movimentações no mês", example = "12")
+        long quantidade,
+
+        @Schema(description = "Soma dos valores das movimentações no mês", example = "850.40")
+        BigDecimal total
+) {
+    public static ResumoMensalDTO fromResumoMensal(ResumoMensal resumo) {
+        return new ResumoMensalDTO(resumo.getAnoMes(), resumo.getCategoria(), resumo.getTipoMovimentacao(),
+                resumo.getStatus(), resumo.getQuantidade(), resumo.getTotal());
+    }
+}
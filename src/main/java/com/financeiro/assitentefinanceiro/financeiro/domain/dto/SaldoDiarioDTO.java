@@ -0,0 +1,16 @@
+package com.financeiro.assitentefinanceiro.financeiro.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Saldo da conta ao final de um dia")
+public record SaldoDiarioDTO(
+        @Schema(description = "Data de referência", example = "2024-01-15")
+        LocalDate data,
+
+        @Schema(description = "Saldo ao final do dia", example = "1500.00")
+        BigDecimal saldo
+) {
+}
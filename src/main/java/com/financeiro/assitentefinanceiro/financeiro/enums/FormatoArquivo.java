@@ -0,0 +1,6 @@
+package com.financeiro.assitentefinanceiro.financeiro.enums;
+
+public enum FormatoArquivo {
+    CSV,
+    OFX;
+}
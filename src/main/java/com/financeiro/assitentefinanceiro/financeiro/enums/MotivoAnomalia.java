@@ -0,0 +1,7 @@
+package com.financeiro.assitentefinanceiro.financeiro.enums;
+
+public enum MotivoAnomalia {
+    VALOR_ACIMA_DO_HABITUAL,
+    VALOR_FORA_DO_PADRAO,
+    NOVO_ESTABELECIMENTO;
+}
@@ -0,0 +1,7 @@
+package com.financeiro.assitentefinanceiro.financeiro.enums;
+
+public enum StatusImportacao {
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU;
+}
@@ -0,0 +1,8 @@
+package com.financeiro.assitentefinanceiro.financeiro.enums;
+
+public enum StatusRelatorioJob {
+    PENDENTE,
+    EM_EXECUCAO,
+    CONCLUIDO,
+    FALHOU;
+}
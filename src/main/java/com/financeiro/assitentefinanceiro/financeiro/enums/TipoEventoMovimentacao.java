@@ -0,0 +1,8 @@
+package com.financeiro.assitentefinanceiro.financeiro.enums;
+
+public enum TipoEventoMovimentacao {
+    REGISTRADA,
+    ATUALIZADA,
+    ESTORNADA,
+    EXCLUIDA;
+}
@@ -0,0 +1,23 @@
+package com.financeiro.assitentefinanceiro.financeiro.evento;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+
+import java.util.List;
+
+/**
+ * Consumidor dos eventos de movimentação. Todo bean que implementa esta interface recebe, em lotes e na ordem de
+ * {@link EventoMovimentacao#getPosicao()}, os eventos publicados depois do seu registro.
+ *
+ * <p>A entrega é ao menos uma vez: {@link #processar} roda numa transação que também grava a posição do ouvinte,
+ * então escritas no banco feitas pelo ouvinte são confirmadas junto com a posição, mas efeitos fora do banco podem
+ * se repetir se a gravação falhar. Uma exceção desfaz o lote, que é entregue de novo na rodada seguinte.
+ */
+public interface OuvinteMovimentacao {
+
+    /**
+     * Nome estável do ouvinte, chave da sua posição gravada.
+     */
+    String getNome();
+
+    void processar(List<EventoMovimentacao> eventos);
+}
@@ -0,0 +1,23 @@
+package com.financeiro.assitentefinanceiro.financeiro.importacao;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.FormatoArquivo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+public interface LeitorExtrato extends Closeable {
+
+    /**
+     * Lê o próximo registro do extrato. Retorna {@code null} no fim do arquivo e lança
+     * {@link IllegalArgumentException} para um registro malformado, que fica consumido.
+     */
+    RegistroExtrato proximo() throws IOException;
+
+    static LeitorExtrato abrir(FormatoArquivo formato, Reader reader) {
+        return switch (formato) {
+            case CSV -> new LeitorExtratoCsv(reader);
+            case OFX -> new LeitorExtratoOfx(reader);
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package com.financeiro.assitentefinanceiro.financeiro.importacao;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class LeitorExtratoCsv implements LeitorExtrato {
+
+    private static final List<DateTimeFormatter> FORMATOS_DATA = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+
+    private final BufferedReader reader;
+    private char delimitador;
+    private int colunaData = -1;
+    private int colunaDescricao = -1;
+    private int colunaValor = -1;
+    private int colunaTipo = -1;
+    private int colunaCategoria = -1;
+    private int colunaIdentificador = -1;
+    private long numeroLinha;
+    private boolean cabecalhoLido;
+
+    public LeitorExtratoCsv(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public RegistroExtrato proximo() throws IOException {
+        if (!cabecalhoLido) {
+            lerCabecalho();
+        }
+
+        String linha;
+        do {
+            linha = reader.readLine();
+            numeroLinha++;
+            if (linha == null) {
+                return null;
+            }
+        } while (linha.isBlank());
+
+        List<String> campos = separar(linha);
+        try {
+            String valorTexto = campo(campos, colunaValor);
+            BigDecimal valor = converterValor(valorTexto);
+            TipoMovimentacao tipo = colunaTipo >= 0 && !campo(campos, colunaTipo).isBlank()
+                    ? converterTipo(campo(campos, colunaTipo))
+                    : valor.signum() < 0 ? TipoMovimentacao.DESPESA : TipoMovimentacao.RECEITA;
+
+            String identificador = colunaIdentificador >= 0 ? campo(campos, colunaIdentificador).trim() : "";
+
+            return new RegistroExtrato(
+                    converterData(campo(campos, colunaData)),
+                    valor.abs(),
+                    tipo,
+                    campo(campos, colunaDescricao).trim(),
+                    colunaCategoria >= 0 ? converterCategoria(campo(campos, colunaCategoria)) : null,
+                    identificador.isEmpty() ? null : identificador);
+        } catch (IllegalArgumentException | DateTimeParseException | ArithmeticException e) {
+            throw new IllegalArgumentException("Linha " + numeroLinha + " inválida: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void lerCabecalho() throws IOException {
+        cabecalhoLido = true;
+        String cabecalho;
+        do {
+            cabecalho = reader.readLine();
+            numeroLinha++;
+            if (cabecalho == null) {
+                throw new IllegalArgumentException("Arquivo CSV sem cabeçalho");
+            }
+        } while (cabecalho.isBlank());
+
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+
+        long pontoEVirgula = cabecalho.chars().filter(c -> c == ';').count();
+        long virgula = cabecalho.chars().filter(c -> c == ',').count();
+        delimitador = pontoEVirgula >= virgula ? ';' : ',';
+
+        List<String> colunas = separar(cabecalho);
+        for (int i = 0; i < colunas.size(); i++) {
+            switch (normalizar(colunas.get(i))) {
+                case "data", "date", "datamovimentacao", "datalancamento" -> colunaData = i;
+                case "descricao", "historico", "description", "memo", "lancamento" -> colunaDescricao = i;
+                case "valor", "amount", "value", "quantia" -> colunaValor = i;
+                case "tipo", "type", "tipomovimentacao", "natureza" -> colunaTipo = i;
+                case "categoria", "category" -> colunaCategoria = i;
+                case "identificador", "identificadorexterno", "id", "fitid", "documento", "transacao" ->
+                        colunaIdentificador = i;
+                default -> {
+                }
+            }
+        }
+
+        if (colunaData < 0 || colunaDescricao < 0 || colunaValor < 0) {
+            throw new IllegalArgumentException("Cabeçalho CSV deve conter as colunas data, descricao e valor");
+        }
+    }
+
+    private List<String> separar(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == delimitador && !entreAspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private String campo(List<String> campos, int indice) {
+        if (indice >= campos.size()) {
+            throw new IllegalArgumentException("quantidade de colunas menor que o cabeçalho");
+        }
+        return campos.get(indice);
+    }
+
+    static BigDecimal converterValor(String texto) {
+        String valor = texto.replace("R$", "").replace(" ", "").replace("\u00A0", "").trim();
+        if (valor.isEmpty()) {
+            throw new IllegalArgumentException("valor vazio");
+        }
+
+        boolean negativo = false;
+        if (valor.startsWith("(") && valor.endsWith(")")) {
+            negativo = true;
+            valor = valor.substring(1, valor.length() - 1);
+        }
+        if (valor.endsWith("-")) {
+            negativo = true;
+            valor = valor.substring(0, valor.length() - 1);
+        }
+
+        int ultimaVirgula = valor.lastIndexOf(',');
+        int ultimoPonto = valor.lastIndexOf('.');
+        if (ultimaVirgula > ultimoPonto) {
+            valor = valor.replace(".", "").replace(',', '.');
+        } else if (ultimaVirgula >= 0) {
+            valor = valor.replace(",", "");
+        }
+
+        BigDecimal convertido = new BigDecimal(valor);
+        return negativo ? convertido.negate() : convertido;
+    }
+
+    private static LocalDate converterData(String texto) {
+        String data = texto.trim();
+        for (DateTimeFormatter formato : FORMATOS_DATA) {
+            try {
+                return LocalDate.parse(data, formato);
+            } catch (DateTimeParseException e) {
+                // tenta o próximo formato
+            }
+        }
+        throw new IllegalArgumentException("data em formato não suportado: " + data);
+    }
+
+    private static TipoMovimentacao converterTipo(String texto) {
+        return switch (normalizar(texto)) {
+            case "receita", "credito", "c", "credit", "entrada" -> TipoMovimentacao.RECEITA;
+            case "despesa", "debito", "d", "debit", "saida" -> TipoMovimentacao.DESPESA;
+            default -> throw new IllegalArgumentException("tipo desconhecido: " + texto.trim());
+        };
+    }
+
+    private static CategoriaFinanceira converterCategoria(String texto) {
+        String categoria = Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toUpperCase(Locale.ROOT)
+                .replace(' ', '_');
+        if (categoria.isEmpty()) {
+            return null;
+        }
+        try {
+            return CategoriaFinanceira.valueOf(categoria);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String normalizar(String texto) {
+        return Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replaceAll("[^A-Za-z]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
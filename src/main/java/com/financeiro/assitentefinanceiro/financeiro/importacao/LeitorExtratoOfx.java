@@ -0,0 +1,145 @@
+package com.financeiro.assitentefinanceiro.financeiro.importacao;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+public class LeitorExtratoOfx implements LeitorExtrato {
+
+    private static final int TAMANHO_MAXIMO_TEXTO = 1000;
+
+    private final PushbackReader reader;
+    private long numeroTransacao;
+
+    public LeitorExtratoOfx(Reader reader) {
+        this.reader = new PushbackReader(reader instanceof BufferedReader ? reader : new BufferedReader(reader));
+    }
+
+    @Override
+    public RegistroExtrato proximo() throws IOException {
+        String tag;
+        do {
+            tag = lerTag();
+            if (tag == null) {
+                return null;
+            }
+        } while (!"STMTTRN".equals(tag));
+
+        numeroTransacao++;
+        String tipoTransacao = null;
+        String dataPostagem = null;
+        String valor = null;
+        String identificador = null;
+        String memo = null;
+        String nome = null;
+
+        while (true) {
+            tag = lerTag();
+            if (tag == null) {
+                throw new IllegalArgumentException("Transação OFX " + numeroTransacao + " incompleta");
+            }
+            if ("/STMTTRN".equals(tag)) {
+                break;
+            }
+            if (tag.startsWith("/")) {
+                continue;
+            }
+
+            String texto = lerTexto();
+            switch (tag) {
+                case "TRNTYPE" -> tipoTransacao = texto;
+                case "DTPOSTED" -> dataPostagem = texto;
+                case "TRNAMT" -> valor = texto;
+                case "FITID" -> identificador = texto;
+                case "MEMO" -> memo = texto;
+                case "NAME" -> nome = texto;
+                default -> {
+                }
+            }
+        }
+
+        return montarRegistro(tipoTransacao, dataPostagem, valor, identificador, memo, nome);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private RegistroExtrato montarRegistro(String tipoTransacao, String dataPostagem, String valorTexto,
+            String identificador, String memo, String nome) {
+        try {
+            if (dataPostagem == null || dataPostagem.length() < 8) {
+                throw new IllegalArgumentException("DTPOSTED ausente");
+            }
+            if (valorTexto == null || valorTexto.isEmpty()) {
+                throw new IllegalArgumentException("TRNAMT ausente");
+            }
+
+            LocalDate data = LocalDate.parse(dataPostagem.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+            BigDecimal valor = new BigDecimal(valorTexto.replace(',', '.'));
+            TipoMovimentacao tipo = valor.signum() < 0 || "DEBIT".equalsIgnoreCase(tipoTransacao)
+                    ? TipoMovimentacao.DESPESA : TipoMovimentacao.RECEITA;
+
+            String descricao = memo != null && !memo.isBlank() ? memo
+                    : nome != null && !nome.isBlank() ? nome
+                    : "Transação OFX " + (tipoTransacao != null ? tipoTransacao.toLowerCase(Locale.ROOT) : "");
+
+            return new RegistroExtrato(data, valor.abs(), tipo, descricao.trim(), null,
+                    identificador != null && !identificador.isBlank() ? identificador : null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Transação OFX " + numeroTransacao + " inválida: " + e.getMessage());
+        }
+    }
+
+    private String lerTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            // ignora cabeçalho SGML e texto fora de tags
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        StringBuilder nome = new StringBuilder();
+        while ((c = reader.read()) != -1 && c != '>') {
+            if (nome.length() < TAMANHO_MAXIMO_TEXTO) {
+                nome.append((char) c);
+            }
+        }
+        return c == -1 ? null : nome.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private String lerTexto() throws IOException {
+        StringBuilder texto = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            if (texto.length() < TAMANHO_MAXIMO_TEXTO) {
+                texto.append((char) c);
+            }
+        }
+        if (c == '<') {
+            reader.unread(c);
+        }
+        return decodificarEntidades(texto.toString().trim());
+    }
+
+    private static String decodificarEntidades(String texto) {
+        if (texto.indexOf('&') < 0) {
+            return texto;
+        }
+        return texto.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+    }
+}
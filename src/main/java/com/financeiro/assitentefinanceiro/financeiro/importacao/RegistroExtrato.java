@@ -0,0 +1,17 @@
+package com.financeiro.assitentefinanceiro.financeiro.importacao;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RegistroExtrato(
+        LocalDate dataMovimentacao,
+        BigDecimal valor,
+        TipoMovimentacao tipoMovimentacao,
+        String descricao,
+        CategoriaFinanceira categoria,
+        String identificadorExterno
+) {
+}
@@ -0,0 +1,27 @@
+package com.financeiro.assitentefinanceiro.financeiro.job;
+
+import com.financeiro.assitentefinanceiro.financeiro.service.ArquivamentoMovimentacaoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ArquivamentoMovimentacaoJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivamentoMovimentacaoJob.class);
+    private final ArquivamentoMovimentacaoService arquivamentoService;
+
+    public ArquivamentoMovimentacaoJob(ArquivamentoMovimentacaoService arquivamentoService) {
+        this.arquivamentoService = arquivamentoService;
+    }
+
+    @Scheduled(cron = "${financeiro.arquivamento.cron:0 30 3 * * *}")
+    public void arquivar() {
+        try {
+            arquivamentoService.arquivar();
+        } catch (Exception e) {
+            logger.error("Erro ao arquivar movimentações antigas", e);
+        }
+    }
+}
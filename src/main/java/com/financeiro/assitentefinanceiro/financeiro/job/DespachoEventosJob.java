@@ -0,0 +1,37 @@
+package com.financeiro.assitentefinanceiro.financeiro.job;
+
+import com.financeiro.assitentefinanceiro.financeiro.service.EventoMovimentacaoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DespachoEventosJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DespachoEventosJob.class);
+    private final EventoMovimentacaoService eventoService;
+
+    public DespachoEventosJob(EventoMovimentacaoService eventoService) {
+        this.eventoService = eventoService;
+    }
+
+    @Scheduled(fixedDelayString = "${financeiro.eventos.intervalo-ms:5000}",
+            initialDelayString = "${financeiro.eventos.intervalo-ms:5000}")
+    public void despachar() {
+        try {
+            eventoService.despachar();
+        } catch (Exception e) {
+            logger.error("Erro ao despachar eventos de movimentação", e);
+        }
+    }
+
+    @Scheduled(cron = "${financeiro.eventos.expurgo.cron:0 15 4 * * *}")
+    public void expurgar() {
+        try {
+            eventoService.expurgar();
+        } catch (Exception e) {
+            logger.error("Erro ao expurgar eventos de movimentação", e);
+        }
+    }
+}
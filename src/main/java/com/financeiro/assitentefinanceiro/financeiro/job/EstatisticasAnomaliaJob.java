@@ -0,0 +1,28 @@
+package com.financeiro.assitentefinanceiro.financeiro.job;
+
+import com.financeiro.assitentefinanceiro.financeiro.service.DeteccaoAnomaliaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EstatisticasAnomaliaJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstatisticasAnomaliaJob.class);
+    private final DeteccaoAnomaliaService deteccaoAnomaliaService;
+
+    public EstatisticasAnomaliaJob(DeteccaoAnomaliaService deteccaoAnomaliaService) {
+        this.deteccaoAnomaliaService = deteccaoAnomaliaService;
+    }
+
+    @Scheduled(fixedDelayString = "${financeiro.anomalias.persistencia.intervalo-ms:60000}",
+            initialDelayString = "${financeiro.anomalias.persistencia.intervalo-ms:60000}")
+    public void persistirEstatisticas() {
+        try {
+            deteccaoAnomaliaService.persistirEstatisticas();
+        } catch (Exception e) {
+            logger.error("Erro ao gravar estatísticas de despesas", e);
+        }
+    }
+}
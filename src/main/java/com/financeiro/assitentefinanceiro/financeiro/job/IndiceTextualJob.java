@@ -0,0 +1,28 @@
+package com.financeiro.assitentefinanceiro.financeiro.job;
+
+import com.financeiro.assitentefinanceiro.financeiro.service.BuscaTextualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IndiceTextualJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceTextualJob.class);
+    private final BuscaTextualService buscaTextualService;
+
+    public IndiceTextualJob(BuscaTextualService buscaTextualService) {
+        this.buscaTextualService = buscaTextualService;
+    }
+
+    @Scheduled(fixedDelayString = "${financeiro.busca.persistencia.intervalo-ms:60000}",
+            initialDelayString = "${financeiro.busca.persistencia.intervalo-ms:60000}")
+    public void persistirIndices() {
+        try {
+            buscaTextualService.persistirIndices();
+        } catch (Exception e) {
+            logger.error("Erro ao gravar índices textuais", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.financeiro.assitentefinanceiro.financeiro.job;
+
+import com.financeiro.assitentefinanceiro.financeiro.service.RebalanceamentoSaldoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RebalanceamentoSaldoJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RebalanceamentoSaldoJob.class);
+    private final RebalanceamentoSaldoService rebalanceamentoSaldoService;
+
+    public RebalanceamentoSaldoJob(RebalanceamentoSaldoService rebalanceamentoSaldoService) {
+        this.rebalanceamentoSaldoService = rebalanceamentoSaldoService;
+    }
+
+    @Scheduled(fixedDelayString = "${financeiro.rebalanceamento.intervalo-ms:1000}",
+            initialDelayString = "${financeiro.rebalanceamento.intervalo-ms:1000}")
+    public void aplicarPendentes() {
+        try {
+            rebalanceamentoSaldoService.aplicarPendentes();
+        } catch (Exception e) {
+            logger.error("Erro ao aplicar rebalanceamentos de saldo pendentes", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.financeiro.assitentefinanceiro.financeiro.job;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoProgressoMetaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.service.ProgressoMetaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReconciliacaoProgressoMetaJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliacaoProgressoMetaJob.class);
+    private final ProgressoMetaService progressoMetaService;
+
+    public ReconciliacaoProgressoMetaJob(ProgressoMetaService progressoMetaService) {
+        this.progressoMetaService = progressoMetaService;
+    }
+
+    @Scheduled(cron = "${financeiro.metas.reconciliacao.cron:0 45 3 * * *}")
+    public void reconciliarProgresso() {
+        try {
+            ReconciliacaoProgressoMetaDTO resultado = progressoMetaService.reconciliar(true);
+            if (resultado.metasDivergentes() > 0) {
+                logger.warn("Reconciliação agendada corrigiu o progresso de {} meta(s) de {} verificada(s)",
+                        resultado.metasDivergentes(), resultado.metasVerificadas());
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao executar reconciliação agendada do progresso das metas", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.financeiro.assitentefinanceiro.financeiro.job;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoSaldoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.service.SaldoContaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReconciliacaoSaldoJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliacaoSaldoJob.class);
+    private final SaldoContaService saldoContaService;
+
+    public ReconciliacaoSaldoJob(SaldoContaService saldoContaService) {
+        this.saldoContaService = saldoContaService;
+    }
+
+    @Scheduled(cron = "${financeiro.saldo.reconciliacao.cron:0 0 3 * * *}")
+    public void verificarSaldos() {
+        try {
+            ReconciliacaoSaldoDTO resultado = saldoContaService.reconciliarSaldos(false);
+            if (resultado.contasDivergentes() > 0) {
+                logger.warn("Reconciliação agendada encontrou {} conta(s) com saldo divergente de {} verificada(s)",
+                        resultado.contasDivergentes(), resultado.contasVerificadas());
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao executar reconciliação agendada de saldos", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.financeiro.assitentefinanceiro.financeiro.job;
+
+import com.financeiro.assitentefinanceiro.financeiro.service.SaldoCheckpointService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SaldoCheckpointJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaldoCheckpointJob.class);
+    private final SaldoCheckpointService saldoCheckpointService;
+
+    public SaldoCheckpointJob(SaldoCheckpointService saldoCheckpointService) {
+        this.saldoCheckpointService = saldoCheckpointService;
+    }
+
+    @Scheduled(cron = "${financeiro.saldo.checkpoint.cron:0 30 0 1 * *}")
+    public void fecharMes() {
+        try {
+            saldoCheckpointService.fecharMesesEncerrados();
+        } catch (Exception e) {
+            logger.error("Erro ao gerar checkpoints mensais de saldo", e);
+        }
+    }
+}
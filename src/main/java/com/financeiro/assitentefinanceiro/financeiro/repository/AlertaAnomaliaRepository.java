@@ -0,0 +1,14 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.AlertaAnomalia;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlertaAnomaliaRepository extends JpaRepository<AlertaAnomalia, Long> {
+
+    List<AlertaAnomalia> findByContaIdOrderByIdDesc(Long contaId, Pageable pageable);
+}
@@ -0,0 +1,19 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.DeslocamentoSaldoPendente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DeslocamentoSaldoPendenteRepository extends JpaRepository<DeslocamentoSaldoPendente, Long> {
+
+    @Query("SELECT d.id, d.contaId FROM DeslocamentoSaldoPendente d ORDER BY d.id")
+    List<Object[]> findIdsEContas();
+
+    @Query("SELECT COUNT(d) > 0 FROM DeslocamentoSaldoPendente d WHERE d.contaId = :contaId")
+    boolean existsByContaId(@Param("contaId") Long contaId);
+}
@@ -0,0 +1,13 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.EstatisticaCategoria;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EstatisticaCategoriaRepository extends JpaRepository<EstatisticaCategoria, Long> {
+
+    List<EstatisticaCategoria> findByContaId(Long contaId);
+}
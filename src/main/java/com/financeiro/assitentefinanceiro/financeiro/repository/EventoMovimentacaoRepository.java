@@ -0,0 +1,37 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventoMovimentacaoRepository extends JpaRepository<EventoMovimentacao, Long> {
+
+    @Query("SELECT e FROM EventoMovimentacao e WHERE e.posicao IS NULL ORDER BY e.id")
+    List<EventoMovimentacao> findNaoSequenciados(Pageable pageable);
+
+    @Query("SELECT e FROM EventoMovimentacao e WHERE e.posicao > :posicao ORDER BY e.posicao")
+    List<EventoMovimentacao> findApos(@Param("posicao") long posicao, Pageable pageable);
+
+    @Query("SELECT e FROM EventoMovimentacao e WHERE e.contaId = :contaId AND e.posicao > :posicao ORDER BY e.posicao")
+    List<EventoMovimentacao> findByContaIdApos(@Param("contaId") Long contaId, @Param("posicao") long posicao,
+        Pageable pageable);
+
+    @Query("SELECT MAX(e.posicao) FROM EventoMovimentacao e")
+    Optional<Long> findUltimaPosicao();
+
+    @Query("SELECT MIN(e.posicao) FROM EventoMovimentacao e")
+    Optional<Long> findPrimeiraPosicao();
+
+    @Modifying
+    @Query("DELETE FROM EventoMovimentacao e WHERE e.posicao <= :posicao AND e.dataRegistro < :antesDe")
+    int deleteEntreguesAte(@Param("posicao") long posicao, @Param("antesDe") LocalDateTime antesDe);
+}
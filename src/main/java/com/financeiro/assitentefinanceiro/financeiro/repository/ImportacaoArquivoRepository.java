@@ -0,0 +1,16 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.ImportacaoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusImportacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportacaoArquivoRepository extends JpaRepository<ImportacaoArquivo, Long> {
+
+    List<ImportacaoArquivo> findByArquivoOrigemOrderByDataInicioDesc(String arquivoOrigem);
+
+    List<ImportacaoArquivo> findByStatus(StatusImportacao status);
+}
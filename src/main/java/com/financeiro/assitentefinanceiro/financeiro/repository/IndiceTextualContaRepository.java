@@ -0,0 +1,9 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.IndiceTextualConta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IndiceTextualContaRepository extends JpaRepository<IndiceTextualConta, Long> {
+}
@@ -1,22 +1,34 @@
 package com.financeiro.assitentefinanceiro.financeiro.repository;
 
 import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
 import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMeta;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MetaEconomiaRepository extends JpaRepository<MetaEconomia, Long> {
 
-    List<MetaEconomia> findByContaId(Long contaId);
-    List<MetaEconomia> findByContaIdAndStatus(Long contaId, StatusMeta status);
-    List<MetaEconomia> findByContaIdAndTipoMeta(Long contaId, TipoMeta tipoMeta);
+    @Query("SELECT m FROM MetaEconomia m WHERE m.conta.id = :contaId")
+    List<MetaEconomia> findByContaId(@Param("contaId") Long contaId);
+
+    List<MetaEconomia> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT m FROM MetaEconomia m WHERE m.conta.id = :contaId AND m.status = :status")
+    List<MetaEconomia> findByContaIdAndStatus(@Param("contaId") Long contaId, @Param("status") StatusMeta status);
+
+    @Query("SELECT m FROM MetaEconomia m WHERE m.conta.id = :contaId AND m.tipoMeta = :tipoMeta")
+    List<MetaEconomia> findByContaIdAndTipoMeta(@Param("contaId") Long contaId, @Param("tipoMeta") TipoMeta tipoMeta);
 
     @Query("SELECT m FROM MetaEconomia m WHERE m.conta.id = :contaId AND m.status = 'ATIVA' ORDER BY m.dataFim ASC")
     List<MetaEconomia> findMetasAtivasByContaId(@Param("contaId") Long contaId);
@@ -37,4 +49,23 @@ public interface MetaEconomiaRepository extends JpaRepository<MetaEconomia, Long
 
     @Query("SELECT m FROM MetaEconomia m WHERE m.conta.id = :contaId AND m.percentualConcluido >= :percentualMinimo ORDER BY m.percentualConcluido DESC")
     List<MetaEconomia> findMetasComProgressoMinimo(@Param("contaId") Long contaId, @Param("percentualMinimo") Double percentualMinimo);
+
+    @Query("SELECT DISTINCT m.conta.id FROM MetaEconomia m WHERE m.categoriasVinculadas IS NOT EMPTY")
+    List<Long> findContaIdsComCategoriasVinculadas();
+
+    @Query("SELECT m FROM MetaEconomia m WHERE m.conta.id = :contaId AND m.categoriasVinculadas IS NOT EMPTY ORDER BY m.id")
+    List<MetaEconomia> findVinculadasACategoriasByContaId(@Param("contaId") Long contaId);
+
+    /**
+     * Soma {@code valor} ao progresso das metas da conta vinculadas à categoria e iniciadas até {@code data}, num
+     * único UPDATE. O percentual fica entre 0 e 100 e metas ativas que atingem o valor são concluídas, como em
+     * {@link MetaEconomia#redefinirProgresso}.
+     */
+    @Modifying
+    @Query("UPDATE MetaEconomia m SET m.valorAtual = m.valorAtual + :valor, m.percentualConcluido = CASE WHEN m.valorAtual + :valor <= 0 THEN 0BD WHEN m.valorAtual + :valor >= m.valorMeta THEN 100BD ELSE ROUND((m.valorAtual + :valor) * 100 / m.valorMeta, 2) END, m.status = CASE WHEN m.status = com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta.ATIVA AND m.valorAtual + :valor >= m.valorMeta THEN com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta.CONCLUIDA ELSE m.status END WHERE m.conta.id = :contaId AND m.dataInicio <= :data AND :categoria MEMBER OF m.categoriasVinculadas")
+    int aplicarAporte(@Param("contaId") Long contaId, @Param("categoria") CategoriaFinanceira categoria,
+        @Param("data") LocalDate data, @Param("valor") BigDecimal valor);
+
+    @Query("SELECT m.conta.id, COUNT(m) FROM MetaEconomia m WHERE m.conta.id IN :contaIds AND m.status = 'ATIVA' GROUP BY m.conta.id")
+    List<Object[]> countAtivasAgrupadoPorConta(@Param("contaIds") Collection<Long> contaIds);
 }
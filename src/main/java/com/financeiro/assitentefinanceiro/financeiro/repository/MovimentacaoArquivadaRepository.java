@@ -0,0 +1,143 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoArquivada;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Consultas do arquivo com as mesmas projeções e a mesma ordem das equivalentes em
+ * {@link MovimentacaoFinanceiraRepository}, para que as leituras possam intercalar ou somar os dois resultados.
+ */
+@Repository
+public interface MovimentacaoArquivadaRepository extends JpaRepository<MovimentacaoArquivada, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO MovimentacaoArquivada (id, tipoMovimentacao, valor, descricao, categoria, dataMovimentacao, dataRegistro, status, fonteMovimentacao, observacoes, saldoAnterior, saldoAtual, arquivoOrigem, identificadorExterno, contaId) SELECT m.id, m.tipoMovimentacao, m.valor, m.descricao, m.categoria, m.dataMovimentacao, m.dataRegistro, m.status, m.fonteMovimentacao, m.observacoes, m.saldoAnterior, m.saldoAtual, m.arquivoOrigem, m.identificadorExterno, m.conta.id FROM MovimentacaoFinanceira m WHERE m.id IN :ids")
+    int copiarDaTabelaPrincipal(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoArquivada> findByContaIdAndPeriodo(@Param("contaId") Long contaId,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT m FROM MovimentacaoArquivada m WHERE m.contaId = :contaId ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoArquivada> findPaginaPorConta(@Param("contaId") Long contaId, Pageable pageable);
+
+    @Query("SELECT m FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND (m.dataMovimentacao < :data OR (m.dataMovimentacao = :data AND m.id < :id)) ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoArquivada> findPaginaPorContaApos(@Param("contaId") Long contaId, @Param("data") LocalDate data,
+        @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.tipoMovimentacao = :tipoMovimentacao ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoArquivada> findByContaIdAndTipoMovimentacao(@Param("contaId") Long contaId,
+        @Param("tipoMovimentacao") TipoMovimentacao tipoMovimentacao);
+
+    @Query("SELECT m.tipoMovimentacao, m.status, COUNT(m), SUM(m.valor), MIN(m.dataMovimentacao), MAX(m.dataMovimentacao) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.tipoMovimentacao IN :tipos AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim GROUP BY m.tipoMovimentacao, m.status")
+    List<Object[]> resumirRelatorio(@Param("contaId") Long contaId,
+        @Param("tipos") Collection<TipoMovimentacao> tipos,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO(m.id, m.tipoMovimentacao, m.valor, m.descricao, m.categoria, m.dataMovimentacao, m.dataRegistro, m.status, m.fonteMovimentacao, m.observacoes, m.saldoAnterior, m.saldoAtual, m.arquivoOrigem, m.identificadorExterno, m.contaId) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.tipoMovimentacao IN :tipos AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoFinanceiraDTO> findRelatorio(@Param("contaId") Long contaId,
+        @Param("tipos") Collection<TipoMovimentacao> tipos,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO(m.id, m.tipoMovimentacao, m.valor, m.descricao, m.categoria, m.dataMovimentacao, m.dataRegistro, m.status, m.fonteMovimentacao, m.observacoes, m.saldoAnterior, m.saldoAtual, m.arquivoOrigem, m.identificadorExterno, m.contaId) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.tipoMovimentacao IN :tipos AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    Stream<MovimentacaoFinanceiraDTO> streamRelatorio(@Param("contaId") Long contaId,
+        @Param("tipos") Collection<TipoMovimentacao> tipos,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM MovimentacaoArquivada m WHERE m.contaId = :contaId ORDER BY m.dataMovimentacao, m.id")
+    Stream<MovimentacaoArquivada> streamByContaId(@Param("contaId") Long contaId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m.id, m.valor, m.dataMovimentacao, m.tipoMovimentacao, m.categoria, m.status FROM MovimentacaoArquivada m WHERE m.contaId = :contaId ORDER BY m.id")
+    Stream<Object[]> streamColunasByContaId(@Param("contaId") Long contaId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m.id, m.descricao, m.observacoes, m.dataMovimentacao FROM MovimentacaoArquivada m WHERE m.contaId = :contaId ORDER BY m.id")
+    Stream<Object[]> streamTextosByContaId(@Param("contaId") Long contaId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m.id, m.valor, m.categoria, m.descricao FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.tipoMovimentacao = 'DESPESA' AND m.status = 'CONCLUIDA' ORDER BY m.dataMovimentacao, m.id")
+    Stream<Object[]> streamDespesasByContaId(@Param("contaId") Long contaId);
+
+    @Query("SELECT COUNT(m) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId")
+    long countByContaId(@Param("contaId") Long contaId);
+
+    @Query("SELECT m.identificadorExterno FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.identificadorExterno IN :identificadores")
+    List<String> findIdentificadoresExistentes(@Param("contaId") Long contaId,
+        @Param("identificadores") Collection<String> identificadores);
+
+    @Query("SELECT m.contaId, COUNT(m) FROM MovimentacaoArquivada m WHERE m.identificadorExterno IS NOT NULL GROUP BY m.contaId")
+    List<Object[]> countIdentificadoresExternosAgrupadoPorConta();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT m.contaId, m.identificadorExterno FROM MovimentacaoArquivada m WHERE m.identificadorExterno IS NOT NULL")
+    Stream<Object[]> streamIdentificadoresExternos();
+
+    @Query("SELECT YEAR(m.dataMovimentacao), MONTH(m.dataMovimentacao), m.categoria, m.tipoMovimentacao, m.status, COUNT(m), SUM(m.valor) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId GROUP BY YEAR(m.dataMovimentacao), MONTH(m.dataMovimentacao), m.categoria, m.tipoMovimentacao, m.status")
+    List<Object[]> sumValorAgrupadoPorMesCategoriaTipoEStatus(@Param("contaId") Long contaId);
+
+    @Query("SELECT m.categoria, COUNT(m), SUM(m.valor) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.tipoMovimentacao = :tipoMovimentacao AND m.status = 'CONCLUIDA' AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim GROUP BY m.categoria")
+    List<Object[]> sumValorConcluidoAgrupadoPorCategoria(@Param("contaId") Long contaId,
+        @Param("tipoMovimentacao") TipoMovimentacao tipoMovimentacao,
+        @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT DISTINCT m.contaId FROM MovimentacaoArquivada m")
+    List<Long> findContaIdsComMovimentacoes();
+
+    @Query("SELECT MIN(m.dataMovimentacao) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId")
+    Optional<LocalDate> findPrimeiraDataMovimentacao(@Param("contaId") Long contaId);
+
+    @Query("SELECT SUM(CASE WHEN m.tipoMovimentacao = 'RECEITA' THEN m.valor ELSE -m.valor END) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') AND m.dataMovimentacao <= :ate")
+    Optional<BigDecimal> sumEfeitoSaldoAte(@Param("contaId") Long contaId, @Param("ate") LocalDate ate);
+
+    @Query("SELECT SUM(CASE WHEN m.tipoMovimentacao = 'RECEITA' THEN m.valor ELSE -m.valor END) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') AND m.dataMovimentacao > :apos AND m.dataMovimentacao <= :ate")
+    Optional<BigDecimal> sumEfeitoSaldoEntre(@Param("contaId") Long contaId, @Param("apos") LocalDate apos,
+        @Param("ate") LocalDate ate);
+
+    @Query("SELECT m.dataMovimentacao, SUM(CASE WHEN m.tipoMovimentacao = 'RECEITA' THEN m.valor ELSE -m.valor END) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim GROUP BY m.dataMovimentacao ORDER BY m.dataMovimentacao")
+    List<Object[]> sumEfeitoSaldoAgrupadoPorData(@Param("contaId") Long contaId,
+        @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT SUM(CASE WHEN m.tipoMovimentacao = 'DESPESA' THEN m.valor ELSE -m.valor END) FROM MovimentacaoArquivada m WHERE m.contaId = :contaId AND m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') AND m.categoria IN :categorias AND m.dataMovimentacao >= :dataInicio")
+    Optional<BigDecimal> sumAportesConcluidos(@Param("contaId") Long contaId,
+        @Param("categorias") Collection<CategoriaFinanceira> categorias, @Param("dataInicio") LocalDate dataInicio);
+}
@@ -1,32 +1,66 @@
 package com.financeiro.assitentefinanceiro.financeiro.repository;
 
 import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
 import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
 import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface MovimentacaoFinanceiraRepository extends JpaRepository<MovimentacaoFinanceira, Long> {
 
-    List<MovimentacaoFinanceira> findByContaId(Long contaId);
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId")
+    List<MovimentacaoFinanceira> findByContaId(@Param("contaId") Long contaId);
+
+    @Query("SELECT m FROM MovimentacaoFinanceira m ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoFinanceira> findPagina(Pageable pageable);
+
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.dataMovimentacao < :data OR (m.dataMovimentacao = :data AND m.id < :id) ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoFinanceira> findPaginaApos(@Param("data") LocalDate data, @Param("id") Long id, Pageable pageable);
 
-    List<MovimentacaoFinanceira> findByContaIdAndTipoMovimentacao(Long contaId, TipoMovimentacao tipoMovimentacao);
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoFinanceira> findPaginaPorConta(@Param("contaId") Long contaId, Pageable pageable);
 
-    List<MovimentacaoFinanceira> findByContaIdAndCategoria(Long contaId, CategoriaFinanceira categoria);
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND (m.dataMovimentacao < :data OR (m.dataMovimentacao = :data AND m.id < :id)) ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoFinanceira> findPaginaPorContaApos(@Param("contaId") Long contaId, @Param("data") LocalDate data,
+        @Param("id") Long id, Pageable pageable);
 
-    List<MovimentacaoFinanceira> findByContaIdAndDataMovimentacaoBetween(Long contaId, LocalDate dataInicio, LocalDate dataFim);
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.tipoMovimentacao = :tipoMovimentacao ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoFinanceira> findByContaIdAndTipoMovimentacao(@Param("contaId") Long contaId,
+        @Param("tipoMovimentacao") TipoMovimentacao tipoMovimentacao);
 
-    List<MovimentacaoFinanceira> findByContaIdAndStatus(Long contaId, StatusMovimentacao status);
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.categoria = :categoria")
+    List<MovimentacaoFinanceira> findByContaIdAndCategoria(@Param("contaId") Long contaId,
+        @Param("categoria") CategoriaFinanceira categoria);
 
-    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC")
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim")
+    List<MovimentacaoFinanceira> findByContaIdAndDataMovimentacaoBetween(@Param("contaId") Long contaId,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.status = :status")
+    List<MovimentacaoFinanceira> findByContaIdAndStatus(@Param("contaId") Long contaId,
+        @Param("status") StatusMovimentacao status);
+
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC, m.id DESC")
     List<MovimentacaoFinanceira> findByContaIdAndPeriodo(@Param("contaId") Long contaId, 
         @Param("dataInicio") LocalDate dataInicio, 
         @Param("dataFim") LocalDate dataFim);
@@ -37,14 +71,134 @@ public interface MovimentacaoFinanceiraRepository extends JpaRepository<Moviment
         @Param("dataInicio") LocalDate dataInicio,
         @Param("dataFim") LocalDate dataFim);
 
+    @Query("SELECT m.tipoMovimentacao, m.status, COUNT(m), SUM(m.valor), MIN(m.dataMovimentacao), MAX(m.dataMovimentacao) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.tipoMovimentacao IN :tipos AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim GROUP BY m.tipoMovimentacao, m.status")
+    List<Object[]> resumirRelatorio(@Param("contaId") Long contaId,
+        @Param("tipos") Collection<TipoMovimentacao> tipos,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO(m.id, m.tipoMovimentacao, m.valor, m.descricao, m.categoria, m.dataMovimentacao, m.dataRegistro, m.status, m.fonteMovimentacao, m.observacoes, m.saldoAnterior, m.saldoAtual, m.arquivoOrigem, m.identificadorExterno, m.conta.id) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.tipoMovimentacao IN :tipos AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoFinanceiraDTO> findRelatorio(@Param("contaId") Long contaId,
+        @Param("tipos") Collection<TipoMovimentacao> tipos,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO(m.id, m.tipoMovimentacao, m.valor, m.descricao, m.categoria, m.dataMovimentacao, m.dataRegistro, m.status, m.fonteMovimentacao, m.observacoes, m.saldoAnterior, m.saldoAtual, m.arquivoOrigem, m.identificadorExterno, m.conta.id) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.tipoMovimentacao IN :tipos AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    Stream<MovimentacaoFinanceiraDTO> streamRelatorio(@Param("contaId") Long contaId,
+        @Param("tipos") Collection<TipoMovimentacao> tipos,
+        @Param("dataInicio") LocalDate dataInicio,
+        @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT m.id FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.id > :aposId AND m.id <= :ateId ORDER BY m.id")
+    List<Long> findIdsEntre(@Param("contaId") Long contaId, @Param("aposId") Long aposId,
+        @Param("ateId") Long ateId, Pageable pageable);
+
+    @Query("SELECT MAX(m.id) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId")
+    Optional<Long> findUltimoIdByContaId(@Param("contaId") Long contaId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MovimentacaoFinanceira m SET m.saldoAnterior = m.saldoAnterior + :diferenca, m.saldoAtual = m.saldoAtual + :diferenca WHERE m.conta.id = :contaId AND m.id > :aposId AND m.id <= :ateId")
+    int deslocarSaldosEntre(@Param("contaId") Long contaId, @Param("aposId") Long aposId,
+        @Param("ateId") Long ateId, @Param("diferenca") BigDecimal diferenca);
+
+    @Query("SELECT DISTINCT m.conta.id FROM MovimentacaoFinanceira m WHERE m.status = 'CONCLUIDA' AND m.dataMovimentacao < :dataLimite")
+    List<Long> findContaIdsComArquivaveis(@Param("dataLimite") LocalDate dataLimite);
+
+    @Query("SELECT m.id FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.status = 'CONCLUIDA' AND m.dataMovimentacao < :dataLimite ORDER BY m.id")
+    List<Long> findIdsArquivaveis(@Param("contaId") Long contaId, @Param("dataLimite") LocalDate dataLimite,
+        Pageable pageable);
+
+    @Query("SELECT m.tipoMovimentacao, COUNT(m), SUM(m.valor), MAX(m.id) FROM MovimentacaoFinanceira m WHERE m.id IN :ids GROUP BY m.tipoMovimentacao")
+    List<Object[]> resumirPorTipo(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM MovimentacaoFinanceira m WHERE m.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m.conta.id FROM MovimentacaoFinanceira m WHERE m.id = :id")
+    Optional<Long> findContaIdById(@Param("id") Long id);
+
     Optional<MovimentacaoFinanceira> findByIdentificadorExterno(String identificadorExterno);
 
     List<MovimentacaoFinanceira> findByArquivoOrigem(String arquivoOrigem);
 
+    @Query("SELECT m.identificadorExterno FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.identificadorExterno IN :identificadores")
+    List<String> findIdentificadoresExistentes(@Param("contaId") Long contaId,
+        @Param("identificadores") Collection<String> identificadores);
+
+    @Query("SELECT m.conta.id, COUNT(m) FROM MovimentacaoFinanceira m WHERE m.identificadorExterno IS NOT NULL GROUP BY m.conta.id")
+    List<Object[]> countIdentificadoresExternosAgrupadoPorConta();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT m.conta.id, m.identificadorExterno FROM MovimentacaoFinanceira m WHERE m.identificadorExterno IS NOT NULL")
+    Stream<Object[]> streamIdentificadoresExternos();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId ORDER BY m.dataMovimentacao, m.id")
+    Stream<MovimentacaoFinanceira> streamByContaId(@Param("contaId") Long contaId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m.id, m.valor, m.dataMovimentacao, m.tipoMovimentacao, m.categoria, m.status FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId ORDER BY m.id")
+    Stream<Object[]> streamColunasByContaId(@Param("contaId") Long contaId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m.id, m.descricao, m.observacoes, m.dataMovimentacao FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId ORDER BY m.id")
+    Stream<Object[]> streamTextosByContaId(@Param("contaId") Long contaId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m.id, m.valor, m.categoria, m.descricao FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.tipoMovimentacao = 'DESPESA' AND m.status = 'CONCLUIDA' ORDER BY m.dataMovimentacao, m.id")
+    Stream<Object[]> streamDespesasByContaId(@Param("contaId") Long contaId);
+
     @Query("SELECT COUNT(m) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId")
     long countByContaId(@Param("contaId") Long contaId);
 
     @Query("SELECT SUM(m.valor) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.tipoMovimentacao = :tipoMovimentacao AND m.status = 'CONCLUIDA'")
-    Optional<Double> sumValorByContaIdAndTipoMovimentacao(@Param("contaId") Long contaId, 
+    Optional<BigDecimal> sumValorByContaIdAndTipoMovimentacao(@Param("contaId") Long contaId, 
         @Param("tipoMovimentacao") TipoMovimentacao tipoMovimentacao);
+
+    @Query("SELECT m.conta.id, m.tipoMovimentacao, SUM(m.valor), MAX(m.id) FROM MovimentacaoFinanceira m WHERE m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') GROUP BY m.conta.id, m.tipoMovimentacao")
+    List<Object[]> sumValorConcluidoAgrupadoPorContaETipo();
+
+    @Query("SELECT YEAR(m.dataMovimentacao), MONTH(m.dataMovimentacao), m.categoria, m.tipoMovimentacao, m.status, COUNT(m), SUM(m.valor) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId GROUP BY YEAR(m.dataMovimentacao), MONTH(m.dataMovimentacao), m.categoria, m.tipoMovimentacao, m.status")
+    List<Object[]> sumValorAgrupadoPorMesCategoriaTipoEStatus(@Param("contaId") Long contaId);
+
+    @Query("SELECT m.categoria, COUNT(m), SUM(m.valor) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.tipoMovimentacao = :tipoMovimentacao AND m.status = 'CONCLUIDA' AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim GROUP BY m.categoria ORDER BY SUM(m.valor) DESC, m.categoria")
+    List<Object[]> sumValorConcluidoAgrupadoPorCategoria(@Param("contaId") Long contaId,
+        @Param("tipoMovimentacao") TipoMovimentacao tipoMovimentacao,
+        @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT DISTINCT m.conta.id FROM MovimentacaoFinanceira m")
+    List<Long> findContaIdsComMovimentacoes();
+
+    @Query("SELECT MIN(m.dataMovimentacao) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId")
+    Optional<LocalDate> findPrimeiraDataMovimentacao(@Param("contaId") Long contaId);
+
+    @Query("SELECT SUM(CASE WHEN m.tipoMovimentacao = 'RECEITA' THEN m.valor ELSE -m.valor END) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') AND m.dataMovimentacao <= :ate")
+    Optional<BigDecimal> sumEfeitoSaldoAte(@Param("contaId") Long contaId, @Param("ate") LocalDate ate);
+
+    @Query("SELECT SUM(CASE WHEN m.tipoMovimentacao = 'RECEITA' THEN m.valor ELSE -m.valor END) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') AND m.dataMovimentacao > :apos AND m.dataMovimentacao <= :ate")
+    Optional<BigDecimal> sumEfeitoSaldoEntre(@Param("contaId") Long contaId, @Param("apos") LocalDate apos,
+        @Param("ate") LocalDate ate);
+
+    @Query("SELECT m.dataMovimentacao, SUM(CASE WHEN m.tipoMovimentacao = 'RECEITA' THEN m.valor ELSE -m.valor END) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim GROUP BY m.dataMovimentacao ORDER BY m.dataMovimentacao")
+    List<Object[]> sumEfeitoSaldoAgrupadoPorData(@Param("contaId") Long contaId,
+        @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT SUM(CASE WHEN m.tipoMovimentacao = 'DESPESA' THEN m.valor ELSE -m.valor END) FROM MovimentacaoFinanceira m WHERE m.conta.id = :contaId AND m.status = 'CONCLUIDA' AND m.tipoMovimentacao IN ('RECEITA', 'DESPESA') AND m.categoria IN :categorias AND m.dataMovimentacao >= :dataInicio")
+    Optional<BigDecimal> sumAportesConcluidos(@Param("contaId") Long contaId,
+        @Param("categorias") Collection<CategoriaFinanceira> categorias, @Param("dataInicio") LocalDate dataInicio);
 }
@@ -0,0 +1,9 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.PosicaoOuvinteEvento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PosicaoOuvinteEventoRepository extends JpaRepository<PosicaoOuvinteEvento, String> {
+}
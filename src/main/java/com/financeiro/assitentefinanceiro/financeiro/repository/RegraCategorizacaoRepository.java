@@ -0,0 +1,13 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.RegraCategorizacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RegraCategorizacaoRepository extends JpaRepository<RegraCategorizacao, Long> {
+
+    List<RegraCategorizacao> findAllByOrderByIdAsc();
+}
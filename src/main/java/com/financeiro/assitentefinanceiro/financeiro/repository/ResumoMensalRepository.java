@@ -0,0 +1,40 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.ResumoMensal;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, Long> {
+
+    @Query("SELECT r FROM ResumoMensal r WHERE r.contaId = :contaId AND r.anoMes = :anoMes AND r.categoria = :categoria AND r.tipoMovimentacao = :tipoMovimentacao AND r.status = :status")
+    Optional<ResumoMensal> findByChave(@Param("contaId") Long contaId, @Param("anoMes") String anoMes,
+        @Param("categoria") CategoriaFinanceira categoria,
+        @Param("tipoMovimentacao") TipoMovimentacao tipoMovimentacao,
+        @Param("status") StatusMovimentacao status);
+
+    @Query("SELECT r FROM ResumoMensal r WHERE r.contaId = :contaId AND r.anoMes BETWEEN :inicio AND :fim ORDER BY r.anoMes, r.tipoMovimentacao, r.categoria, r.status")
+    List<ResumoMensal> findByContaIdAndPeriodo(@Param("contaId") Long contaId, @Param("inicio") String inicio,
+        @Param("fim") String fim);
+
+    @Query("SELECT DISTINCT r.contaId FROM ResumoMensal r")
+    List<Long> findContaIds();
+
+    @Modifying
+    @Query("DELETE FROM ResumoMensal r WHERE r.contaId = :contaId")
+    int deleteByContaId(@Param("contaId") Long contaId);
+
+    @Query("SELECT r.contaId, r.tipoMovimentacao, SUM(r.total) FROM ResumoMensal r WHERE r.contaId IN :contaIds AND r.anoMes = :anoMes AND r.status = 'CONCLUIDA' GROUP BY r.contaId, r.tipoMovimentacao")
+    List<Object[]> sumTotalConcluidoAgrupadoPorContaETipo(@Param("contaIds") Collection<Long> contaIds,
+            @Param("anoMes") String anoMes);
+}
@@ -0,0 +1,17 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoAbertura;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface SaldoAberturaRepository extends JpaRepository<SaldoAbertura, Long> {
+
+    @Query("SELECT s.dataLimite FROM SaldoAbertura s WHERE s.contaId = :contaId")
+    Optional<LocalDate> findDataLimiteByContaId(@Param("contaId") Long contaId);
+}
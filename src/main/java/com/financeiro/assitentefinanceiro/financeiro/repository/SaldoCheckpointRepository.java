@@ -0,0 +1,31 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SaldoCheckpointRepository extends JpaRepository<SaldoCheckpoint, Long> {
+
+    Optional<SaldoCheckpoint> findFirstByContaIdAndDataReferenciaLessThanEqualOrderByDataReferenciaDesc(Long contaId,
+        LocalDate data);
+
+    Optional<SaldoCheckpoint> findFirstByContaIdOrderByDataReferenciaDesc(Long contaId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SaldoCheckpoint c SET c.saldo = c.saldo + :efeito, c.dataAtualizacao = :agora WHERE c.contaId = :contaId AND c.dataReferencia >= :data")
+    int somarEfeitoAPartirDe(@Param("contaId") Long contaId, @Param("data") LocalDate data,
+        @Param("efeito") BigDecimal efeito, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM SaldoCheckpoint c WHERE c.contaId = :contaId")
+    int deleteByContaId(@Param("contaId") Long contaId);
+}
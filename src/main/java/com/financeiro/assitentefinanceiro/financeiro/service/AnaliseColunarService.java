@@ -0,0 +1,173 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.common.Intercalacao;
+import com.financeiro.assitentefinanceiro.financeiro.analise.ColunasMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoEventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.evento.OuvinteMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Mantém em memória as movimentações das contas consultadas recentemente no formato de
+ * {@link ColunasMovimentacao}. A conta é carregada do banco na primeira consulta, recebe as escritas pela fila de
+ * eventos de movimentação, fora da transação e da trava da conta, e sai da memória pela política LRU quando o limite
+ * de contas é atingido. Escritas recentes aparecem depois que o evento é entregue.
+ *
+ * <p>Uma carga que corre em paralelo com a aplicação de eventos da mesma conta não é guardada, pois pode não conter
+ * essas escritas; a consulta que disparou a carga usa o resultado mesmo assim.
+ */
+@Service
+public class AnaliseColunarService implements OuvinteMovimentacao {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnaliseColunarService.class);
+    private static final Comparator<Object[]> POR_ID = Comparator.comparing(linha -> (Long) linha[0]);
+    private static final int STRIPES = 64;
+
+    private final MovimentacaoFinanceiraRepository repository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, ColunasMovimentacao> colunasPorConta;
+    private final long[] geracoes = new long[STRIPES];
+    private final Counter acertosCounter;
+    private final Counter cargasCounter;
+
+    public AnaliseColunarService(MovimentacaoFinanceiraRepository repository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.analise.colunar.maximo-contas:256}") int maximoContas) {
+        if (maximoContas <= 0) {
+            throw new IllegalArgumentException("Máximo de contas em memória deve ser maior que zero");
+        }
+        this.repository = repository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.colunasPorConta = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ColunasMovimentacao> maisAntiga) {
+                return size() > maximoContas;
+            }
+        };
+        this.acertosCounter = contadorConsultas(meterRegistry, "memoria");
+        this.cargasCounter = contadorConsultas(meterRegistry, "carga");
+
+        Gauge.builder("assitentefinanceiro_analise_colunar_contas", this, AnaliseColunarService::getContasCarregadas)
+                .description("Contas com movimentações carregadas no armazenamento colunar")
+                .register(meterRegistry);
+    }
+
+    public ColunasMovimentacao colunasDaConta(Long contaId) {
+        long geracao;
+        synchronized (colunasPorConta) {
+            ColunasMovimentacao colunas = colunasPorConta.get(contaId);
+            if (colunas != null) {
+                acertosCounter.increment();
+                return colunas;
+            }
+            geracao = geracoes[stripe(contaId)];
+        }
+
+        long inicio = System.currentTimeMillis();
+        ColunasMovimentacao carregadas = carregar(contaId);
+        cargasCounter.increment();
+        logger.debug("Movimentações da conta {} carregadas em colunas. Linhas: {}, Tempo: {}ms",
+                contaId, carregadas.tamanho(), System.currentTimeMillis() - inicio);
+
+        synchronized (colunasPorConta) {
+            if (geracoes[stripe(contaId)] != geracao) {
+                return carregadas;
+            }
+            ColunasMovimentacao existentes = colunasPorConta.putIfAbsent(contaId, carregadas);
+            return existentes != null ? existentes : carregadas;
+        }
+    }
+
+    @Override
+    public String getNome() {
+        return "analise-colunar";
+    }
+
+    /**
+     * Aplica os eventos às colunas das contas em memória. A linha é substituída pelo estado do evento: um evento
+     * entregue de novo reaplica o mesmo estado, e um evento mais antigo que a carga da conta é corrigido pelos
+     * eventos seguintes da mesma movimentação.
+     */
+    @Override
+    public void processar(List<EventoMovimentacao> eventos) {
+        for (EventoMovimentacao evento : eventos) {
+            aplicar(evento.getContaId(), colunas -> {
+                if (evento.getTipo() == TipoEventoMovimentacao.EXCLUIDA) {
+                    colunas.remover(evento.getMovimentacaoId());
+                } else {
+                    colunas.registrar(evento.getMovimentacaoId(), evento.getValor(), evento.getDataMovimentacao(),
+                            evento.getTipoMovimentacao(), evento.getCategoria(), evento.getStatus());
+                }
+            });
+        }
+    }
+
+    public int getContasCarregadas() {
+        synchronized (colunasPorConta) {
+            return colunasPorConta.size();
+        }
+    }
+
+    private ColunasMovimentacao carregar(Long contaId) {
+        return transactionTemplate.execute(status -> {
+            ColunasMovimentacao colunas = new ColunasMovimentacao((int) (repository.countByContaId(contaId)
+                    + arquivadaRepository.countByContaId(contaId)));
+            try (Stream<Object[]> linhas = Intercalacao.intercalar(repository.streamColunasByContaId(contaId),
+                    arquivadaRepository.streamColunasByContaId(contaId), POR_ID)) {
+                linhas.forEach(linha -> colunas.registrar((Long) linha[0], (BigDecimal) linha[1],
+                        (LocalDate) linha[2], (TipoMovimentacao) linha[3], (CategoriaFinanceira) linha[4],
+                        (StatusMovimentacao) linha[5]));
+            }
+            return colunas;
+        });
+    }
+
+    private void aplicar(Long contaId, Consumer<ColunasMovimentacao> alteracao) {
+        ColunasMovimentacao colunas;
+        synchronized (colunasPorConta) {
+            geracoes[stripe(contaId)]++;
+            colunas = colunasPorConta.get(contaId);
+        }
+        if (colunas != null) {
+            alteracao.accept(colunas);
+        }
+    }
+
+    private static int stripe(Long contaId) {
+        return Math.floorMod(Long.hashCode(contaId) * 0x9E3779B9, STRIPES);
+    }
+
+    private static Counter contadorConsultas(MeterRegistry meterRegistry, String origem) {
+        return Counter.builder("assitentefinanceiro_analise_colunar_consultas_total")
+                .description("Consultas ao armazenamento colunar por origem das colunas")
+                .tag("origem", origem)
+                .register(meterRegistry);
+    }
+}
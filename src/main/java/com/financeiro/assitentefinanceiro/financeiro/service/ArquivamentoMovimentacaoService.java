@@ -0,0 +1,161 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoAbertura;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.SaldoAberturaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Move as movimentações concluídas anteriores ao horizonte de arquivamento para {@code movimentacao_arquivada}, em
+ * lotes de uma conta por transação, com a trava da conta. Cada lote soma seus totais ao {@link SaldoAbertura} da
+ * conta na mesma transação, então a tabela principal somada ao saldo de abertura sempre dá o saldo total. Contas com
+ * rebalanceamento de saldos pendente ficam para a próxima execução, pois o arquivo não é alterado depois da cópia.
+ *
+ * <p>As leituras por período consultam o arquivo somente quando {@link #abrangeArquivo} indica que o período começa
+ * antes da data limite da conta; a busca por ID e as listagens da conta sem período o consultam sempre que a conta
+ * tem movimentações arquivadas. As escritas recusam movimentações arquivadas. Uma leitura que coincide com o commit de um
+ * lote da mesma conta pode não ver as movimentações do lote, por isso o arquivamento roda de madrugada.
+ */
+@Service
+public class ArquivamentoMovimentacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivamentoMovimentacaoService.class);
+
+    private final MovimentacaoFinanceiraRepository movimentacaoRepository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final SaldoAberturaRepository aberturaRepository;
+    private final TravaContaService travaContaService;
+    private final RebalanceamentoSaldoService rebalanceamentoSaldoService;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonteMeses;
+    private final int tamanhoLote;
+    private final Counter arquivadasCounter;
+    private final Timer loteTimer;
+
+    public ArquivamentoMovimentacaoService(MovimentacaoFinanceiraRepository movimentacaoRepository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            SaldoAberturaRepository aberturaRepository,
+            TravaContaService travaContaService,
+            RebalanceamentoSaldoService rebalanceamentoSaldoService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.arquivamento.horizonte-meses:24}") int horizonteMeses,
+            @Value("${financeiro.arquivamento.tamanho-lote:1000}") int tamanhoLote) {
+        if (horizonteMeses <= 0 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Horizonte e tamanho do lote de arquivamento devem ser maiores que zero");
+        }
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.aberturaRepository = aberturaRepository;
+        this.travaContaService = travaContaService;
+        this.rebalanceamentoSaldoService = rebalanceamentoSaldoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizonteMeses = horizonteMeses;
+        this.tamanhoLote = tamanhoLote;
+        this.arquivadasCounter = Counter.builder("assitentefinanceiro_arquivamento_movimentacoes_total")
+                .description("Movimentações movidas para o arquivo")
+                .register(meterRegistry);
+        this.loteTimer = Timer.builder("assitentefinanceiro_arquivamento_lote_tempo")
+                .description("Tempo de cada lote de arquivamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Primeiro dia do mês que fica {@code financeiro.arquivamento.horizonte-meses} antes do mês corrente; o que for
+     * anterior a ele é arquivado.
+     */
+    public LocalDate dataLimitePadrao() {
+        return YearMonth.now().minusMonths(horizonteMeses).atDay(1);
+    }
+
+    public int arquivar() {
+        return arquivar(dataLimitePadrao());
+    }
+
+    public int arquivar(LocalDate dataLimite) {
+        long inicio = System.currentTimeMillis();
+        List<Long> contas = movimentacaoRepository.findContaIdsComArquivaveis(dataLimite);
+        int total = 0;
+        for (Long contaId : contas) {
+            int movidas;
+            do {
+                Timer.Sample amostra = Timer.start();
+                Integer lote = transactionTemplate.execute(status -> moverLote(contaId, dataLimite));
+                amostra.stop(loteTimer);
+                movidas = lote != null ? lote : 0;
+                total += movidas;
+                arquivadasCounter.increment(movidas);
+            } while (movidas == tamanhoLote);
+        }
+        logger.info("Arquivamento de movimentações anteriores a {} concluído. Contas: {}, Movimentações: {}, Tempo: {}ms",
+                dataLimite, contas.size(), total, System.currentTimeMillis() - inicio);
+        return total;
+    }
+
+    /**
+     * Indica se o período que começa em {@code dataInicio}, ou todo o histórico se ela for nula, alcança movimentações
+     * arquivadas da conta.
+     */
+    public boolean abrangeArquivo(Long contaId, LocalDate dataInicio) {
+        return aberturaRepository.findDataLimiteByContaId(contaId)
+                .map(dataLimite -> dataInicio == null || dataInicio.isBefore(dataLimite))
+                .orElse(false);
+    }
+
+    private int moverLote(Long contaId, LocalDate dataLimite) {
+        travaContaService.travarAteFimDaTransacao(contaId);
+        if (rebalanceamentoSaldoService.possuiPendentes(contaId)) {
+            logger.info("Arquivamento da conta {} adiado: há rebalanceamento de saldos pendente", contaId);
+            return 0;
+        }
+        List<Long> ids = movimentacaoRepository.findIdsArquivaveis(contaId, dataLimite, PageRequest.ofSize(tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        BigDecimal receitas = BigDecimal.ZERO;
+        BigDecimal despesas = BigDecimal.ZERO;
+        Long ultimaMovimentacaoId = null;
+        for (Object[] linha : movimentacaoRepository.resumirPorTipo(ids)) {
+            if (TipoMovimentacao.RECEITA.equals(linha[0])) {
+                receitas = (BigDecimal) linha[2];
+            } else if (TipoMovimentacao.DESPESA.equals(linha[0])) {
+                despesas = (BigDecimal) linha[2];
+            }
+            Long maiorId = (Long) linha[3];
+            ultimaMovimentacaoId = ultimaMovimentacaoId == null ? maiorId : Math.max(ultimaMovimentacaoId, maiorId);
+        }
+
+        int copiadas = arquivadaRepository.copiarDaTabelaPrincipal(ids);
+        int removidas = movimentacaoRepository.deleteByIds(ids);
+        if (copiadas != ids.size() || removidas != ids.size()) {
+            throw new IllegalStateException("Lote de arquivamento da conta " + contaId + " inconsistente. Selecionadas: "
+                    + ids.size() + ", Copiadas: " + copiadas + ", Removidas: " + removidas);
+        }
+
+        SaldoAbertura abertura = aberturaRepository.findById(contaId)
+                .orElseGet(() -> new SaldoAbertura(contaId, dataLimite));
+        abertura.acumular(dataLimite, receitas, despesas, ids.size(), ultimaMovimentacaoId);
+        aberturaRepository.save(abertura);
+
+        logger.debug("Conta {}: {} movimentação(ões) arquivada(s). Saldo de abertura: {}", contaId, ids.size(),
+                abertura.getSaldo());
+        return ids.size();
+    }
+}
@@ -0,0 +1,290 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.common.Intercalacao;
+import com.financeiro.assitentefinanceiro.financeiro.analise.IndiceTextual;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.IndiceTextualConta;
+import com.financeiro.assitentefinanceiro.financeiro.evento.OuvinteMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.EventoMovimentacaoRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.IndiceTextualContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Mantém em memória o {@link IndiceTextual} das contas pesquisadas recentemente. O índice recebe as escritas pela fila
+ * de eventos de movimentação, fora da transação e da trava da conta, e sai da memória pela política LRU quando o
+ * limite de contas é atingido.
+ *
+ * <p>Os índices que receberam eventos são gravados periodicamente em {@link IndiceTextualConta}, com as postagens
+ * compactadas e a posição do último evento aplicado. Na primeira busca depois de sair da memória, o índice é
+ * restaurado do snapshot e recebe os eventos da conta posteriores a ele; só é montado a partir das movimentações
+ * quando não há snapshot, quando a fila já expurgou eventos seguintes ao snapshot ou quando a fração de documentos
+ * removidos passou do limite. Uma carga que corre em paralelo com a aplicação de eventos da mesma conta não é
+ * guardada, pois pode não conter essas escritas.
+ */
+@Service
+public class BuscaTextualService implements OuvinteMovimentacao {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscaTextualService.class);
+    private static final Comparator<Object[]> POR_ID = Comparator.comparing(linha -> (Long) linha[0]);
+    private static final int STRIPES = 64;
+    private static final int TAMANHO_PAGINA_EVENTOS = 1000;
+
+    private final MovimentacaoFinanceiraRepository repository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final IndiceTextualContaRepository indiceRepository;
+    private final EventoMovimentacaoRepository eventoRepository;
+    private final TransactionTemplate leituraTemplate;
+    private final TransactionTemplate escritaTemplate;
+    private final Map<Long, IndiceConta> indicesPorConta;
+    private final long[] geracoes = new long[STRIPES];
+    private final double fracaoMaximaRemovidos;
+    private final Counter acertosCounter;
+    private final Counter snapshotsCounter;
+    private final Counter cargasCounter;
+
+    public BuscaTextualService(MovimentacaoFinanceiraRepository repository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            IndiceTextualContaRepository indiceRepository,
+            EventoMovimentacaoRepository eventoRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.busca.maximo-contas:64}") int maximoContas,
+            @Value("${financeiro.busca.fracao-maxima-removidos:0.25}") double fracaoMaximaRemovidos) {
+        if (maximoContas <= 0) {
+            throw new IllegalArgumentException("Máximo de contas em memória deve ser maior que zero");
+        }
+        if (fracaoMaximaRemovidos <= 0 || fracaoMaximaRemovidos > 1) {
+            throw new IllegalArgumentException("Fração máxima de removidos deve estar entre 0 e 1");
+        }
+        this.repository = repository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.indiceRepository = indiceRepository;
+        this.eventoRepository = eventoRepository;
+        this.leituraTemplate = new TransactionTemplate(transactionManager);
+        this.leituraTemplate.setReadOnly(true);
+        this.escritaTemplate = new TransactionTemplate(transactionManager);
+        this.fracaoMaximaRemovidos = fracaoMaximaRemovidos;
+        this.indicesPorConta = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, IndiceConta> maisAntiga) {
+                return size() > maximoContas;
+            }
+        };
+        this.acertosCounter = contadorBuscas(meterRegistry, "memoria");
+        this.snapshotsCounter = contadorBuscas(meterRegistry, "snapshot");
+        this.cargasCounter = contadorBuscas(meterRegistry, "carga");
+
+        Gauge.builder("assitentefinanceiro_busca_textual_contas", this, BuscaTextualService::getContasCarregadas)
+                .description("Contas com índice textual em memória")
+                .register(meterRegistry);
+    }
+
+    public IndiceTextual.Resultado buscar(Long contaId, String consulta, LocalDate inicio, LocalDate fim,
+            int limite) {
+        return indiceDaConta(contaId).buscar(consulta, inicio, fim, limite);
+    }
+
+    public IndiceTextual indiceDaConta(Long contaId) {
+        long geracao;
+        synchronized (indicesPorConta) {
+            IndiceConta indiceConta = indicesPorConta.get(contaId);
+            if (indiceConta != null) {
+                acertosCounter.increment();
+                return indiceConta.indice;
+            }
+            geracao = geracoes[stripe(contaId)];
+        }
+
+        long inicio = System.currentTimeMillis();
+        IndiceConta carregado = carregar(contaId);
+        logger.debug("Índice textual da conta {} carregado. Movimentações: {}, Termos: {}, Tempo: {}ms",
+                contaId, carregado.indice.tamanho(), carregado.indice.getQuantidadeTermos(),
+                System.currentTimeMillis() - inicio);
+
+        synchronized (indicesPorConta) {
+            if (geracoes[stripe(contaId)] != geracao) {
+                return carregado.indice;
+            }
+            IndiceConta existente = indicesPorConta.putIfAbsent(contaId, carregado);
+            return existente != null ? existente.indice : carregado.indice;
+        }
+    }
+
+    @Override
+    public String getNome() {
+        return "busca-textual";
+    }
+
+    /**
+     * Aplica os eventos aos índices das contas em memória. Os das demais contas ficam para a restauração do snapshot.
+     */
+    @Override
+    public void processar(List<EventoMovimentacao> eventos) {
+        for (EventoMovimentacao evento : eventos) {
+            Long contaId = evento.getContaId();
+            IndiceConta indiceConta;
+            synchronized (indicesPorConta) {
+                geracoes[stripe(contaId)]++;
+                indiceConta = indicesPorConta.get(contaId);
+            }
+            if (indiceConta == null) {
+                continue;
+            }
+            aplicar(indiceConta.indice, evento);
+            indiceConta.posicao = Math.max(indiceConta.posicao, evento.getPosicao());
+            if (indiceConta.indice.getFracaoRemovida() > fracaoMaximaRemovidos) {
+                synchronized (indicesPorConta) {
+                    indicesPorConta.remove(contaId, indiceConta);
+                }
+                logger.debug("Índice textual da conta {} descartado para remontagem. Fração removida: {}",
+                        contaId, indiceConta.indice.getFracaoRemovida());
+            }
+        }
+    }
+
+    /**
+     * Grava o snapshot dos índices em memória que receberam eventos desde a última gravação ou que foram montados a
+     * partir das movimentações.
+     */
+    public int persistirIndices() {
+        Map<Long, IndiceConta> alterados = new HashMap<>();
+        synchronized (indicesPorConta) {
+            indicesPorConta.forEach((contaId, indiceConta) -> {
+                if (indiceConta.posicao != indiceConta.posicaoPersistida) {
+                    alterados.put(contaId, indiceConta);
+                }
+            });
+        }
+
+        for (Map.Entry<Long, IndiceConta> alterado : alterados.entrySet()) {
+            Long contaId = alterado.getKey();
+            IndiceConta indiceConta = alterado.getValue();
+            long posicao = indiceConta.posicao;
+            byte[] postagens = indiceConta.indice.serializar();
+            int documentos = indiceConta.indice.tamanho();
+            escritaTemplate.executeWithoutResult(status -> {
+                IndiceTextualConta salvo = indiceRepository.findById(contaId)
+                        .orElseGet(() -> new IndiceTextualConta(contaId));
+                salvo.atualizar(postagens, documentos, posicao);
+                indiceRepository.save(salvo);
+            });
+            indiceConta.posicaoPersistida = posicao;
+        }
+        if (!alterados.isEmpty()) {
+            logger.debug("Índices textuais gravados. Contas: {}", alterados.size());
+        }
+        return alterados.size();
+    }
+
+    public int getContasCarregadas() {
+        synchronized (indicesPorConta) {
+            return indicesPorConta.size();
+        }
+    }
+
+    private IndiceConta carregar(Long contaId) {
+        return leituraTemplate.execute(status -> {
+            IndiceConta restaurado = indiceRepository.findById(contaId)
+                    .filter(salvo -> eventoRepository.findPrimeiraPosicao().orElse(Long.MAX_VALUE)
+                            <= salvo.getPosicaoEvento() + 1)
+                    .map(this::restaurar)
+                    .filter(indiceConta -> indiceConta.indice.getFracaoRemovida() <= fracaoMaximaRemovidos)
+                    .orElse(null);
+            if (restaurado != null) {
+                snapshotsCounter.increment();
+                return restaurado;
+            }
+            cargasCounter.increment();
+            return montar(contaId);
+        });
+    }
+
+    private IndiceConta restaurar(IndiceTextualConta salvo) {
+        IndiceTextual indice = IndiceTextual.restaurar(salvo.getPostagens());
+        long posicao = salvo.getPosicaoEvento();
+        List<EventoMovimentacao> eventos;
+        do {
+            eventos = eventoRepository.findByContaIdApos(salvo.getContaId(), posicao,
+                    PageRequest.ofSize(TAMANHO_PAGINA_EVENTOS));
+            for (EventoMovimentacao evento : eventos) {
+                aplicar(indice, evento);
+                posicao = evento.getPosicao();
+            }
+        } while (eventos.size() == TAMANHO_PAGINA_EVENTOS);
+        return new IndiceConta(indice, posicao, salvo.getPosicaoEvento());
+    }
+
+    /**
+     * Monta o índice a partir das movimentações. Os eventos até a última posição lida antes da leitura já estão nas
+     * tabelas; os seguintes podem estar ou não, e aplicá-los de novo não muda o resultado.
+     */
+    private IndiceConta montar(Long contaId) {
+        long posicao = eventoRepository.findUltimaPosicao().orElse(0L);
+        IndiceTextual indice = new IndiceTextual((int) (repository.countByContaId(contaId)
+                + arquivadaRepository.countByContaId(contaId)));
+        try (Stream<Object[]> linhas = Intercalacao.intercalar(repository.streamTextosByContaId(contaId),
+                arquivadaRepository.streamTextosByContaId(contaId), POR_ID)) {
+            linhas.forEach(linha -> indice.registrar((Long) linha[0], (String) linha[1], (String) linha[2],
+                    (LocalDate) linha[3]));
+        }
+        return new IndiceConta(indice, posicao, -1);
+    }
+
+    /**
+     * Estornos não mudam o texto nem a data e são ignorados.
+     */
+    private static void aplicar(IndiceTextual indice, EventoMovimentacao evento) {
+        switch (evento.getTipo()) {
+            case REGISTRADA, ATUALIZADA -> indice.registrar(evento.getMovimentacaoId(), evento.getDescricao(),
+                    evento.getObservacoes(), evento.getDataMovimentacao());
+            case EXCLUIDA -> indice.remover(evento.getMovimentacaoId());
+            case ESTORNADA -> {
+            }
+        }
+    }
+
+    private static int stripe(Long contaId) {
+        return Math.floorMod(Long.hashCode(contaId) * 0x9E3779B9, STRIPES);
+    }
+
+    private static Counter contadorBuscas(MeterRegistry meterRegistry, String origem) {
+        return Counter.builder("assitentefinanceiro_busca_textual_buscas_total")
+                .description("Buscas textuais por origem do índice")
+                .tag("origem", origem)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Índice em memória com a posição do último evento aplicado e a do último snapshot gravado.
+     */
+    private static final class IndiceConta {
+        private final IndiceTextual indice;
+        private volatile long posicao;
+        private volatile long posicaoPersistida;
+
+        private IndiceConta(IndiceTextual indice, long posicao, long posicaoPersistida) {
+            this.indice = indice;
+            this.posicao = posicao;
+            this.posicaoPersistida = posicaoPersistida;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.AutomatoCategorias;
+import com.financeiro.assitentefinanceiro.financeiro.domain.RegraCategorizacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RegraCategorizacaoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.RegraCategorizacaoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Categorização automática de descrições pelo dicionário embutido e pelas regras do usuário, compilados juntos num
+ * {@link AutomatoCategorias}. As regras do usuário têm prioridade sobre o dicionário. Alterar uma regra compila um
+ * novo autômato depois do commit e o publica numa referência volátil: as importações em andamento continuam usando
+ * o anterior até a troca, sem esperar pela compilação.
+ */
+@Service
+public class CategorizacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategorizacaoService.class);
+    private static final int PRIORIDADE_DICIONARIO = 0;
+    private static final int PRIORIDADE_REGRA = 1;
+    private static final int TAMANHO_MAXIMO_TERMO = 100;
+
+    private final RegraCategorizacaoRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<AutomatoCategorias.PalavraChave> dicionario;
+    private final Counter categorizadasCounter;
+    private final Counter semCorrespondenciaCounter;
+    private final Timer recargaTimer;
+    private volatile AutomatoCategorias automato;
+
+    public CategorizacaoService(RegraCategorizacaoRepository repository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.categorizacao.dicionario:categorizacao/dicionario.properties}") String dicionario) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.dicionario = carregarDicionario(dicionario);
+        this.automato = AutomatoCategorias.compilar(this.dicionario);
+        this.categorizadasCounter = contadorDescricoes(meterRegistry, "categorizada");
+        this.semCorrespondenciaCounter = contadorDescricoes(meterRegistry, "sem_correspondencia");
+        this.recargaTimer = Timer.builder("assitentefinanceiro_categorizacao_recarga_tempo")
+                .description("Tempo de compilação do autômato de categorização")
+                .register(meterRegistry);
+
+        Gauge.builder("assitentefinanceiro_categorizacao_termos", this, s -> s.automato.getQuantidadeTermos())
+                .description("Termos compilados no autômato de categorização, do dicionário e das regras")
+                .register(meterRegistry);
+        Gauge.builder("assitentefinanceiro_categorizacao_memoria_bytes", this, s -> s.automato.getTamanhoBytes())
+                .description("Memória ocupada pelas tabelas do autômato de categorização")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        recarregar();
+    }
+
+    /**
+     * Categoria sugerida para a descrição, ou {@code null} quando nenhum termo compatível com o tipo aparece nela.
+     */
+    public CategoriaFinanceira categorizar(String descricao, TipoMovimentacao tipoMovimentacao) {
+        CategoriaFinanceira categoria = automato.categorizar(descricao, tipoMovimentacao);
+        (categoria != null ? categorizadasCounter : semCorrespondenciaCounter).increment();
+        return categoria;
+    }
+
+    /**
+     * Compila um novo autômato com o dicionário e as regras atuais e o coloca no lugar do anterior. Recargas
+     * simultâneas são serializadas para que a última publicada reflita as regras mais recentes.
+     */
+    public synchronized AutomatoCategorias recarregar() {
+        return executarComTratamentoErro(() -> {
+            long inicio = System.nanoTime();
+            List<RegraCategorizacao> regras = transactionTemplate.execute(status -> repository.findAllByOrderByIdAsc());
+            List<AutomatoCategorias.PalavraChave> palavras = new ArrayList<>(dicionario.size() + regras.size());
+            for (RegraCategorizacao regra : regras) {
+                palavras.add(new AutomatoCategorias.PalavraChave(regra.getTermo(), regra.getCategoria(),
+                        regra.getTipoMovimentacao(), PRIORIDADE_REGRA));
+            }
+            palavras.addAll(dicionario);
+
+            AutomatoCategorias novo = AutomatoCategorias.compilar(palavras);
+            automato = novo;
+            long nanos = System.nanoTime() - inicio;
+            recargaTimer.record(nanos, TimeUnit.NANOSECONDS);
+            logger.info("Autômato de categorização recarregado. Regras: {}, Termos: {}, Estados: {}, Memória: {} bytes, Tempo: {}ms",
+                    regras.size(), novo.getQuantidadeTermos(), novo.getQuantidadeEstados(), novo.getTamanhoBytes(),
+                    nanos / 1_000_000);
+            return novo;
+        }, "recarregar categorização");
+    }
+
+    @Transactional(readOnly = true)
+    public List<RegraCategorizacao> listarRegras() {
+        return repository.findAllByOrderByIdAsc();
+    }
+
+    @Transactional
+    public RegraCategorizacao criarRegra(RegraCategorizacaoDTO regraDTO) {
+        return executarComTratamentoErro(() -> {
+            validarRegra(regraDTO);
+            RegraCategorizacao regra = repository.save(new RegraCategorizacao(regraDTO.termo(), regraDTO.categoria(),
+                    regraDTO.tipoMovimentacao()));
+            logger.info("Regra de categorização criada. ID: {}, Termo: {}, Categoria: {}, Tipo: {}",
+                    regra.getId(), regra.getTermo(), regra.getCategoria(), regra.getTipoMovimentacao());
+            recarregarAposCommit();
+            return regra;
+        }, "criar regra de categorização");
+    }
+
+    @Transactional
+    public void excluirRegra(Long id) {
+        executarComTratamentoErro(() -> {
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException("ID inválido");
+            }
+            RegraCategorizacao regra = repository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Regra de categorização não encontrada: " + id));
+            repository.delete(regra);
+            logger.info("Regra de categorização excluída. ID: {}, Termo: {}", id, regra.getTermo());
+            recarregarAposCommit();
+            return null;
+        }, "excluir regra de categorização");
+    }
+
+    private void validarRegra(RegraCategorizacaoDTO regraDTO) {
+        if (regraDTO == null) {
+            throw new IllegalArgumentException("Dados da regra são obrigatórios");
+        }
+        if (regraDTO.termo() == null || regraDTO.termo().isBlank()) {
+            throw new IllegalArgumentException("Termo é obrigatório");
+        }
+        if (regraDTO.termo().trim().length() > TAMANHO_MAXIMO_TERMO) {
+            throw new IllegalArgumentException("Termo deve ter no máximo " + TAMANHO_MAXIMO_TERMO + " caracteres");
+        }
+        if (AutomatoCategorias.normalizar(regraDTO.termo()).isEmpty()) {
+            throw new IllegalArgumentException("Termo deve conter letras ou dígitos");
+        }
+        if (regraDTO.categoria() == null) {
+            throw new IllegalArgumentException("Categoria é obrigatória");
+        }
+    }
+
+    private void recarregarAposCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recarregar();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recarregar();
+            }
+        });
+    }
+
+    private static List<AutomatoCategorias.PalavraChave> carregarDicionario(String caminho) {
+        Properties propriedades = new Properties();
+        try (Reader reader = new InputStreamReader(new ClassPathResource(caminho).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            propriedades.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o dicionário de categorização " + caminho, e);
+        }
+
+        List<AutomatoCategorias.PalavraChave> palavras = new ArrayList<>();
+        for (String chave : propriedades.stringPropertyNames()) {
+            String[] partes = chave.trim().split("\\.");
+            CategoriaFinanceira categoria = CategoriaFinanceira.valueOf(partes[0]);
+            TipoMovimentacao tipo = partes.length > 1 ? TipoMovimentacao.valueOf(partes[1]) : null;
+            for (String termo : propriedades.getProperty(chave).split(",")) {
+                if (!termo.isBlank()) {
+                    palavras.add(new AutomatoCategorias.PalavraChave(termo.trim(), categoria, tipo,
+                            PRIORIDADE_DICIONARIO));
+                }
+            }
+        }
+        return List.copyOf(palavras);
+    }
+
+    private static Counter contadorDescricoes(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("assitentefinanceiro_categorizacao_descricoes_total")
+                .description("Descrições avaliadas pela categorização automática por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private <T> T executarComTratamentoErro(Supplier<T> operacao, String nomeOperacao) {
+        try {
+            return operacao.get();
+        } catch (IllegalArgumentException e) {
+            logger.error("Erro de validação em {}: {}", nomeOperacao, e.getMessage());
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Violação de integridade em {}: {}", nomeOperacao, e.getMessage());
+            throw new IllegalArgumentException("Dados inválidos para " + nomeOperacao);
+        } catch (Exception e) {
+            logger.error("Erro inesperado em {}: {}", nomeOperacao, e.getMessage());
+            throw new RuntimeException("Erro interno ao executar " + nomeOperacao + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.AcumuladorCentavos;
+import com.financeiro.assitentefinanceiro.financeiro.analise.DetectorAnomalias;
+import com.financeiro.assitentefinanceiro.financeiro.domain.AlertaAnomalia;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EstatisticaCategoria;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoEventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.evento.OuvinteMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.AlertaAnomaliaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.EstatisticaCategoriaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Aponta despesas atípicas registradas, consumindo a fila de eventos de movimentação fora da transação e da trava
+ * da conta. Cada conta ativa tem um {@link DetectorAnomalias} em memória, carregado do último snapshot gravado em
+ * {@link EstatisticaCategoria} ou, sem snapshot, das despesas concluídas da conta; o alerta é gravado na transação
+ * do ouvinte, junto com a sua posição na fila.
+ *
+ * <p>Os snapshots das contas alteradas são gravados periodicamente. Uma conta que sai da memória pela política LRU
+ * com alterações ainda não gravadas fica pendente até a próxima gravação, e volta da pendência se for usada antes
+ * disso. Alterações e exclusões de movimentações não são descontadas das estatísticas, e um lote entregue de novo
+ * soma suas despesas outra vez.
+ */
+@Service
+public class DeteccaoAnomaliaService implements OuvinteMovimentacao {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeteccaoAnomaliaService.class);
+    private static final int STRIPES = 64;
+
+    private final MovimentacaoFinanceiraRepository repository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final EstatisticaCategoriaRepository estatisticaRepository;
+    private final AlertaAnomaliaRepository alertaRepository;
+    private final TransactionTemplate leituraTemplate;
+    private final TransactionTemplate escritaTemplate;
+    private final DetectorAnomalias.Parametros parametros;
+    private final Map<Long, DetectorAnomalias> detectoresPorConta;
+    private final Map<Long, DetectorAnomalias> pendentes = new HashMap<>();
+    private final Map<Long, Long> versoesPersistidas = new HashMap<>();
+    private final long[] geracoes = new long[STRIPES];
+    private final Counter normaisCounter;
+    private final Counter anomaliasCounter;
+
+    public DeteccaoAnomaliaService(MovimentacaoFinanceiraRepository repository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            EstatisticaCategoriaRepository estatisticaRepository,
+            AlertaAnomaliaRepository alertaRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.anomalias.maximo-contas:512}") int maximoContas,
+            @Value("${financeiro.anomalias.minimo-observacoes:5}") int minimoObservacoes,
+            @Value("${financeiro.anomalias.desvios-minimos:4}") double desviosMinimos,
+            @Value("${financeiro.anomalias.fator-media:5}") double fatorMedia,
+            @Value("${financeiro.anomalias.fator-novo-estabelecimento:3}") double fatorNovoEstabelecimento,
+            @Value("${financeiro.anomalias.alfa:0.1}") double alfa) {
+        if (maximoContas <= 0) {
+            throw new IllegalArgumentException("Máximo de contas em memória deve ser maior que zero");
+        }
+        this.repository = repository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.estatisticaRepository = estatisticaRepository;
+        this.alertaRepository = alertaRepository;
+        this.leituraTemplate = new TransactionTemplate(transactionManager);
+        this.leituraTemplate.setReadOnly(true);
+        this.escritaTemplate = new TransactionTemplate(transactionManager);
+        this.parametros = new DetectorAnomalias.Parametros(minimoObservacoes, desviosMinimos, fatorMedia,
+                fatorNovoEstabelecimento, alfa);
+        this.detectoresPorConta = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, DetectorAnomalias> maisAntiga) {
+                if (size() <= maximoContas) {
+                    return false;
+                }
+                if (alterado(maisAntiga.getKey(), maisAntiga.getValue())) {
+                    pendentes.put(maisAntiga.getKey(), maisAntiga.getValue());
+                } else {
+                    versoesPersistidas.remove(maisAntiga.getKey());
+                }
+                return true;
+            }
+        };
+        this.normaisCounter = contadorAvaliacoes(meterRegistry, "normal");
+        this.anomaliasCounter = contadorAvaliacoes(meterRegistry, "anomalia");
+
+        Gauge.builder("assitentefinanceiro_anomalias_contas", this, DeteccaoAnomaliaService::getContasCarregadas)
+                .description("Contas com estatísticas de despesas em memória")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getNome() {
+        return "deteccao-anomalias";
+    }
+
+    /**
+     * Avalia as despesas concluídas registradas, gravando o alerta das atípicas na transação do ouvinte, e soma cada
+     * uma às estatísticas da conta. Registros em lote só somam, e só se a conta já estiver em memória; a próxima carga
+     * os lê do banco. Os demais eventos são ignorados.
+     */
+    @Override
+    public void processar(List<EventoMovimentacao> eventos) {
+        for (EventoMovimentacao evento : eventos) {
+            if (evento.getTipo() != TipoEventoMovimentacao.REGISTRADA
+                    || evento.getTipoMovimentacao() != TipoMovimentacao.DESPESA
+                    || evento.getStatus() != StatusMovimentacao.CONCLUIDA) {
+                continue;
+            }
+            if (evento.isEmLote()) {
+                aplicar(evento.getContaId(), Despesa.de(evento)::registrarEm);
+            } else {
+                avaliar(evento);
+            }
+        }
+    }
+
+    private void avaliar(EventoMovimentacao evento) {
+        Long contaId = evento.getContaId();
+        Despesa despesa = Despesa.de(evento);
+        DetectorAnomalias detector = detectorDaConta(contaId, evento.getMovimentacaoId());
+        DetectorAnomalias.Anomalia anomalia = detector.avaliar(despesa.centavos(), despesa.categoria(),
+                despesa.descricao());
+        aplicar(contaId, despesa::registrarEm);
+
+        if (anomalia == null) {
+            normaisCounter.increment();
+            return;
+        }
+        anomaliasCounter.increment();
+        AlertaAnomalia alerta = alertaRepository.save(new AlertaAnomalia(evento, anomalia.motivo(),
+                AcumuladorCentavos.valor(Math.round(anomalia.referencia())), anomalia.desvios()));
+        logger.info("Despesa atípica na conta {}. Movimentação: {}, Motivo: {}, Valor: {}, Habitual: {}",
+                contaId, evento.getMovimentacaoId(), anomalia.motivo(), evento.getValor(), alerta.getValorHabitual());
+    }
+
+    public List<AlertaAnomalia> listarAlertas(Long contaId, int limite) {
+        return alertaRepository.findByContaIdOrderByIdDesc(contaId, PageRequest.of(0, limite));
+    }
+
+    /**
+     * Grava o snapshot das contas com estatísticas alteradas desde a última gravação.
+     */
+    public int persistirEstatisticas() {
+        Map<Long, DetectorAnomalias> alterados = new HashMap<>();
+        synchronized (detectoresPorConta) {
+            alterados.putAll(pendentes);
+            detectoresPorConta.forEach((contaId, detector) -> {
+                if (alterado(contaId, detector)) {
+                    alterados.put(contaId, detector);
+                }
+            });
+        }
+
+        for (Map.Entry<Long, DetectorAnomalias> alterado : alterados.entrySet()) {
+            Long contaId = alterado.getKey();
+            DetectorAnomalias detector = alterado.getValue();
+            long versao = detector.getVersao();
+            List<DetectorAnomalias.Snapshot> snapshots = detector.snapshots();
+            escritaTemplate.executeWithoutResult(status -> {
+                Map<CategoriaFinanceira, EstatisticaCategoria> existentes = new EnumMap<>(CategoriaFinanceira.class);
+                for (EstatisticaCategoria estatistica : estatisticaRepository.findByContaId(contaId)) {
+                    existentes.put(estatistica.getCategoria(), estatistica);
+                }
+                List<EstatisticaCategoria> gravar = new ArrayList<>(snapshots.size());
+                for (DetectorAnomalias.Snapshot snapshot : snapshots) {
+                    EstatisticaCategoria estatistica = existentes.computeIfAbsent(snapshot.categoria(),
+                            categoria -> new EstatisticaCategoria(contaId, categoria));
+                    estatistica.atualizar(snapshot);
+                    gravar.add(estatistica);
+                }
+                estatisticaRepository.saveAll(gravar);
+            });
+
+            synchronized (detectoresPorConta) {
+                if (detectoresPorConta.get(contaId) == detector) {
+                    versoesPersistidas.put(contaId, versao);
+                } else if (detector.getVersao() == versao && pendentes.remove(contaId, detector)) {
+                    versoesPersistidas.remove(contaId);
+                } else if (pendentes.get(contaId) == detector) {
+                    versoesPersistidas.put(contaId, versao);
+                }
+            }
+        }
+        if (!alterados.isEmpty()) {
+            logger.debug("Estatísticas de despesas gravadas. Contas: {}", alterados.size());
+        }
+        return alterados.size();
+    }
+
+    public int getContasCarregadas() {
+        synchronized (detectoresPorConta) {
+            return detectoresPorConta.size();
+        }
+    }
+
+    DetectorAnomalias detectorDaConta(Long contaId, Long carregarAntesDe) {
+        long geracao;
+        synchronized (detectoresPorConta) {
+            DetectorAnomalias detector = detectoresPorConta.get(contaId);
+            if (detector != null) {
+                return detector;
+            }
+            detector = pendentes.remove(contaId);
+            if (detector != null) {
+                detectoresPorConta.put(contaId, detector);
+                return detector;
+            }
+            geracao = geracoes[stripe(contaId)];
+        }
+
+        long inicio = System.currentTimeMillis();
+        DetectorAnomalias carregado = carregar(contaId, carregarAntesDe);
+        logger.debug("Estatísticas de despesas da conta {} carregadas em {}ms", contaId,
+                System.currentTimeMillis() - inicio);
+
+        synchronized (detectoresPorConta) {
+            if (geracoes[stripe(contaId)] != geracao) {
+                return carregado;
+            }
+            DetectorAnomalias existente = detectoresPorConta.putIfAbsent(contaId, carregado);
+            if (existente != null) {
+                return existente;
+            }
+            versoesPersistidas.put(contaId, 0L);
+            return carregado;
+        }
+    }
+
+    /**
+     * Lê o snapshot e as despesas concluídas da conta. Com {@code carregarAntesDe}, só entram as movimentações de ID
+     * menor: a despesa em avaliação e as seguintes já estão gravadas, mas entram nas estatísticas pelos seus eventos.
+     */
+    private DetectorAnomalias carregar(Long contaId, Long carregarAntesDe) {
+        return leituraTemplate.execute(status -> {
+            DetectorAnomalias detector = new DetectorAnomalias(parametros);
+            List<EstatisticaCategoria> salvas = estatisticaRepository.findByContaId(contaId);
+            try (Stream<Object[]> linhas = Stream.concat(arquivadaRepository.streamDespesasByContaId(contaId),
+                    repository.streamDespesasByContaId(contaId))) {
+                linhas.filter(linha -> carregarAntesDe == null || (Long) linha[0] < carregarAntesDe).forEach(linha -> {
+                    if (salvas.isEmpty()) {
+                        detector.registrar(AcumuladorCentavos.centavos((BigDecimal) linha[1]),
+                                (CategoriaFinanceira) linha[2], (String) linha[3]);
+                    } else {
+                        detector.registrarEstabelecimento((String) linha[3]);
+                    }
+                });
+            }
+            for (EstatisticaCategoria salva : salvas) {
+                detector.restaurar(salva.paraSnapshot());
+            }
+            return detector;
+        });
+    }
+
+    private boolean alterado(Long contaId, DetectorAnomalias detector) {
+        return detector.getVersao() != versoesPersistidas.getOrDefault(contaId, 0L);
+    }
+
+    private void aplicar(Long contaId, Consumer<DetectorAnomalias> alteracao) {
+        DetectorAnomalias detector;
+        synchronized (detectoresPorConta) {
+            geracoes[stripe(contaId)]++;
+            detector = detectoresPorConta.get(contaId);
+            if (detector == null) {
+                detector = pendentes.get(contaId);
+            }
+        }
+        if (detector != null) {
+            alteracao.accept(detector);
+        }
+    }
+
+    private static int stripe(Long contaId) {
+        return Math.floorMod(Long.hashCode(contaId) * 0x9E3779B9, STRIPES);
+    }
+
+    private static Counter contadorAvaliacoes(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("assitentefinanceiro_anomalias_avaliacoes_total")
+                .description("Despesas avaliadas pelo detector de anomalias por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private record Despesa(long centavos, CategoriaFinanceira categoria, String descricao) {
+
+        static Despesa de(EventoMovimentacao evento) {
+            return new Despesa(AcumuladorCentavos.centavos(evento.getValor()), evento.getCategoria(),
+                    evento.getDescricao());
+        }
+
+        void registrarEm(DetectorAnomalias detector) {
+            detector.registrar(centavos, categoria, descricao);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.AcumuladorCentavos;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.DistribuicaoCategoriasDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Totais das movimentações concluídas por categoria, agrupados e ordenados pelo banco. O resultado fica em cache
+ * pela marca d'água da conta ({@link SaldoContaService#obterSequenciaAlteracao}), então qualquer escrita na conta
+ * faz a consulta seguinte ir ao banco sem precisar invalidar entradas. Períodos que alcançam o arquivo somam as
+ * duas tabelas por categoria e reordenam o resultado na memória.
+ */
+@Service
+public class DistribuicaoCategoriasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistribuicaoCategoriasService.class);
+    private static final LocalDate INICIO_PERIODO = LocalDate.of(1, 1, 1);
+    private static final LocalDate FIM_PERIODO = LocalDate.of(9999, 12, 31);
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    private final MovimentacaoFinanceiraRepository repository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final ArquivamentoMovimentacaoService arquivamentoService;
+    private final SaldoContaService saldoContaService;
+    private final Cache<ChaveDistribuicao, DistribuicaoCategoriasDTO> distribuicoes;
+    private final Counter cacheCounter;
+    private final Counter bancoCounter;
+
+    public DistribuicaoCategoriasService(MovimentacaoFinanceiraRepository repository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            ArquivamentoMovimentacaoService arquivamentoService,
+            SaldoContaService saldoContaService,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.categorias.cache.maximo-entradas:1000}") long maximoEntradas,
+            @Value("${financeiro.categorias.cache.expiracao-minutos:30}") long expiracaoMinutos) {
+        this.repository = repository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.arquivamentoService = arquivamentoService;
+        this.saldoContaService = saldoContaService;
+        this.distribuicoes = Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfterAccess(Duration.ofMinutes(expiracaoMinutos))
+                .build();
+        this.cacheCounter = contadorConsultas(meterRegistry, "cache");
+        this.bancoCounter = contadorConsultas(meterRegistry, "banco");
+    }
+
+    /**
+     * Ranking completo das categorias do tipo informado. Datas nulas deixam o lado correspondente do período em
+     * aberto.
+     */
+    @Transactional
+    public DistribuicaoCategoriasDTO calcular(Long contaId, TipoMovimentacao tipoMovimentacao, LocalDate dataInicio,
+            LocalDate dataFim) {
+        ChaveDistribuicao chave = new ChaveDistribuicao(contaId, tipoMovimentacao, dataInicio, dataFim,
+                saldoContaService.obterSequenciaAlteracao(contaId));
+        DistribuicaoCategoriasDTO distribuicao = distribuicoes.getIfPresent(chave);
+        if (distribuicao != null) {
+            cacheCounter.increment();
+            return distribuicao;
+        }
+
+        distribuicao = consultar(contaId, tipoMovimentacao, dataInicio, dataFim);
+        bancoCounter.increment();
+        distribuicoes.put(chave, distribuicao);
+        logger.debug("Distribuição por categoria da conta {} calculada. Tipo: {}, Categorias: {}, Total: {}",
+                contaId, tipoMovimentacao, distribuicao.categorias().size(), distribuicao.total());
+        return distribuicao;
+    }
+
+    private DistribuicaoCategoriasDTO consultar(Long contaId, TipoMovimentacao tipoMovimentacao,
+            LocalDate dataInicio, LocalDate dataFim) {
+        LocalDate inicio = dataInicio != null ? dataInicio : INICIO_PERIODO;
+        LocalDate fim = dataFim != null ? dataFim : FIM_PERIODO;
+        List<Object[]> linhas = repository.sumValorConcluidoAgrupadoPorCategoria(contaId, tipoMovimentacao, inicio, fim);
+        if (arquivamentoService.abrangeArquivo(contaId, inicio)) {
+            linhas = somarPorCategoria(linhas,
+                    arquivadaRepository.sumValorConcluidoAgrupadoPorCategoria(contaId, tipoMovimentacao, inicio, fim));
+        }
+
+        AcumuladorCentavos soma = new AcumuladorCentavos();
+        for (Object[] linha : linhas) {
+            soma.adicionar((BigDecimal) linha[2]);
+        }
+        BigDecimal total = soma.valor();
+
+        List<DistribuicaoCategoriasDTO.TotalCategoriaDTO> categorias = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            BigDecimal valor = (BigDecimal) linha[2];
+            BigDecimal percentual = total.signum() != 0
+                    ? valor.multiply(CEM).divide(total, 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO;
+            categorias.add(new DistribuicaoCategoriasDTO.TotalCategoriaDTO(categorias.size() + 1,
+                    (CategoriaFinanceira) linha[0], ((Number) linha[1]).longValue(), valor, percentual));
+        }
+        return new DistribuicaoCategoriasDTO(contaId, tipoMovimentacao, dataInicio, dataFim, total,
+                List.copyOf(categorias));
+    }
+
+    /**
+     * Soma as linhas das duas tabelas por categoria, na ordem da consulta: maior soma primeiro, depois categoria.
+     */
+    private static List<Object[]> somarPorCategoria(List<Object[]> principais, List<Object[]> arquivadas) {
+        Map<CategoriaFinanceira, long[]> totais = new EnumMap<>(CategoriaFinanceira.class);
+        for (List<Object[]> linhas : List.of(principais, arquivadas)) {
+            for (Object[] linha : linhas) {
+                long[] total = totais.computeIfAbsent((CategoriaFinanceira) linha[0], categoria -> new long[2]);
+                total[0] += ((Number) linha[1]).longValue();
+                total[1] = Math.addExact(total[1], AcumuladorCentavos.centavos((BigDecimal) linha[2]));
+            }
+        }
+        List<Object[]> somadas = new ArrayList<>(totais.size());
+        totais.forEach((categoria, total) ->
+                somadas.add(new Object[] { categoria, total[0], AcumuladorCentavos.valor(total[1]) }));
+        somadas.sort(Comparator.comparing((Object[] linha) -> (BigDecimal) linha[2]).reversed()
+                .thenComparing(linha -> ((CategoriaFinanceira) linha[0]).name()));
+        return somadas;
+    }
+
+    private static Counter contadorConsultas(MeterRegistry meterRegistry, String origem) {
+        return Counter.builder("assitentefinanceiro_categorias_consultas_total")
+                .description("Consultas da distribuição por categoria por origem do resultado")
+                .tag("origem", origem)
+                .register(meterRegistry);
+    }
+
+    private record ChaveDistribuicao(Long contaId, TipoMovimentacao tipoMovimentacao, LocalDate dataInicio,
+            LocalDate dataFim, long sequenciaAlteracao) {
+    }
+}
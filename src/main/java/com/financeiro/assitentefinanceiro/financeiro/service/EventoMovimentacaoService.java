@@ -0,0 +1,323 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.PosicaoOuvinteEvento;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.OuvinteEventoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.evento.OuvinteMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.EventoMovimentacaoRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.PosicaoOuvinteEventoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fila de eventos de movimentação gravada na transação da escrita ({@code evento_movimentacao}) e entregue aos
+ * {@link OuvinteMovimentacao} fora do caminho da requisição.
+ *
+ * <p>Cada rodada do despacho primeiro atribui posições, na ordem do {@code id}, aos eventos já confirmados e ainda
+ * sem posição; como só o despacho atribui posições, elas não têm lacunas e um evento confirmado depois nunca fica
+ * atrás da posição de um ouvinte. Depois, cada ouvinte consome numa virtual thread própria os eventos após a sua
+ * posição, em lotes de {@code financeiro.eventos.tamanho-lote}. A rodada é disparada depois de cada commit com
+ * eventos e pelo {@code DespachoEventosJob}; só uma roda por vez nesta instância.
+ */
+@Service
+public class EventoMovimentacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoMovimentacaoService.class);
+
+    private final EventoMovimentacaoRepository eventoRepository;
+    private final PosicaoOuvinteEventoRepository posicaoRepository;
+    private final ObjectProvider<OuvinteMovimentacao> ouvintesProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int tamanhoLote;
+    private final int retencaoDias;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("evento-movimentacao-", 0).factory());
+    private final Map<String, EstadoOuvinte> estados = new LinkedHashMap<>();
+    private final AtomicLong ultimaPosicao = new AtomicLong();
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+    private final AtomicBoolean pendente = new AtomicBoolean();
+    private final Counter publicadosCounter;
+    private volatile boolean iniciado;
+
+    public EventoMovimentacaoService(EventoMovimentacaoRepository eventoRepository,
+            PosicaoOuvinteEventoRepository posicaoRepository,
+            ObjectProvider<OuvinteMovimentacao> ouvintesProvider,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.eventos.tamanho-lote:500}") int tamanhoLote,
+            @Value("${financeiro.eventos.retencao-dias:7}") int retencaoDias) {
+        if (tamanhoLote <= 0 || retencaoDias <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote e retenção de eventos devem ser maiores que zero");
+        }
+        this.eventoRepository = eventoRepository;
+        this.posicaoRepository = posicaoRepository;
+        this.ouvintesProvider = ouvintesProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.tamanhoLote = tamanhoLote;
+        this.retencaoDias = retencaoDias;
+        this.publicadosCounter = Counter.builder("assitentefinanceiro_eventos_publicados_total")
+                .description("Eventos de movimentação gravados na fila")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega as posições dos ouvintes. Um ouvinte sem posição gravada começa na última posição atribuída, sem
+     * receber o histórico; use {@link #reprocessar} para entregá-lo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        ultimaPosicao.set(eventoRepository.findUltimaPosicao().orElse(0L));
+        ouvintesProvider.orderedStream().forEach(ouvinte -> {
+            String nome = ouvinte.getNome();
+            if (estados.containsKey(nome)) {
+                throw new IllegalStateException("Ouvinte de eventos duplicado: " + nome);
+            }
+            PosicaoOuvinteEvento posicao = posicaoRepository.findById(nome)
+                    .orElseGet(() -> posicaoRepository.save(new PosicaoOuvinteEvento(nome, ultimaPosicao.get())));
+            EstadoOuvinte estado = new EstadoOuvinte(ouvinte, posicao.getPosicao(), meterRegistry);
+            Gauge.builder("assitentefinanceiro_eventos_atraso", estado, e -> ultimaPosicao.get() - e.posicao.get())
+                    .description("Eventos de movimentação ainda não processados pelo ouvinte")
+                    .tag("ouvinte", nome)
+                    .register(meterRegistry);
+            estados.put(nome, estado);
+        });
+        iniciado = true;
+        logger.info("Fila de eventos de movimentação iniciada. Ouvintes: {}, Última posição: {}",
+                estados.keySet(), ultimaPosicao.get());
+        executor.execute(this::despachar);
+    }
+
+    /**
+     * Grava o evento na transação corrente, que é obrigatória, e agenda uma rodada do despacho para depois do commit.
+     */
+    public void publicar(EventoMovimentacao evento) {
+        publicar(List.of(evento));
+    }
+
+    public void publicar(List<EventoMovimentacao> eventos) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Publicação de eventos requer uma transação ativa");
+        }
+        if (eventos.isEmpty()) {
+            return;
+        }
+        eventoRepository.saveAll(eventos);
+        publicadosCounter.increment(eventos.size());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(EventoMovimentacaoService.this::despachar);
+            }
+        });
+    }
+
+    /**
+     * Executa rodadas até não haver novo pedido. Se outra rodada estiver em andamento, apenas pede que ela repita e
+     * retorna zero.
+     */
+    public long despachar() {
+        if (!iniciado) {
+            return 0;
+        }
+        long entregues = 0;
+        pendente.set(true);
+        while (pendente.get() && emExecucao.compareAndSet(false, true)) {
+            try {
+                while (pendente.getAndSet(false)) {
+                    entregues += rodada();
+                }
+            } finally {
+                emExecucao.set(false);
+            }
+        }
+        return entregues;
+    }
+
+    public List<OuvinteEventoDTO> listarOuvintes() {
+        return estados.values().stream().map(this::paraDTO).toList();
+    }
+
+    /**
+     * Volta a posição do ouvinte para que ele receba de novo os eventos a partir de {@code aPartirDe}, inclusive.
+     */
+    public OuvinteEventoDTO reprocessar(String nome, long aPartirDe) {
+        EstadoOuvinte estado = estados.get(nome);
+        if (estado == null) {
+            throw new IllegalArgumentException("Ouvinte de eventos não encontrado: " + nome);
+        }
+        long limite = ultimaPosicao.get() + 1;
+        if (aPartirDe < 1 || aPartirDe > limite) {
+            throw new IllegalArgumentException("Posição deve estar entre 1 e " + limite);
+        }
+        long primeiraRetida = eventoRepository.findPrimeiraPosicao().orElse(limite);
+        if (aPartirDe < primeiraRetida) {
+            throw new IllegalArgumentException("Eventos anteriores à posição " + primeiraRetida + " já foram expurgados");
+        }
+
+        estado.trava.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> gravarPosicao(nome, aPartirDe - 1));
+            estado.posicao.set(aPartirDe - 1);
+        } finally {
+            estado.trava.unlock();
+        }
+        logger.info("Ouvinte {} reposicionado para reprocessar eventos a partir da posição {}", nome, aPartirDe);
+        executor.execute(this::despachar);
+        return paraDTO(estado);
+    }
+
+    /**
+     * Remove os eventos já processados por todos os ouvintes e gravados há mais de
+     * {@code financeiro.eventos.retencao-dias} dias, que deixam de poder ser reprocessados.
+     */
+    public int expurgar() {
+        long processadaPorTodos = estados.values().stream()
+                .mapToLong(estado -> estado.posicao.get())
+                .min()
+                .orElse(ultimaPosicao.get());
+        Integer removidos = transactionTemplate.execute(status -> eventoRepository.deleteEntreguesAte(
+                processadaPorTodos, LocalDateTime.now().minusDays(retencaoDias)));
+        logger.info("Expurgo da fila de eventos concluído. Removidos: {}, Posição processada por todos: {}",
+                removidos, processadaPorTodos);
+        return removidos != null ? removidos : 0;
+    }
+
+    private long rodada() {
+        sequenciar();
+        List<Callable<Long>> entregas = estados.values().stream()
+                .map(estado -> (Callable<Long>) () -> entregar(estado))
+                .toList();
+        long entregues = 0;
+        try {
+            for (Future<Long> entrega : executor.invokeAll(entregas)) {
+                entregues += entrega.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Erro inesperado ao entregar eventos de movimentação", e.getCause());
+        }
+        return entregues;
+    }
+
+    private void sequenciar() {
+        int sequenciados;
+        do {
+            Integer lote = transactionTemplate.execute(status -> {
+                List<EventoMovimentacao> eventos = eventoRepository.findNaoSequenciados(PageRequest.ofSize(tamanhoLote));
+                long posicao = ultimaPosicao.get();
+                for (EventoMovimentacao evento : eventos) {
+                    evento.sequenciar(++posicao);
+                }
+                return eventos.size();
+            });
+            sequenciados = lote != null ? lote : 0;
+            ultimaPosicao.addAndGet(sequenciados);
+        } while (sequenciados == tamanhoLote);
+    }
+
+    private long entregar(EstadoOuvinte estado) {
+        String nome = estado.ouvinte.getNome();
+        long entregues = 0;
+        estado.trava.lock();
+        try {
+            while (estado.posicao.get() < ultimaPosicao.get()) {
+                long posicao = estado.posicao.get();
+                List<EventoMovimentacao> lote;
+                try {
+                    lote = transactionTemplate.execute(status -> {
+                        List<EventoMovimentacao> eventos = eventoRepository.findApos(posicao,
+                                PageRequest.ofSize(tamanhoLote));
+                        if (!eventos.isEmpty()) {
+                            estado.ouvinte.processar(eventos);
+                            gravarPosicao(nome, eventos.getLast().getPosicao());
+                        }
+                        return eventos;
+                    });
+                } catch (RuntimeException e) {
+                    estado.falhasCounter.increment();
+                    logger.error("Ouvinte {} falhou ao processar eventos após a posição {}; o lote será entregue de novo",
+                            nome, posicao, e);
+                    break;
+                }
+                if (lote == null || lote.isEmpty()) {
+                    break;
+                }
+                estado.posicao.set(lote.getLast().getPosicao());
+                estado.entreguesCounter.increment(lote.size());
+                entregues += lote.size();
+            }
+        } finally {
+            estado.trava.unlock();
+        }
+        return entregues;
+    }
+
+    private void gravarPosicao(String nome, long posicao) {
+        PosicaoOuvinteEvento gravada = posicaoRepository.findById(nome)
+                .orElseGet(() -> new PosicaoOuvinteEvento(nome, posicao));
+        gravada.mover(posicao);
+        posicaoRepository.save(gravada);
+    }
+
+    private OuvinteEventoDTO paraDTO(EstadoOuvinte estado) {
+        long ultima = ultimaPosicao.get();
+        long posicao = estado.posicao.get();
+        return new OuvinteEventoDTO(estado.ouvinte.getNome(), posicao, ultima, Math.max(0, ultima - posicao));
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private static final class EstadoOuvinte {
+        private final OuvinteMovimentacao ouvinte;
+        private final AtomicLong posicao;
+        private final ReentrantLock trava = new ReentrantLock();
+        private final Counter entreguesCounter;
+        private final Counter falhasCounter;
+
+        private EstadoOuvinte(OuvinteMovimentacao ouvinte, long posicao, MeterRegistry meterRegistry) {
+            this.ouvinte = ouvinte;
+            this.posicao = new AtomicLong(posicao);
+            this.entreguesCounter = Counter.builder("assitentefinanceiro_eventos_entregues_total")
+                    .description("Eventos de movimentação processados pelo ouvinte")
+                    .tag("ouvinte", ouvinte.getNome())
+                    .register(meterRegistry);
+            this.falhasCounter = Counter.builder("assitentefinanceiro_eventos_falhas_total")
+                    .description("Lotes de eventos de movimentação que falharam no ouvinte")
+                    .tag("ouvinte", ouvinte.getNome())
+                    .register(meterRegistry);
+        }
+    }
+}
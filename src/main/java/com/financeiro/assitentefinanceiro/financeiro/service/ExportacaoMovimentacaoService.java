@@ -0,0 +1,131 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.common.Intercalacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoArquivada;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Service
+public class ExportacaoMovimentacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacaoMovimentacaoService.class);
+    private static final Comparator<MovimentacaoFinanceiraDTO> ORDEM_CRONOLOGICA = Comparator
+            .comparing(MovimentacaoFinanceiraDTO::dataMovimentacao)
+            .thenComparing(MovimentacaoFinanceiraDTO::id);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final MovimentacaoFinanceiraRepository repository;
+    private final CadastroContaService contaService;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final ArquivamentoMovimentacaoService arquivamentoService;
+    private final ObjectWriter writer;
+    private final int tamanhoChunk;
+    private final Counter linhasCounter;
+    private final Timer exportacaoTimer;
+
+    public ExportacaoMovimentacaoService(MovimentacaoFinanceiraRepository repository,
+            CadastroContaService contaService,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            ArquivamentoMovimentacaoService arquivamentoService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.exportacao.tamanho-chunk:500}") int tamanhoChunk) {
+        this.repository = repository;
+        this.contaService = contaService;
+        this.arquivadaRepository = arquivadaRepository;
+        this.arquivamentoService = arquivamentoService;
+        this.writer = objectMapper.writerFor(MovimentacaoFinanceiraDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.tamanhoChunk = tamanhoChunk;
+        this.linhasCounter = Counter.builder("assitentefinanceiro_exportacao_linhas_total")
+                .description("Total de movimentações exportadas em NDJSON")
+                .register(meterRegistry);
+        this.exportacaoTimer = Timer.builder("assitentefinanceiro_exportacao_tempo")
+                .description("Tempo das exportações NDJSON de movimentações")
+                .register(meterRegistry);
+    }
+
+    public void validarConta(Long contaId) {
+        if (contaId == null || contaId <= 0) {
+            logger.error("ID inválido recebido: {}", contaId);
+            throw new IllegalArgumentException("ID inválido");
+        }
+        contaService.buscarContaPorId(contaId);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarNdjson(Long contaId, OutputStream saida) throws IOException {
+        long inicio = System.nanoTime();
+        logger.info("Iniciando exportação NDJSON das movimentações da conta {}", contaId);
+
+        long linhas;
+        try (Stream<MovimentacaoFinanceiraDTO> movimentacoes = abrirMovimentacoes(contaId)) {
+            linhas = escrever(movimentacoes.iterator(), saida);
+        }
+
+        exportacaoTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        logger.info("Exportação NDJSON da conta {} concluída. Linhas: {}, Tempo: {}ms", contaId, linhas,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return linhas;
+    }
+
+    /**
+     * Converte cada linha em DTO antes da intercalação com o arquivo, já que a intercalação guarda a próxima linha de
+     * cada lado e o {@code clear()} de cada chunk desanexaria a entidade guardada.
+     */
+    private Stream<MovimentacaoFinanceiraDTO> abrirMovimentacoes(Long contaId) {
+        Stream<MovimentacaoFinanceiraDTO> principais = repository.streamByContaId(contaId)
+                .map(MovimentacaoFinanceiraDTO::fromMovimentacaoFinanceira);
+        if (!arquivamentoService.abrangeArquivo(contaId, null)) {
+            return principais;
+        }
+        return Intercalacao.intercalar(arquivadaRepository.streamByContaId(contaId).map(MovimentacaoArquivada::paraDTO),
+                principais, ORDEM_CRONOLOGICA);
+    }
+
+    private long escrever(Iterator<MovimentacaoFinanceiraDTO> movimentacoes, OutputStream saida) throws IOException {
+        long linhas = 0;
+        try (JsonGenerator gerador = writer.createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            while (movimentacoes.hasNext()) {
+                writer.writeValue(gerador, movimentacoes.next());
+                gerador.writeRaw('\n');
+
+                if (++linhas % tamanhoChunk == 0) {
+                    gerador.flush();
+                    entityManager.clear();
+                    linhasCounter.increment(tamanhoChunk);
+                }
+            }
+            gerador.flush();
+        }
+        linhasCounter.increment(linhas % tamanhoChunk);
+        return linhas;
+    }
+}
@@ -0,0 +1,208 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.common.FiltroBloom;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+@Service
+public class FiltroDuplicidadeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FiltroDuplicidadeService.class);
+
+    private final MovimentacaoFinanceiraRepository repository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, List<FiltroBloom>> filtrosPorConta = new ConcurrentHashMap<>();
+    private final long capacidadeInicial;
+    private final double taxaFalsoPositivo;
+    private volatile boolean aquecido;
+    private final Counter ausentesCounter;
+    private final Counter confirmadosCounter;
+    private final Counter falsosPositivosCounter;
+
+    public FiltroDuplicidadeService(MovimentacaoFinanceiraRepository repository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.duplicidade.capacidade-inicial:10000}") long capacidadeInicial,
+            @Value("${financeiro.duplicidade.taxa-falso-positivo:0.01}") double taxaFalsoPositivo) {
+        this.repository = repository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.capacidadeInicial = capacidadeInicial;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.ausentesCounter = contadorConsultas(meterRegistry, "ausente");
+        this.confirmadosCounter = contadorConsultas(meterRegistry, "duplicado");
+        this.falsosPositivosCounter = contadorConsultas(meterRegistry, "falso_positivo");
+
+        Gauge.builder("assitentefinanceiro_duplicidade_filtro_memoria_bytes", this, FiltroDuplicidadeService::getTamanhoBytes)
+                .description("Memória ocupada pelos filtros de duplicidade de identificador externo")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("assitentefinanceiro_duplicidade_filtro_falso_positivo_taxa", this, FiltroDuplicidadeService::getTaxaFalsoPositivoObservada)
+                .description("Fração das consultas ao banco disparadas pelo filtro que não encontraram duplicado")
+                .register(meterRegistry);
+        Gauge.builder("assitentefinanceiro_duplicidade_filtro_falso_positivo_estimado", this, FiltroDuplicidadeService::getTaxaFalsoPositivoEstimada)
+                .description("Maior taxa de falso positivo teórica entre os filtros das contas")
+                .register(meterRegistry);
+    }
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        long inicio = System.currentTimeMillis();
+        Map<Long, Long> quantidadePorConta = new HashMap<>();
+        for (Object[] linha : repository.countIdentificadoresExternosAgrupadoPorConta()) {
+            quantidadePorConta.put((Long) linha[0], (Long) linha[1]);
+        }
+        for (Object[] linha : arquivadaRepository.countIdentificadoresExternosAgrupadoPorConta()) {
+            quantidadePorConta.merge((Long) linha[0], (Long) linha[1], Long::sum);
+        }
+
+        long[] carregados = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> identificadores = Stream.concat(repository.streamIdentificadoresExternos(),
+                    arquivadaRepository.streamIdentificadoresExternos())) {
+                identificadores.forEach(linha -> {
+                    Long contaId = (Long) linha[0];
+                    adicionar(contaId, filtrosDaConta(contaId, quantidadePorConta.getOrDefault(contaId, 0L)),
+                            (String) linha[1]);
+                    carregados[0]++;
+                });
+            }
+        });
+
+        aquecido = true;
+        logger.info("Filtros de duplicidade aquecidos. Contas: {}, Identificadores: {}, Memória: {} bytes, Tempo: {}ms",
+                filtrosPorConta.size(), carregados[0], getTamanhoBytes(), System.currentTimeMillis() - inicio);
+    }
+
+    public void registrar(Long contaId, String identificadorExterno) {
+        if (contaId == null || identificadorExterno == null) {
+            return;
+        }
+        adicionar(contaId, filtrosDaConta(contaId, 0), identificadorExterno);
+    }
+
+    public Set<String> buscarExistentes(Long contaId, Collection<String> identificadores) {
+        Set<String> candidatos = new HashSet<>();
+        for (String identificador : identificadores) {
+            if (identificador != null && podeConter(contaId, identificador)) {
+                candidatos.add(identificador);
+            }
+        }
+        ausentesCounter.increment(identificadores.size() - candidatos.size());
+
+        if (candidatos.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> existentes = new HashSet<>(repository.findIdentificadoresExistentes(contaId, candidatos));
+        if (existentes.size() < candidatos.size()) {
+            Set<String> restantes = new HashSet<>(candidatos);
+            restantes.removeAll(existentes);
+            existentes.addAll(arquivadaRepository.findIdentificadoresExistentes(contaId, restantes));
+        }
+        confirmadosCounter.increment(existentes.size());
+        falsosPositivosCounter.increment(candidatos.size() - existentes.size());
+        return existentes;
+    }
+
+    public boolean existe(Long contaId, String identificadorExterno) {
+        return identificadorExterno != null && !buscarExistentes(contaId, List.of(identificadorExterno)).isEmpty();
+    }
+
+    private boolean podeConter(Long contaId, String identificador) {
+        if (!aquecido) {
+            return true;
+        }
+        List<FiltroBloom> filtros = filtrosPorConta.get(contaId);
+        if (filtros == null) {
+            return false;
+        }
+        for (FiltroBloom filtro : filtros) {
+            if (filtro.podeConter(identificador)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adiciona no último filtro da conta, abrindo um novo com o dobro da capacidade quando ele está cheio. O
+     * aquecimento também passa por aqui: a contagem prévia pode divergir do que é lido, ou o filtro pode já ter sido
+     * criado com a capacidade inicial por um registro anterior ao aquecimento.
+     */
+    private void adicionar(Long contaId, List<FiltroBloom> filtros, String identificadorExterno) {
+        FiltroBloom atual = filtros.getLast();
+        if (atual.isCheio()) {
+            synchronized (filtros) {
+                atual = filtros.getLast();
+                if (atual.isCheio()) {
+                    atual = new FiltroBloom(atual.getCapacidade() * 2, taxaFalsoPositivo);
+                    filtros.add(atual);
+                    logger.debug("Filtro de duplicidade da conta {} expandido para {} identificadores",
+                            contaId, atual.getCapacidade());
+                }
+            }
+        }
+        atual.adicionar(identificadorExterno);
+    }
+
+    private List<FiltroBloom> filtrosDaConta(Long contaId, long quantidadeEsperada) {
+        return filtrosPorConta.computeIfAbsent(contaId, id -> new CopyOnWriteArrayList<>(
+                List.of(new FiltroBloom(Math.max(capacidadeInicial, quantidadeEsperada * 2), taxaFalsoPositivo))));
+    }
+
+    double getTamanhoBytes() {
+        return filtrosPorConta.values().stream()
+                .flatMap(List::stream)
+                .mapToLong(FiltroBloom::getTamanhoBytes)
+                .sum();
+    }
+
+    double getTaxaFalsoPositivoObservada() {
+        double falsosPositivos = falsosPositivosCounter.count();
+        double negativos = falsosPositivos + ausentesCounter.count();
+        return negativos > 0 ? falsosPositivos / negativos : 0.0;
+    }
+
+    double getTaxaFalsoPositivoEstimada() {
+        return filtrosPorConta.values().stream()
+                .mapToDouble(filtros -> 1 - filtros.stream()
+                        .mapToDouble(filtro -> 1 - filtro.getTaxaFalsoPositivoEstimada())
+                        .reduce(1.0, (a, b) -> a * b))
+                .max()
+                .orElse(0.0);
+    }
+
+    private static Counter contadorConsultas(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("assitentefinanceiro_duplicidade_consultas_total")
+                .description("Verificações de identificador externo por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,479 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.financeiro.domain.ImportacaoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.FonteMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.FormatoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusImportacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.importacao.LeitorExtrato;
+import com.financeiro.assitentefinanceiro.financeiro.importacao.RegistroExtrato;
+import com.financeiro.assitentefinanceiro.financeiro.repository.ImportacaoArquivoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service
+public class ImportacaoArquivoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoArquivoService.class);
+    private static final int TAMANHO_MAXIMO_NOME_ARQUIVO = 100;
+    private static final int TAMANHO_MAXIMO_IDENTIFICADOR = 50;
+    private static final int TAMANHO_MAXIMO_DESCRICAO = 500;
+
+    private final ImportacaoArquivoRepository repository;
+    private final FiltroDuplicidadeService filtroDuplicidadeService;
+    private final MovimentacaoFinanceiraService movimentacaoService;
+    private final MovimentacaoLoteService loteService;
+    private final CadastroContaService contaService;
+    private final TravaContaService travaContaService;
+    private final CategorizacaoService categorizacaoService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> importacoesEmExecucao = ConcurrentHashMap.newKeySet();
+    private final Path diretorio;
+    private final int tamanhoChunk;
+    private final boolean retomarAoIniciar;
+    private final Counter importadosCounter;
+    private final Counter duplicadosCounter;
+    private final Counter errosCounter;
+    private final Timer chunkTimer;
+
+    public ImportacaoArquivoService(ImportacaoArquivoRepository repository,
+            FiltroDuplicidadeService filtroDuplicidadeService,
+            MovimentacaoFinanceiraService movimentacaoService,
+            MovimentacaoLoteService loteService,
+            CadastroContaService contaService,
+            TravaContaService travaContaService,
+            CategorizacaoService categorizacaoService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.importacao.diretorio:${java.io.tmpdir}/assistentefinanceiro-importacoes}") String diretorio,
+            @Value("${financeiro.importacao.tamanho-chunk:500}") int tamanhoChunk,
+            @Value("${financeiro.importacao.retomar-ao-iniciar:true}") boolean retomarAoIniciar) {
+        this.repository = repository;
+        this.filtroDuplicidadeService = filtroDuplicidadeService;
+        this.movimentacaoService = movimentacaoService;
+        this.loteService = loteService;
+        this.contaService = contaService;
+        this.travaContaService = travaContaService;
+        this.categorizacaoService = categorizacaoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.diretorio = Paths.get(diretorio);
+        this.tamanhoChunk = tamanhoChunk;
+        this.retomarAoIniciar = retomarAoIniciar;
+        this.importadosCounter = contadorRegistros(meterRegistry, "importado");
+        this.duplicadosCounter = contadorRegistros(meterRegistry, "duplicado");
+        this.errosCounter = contadorRegistros(meterRegistry, "erro");
+        this.chunkTimer = Timer.builder("assitentefinanceiro_importacao_chunk_tempo")
+                .description("Tempo de gravação de cada chunk de importação")
+                .register(meterRegistry);
+    }
+
+    public ImportacaoArquivo iniciarImportacao(Long contaId, MultipartFile arquivo, FormatoArquivo formato,
+            String charset) {
+        return executarComTratamentoErro(() -> {
+            validarId(contaId);
+            if (arquivo == null || arquivo.isEmpty()) {
+                throw new IllegalArgumentException("Arquivo de importação é obrigatório");
+            }
+            contaService.buscarContaPorId(contaId);
+
+            String nomeArquivo = nomeArquivo(arquivo.getOriginalFilename());
+            FormatoArquivo formatoArquivo = formato != null ? formato : detectarFormato(nomeArquivo);
+            String charsetArquivo = validarCharset(charset);
+
+            logger.info("Iniciando importação do arquivo {} ({} bytes, {}) para conta {}",
+                    nomeArquivo, arquivo.getSize(), formatoArquivo, contaId);
+
+            Path destino;
+            try {
+                Files.createDirectories(diretorio);
+                destino = diretorio.resolve(UUID.randomUUID() + "." + formatoArquivo.name().toLowerCase(Locale.ROOT));
+                arquivo.transferTo(destino);
+            } catch (IOException e) {
+                throw new IllegalStateException("Falha ao armazenar arquivo de importação: " + e.getMessage(), e);
+            }
+
+            ImportacaoArquivo importacao = repository.save(new ImportacaoArquivo(contaId, nomeArquivo,
+                    formatoArquivo, charsetArquivo, destino.toString(), arquivo.getSize()));
+
+            agendar(importacao.getId());
+            logger.info("Importação {} criada para arquivo {}", importacao.getId(), nomeArquivo);
+            return importacao;
+        }, "iniciar importação de arquivo");
+    }
+
+    public ImportacaoArquivo buscarImportacaoPorId(Long id) {
+        return executarComTratamentoErro(() -> {
+            validarId(id);
+            return repository.findById(id).orElseThrow(() -> {
+                logger.error("Importação não encontrada com ID: {}", id);
+                return new IllegalArgumentException("Importação não encontrada com ID: " + id);
+            });
+        }, "buscar importação por ID");
+    }
+
+    public List<ImportacaoArquivo> buscarImportacoesPorArquivo(String arquivoOrigem) {
+        return executarComTratamentoErro(() -> {
+            if (arquivoOrigem == null || arquivoOrigem.isBlank()) {
+                throw new IllegalArgumentException("Arquivo de origem é obrigatório");
+            }
+            return repository.findByArquivoOrigemOrderByDataInicioDesc(arquivoOrigem.trim());
+        }, "buscar importações por arquivo");
+    }
+
+    public ImportacaoArquivo retomarImportacao(Long id) {
+        return executarComTratamentoErro(() -> {
+            ImportacaoArquivo importacao = buscarImportacaoPorId(id);
+            if (StatusImportacao.CONCLUIDA.equals(importacao.getStatus())) {
+                throw new IllegalArgumentException("Importação já concluída");
+            }
+            if (importacoesEmExecucao.contains(id)) {
+                throw new IllegalArgumentException("Importação já está em execução");
+            }
+
+            importacao.retomar();
+            ImportacaoArquivo retomada = repository.save(importacao);
+            logger.info("Retomando importação {} a partir do registro {}", id, retomada.getRegistrosProcessados());
+            agendar(id);
+            return retomada;
+        }, "retomar importação");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarImportacoesInterrompidas() {
+        if (!retomarAoIniciar) {
+            return;
+        }
+        List<ImportacaoArquivo> interrompidas = repository.findByStatus(StatusImportacao.EM_ANDAMENTO);
+        for (ImportacaoArquivo importacao : interrompidas) {
+            logger.info("Retomando importação interrompida {} ({}) a partir do registro {}",
+                    importacao.getId(), importacao.getArquivoOrigem(), importacao.getRegistrosProcessados());
+            agendar(importacao.getId());
+        }
+    }
+
+    Future<?> agendar(Long importacaoId) {
+        return executor.submit(() -> processar(importacaoId));
+    }
+
+    void processar(Long importacaoId) {
+        if (!importacoesEmExecucao.add(importacaoId)) {
+            logger.warn("Importação {} já está em execução", importacaoId);
+            return;
+        }
+
+        try {
+            ImportacaoArquivo importacao = repository.findById(importacaoId).orElse(null);
+            if (importacao == null || StatusImportacao.CONCLUIDA.equals(importacao.getStatus())) {
+                return;
+            }
+
+            DadosConta conta = contaService.buscarContaPorId(importacao.getContaId());
+            Path caminho = Paths.get(importacao.getCaminhoArquivo());
+            long jaProcessados = importacao.getRegistrosProcessados();
+
+            try (ContadorBytesInputStream entrada = new ContadorBytesInputStream(Files.newInputStream(caminho));
+                 LeitorExtrato leitor = LeitorExtrato.abrir(importacao.getFormato(),
+                         new InputStreamReader(entrada, Charset.forName(importacao.getCharset())))) {
+
+                GeradorIdentificador gerador = new GeradorIdentificador(importacao.getContaId());
+                List<MovimentacaoFinanceiraDTO> chunk = new ArrayList<>(tamanhoChunk);
+                long posicao = 0;
+                int errosChunk = 0;
+                long inicioChunk = System.nanoTime();
+
+                while (true) {
+                    RegistroExtrato registro;
+                    try {
+                        registro = leitor.proximo();
+                    } catch (IllegalArgumentException e) {
+                        if (++posicao > jaProcessados) {
+                            logger.warn("Importação {}: {}", importacaoId, e.getMessage());
+                            errosChunk++;
+                        }
+                        if (chunk.size() + errosChunk >= tamanhoChunk) {
+                            gravarChunk(importacaoId, conta, chunk, errosChunk, entrada.getBytesLidos(), inicioChunk);
+                            chunk.clear();
+                            errosChunk = 0;
+                            inicioChunk = System.nanoTime();
+                        }
+                        continue;
+                    }
+                    if (registro == null) {
+                        break;
+                    }
+
+                    String identificador = gerador.identificar(registro);
+                    if (++posicao <= jaProcessados) {
+                        continue;
+                    }
+
+                    try {
+                        MovimentacaoFinanceiraDTO dto = paraMovimentacao(registro, identificador,
+                                importacao.getArquivoOrigem(), importacao.getContaId());
+                        movimentacaoService.validarMovimentacaoDTO(dto);
+                        chunk.add(dto);
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Importação {}: registro {} rejeitado: {}", importacaoId, posicao, e.getMessage());
+                        errosChunk++;
+                    }
+
+                    if (chunk.size() + errosChunk >= tamanhoChunk) {
+                        gravarChunk(importacaoId, conta, chunk, errosChunk, entrada.getBytesLidos(), inicioChunk);
+                        chunk.clear();
+                        errosChunk = 0;
+                        inicioChunk = System.nanoTime();
+                    }
+                }
+
+                if (!chunk.isEmpty() || errosChunk > 0) {
+                    gravarChunk(importacaoId, conta, chunk, errosChunk, entrada.getBytesLidos(), inicioChunk);
+                }
+            }
+
+            ImportacaoArquivo concluida = transactionTemplate.execute(status -> {
+                ImportacaoArquivo atual = repository.findById(importacaoId).orElseThrow();
+                atual.concluir();
+                return repository.save(atual);
+            });
+            Files.deleteIfExists(caminho);
+
+            logger.info("Importação {} concluída. Processados: {}, Importados: {}, Duplicados: {}, Erros: {}, Vazão: {} registros/s",
+                    importacaoId, concluida.getRegistrosProcessados(), concluida.getRegistrosImportados(),
+                    concluida.getRegistrosDuplicados(), concluida.getRegistrosComErro(),
+                    String.format("%.2f", concluida.getRegistrosPorSegundo()));
+        } catch (Exception e) {
+            logger.error("Falha na importação {}: {}", importacaoId, e.getMessage(), e);
+            marcarFalha(importacaoId, e.getMessage());
+        } finally {
+            importacoesEmExecucao.remove(importacaoId);
+        }
+    }
+
+    private void gravarChunk(Long importacaoId, DadosConta conta, List<MovimentacaoFinanceiraDTO> chunk,
+            int erros, long bytesProcessados, long inicioChunk) {
+        long inicioGravacao = System.nanoTime();
+        int[] resultado = transactionTemplate.execute(status -> {
+            travaContaService.travarAteFimDaTransacao(conta.getId());
+
+            Set<String> identificadores = new HashSet<>();
+            for (MovimentacaoFinanceiraDTO dto : chunk) {
+                identificadores.add(dto.identificadorExterno());
+            }
+            Set<String> existentes = filtroDuplicidadeService.buscarExistentes(conta.getId(), identificadores);
+
+            Set<String> vistos = new HashSet<>();
+            List<MovimentacaoFinanceiraDTO> novos = new ArrayList<>(chunk.size());
+            for (MovimentacaoFinanceiraDTO dto : chunk) {
+                if (!existentes.contains(dto.identificadorExterno()) && vistos.add(dto.identificadorExterno())) {
+                    novos.add(dto);
+                }
+            }
+
+            if (!novos.isEmpty()) {
+                loteService.gravarEncadeado(conta, novos);
+            }
+
+            int duplicados = chunk.size() - novos.size();
+            ImportacaoArquivo importacao = repository.findById(importacaoId).orElseThrow();
+            importacao.registrarChunk(chunk.size() + erros, novos.size(), duplicados, erros, bytesProcessados,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioChunk));
+            repository.save(importacao);
+            return new int[] { novos.size(), duplicados };
+        });
+
+        chunkTimer.record(System.nanoTime() - inicioGravacao, TimeUnit.NANOSECONDS);
+        importadosCounter.increment(resultado[0]);
+        duplicadosCounter.increment(resultado[1]);
+        errosCounter.increment(erros);
+        logger.debug("Importação {}: chunk gravado. Importados: {}, Duplicados: {}, Erros: {}",
+                importacaoId, resultado[0], resultado[1], erros);
+    }
+
+    private void marcarFalha(Long importacaoId, String mensagem) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.findById(importacaoId).ifPresent(importacao -> {
+                importacao.falhar(mensagem);
+                repository.save(importacao);
+            }));
+        } catch (Exception e) {
+            logger.error("Não foi possível registrar falha da importação {}: {}", importacaoId, e.getMessage());
+        }
+    }
+
+    private MovimentacaoFinanceiraDTO paraMovimentacao(RegistroExtrato registro, String identificador,
+            String arquivoOrigem, Long contaId) {
+        String descricao = registro.descricao() != null && registro.descricao().length() > TAMANHO_MAXIMO_DESCRICAO
+                ? registro.descricao().substring(0, TAMANHO_MAXIMO_DESCRICAO)
+                : registro.descricao();
+        CategoriaFinanceira categoria = registro.categoria();
+        if (categoria == null) {
+            categoria = categorizacaoService.categorizar(descricao, registro.tipoMovimentacao());
+        }
+        if (categoria == null) {
+            categoria = TipoMovimentacao.DESPESA.equals(registro.tipoMovimentacao())
+                    ? CategoriaFinanceira.OUTRAS_DESPESAS
+                    : CategoriaFinanceira.OUTRAS_RECEITAS;
+        }
+
+        return new MovimentacaoFinanceiraDTO(null, registro.tipoMovimentacao(), registro.valor(), descricao,
+                categoria, registro.dataMovimentacao(), null, StatusMovimentacao.CONCLUIDA,
+                FonteMovimentacao.IMPORTACAO_ARQUIVO, null, null, null, arquivoOrigem, identificador, contaId);
+    }
+
+    private FormatoArquivo detectarFormato(String nomeArquivo) {
+        String nome = nomeArquivo.toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".csv") || nome.endsWith(".txt")) {
+            return FormatoArquivo.CSV;
+        } else if (nome.endsWith(".ofx")) {
+            return FormatoArquivo.OFX;
+        }
+        throw new IllegalArgumentException("Formato do arquivo não reconhecido. Informe CSV ou OFX");
+    }
+
+    private String validarCharset(String charset) {
+        String nome = charset == null || charset.isBlank() ? "UTF-8" : charset.trim();
+        if (!Charset.isSupported(nome)) {
+            throw new IllegalArgumentException("Charset não suportado: " + nome);
+        }
+        return Charset.forName(nome).name();
+    }
+
+    private String nomeArquivo(String nomeOriginal) {
+        String nome = nomeOriginal == null || nomeOriginal.isBlank() ? "arquivo"
+                : Paths.get(nomeOriginal).getFileName().toString();
+        return nome.length() > TAMANHO_MAXIMO_NOME_ARQUIVO ? nome.substring(0, TAMANHO_MAXIMO_NOME_ARQUIVO) : nome;
+    }
+
+    private void validarId(Long id) {
+        if (id == null || id <= 0) {
+            logger.error("ID inválido recebido: {}", id);
+            throw new IllegalArgumentException("ID inválido");
+        }
+    }
+
+    private static Counter contadorRegistros(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("assitentefinanceiro_importacao_registros_total")
+                .description("Total de registros de extrato processados por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private <T> T executarComTratamentoErro(Supplier<T> operacao, String nomeOperacao) {
+        try {
+            return operacao.get();
+        } catch (IllegalArgumentException e) {
+            logger.error("Erro de validação em {}: {}", nomeOperacao, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro inesperado em {}: {}", nomeOperacao, e.getMessage());
+            throw new RuntimeException("Erro interno ao executar " + nomeOperacao + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Identificador sintético dos registros sem identificador no extrato: conta, data, tipo, valor e descrição mais a
+     * ocorrência dessa combinação no arquivo. A contagem vale para o arquivo inteiro, então registros iguais em
+     * extratos fora de ordem de data continuam com identificadores distintos. O mapa guarda só o resumo de 128 bits da
+     * combinação, de tamanho fixo qualquer que seja a descrição.
+     */
+    private static final class GeradorIdentificador {
+
+        private final Long contaId;
+        private final Map<UUID, Integer> ocorrencias = new HashMap<>();
+
+        private GeradorIdentificador(Long contaId) {
+            this.contaId = contaId;
+        }
+
+        private String identificar(RegistroExtrato registro) {
+            if (registro.identificadorExterno() != null) {
+                String identificador = registro.identificadorExterno();
+                return identificador.length() <= TAMANHO_MAXIMO_IDENTIFICADOR ? identificador
+                        : UUID.nameUUIDFromBytes(identificador.getBytes(StandardCharsets.UTF_8)).toString();
+            }
+
+            String chave = contaId + "|" + registro.dataMovimentacao() + "|" + registro.tipoMovimentacao() + "|"
+                    + registro.valor().stripTrailingZeros().toPlainString() + "|" + registro.descricao();
+            int ocorrencia = ocorrencias.merge(UUID.nameUUIDFromBytes(chave.getBytes(StandardCharsets.UTF_8)), 1,
+                    Integer::sum);
+            return UUID.nameUUIDFromBytes((chave + "|" + ocorrencia).getBytes(StandardCharsets.UTF_8)).toString();
+        }
+    }
+
+    private static final class ContadorBytesInputStream extends FilterInputStream {
+
+        private long bytesLidos;
+
+        private ContadorBytesInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int lido = super.read();
+            if (lido != -1) {
+                bytesLidos++;
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int lidos = super.read(b, off, len);
+            if (lidos > 0) {
+                bytesLidos += lidos;
+            }
+            return lidos;
+        }
+
+        private long getBytesLidos() {
+            return bytesLidos;
+        }
+    }
+}
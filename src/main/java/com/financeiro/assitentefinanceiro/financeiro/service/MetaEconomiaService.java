@@ -2,8 +2,12 @@ package com.financeiro.assitentefinanceiro.financeiro.service;
 
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
 import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.common.CursorPaginacao;
+import com.financeiro.assitentefinanceiro.common.Pagina;
 import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MetaEconomiaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoProgressoMetaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
 import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMeta;
 import com.financeiro.assitentefinanceiro.financeiro.repository.MetaEconomiaRepository;
@@ -24,11 +28,17 @@ public class MetaEconomiaService {
     private static final Logger logger = LoggerFactory.getLogger(MetaEconomiaService.class);
     private final MetaEconomiaRepository repository;
     private final CadastroContaService contaService;
+    private final ProgressoMetaService progressoMetaService;
+    private final ResumoContasService resumoContasService;
 
     public MetaEconomiaService(MetaEconomiaRepository repository, 
-                              CadastroContaService contaService) {
+                              CadastroContaService contaService,
+                              ProgressoMetaService progressoMetaService,
+                              ResumoContasService resumoContasService) {
         this.repository = repository;
         this.contaService = contaService;
+        this.progressoMetaService = progressoMetaService;
+        this.resumoContasService = resumoContasService;
     }
 
     @Transactional
@@ -42,7 +52,11 @@ public class MetaEconomiaService {
             DadosConta conta = contaService.buscarContaPorId(metaDTO.contaId());
             
             MetaEconomia meta = MetaEconomia.fromDTO(metaDTO, conta);
+            if (meta.isVinculadaACategorias()) {
+                progressoMetaService.recalcular(meta);
+            }
             MetaEconomia metaSalva = repository.save(meta);
+            resumoContasService.registrarAlteracaoMetas();
 
             logger.info("Meta criada com sucesso. ID: {}, Nome: {}, Valor: {}, Status: {}", 
                 metaSalva.getId(), metaSalva.getNome(), metaSalva.getValorMeta(), metaSalva.getStatus());
@@ -54,12 +68,29 @@ public class MetaEconomiaService {
     public List<MetaEconomia> listarMetas() {
         return executarComTratamentoErro(() -> {
             logger.info("Buscando lista de todas as metas de economia");
-            List<MetaEconomia> metas = repository.findAll();
+            List<MetaEconomia> metas = repository.findByIdGreaterThanOrderByIdAsc(0L,
+                    CursorPaginacao.limite(CursorPaginacao.LIMITE_SEM_PAGINACAO + 1));
+            if (metas.size() > CursorPaginacao.LIMITE_SEM_PAGINACAO) {
+                logger.warn("Listagem de metas limitada a {} registros; use a listagem paginada",
+                        CursorPaginacao.LIMITE_SEM_PAGINACAO);
+                metas = metas.subList(0, CursorPaginacao.LIMITE_SEM_PAGINACAO);
+            }
             logger.info("Total de metas encontradas: {}", metas.size());
             return metas;
         }, "listar metas");
     }
 
+    public Pagina<MetaEconomia> listarMetasPaginadas(String cursor, Integer tamanho) {
+        return executarComTratamentoErro(() -> {
+            int tamanhoPagina = CursorPaginacao.validarTamanho(tamanho);
+            CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor);
+
+            List<MetaEconomia> metas = repository.findByIdGreaterThanOrderByIdAsc(posicao != null ? posicao.id() : 0L,
+                    CursorPaginacao.limite(tamanhoPagina + 1));
+            return CursorPaginacao.montar(metas, tamanhoPagina, meta -> CursorPaginacao.codificar(meta.getId()));
+        }, "listar metas paginadas");
+    }
+
     public MetaEconomia buscarMetaPorId(Long id) {
         return executarComTratamentoErro(() -> {
             validarId(id);
@@ -143,8 +174,15 @@ public class MetaEconomiaService {
                 metaDTO.dataFim(),
                 metaDTO.observacoes()
             );
+            if (metaDTO.categoriasVinculadas() != null) {
+                metaExistente.vincularCategorias(metaDTO.categoriasVinculadas());
+            }
+            if (metaExistente.isVinculadaACategorias()) {
+                progressoMetaService.recalcular(metaExistente);
+            }
 
             MetaEconomia metaAtualizada = repository.save(metaExistente);
+            resumoContasService.registrarAlteracaoMetas();
             logger.info("Meta atualizada com sucesso. ID: {}, Nome: {}, Progresso: {}%", 
                 metaAtualizada.getId(), metaAtualizada.getNome(), metaAtualizada.getPercentualConcluido());
 
@@ -167,10 +205,16 @@ public class MetaEconomiaService {
                 throw new IllegalArgumentException("Meta ja esta concluida");
             }
 
+            if (meta.isVinculadaACategorias()) {
+                logger.warn("Meta vinculada a categorias tem progresso calculado pelas movimentacoes. ID: {}", id);
+                throw new IllegalArgumentException("Meta vinculada a categorias tem progresso calculado pelas movimentacoes");
+            }
+
             BigDecimal progressoAnterior = meta.getPercentualConcluido();
             meta.atualizarProgresso(valorAdicionado);
             
             MetaEconomia metaAtualizada = repository.save(meta);
+            resumoContasService.registrarAlteracaoMetas();
             
             logger.info("Progresso da meta atualizado com sucesso. ID: {}, Progresso: {}% -> {}%", 
                 id, progressoAnterior, metaAtualizada.getPercentualConcluido());
@@ -192,6 +236,7 @@ public class MetaEconomiaService {
             }
 
             repository.deleteById(id);
+            resumoContasService.registrarAlteracaoMetas();
             logger.info("Meta excluida com sucesso. ID: {}", id);
             return null;
         }, "excluir meta");
@@ -218,6 +263,7 @@ public class MetaEconomiaService {
 
             meta.pausar();
             MetaEconomia metaPausada = repository.save(meta);
+            resumoContasService.registrarAlteracaoMetas();
 
             logger.info("Meta pausada com sucesso. ID: {}", id);
             return metaPausada;
@@ -246,6 +292,7 @@ public class MetaEconomiaService {
 
             meta.reativar();
             MetaEconomia metaReativada = repository.save(meta);
+            resumoContasService.registrarAlteracaoMetas();
 
             logger.info("Meta reativada com sucesso. ID: {}, Novo status: {}", id, metaReativada.getStatus());
             return metaReativada;
@@ -267,6 +314,7 @@ public class MetaEconomiaService {
                 if (meta.isVencida() && !StatusMeta.VENCIDA.equals(meta.getStatus())) {
                     meta.marcarComoVencida();
                     repository.save(meta);
+                    resumoContasService.registrarAlteracaoMetas();
                     metasVencidas++;
                     logger.info("Meta marcada como vencida. ID: {}, Nome: {}", meta.getId(), meta.getNome());
                 }
@@ -280,6 +328,11 @@ public class MetaEconomiaService {
 
 
 
+    public ReconciliacaoProgressoMetaDTO reconciliarProgresso(boolean corrigir) {
+        return executarComTratamentoErro(() -> progressoMetaService.reconciliar(corrigir),
+            "reconciliar progresso das metas");
+    }
+
     private void validarMetaDTO(MetaEconomiaDTO dto) {
         if (dto == null) {
             throw new IllegalArgumentException("Dados da meta sao obrigatorios");
@@ -300,6 +353,15 @@ public class MetaEconomiaService {
             throw new IllegalArgumentException(erro);
         }
 
+        if (dto.categoriasVinculadas() != null) {
+            for (CategoriaFinanceira categoria : dto.categoriasVinculadas()) {
+                if (!ProgressoMetaService.CATEGORIAS_VINCULAVEIS.contains(categoria)) {
+                    throw new IllegalArgumentException("Categoria nao pode ser vinculada a meta: " + categoria
+                        + ". Permitidas: " + ProgressoMetaService.CATEGORIAS_VINCULAVEIS);
+                }
+            }
+        }
+
         logger.debug("Validacao de dados da meta realizada com sucesso");
     }
 
@@ -2,39 +2,120 @@ package com.financeiro.assitentefinanceiro.financeiro.service;
 
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
 import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.common.CursorPaginacao;
+import com.financeiro.assitentefinanceiro.common.Intercalacao;
+import com.financeiro.assitentefinanceiro.common.Pagina;
+import com.financeiro.assitentefinanceiro.financeiro.analise.AcumuladorCentavos;
+import com.financeiro.assitentefinanceiro.financeiro.analise.IndiceTextual;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoArquivada;
 import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.ResumoMensal;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.AlertaAnomaliaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.BuscaMovimentacoesDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.DistribuicaoCategoriasDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.OuvinteEventoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoSaldoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconstrucaoResumoMensalDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.SaldoDiarioDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
 import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoEventoMovimentacao;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
 import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MovimentacaoFinanceiraService {
 
     private static final Logger logger = LoggerFactory.getLogger(MovimentacaoFinanceiraService.class);
+    private static final LocalDate INICIO_RELATORIO = LocalDate.of(1, 1, 1);
+    private static final LocalDate FIM_RELATORIO = LocalDate.of(9999, 12, 31);
+    private static final int LIMITE_PADRAO_BUSCA = 20;
+    private static final int LIMITE_MAXIMO_BUSCA = 100;
+    private static final int TAMANHO_MAXIMO_CONSULTA = 200;
+    private static final int LIMITE_PADRAO_ALERTAS = 50;
+    private static final int LIMITE_MAXIMO_ALERTAS = 500;
+    private static final Comparator<MovimentacaoFinanceira> MAIS_RECENTE_PRIMEIRO = Comparator
+            .comparing(MovimentacaoFinanceira::getDataMovimentacao)
+            .thenComparing(MovimentacaoFinanceira::getId)
+            .reversed();
+    private static final Comparator<MovimentacaoFinanceiraDTO> DTO_MAIS_RECENTE_PRIMEIRO = Comparator
+            .comparing(MovimentacaoFinanceiraDTO::dataMovimentacao)
+            .thenComparing(MovimentacaoFinanceiraDTO::id)
+            .reversed();
     private final MovimentacaoFinanceiraRepository repository;
     private final CadastroContaService contaService;
+    private final SaldoContaService saldoContaService;
+    private final TravaContaService travaContaService;
+    private final FiltroDuplicidadeService filtroDuplicidadeService;
+    private final ResumoMensalService resumoMensalService;
+    private final SaldoCheckpointService saldoCheckpointService;
+    private final RebalanceamentoSaldoService rebalanceamentoSaldoService;
+    private final DistribuicaoCategoriasService distribuicaoCategoriasService;
+    private final CategorizacaoService categorizacaoService;
+    private final BuscaTextualService buscaTextualService;
+    private final DeteccaoAnomaliaService deteccaoAnomaliaService;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final ArquivamentoMovimentacaoService arquivamentoService;
+    private final EventoMovimentacaoService eventoService;
+    private final ProgressoMetaService progressoMetaService;
 
     public MovimentacaoFinanceiraService(MovimentacaoFinanceiraRepository repository, 
-            CadastroContaService contaService) {
+            CadastroContaService contaService, SaldoContaService saldoContaService,
+            TravaContaService travaContaService, FiltroDuplicidadeService filtroDuplicidadeService,
+            ResumoMensalService resumoMensalService, SaldoCheckpointService saldoCheckpointService,
+            RebalanceamentoSaldoService rebalanceamentoSaldoService,
+            DistribuicaoCategoriasService distribuicaoCategoriasService, CategorizacaoService categorizacaoService,
+            BuscaTextualService buscaTextualService, DeteccaoAnomaliaService deteccaoAnomaliaService,
+            MovimentacaoArquivadaRepository arquivadaRepository, ArquivamentoMovimentacaoService arquivamentoService,
+            EventoMovimentacaoService eventoService, ProgressoMetaService progressoMetaService) {
         this.repository = repository;
         this.contaService = contaService;
+        this.saldoContaService = saldoContaService;
+        this.travaContaService = travaContaService;
+        this.filtroDuplicidadeService = filtroDuplicidadeService;
+        this.resumoMensalService = resumoMensalService;
+        this.saldoCheckpointService = saldoCheckpointService;
+        this.rebalanceamentoSaldoService = rebalanceamentoSaldoService;
+        this.distribuicaoCategoriasService = distribuicaoCategoriasService;
+        this.categorizacaoService = categorizacaoService;
+        this.buscaTextualService = buscaTextualService;
+        this.deteccaoAnomaliaService = deteccaoAnomaliaService;
+        this.arquivadaRepository = arquivadaRepository;
+        this.arquivamentoService = arquivamentoService;
+        this.eventoService = eventoService;
+        this.progressoMetaService = progressoMetaService;
     }
 
     @Transactional
-    public MovimentacaoFinanceira registrarMovimentacao(MovimentacaoFinanceiraDTO movimentacaoDTO) {
+    public MovimentacaoFinanceira registrarMovimentacao(MovimentacaoFinanceiraDTO dadosMovimentacao) {
+        MovimentacaoFinanceiraDTO movimentacaoDTO = completarCategoria(dadosMovimentacao);
         return executarComTratamentoErro(() -> {
             validarMovimentacaoDTO(movimentacaoDTO);
 
@@ -43,30 +124,26 @@ public class MovimentacaoFinanceiraService {
 
             DadosConta conta = contaService.buscarContaPorId(movimentacaoDTO.contaId());
 
-            BigDecimal saldoAnterior = calcularSaldoAtual(conta.getId());
-            BigDecimal saldoAtual = calcularNovoSaldo(saldoAnterior, movimentacaoDTO.valor(),
-                    movimentacaoDTO.tipoMovimentacao());
+            travaContaService.travarAteFimDaTransacao(conta.getId());
+            if (filtroDuplicidadeService.existe(conta.getId(), movimentacaoDTO.identificadorExterno())) {
+                throw new IllegalArgumentException("Identificador externo já registrado para a conta: "
+                        + movimentacaoDTO.identificadorExterno());
+            }
 
-            MovimentacaoFinanceira movimentacao = new MovimentacaoFinanceira(
-                    movimentacaoDTO.tipoMovimentacao(),
-                    movimentacaoDTO.valor(),
-                    movimentacaoDTO.descricao(),
-                    movimentacaoDTO.categoria(),
-                    movimentacaoDTO.dataMovimentacao(),
-                    movimentacaoDTO.status() != null ? movimentacaoDTO.status() : StatusMovimentacao.CONCLUIDA,
-                    movimentacaoDTO.fonteMovimentacao(),
-                    movimentacaoDTO.observacoes(),
-                    conta,
-                    saldoAnterior,
-                    saldoAtual,
-                    movimentacaoDTO.arquivoOrigem(),
-                    movimentacaoDTO.identificadorExterno());
+            SaldoConta saldoConta = saldoContaService.obterParaAtualizacao(conta.getId());
+            MovimentacaoFinanceira movimentacao = criarMovimentacao(movimentacaoDTO, conta, saldoConta.getSaldo());
 
             MovimentacaoFinanceira movimentacaoSalva = repository.save(movimentacao);
+            filtroDuplicidadeService.registrar(conta.getId(), movimentacaoSalva.getIdentificadorExterno());
+            saldoContaService.aplicarMovimentacao(saldoConta, movimentacaoSalva);
+            resumoMensalService.aplicarMovimentacao(movimentacaoSalva);
+            progressoMetaService.aplicarMovimentacao(movimentacaoSalva);
+            eventoService.publicar(new EventoMovimentacao(TipoEventoMovimentacao.REGISTRADA, movimentacaoSalva));
 
             logger.info("Movimentação registrada com sucesso. ID: {}, Tipo: {}, Valor: {}, Saldo: {} -> {}",
                     movimentacaoSalva.getId(), movimentacaoSalva.getTipoMovimentacao(),
-                    movimentacaoSalva.getValor(), saldoAnterior, saldoAtual);
+                    movimentacaoSalva.getValor(), movimentacaoSalva.getSaldoAnterior(),
+                    movimentacaoSalva.getSaldoAtual());
 
             return movimentacaoSalva;
         }, "registrar movimentação financeira");
@@ -75,21 +152,43 @@ public class MovimentacaoFinanceiraService {
     public List<MovimentacaoFinanceira> listarMovimentacoes() {
         return executarComTratamentoErro(() -> {
             logger.info("Buscando lista de todas as movimentações financeiras");
-            List<MovimentacaoFinanceira> movimentacoes = repository.findAll();
+            List<MovimentacaoFinanceira> movimentacoes = repository.findPagina(
+                    CursorPaginacao.limite(CursorPaginacao.LIMITE_SEM_PAGINACAO + 1));
+            if (movimentacoes.size() > CursorPaginacao.LIMITE_SEM_PAGINACAO) {
+                logger.warn("Listagem de movimentações limitada a {} registros; use a listagem paginada",
+                        CursorPaginacao.LIMITE_SEM_PAGINACAO);
+                movimentacoes = movimentacoes.subList(0, CursorPaginacao.LIMITE_SEM_PAGINACAO);
+            }
             logger.info("Total de movimentações encontradas: {}", movimentacoes.size());
             return movimentacoes;
         }, "listar movimentações");
     }
 
+    public Pagina<MovimentacaoFinanceira> listarMovimentacoesPaginadas(String cursor, Integer tamanho) {
+        return executarComTratamentoErro(() -> {
+            int tamanhoPagina = CursorPaginacao.validarTamanho(tamanho);
+            CursorPaginacao.Posicao posicao = decodificarCursorMovimentacao(cursor);
+            Pageable limite = CursorPaginacao.limite(tamanhoPagina + 1);
+
+            List<MovimentacaoFinanceira> movimentacoes = posicao == null
+                    ? repository.findPagina(limite)
+                    : repository.findPaginaApos(posicao.data(), posicao.id(), limite);
+            return CursorPaginacao.montar(movimentacoes, tamanhoPagina, this::cursorDaMovimentacao);
+        }, "listar movimentações paginadas");
+    }
+
     public MovimentacaoFinanceira buscarMovimentacaoPorId(Long id) {
         return executarComTratamentoErro(() -> {
             validarId(id);
 
             logger.info("Buscando movimentação por ID: {}", id);
-            MovimentacaoFinanceira movimentacao = repository.findById(id).orElseThrow(() -> {
-                logger.error("Movimentação não encontrada com ID: {}", id);
-                return new IllegalArgumentException("Movimentação não encontrada com ID: " + id);
-            });
+            MovimentacaoFinanceira movimentacao = repository.findById(id)
+                    .or(() -> arquivadaRepository.findById(id).map(arquivada -> arquivada.paraMovimentacao(
+                            contaService.buscarContaPorId(arquivada.getContaId()))))
+                    .orElseThrow(() -> {
+                        logger.error("Movimentação não encontrada com ID: {}", id);
+                        return new IllegalArgumentException("Movimentação não encontrada com ID: " + id);
+                    });
             logger.info("Movimentação encontrada com sucesso. ID: {}, Tipo: {}, Valor: {}",
                     movimentacao.getId(), movimentacao.getTipoMovimentacao(), movimentacao.getValor());
             return movimentacao;
@@ -99,25 +198,76 @@ public class MovimentacaoFinanceiraService {
     public List<MovimentacaoFinanceira> buscarMovimentacoesPorConta(Long contaId) {
         return executarComTratamentoErro(() -> {
             validarId(contaId);
-            contaService.buscarContaPorId(contaId);
+            DadosConta conta = contaService.buscarContaPorId(contaId);
 
             logger.info("Buscando movimentações da conta ID: {}", contaId);
-            List<MovimentacaoFinanceira> movimentacoes = repository.findByContaId(contaId);
+            Pageable limite = CursorPaginacao.limite(CursorPaginacao.LIMITE_SEM_PAGINACAO + 1);
+            List<MovimentacaoFinanceira> movimentacoes = repository.findPaginaPorConta(contaId, limite);
+            if (arquivamentoService.abrangeArquivo(contaId, null)) {
+                movimentacoes = Intercalacao.intercalar(movimentacoes,
+                        paraMovimentacoes(arquivadaRepository.findPaginaPorConta(contaId, limite), conta),
+                        MAIS_RECENTE_PRIMEIRO);
+            }
+            if (movimentacoes.size() > CursorPaginacao.LIMITE_SEM_PAGINACAO) {
+                logger.warn("Movimentações da conta {} limitadas a {} registros; use a listagem paginada",
+                        contaId, CursorPaginacao.LIMITE_SEM_PAGINACAO);
+                movimentacoes = movimentacoes.subList(0, CursorPaginacao.LIMITE_SEM_PAGINACAO);
+            }
             logger.info("Total de movimentações encontradas para conta {}: {}", contaId, movimentacoes.size());
             return movimentacoes;
         }, "buscar movimentações por conta");
     }
 
+    public Pagina<MovimentacaoFinanceira> buscarMovimentacoesPorContaPaginadas(Long contaId, String cursor,
+            Integer tamanho) {
+        return executarComTratamentoErro(() -> {
+            validarId(contaId);
+            int tamanhoPagina = CursorPaginacao.validarTamanho(tamanho);
+            CursorPaginacao.Posicao posicao = decodificarCursorMovimentacao(cursor);
+            DadosConta conta = contaService.buscarContaPorId(contaId);
+            Pageable limite = CursorPaginacao.limite(tamanhoPagina + 1);
+
+            List<MovimentacaoFinanceira> movimentacoes = posicao == null
+                    ? repository.findPaginaPorConta(contaId, limite)
+                    : repository.findPaginaPorContaApos(contaId, posicao.data(), posicao.id(), limite);
+            if (arquivamentoService.abrangeArquivo(contaId, null)) {
+                List<MovimentacaoArquivada> arquivadas = posicao == null
+                        ? arquivadaRepository.findPaginaPorConta(contaId, limite)
+                        : arquivadaRepository.findPaginaPorContaApos(contaId, posicao.data(), posicao.id(), limite);
+                movimentacoes = Intercalacao.intercalar(movimentacoes, paraMovimentacoes(arquivadas, conta),
+                        MAIS_RECENTE_PRIMEIRO);
+            }
+            return CursorPaginacao.montar(movimentacoes, tamanhoPagina, this::cursorDaMovimentacao);
+        }, "buscar movimentações por conta paginadas");
+    }
+
+    private CursorPaginacao.Posicao decodificarCursorMovimentacao(String cursor) {
+        CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor);
+        if (posicao != null && posicao.data() == null) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+        return posicao;
+    }
+
+    private String cursorDaMovimentacao(MovimentacaoFinanceira movimentacao) {
+        return CursorPaginacao.codificar(movimentacao.getDataMovimentacao(), movimentacao.getId());
+    }
+
     public List<MovimentacaoFinanceira> buscarMovimentacoesPorPeriodo(Long contaId, LocalDate dataInicio,
             LocalDate dataFim) {
         return executarComTratamentoErro(() -> {
             validarId(contaId);
             validarPeriodo(dataInicio, dataFim);
-            contaService.buscarContaPorId(contaId);
+            DadosConta conta = contaService.buscarContaPorId(contaId);
 
             logger.info("Buscando movimentações da conta {} no período: {} a {}", contaId, dataInicio, dataFim);
             List<MovimentacaoFinanceira> movimentacoes = repository.findByContaIdAndPeriodo(contaId, dataInicio,
                     dataFim);
+            if (arquivamentoService.abrangeArquivo(contaId, dataInicio)) {
+                movimentacoes = Intercalacao.intercalar(movimentacoes, paraMovimentacoes(
+                        arquivadaRepository.findByContaIdAndPeriodo(contaId, dataInicio, dataFim), conta),
+                        MAIS_RECENTE_PRIMEIRO);
+            }
             logger.info("Total de movimentações encontradas no período: {}", movimentacoes.size());
             return movimentacoes;
         }, "buscar movimentações por período");
@@ -127,11 +277,16 @@ public class MovimentacaoFinanceiraService {
         return executarComTratamentoErro(() -> {
             validarId(contaId);
             validarTipoMovimentacao(tipoMovimentacao);
-            contaService.buscarContaPorId(contaId);
+            DadosConta conta = contaService.buscarContaPorId(contaId);
 
             logger.info("Buscando movimentações do tipo {} para conta {}", tipoMovimentacao, contaId);
             List<MovimentacaoFinanceira> movimentacoes = repository.findByContaIdAndTipoMovimentacao(contaId,
                     tipoMovimentacao);
+            if (arquivamentoService.abrangeArquivo(contaId, null)) {
+                movimentacoes = Intercalacao.intercalar(movimentacoes, paraMovimentacoes(
+                        arquivadaRepository.findByContaIdAndTipoMovimentacao(contaId, tipoMovimentacao), conta),
+                        MAIS_RECENTE_PRIMEIRO);
+            }
             logger.info("Total de movimentações do tipo {} encontradas: {}", tipoMovimentacao, movimentacoes.size());
             return movimentacoes;
         }, "buscar movimentações por tipo");
@@ -145,12 +300,25 @@ public class MovimentacaoFinanceiraService {
 
             logger.info("Iniciando atualização da movimentação ID: {}", id);
 
-            MovimentacaoFinanceira movimentacaoExistente = buscarMovimentacaoPorId(id);
-            DadosConta conta = contaService.buscarContaPorId(movimentacaoDTO.contaId());
-
-            BigDecimal saldoAnterior = calcularSaldoAtual(conta.getId());
+            contaService.buscarContaPorId(movimentacaoDTO.contaId());
+            travarContaDaMovimentacao(id);
+            MovimentacaoFinanceira movimentacaoExistente = buscarParaAlteracao(id);
+            EventoMovimentacao estadoAnterior = new EventoMovimentacao(TipoEventoMovimentacao.ATUALIZADA,
+                    movimentacaoExistente);
+
+            SaldoConta saldoConta = saldoContaService.obterParaAtualizacao(movimentacaoExistente.getConta().getId());
+            BigDecimal efeitoAnterior = SaldoConta.efeito(movimentacaoExistente.getTipoMovimentacao(),
+                    movimentacaoExistente.getStatus(), movimentacaoExistente.getValor());
+            saldoContaService.reverterMovimentacao(saldoConta, movimentacaoExistente.getTipoMovimentacao(),
+                    movimentacaoExistente.getStatus(), movimentacaoExistente.getValor(), movimentacaoExistente.getId());
+            resumoMensalService.reverterMovimentacao(movimentacaoExistente);
+            progressoMetaService.reverterMovimentacao(movimentacaoExistente);
+
+            BigDecimal saldoAnterior = movimentacaoExistente.getSaldoAnterior() != null
+                    ? movimentacaoExistente.getSaldoAnterior()
+                    : saldoConta.getSaldo();
             BigDecimal saldoAtual = calcularNovoSaldo(saldoAnterior, movimentacaoDTO.valor(),
-                    movimentacaoDTO.tipoMovimentacao());
+                    movimentacaoDTO.tipoMovimentacao(), movimentacaoDTO.status());
 
             movimentacaoExistente.atualizarDados(
                     movimentacaoDTO.tipoMovimentacao(),
@@ -164,6 +332,14 @@ public class MovimentacaoFinanceiraService {
                     saldoAtual);
 
             MovimentacaoFinanceira movimentacaoAtualizada = repository.save(movimentacaoExistente);
+            saldoContaService.aplicarMovimentacao(saldoConta, movimentacaoAtualizada);
+            resumoMensalService.aplicarMovimentacao(movimentacaoAtualizada);
+            progressoMetaService.aplicarMovimentacao(movimentacaoAtualizada);
+            rebalanceamentoSaldoService.rebalancearApos(movimentacaoAtualizada.getConta().getId(),
+                    movimentacaoAtualizada.getId(), SaldoConta.efeito(movimentacaoAtualizada.getTipoMovimentacao(),
+                            movimentacaoAtualizada.getStatus(), movimentacaoAtualizada.getValor()).subtract(efeitoAnterior));
+            eventoService.publicar(new EventoMovimentacao(TipoEventoMovimentacao.ATUALIZADA, movimentacaoAtualizada)
+                    .comAnterior(estadoAnterior));
             logger.info("Movimentação atualizada com sucesso. ID: {}, Tipo: {}, Valor: {}",
                     movimentacaoAtualizada.getId(), movimentacaoAtualizada.getTipoMovimentacao(),
                     movimentacaoAtualizada.getValor());
@@ -179,12 +355,20 @@ public class MovimentacaoFinanceiraService {
 
             logger.info("Iniciando exclusão da movimentação ID: {}", id);
 
-            if (!repository.existsById(id)) {
-                logger.error("Tentativa de exclusão de movimentação inexistente. ID: {}", id);
-                throw new IllegalArgumentException("Movimentação não encontrada com ID: " + id);
-            }
+            travarContaDaMovimentacao(id);
+            MovimentacaoFinanceira movimentacao = buscarParaAlteracao(id);
+
+            SaldoConta saldoConta = saldoContaService.obterParaAtualizacao(movimentacao.getConta().getId());
+            saldoContaService.reverterMovimentacao(saldoConta, movimentacao.getTipoMovimentacao(),
+                    movimentacao.getStatus(), movimentacao.getValor(), movimentacao.getId());
+            resumoMensalService.reverterMovimentacao(movimentacao);
+            progressoMetaService.reverterMovimentacao(movimentacao);
 
-            repository.deleteById(id);
+            repository.delete(movimentacao);
+            rebalanceamentoSaldoService.rebalancearApos(movimentacao.getConta().getId(), movimentacao.getId(),
+                    SaldoConta.efeito(movimentacao.getTipoMovimentacao(), movimentacao.getStatus(),
+                            movimentacao.getValor()).negate());
+            eventoService.publicar(new EventoMovimentacao(TipoEventoMovimentacao.EXCLUIDA, movimentacao));
             logger.info("Movimentação excluída com sucesso. ID: {}", id);
             return null;
         }, "excluir movimentação");
@@ -197,15 +381,31 @@ public class MovimentacaoFinanceiraService {
 
             logger.info("Iniciando estorno da movimentação ID: {}", id);
 
-            MovimentacaoFinanceira movimentacao = buscarMovimentacaoPorId(id);
+            travarContaDaMovimentacao(id);
+            MovimentacaoFinanceira movimentacao = buscarParaAlteracao(id);
 
             if (StatusMovimentacao.ESTORNADA.equals(movimentacao.getStatus())) {
                 logger.warn("Movimentação já está estornada. ID: {}", id);
                 throw new IllegalArgumentException("Movimentação já está estornada");
             }
 
+            SaldoConta saldoConta = saldoContaService.obterParaAtualizacao(movimentacao.getConta().getId());
+            saldoContaService.reverterMovimentacao(saldoConta, movimentacao.getTipoMovimentacao(),
+                    movimentacao.getStatus(), movimentacao.getValor(), movimentacao.getId());
+            resumoMensalService.reverterMovimentacao(movimentacao);
+            progressoMetaService.reverterMovimentacao(movimentacao);
+            BigDecimal efeitoAnterior = SaldoConta.efeito(movimentacao.getTipoMovimentacao(),
+                    movimentacao.getStatus(), movimentacao.getValor());
+            EventoMovimentacao estadoAnterior = new EventoMovimentacao(TipoEventoMovimentacao.ESTORNADA, movimentacao);
+
             movimentacao.estornar();
             MovimentacaoFinanceira movimentacaoEstornada = repository.save(movimentacao);
+            resumoMensalService.aplicarMovimentacao(movimentacaoEstornada);
+            progressoMetaService.aplicarMovimentacao(movimentacaoEstornada);
+            rebalanceamentoSaldoService.rebalancearApos(movimentacaoEstornada.getConta().getId(),
+                    movimentacaoEstornada.getId(), efeitoAnterior.negate());
+            eventoService.publicar(new EventoMovimentacao(TipoEventoMovimentacao.ESTORNADA, movimentacaoEstornada)
+                    .comAnterior(estadoAnterior));
 
             logger.info("Movimentação estornada com sucesso. ID: {}", id);
             return movimentacaoEstornada;
@@ -220,33 +420,245 @@ public class MovimentacaoFinanceiraService {
         return executarComTratamentoErro(() -> {
             validarId(contaId);
 
-            BigDecimal totalReceitas = repository
-                    .sumValorByContaIdAndTipoMovimentacao(contaId, TipoMovimentacao.RECEITA)
-                    .map(BigDecimal::valueOf).orElse(BigDecimal.ZERO);
-
-            BigDecimal totalDespesas = repository
-                    .sumValorByContaIdAndTipoMovimentacao(contaId, TipoMovimentacao.DESPESA)
-                    .map(BigDecimal::valueOf).orElse(BigDecimal.ZERO);
-
-            BigDecimal saldoAtual = totalReceitas.subtract(totalDespesas);
-            logger.debug("Saldo calculado para conta {}: Receitas: {}, Despesas: {}, Saldo: {}",
-                    contaId, totalReceitas, totalDespesas, saldoAtual);
+            BigDecimal saldoAtual = saldoContaService.obterSaldo(contaId);
+            logger.debug("Saldo materializado da conta {}: {}", contaId, saldoAtual);
 
             return saldoAtual;
         }, "calcular saldo atual");
     }
 
+    public BigDecimal calcularSaldoEm(Long contaId, LocalDate data) {
+        return executarComTratamentoErro(() -> {
+            validarId(contaId);
+            if (data == null) {
+                throw new IllegalArgumentException("Data de referência é obrigatória");
+            }
+            contaService.buscarContaPorId(contaId);
+
+            BigDecimal saldo = saldoCheckpointService.saldoEm(contaId, data);
+            logger.debug("Saldo da conta {} em {}: {}", contaId, data, saldo);
+            return saldo;
+        }, "calcular saldo em data");
+    }
+
+    public List<SaldoDiarioDTO> buscarSerieSaldo(Long contaId, LocalDate dataInicio, LocalDate dataFim) {
+        return executarComTratamentoErro(() -> {
+            validarId(contaId);
+            contaService.buscarContaPorId(contaId);
+
+            logger.info("Buscando série de saldo da conta {} no período: {} a {}", contaId, dataInicio, dataFim);
+            return saldoCheckpointService.serie(contaId, dataInicio, dataFim);
+        }, "buscar série de saldo");
+    }
+
+    public ReconciliacaoSaldoDTO reconciliarSaldos(boolean corrigir) {
+        return executarComTratamentoErro(() -> saldoContaService.reconciliarSaldos(corrigir),
+                "reconciliar saldos");
+    }
+
+    public List<ResumoMensal> buscarResumoMensal(Long contaId, YearMonth inicio, YearMonth fim) {
+        return executarComTratamentoErro(() -> {
+            validarId(contaId);
+            if (inicio != null && fim != null && inicio.isAfter(fim)) {
+                throw new IllegalArgumentException("Mês de início deve ser anterior ao mês de fim");
+            }
+            contaService.buscarContaPorId(contaId);
+
+            logger.info("Buscando resumo mensal da conta {} no período: {} a {}", contaId, inicio, fim);
+            List<ResumoMensal> resumos = resumoMensalService.listarPorConta(contaId, inicio, fim);
+            logger.info("Total de linhas do resumo mensal da conta {}: {}", contaId, resumos.size());
+            return resumos;
+        }, "buscar resumo mensal");
+    }
+
+    /**
+     * Categorias das movimentações concluídas do tipo informado (despesas, se nulo), da maior para a menor soma.
+     * Com {@code top}, devolve apenas as primeiras categorias; o total continua sendo o de todas.
+     */
+    public DistribuicaoCategoriasDTO buscarDistribuicaoCategorias(Long contaId, LocalDate dataInicio,
+            LocalDate dataFim, TipoMovimentacao tipoMovimentacao, Integer top) {
+        return executarComTratamentoErro(() -> {
+            validarId(contaId);
+            if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+                throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+            }
+            if (top != null && top <= 0) {
+                throw new IllegalArgumentException("Quantidade de categorias deve ser maior que zero");
+            }
+            contaService.buscarContaPorId(contaId);
+
+            TipoMovimentacao tipo = tipoMovimentacao != null ? tipoMovimentacao : TipoMovimentacao.DESPESA;
+            logger.info("Buscando distribuição por categoria da conta {}. Tipo: {}, Período: {} a {}, Top: {}",
+                    contaId, tipo, dataInicio, dataFim, top);
+            DistribuicaoCategoriasDTO distribuicao = distribuicaoCategoriasService.calcular(contaId, tipo,
+                    dataInicio, dataFim);
+            return top != null ? distribuicao.limitar(top) : distribuicao;
+        }, "buscar distribuição por categoria");
+    }
+
+    /**
+     * Busca textual na descrição e nas observações das movimentações da conta, pelo índice invertido em memória.
+     * Todos os termos precisam aparecer; um termo terminado em {@code *} casa por prefixo.
+     */
+    public BuscaMovimentacoesDTO buscarPorTexto(Long contaId, String consulta, LocalDate dataInicio,
+            LocalDate dataFim, Integer limite) {
+        return executarComTratamentoErro(() -> {
+            validarId(contaId);
+            if (consulta == null || consulta.isBlank()) {
+                throw new IllegalArgumentException("Consulta é obrigatória");
+            }
+            if (consulta.length() > TAMANHO_MAXIMO_CONSULTA) {
+                throw new IllegalArgumentException("Consulta deve ter no máximo " + TAMANHO_MAXIMO_CONSULTA
+                        + " caracteres");
+            }
+            if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+                throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+            }
+            if (limite != null && (limite <= 0 || limite > LIMITE_MAXIMO_BUSCA)) {
+                throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO_BUSCA);
+            }
+            DadosConta conta = contaService.buscarContaPorId(contaId);
+
+            long inicio = System.nanoTime();
+            IndiceTextual.Resultado resultado = buscaTextualService.buscar(contaId, consulta, dataInicio, dataFim,
+                    limite != null ? limite : LIMITE_PADRAO_BUSCA);
+            List<Long> ids = resultado.acertos().stream().map(IndiceTextual.Acerto::id).toList();
+            Map<Long, MovimentacaoFinanceira> movimentacoes = repository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(MovimentacaoFinanceira::getId, Function.identity()));
+            if (movimentacoes.size() < ids.size()) {
+                List<Long> arquivadas = ids.stream().filter(id -> !movimentacoes.containsKey(id)).toList();
+                paraMovimentacoes(arquivadaRepository.findAllById(arquivadas), conta)
+                        .forEach(movimentacao -> movimentacoes.put(movimentacao.getId(), movimentacao));
+            }
+
+            List<BuscaMovimentacoesDTO.ItemBuscaDTO> itens = new ArrayList<>(ids.size());
+            for (IndiceTextual.Acerto acerto : resultado.acertos()) {
+                MovimentacaoFinanceira movimentacao = movimentacoes.get(acerto.id());
+                if (movimentacao != null) {
+                    itens.add(new BuscaMovimentacoesDTO.ItemBuscaDTO(acerto.relevancia(),
+                            converterEntidadeParaDTO(movimentacao)));
+                }
+            }
+            logger.info("Busca textual na conta {} concluída. Consulta: '{}', Encontradas: {}, Tempo: {}µs",
+                    contaId, consulta, resultado.encontrados(), (System.nanoTime() - inicio) / 1_000);
+            return new BuscaMovimentacoesDTO(contaId, consulta, resultado.encontrados(), itens);
+        }, "buscar movimentações por texto");
+    }
+
+    /**
+     * Alertas de despesas atípicas da conta, do mais recente para o mais antigo.
+     */
+    public List<AlertaAnomaliaDTO> buscarAlertas(Long contaId, Integer limite) {
+        return executarComTratamentoErro(() -> {
+            validarId(contaId);
+            if (limite != null && (limite <= 0 || limite > LIMITE_MAXIMO_ALERTAS)) {
+                throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO_ALERTAS);
+            }
+            contaService.buscarContaPorId(contaId);
+
+            logger.info("Buscando alertas de despesas atípicas da conta {}. Limite: {}", contaId, limite);
+            return deteccaoAnomaliaService.listarAlertas(contaId, limite != null ? limite : LIMITE_PADRAO_ALERTAS)
+                    .stream()
+                    .map(AlertaAnomaliaDTO::fromAlertaAnomalia)
+                    .toList();
+        }, "buscar alertas de despesas atípicas");
+    }
+
+    public ReconstrucaoResumoMensalDTO reconstruirResumoMensal(Long contaId) {
+        return executarComTratamentoErro(() -> {
+            if (contaId == null) {
+                return resumoMensalService.reconstruirTodos();
+            }
+            validarId(contaId);
+            contaService.buscarContaPorId(contaId);
+
+            long inicio = System.currentTimeMillis();
+            int linhas = resumoMensalService.reconstruir(contaId);
+            return new ReconstrucaoResumoMensalDTO(1, linhas, System.currentTimeMillis() - inicio,
+                    LocalDateTime.now());
+        }, "reconstruir resumo mensal");
+    }
+
+    public List<OuvinteEventoDTO> listarOuvintesEventos() {
+        return executarComTratamentoErro(eventoService::listarOuvintes, "listar ouvintes de eventos");
+    }
+
+    public OuvinteEventoDTO reprocessarEventos(String ouvinte, Long aPartirDe) {
+        return executarComTratamentoErro(() -> {
+            if (ouvinte == null || ouvinte.isBlank()) {
+                throw new IllegalArgumentException("Ouvinte é obrigatório");
+            }
+            if (aPartirDe == null) {
+                throw new IllegalArgumentException("Posição inicial é obrigatória");
+            }
+            return eventoService.reprocessar(ouvinte, aPartirDe);
+        }, "reprocessar eventos");
+    }
+
+    MovimentacaoFinanceira criarMovimentacao(MovimentacaoFinanceiraDTO movimentacaoDTO, DadosConta conta,
+            BigDecimal saldoAnterior) {
+        StatusMovimentacao status = movimentacaoDTO.status() != null ? movimentacaoDTO.status()
+                : StatusMovimentacao.CONCLUIDA;
+        BigDecimal saldoAtual = calcularNovoSaldo(saldoAnterior, movimentacaoDTO.valor(),
+                movimentacaoDTO.tipoMovimentacao(), status);
+
+        return new MovimentacaoFinanceira(
+                movimentacaoDTO.tipoMovimentacao(),
+                movimentacaoDTO.valor(),
+                movimentacaoDTO.descricao(),
+                movimentacaoDTO.categoria(),
+                movimentacaoDTO.dataMovimentacao(),
+                status,
+                movimentacaoDTO.fonteMovimentacao(),
+                movimentacaoDTO.observacoes(),
+                conta,
+                saldoAnterior,
+                saldoAtual,
+                movimentacaoDTO.arquivoOrigem(),
+                movimentacaoDTO.identificadorExterno());
+    }
+
+    private void travarContaDaMovimentacao(Long id) {
+        repository.findContaIdById(id).ifPresent(travaContaService::travarAteFimDaTransacao);
+    }
+
+    /**
+     * Movimentação da tabela principal para as escritas. As arquivadas não mudam: seus totais já estão no saldo de
+     * abertura da conta, então a escrita é recusada com o motivo em vez de responder que ela não existe.
+     */
+    private MovimentacaoFinanceira buscarParaAlteracao(Long id) {
+        return repository.findById(id).orElseThrow(() -> {
+            if (arquivadaRepository.existsById(id)) {
+                logger.warn("Tentativa de alterar movimentação arquivada. ID: {}", id);
+                return new IllegalArgumentException("Movimentação " + id + " está arquivada e não pode ser alterada");
+            }
+            logger.error("Movimentação não encontrada com ID: {}", id);
+            return new IllegalArgumentException("Movimentação não encontrada com ID: " + id);
+        });
+    }
+
+    private List<MovimentacaoFinanceira> paraMovimentacoes(List<MovimentacaoArquivada> arquivadas, DadosConta conta) {
+        return arquivadas.stream().map(arquivada -> arquivada.paraMovimentacao(conta)).toList();
+    }
+
     private BigDecimal calcularNovoSaldo(BigDecimal saldoAnterior, BigDecimal valor,
-            TipoMovimentacao tipoMovimentacao) {
-        if (TipoMovimentacao.RECEITA.equals(tipoMovimentacao)) {
-            return saldoAnterior.add(valor);
-        } else if (TipoMovimentacao.DESPESA.equals(tipoMovimentacao)) {
-            return saldoAnterior.subtract(valor);
+            TipoMovimentacao tipoMovimentacao, StatusMovimentacao status) {
+        return saldoAnterior.add(SaldoConta.efeito(tipoMovimentacao, status, valor));
+    }
+
+    /**
+     * Preenche a categoria ausente pela categorização automática da descrição. Sem termo correspondente a
+     * movimentação segue sem categoria e a validação a rejeita, como antes.
+     */
+    MovimentacaoFinanceiraDTO completarCategoria(MovimentacaoFinanceiraDTO dto) {
+        if (dto == null || dto.categoria() != null || dto.descricao() == null) {
+            return dto;
         }
-        return saldoAnterior;
+        CategoriaFinanceira categoria = categorizacaoService.categorizar(dto.descricao(), dto.tipoMovimentacao());
+        return categoria != null ? dto.comCategoria(categoria) : dto;
     }
 
-    private void validarMovimentacaoDTO(MovimentacaoFinanceiraDTO dto) {
+    void validarMovimentacaoDTO(MovimentacaoFinanceiraDTO dto) {
         if (dto == null) {
             throw new IllegalArgumentException("Dados da movimentação são obrigatórios");
         }
@@ -313,71 +725,127 @@ public class MovimentacaoFinanceiraService {
         }
     }
 
+    @Transactional(readOnly = true)
     public RelatorioDadosDTO buscarDadosRelatorio(RelatorioPDFParametrosDTO parametros) {
-        return executarComTratamentoErro(() -> {
-            logger.info("Iniciando busca de dados do relatório. Conta: {}, Período: {} a {}",
-                    parametros.contaId(), parametros.dataInicio(), parametros.dataFim());
+        return executarComTratamentoErro(() -> montarDadosRelatorio(parametros, true), "buscar dados do relatório");
+    }
 
-            DadosConta conta = contaService.buscarContaPorId(parametros.contaId());
+    @Transactional(readOnly = true)
+    public RelatorioDadosDTO buscarResumoRelatorio(RelatorioPDFParametrosDTO parametros) {
+        return executarComTratamentoErro(() -> montarDadosRelatorio(parametros, false), "buscar resumo do relatório");
+    }
 
-            List<MovimentacaoFinanceira> movimentacoes = buscarMovimentacoesFiltradas(parametros);
-            List<MovimentacaoFinanceiraDTO> movimentacoesDTO = movimentacoes.stream()
-                    .map(this::converterEntidadeParaDTO)
-                    .toList();
+    /**
+     * Lê as movimentações do relatório por cursor, na mesma ordem de {@link #buscarDadosRelatorio}. O stream deve
+     * ser consumido e fechado dentro da transação de quem chama.
+     */
+    @Transactional(readOnly = true)
+    public Stream<MovimentacaoFinanceiraDTO> streamMovimentacoesRelatorio(RelatorioPDFParametrosDTO parametros) {
+        FiltroRelatorio filtro = FiltroRelatorio.de(parametros);
+        Stream<MovimentacaoFinanceiraDTO> movimentacoes = repository.streamRelatorio(parametros.contaId(),
+                filtro.tipos(), filtro.dataInicio(), filtro.dataFim());
+        if (!arquivamentoService.abrangeArquivo(parametros.contaId(), filtro.dataInicio())) {
+            return movimentacoes;
+        }
+        return Intercalacao.intercalar(movimentacoes, arquivadaRepository.streamRelatorio(parametros.contaId(),
+                filtro.tipos(), filtro.dataInicio(), filtro.dataFim()), DTO_MAIS_RECENTE_PRIMEIRO);
+    }
 
-            BigDecimal totalReceitas = movimentacoes.stream()
-                    .filter(m -> TipoMovimentacao.RECEITA.equals(m.getTipoMovimentacao())
-                            && StatusMovimentacao.CONCLUIDA.equals(m.getStatus()))
-                    .map(MovimentacaoFinanceira::getValor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal totalDespesas = movimentacoes.stream()
-                    .filter(m -> TipoMovimentacao.DESPESA.equals(m.getTipoMovimentacao())
-                            && StatusMovimentacao.CONCLUIDA.equals(m.getStatus()))
-                    .map(MovimentacaoFinanceira::getValor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal saldoAtual = calcularSaldoAtual(parametros.contaId());
-            BigDecimal saldoLiquido = totalReceitas.subtract(totalDespesas);
-
-            RelatorioDadosDTO.DadosContaResumoDTO contaResumo = 
-                    RelatorioDadosDTO.DadosContaResumoDTO.fromDadosConta(conta);
-
-            logger.info("Dados do relatório buscados com sucesso. Movimentações: {}, Total Receitas: {}, Total Despesas: {}",
-                    movimentacoes.size(), totalReceitas, totalDespesas);
-
-            return new RelatorioDadosDTO(
-                    parametros.tituloRelatorio(),
-                    contaResumo,
-                    LocalDate.now(),
-                    movimentacoesDTO,
-                    totalReceitas,
-                    totalDespesas,
-                    saldoLiquido,
-                    saldoAtual,
-                    parametros.dataInicio(),
-                    parametros.dataFim(),
-                    parametros.tipoMovimentacao() != null ? parametros.tipoMovimentacao().toString() : null
-            );
-        }, "buscar dados do relatório");
-    }
-
-    private List<MovimentacaoFinanceira> buscarMovimentacoesFiltradas(RelatorioPDFParametrosDTO parametros) {
-        if (parametros.tipoMovimentacao() != null && parametros.dataInicio() != null && parametros.dataFim() != null) {
-            return repository.findByContaIdAndTipoMovimentacaoAndPeriodo(
-                    parametros.contaId(),
-                    parametros.tipoMovimentacao(),
-                    parametros.dataInicio(),
-                    parametros.dataFim());
-        } else if (parametros.tipoMovimentacao() != null) {
-            return repository.findByContaIdAndTipoMovimentacao(parametros.contaId(), parametros.tipoMovimentacao());
-        } else if (parametros.dataInicio() != null && parametros.dataFim() != null) {
+    private RelatorioDadosDTO montarDadosRelatorio(RelatorioPDFParametrosDTO parametros, boolean incluirMovimentacoes) {
+        logger.info("Iniciando busca de dados do relatório. Conta: {}, Período: {} a {}",
+                parametros.contaId(), parametros.dataInicio(), parametros.dataFim());
+
+        DadosConta conta = contaService.buscarContaPorId(parametros.contaId());
+
+        if (parametros.dataInicio() != null && parametros.dataFim() != null) {
             validarPeriodo(parametros.dataInicio(), parametros.dataFim());
-            return repository.findByContaIdAndPeriodo(parametros.contaId(), parametros.dataInicio(),
-                    parametros.dataFim());
-        } else {
-            return repository.findByContaId(parametros.contaId());
         }
+        FiltroRelatorio filtro = FiltroRelatorio.de(parametros);
+
+        AcumuladorCentavos receitas = new AcumuladorCentavos();
+        AcumuladorCentavos despesas = new AcumuladorCentavos();
+        long quantidade = 0;
+        LocalDate primeiraData = null;
+        LocalDate ultimaData = null;
+        boolean abrangeArquivo = arquivamentoService.abrangeArquivo(parametros.contaId(), filtro.dataInicio());
+        List<Object[]> resumo = new ArrayList<>(repository.resumirRelatorio(parametros.contaId(), filtro.tipos(),
+                filtro.dataInicio(), filtro.dataFim()));
+        if (abrangeArquivo) {
+            resumo.addAll(arquivadaRepository.resumirRelatorio(parametros.contaId(), filtro.tipos(),
+                    filtro.dataInicio(), filtro.dataFim()));
+        }
+        for (Object[] linha : resumo) {
+            TipoMovimentacao tipo = (TipoMovimentacao) linha[0];
+            BigDecimal total = (BigDecimal) linha[3];
+            if (StatusMovimentacao.CONCLUIDA.equals(linha[1])) {
+                if (TipoMovimentacao.RECEITA.equals(tipo)) {
+                    receitas.adicionar(total);
+                } else if (TipoMovimentacao.DESPESA.equals(tipo)) {
+                    despesas.adicionar(total);
+                }
+            }
+            quantidade += ((Number) linha[2]).longValue();
+            primeiraData = menorData(primeiraData, (LocalDate) linha[4]);
+            ultimaData = maiorData(ultimaData, (LocalDate) linha[5]);
+        }
+
+        List<MovimentacaoFinanceiraDTO> movimentacoes = incluirMovimentacoes
+                ? repository.findRelatorio(parametros.contaId(), filtro.tipos(), filtro.dataInicio(), filtro.dataFim())
+                : List.of();
+        if (incluirMovimentacoes && abrangeArquivo) {
+            movimentacoes = Intercalacao.intercalar(movimentacoes, arquivadaRepository.findRelatorio(
+                    parametros.contaId(), filtro.tipos(), filtro.dataInicio(), filtro.dataFim()),
+                    DTO_MAIS_RECENTE_PRIMEIRO);
+        }
+
+        BigDecimal saldoAtual = calcularSaldoAtual(parametros.contaId());
+        BigDecimal totalReceitas = receitas.valor();
+        BigDecimal totalDespesas = despesas.valor();
+        BigDecimal saldoLiquido = AcumuladorCentavos.valor(receitas.centavos() - despesas.centavos());
+
+        RelatorioDadosDTO.DadosContaResumoDTO contaResumo = 
+                RelatorioDadosDTO.DadosContaResumoDTO.fromDadosConta(conta);
+
+        logger.info("Dados do relatório buscados com sucesso. Movimentações: {}, Total Receitas: {}, Total Despesas: {}",
+                quantidade, totalReceitas, totalDespesas);
+
+        return new RelatorioDadosDTO(
+                parametros.tituloRelatorio(),
+                contaResumo,
+                LocalDate.now(),
+                movimentacoes,
+                totalReceitas,
+                totalDespesas,
+                saldoLiquido,
+                saldoAtual,
+                parametros.dataInicio(),
+                parametros.dataFim(),
+                parametros.tipoMovimentacao() != null ? parametros.tipoMovimentacao().toString() : null,
+                quantidade,
+                primeiraData,
+                ultimaData
+        );
+    }
+
+    private record FiltroRelatorio(Collection<TipoMovimentacao> tipos, LocalDate dataInicio, LocalDate dataFim) {
+
+        static FiltroRelatorio de(RelatorioPDFParametrosDTO parametros) {
+            boolean filtraPeriodo = parametros.dataInicio() != null && parametros.dataFim() != null;
+            return new FiltroRelatorio(
+                    parametros.tipoMovimentacao() != null
+                            ? EnumSet.of(parametros.tipoMovimentacao())
+                            : EnumSet.allOf(TipoMovimentacao.class),
+                    filtraPeriodo ? parametros.dataInicio() : INICIO_RELATORIO,
+                    filtraPeriodo ? parametros.dataFim() : FIM_RELATORIO);
+        }
+    }
+
+    private static LocalDate menorData(LocalDate atual, LocalDate candidata) {
+        return atual == null || (candidata != null && candidata.isBefore(atual)) ? candidata : atual;
+    }
+
+    private static LocalDate maiorData(LocalDate atual, LocalDate candidata) {
+        return atual == null || (candidata != null && candidata.isAfter(atual)) ? candidata : atual;
     }
 
     private <T> T executarComTratamentoErro(Supplier<T> operacao, String nomeOperacao) {
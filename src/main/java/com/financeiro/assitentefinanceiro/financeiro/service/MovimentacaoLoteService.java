@@ -0,0 +1,249 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ResultadoLoteDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoEventoMovimentacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class MovimentacaoLoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovimentacaoLoteService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final MovimentacaoFinanceiraService movimentacaoService;
+    private final CadastroContaService contaService;
+    private final SaldoContaService saldoContaService;
+    private final TravaContaService travaContaService;
+    private final FiltroDuplicidadeService filtroDuplicidadeService;
+    private final ResumoMensalService resumoMensalService;
+    private final ProgressoMetaService progressoMetaService;
+    private final EventoMovimentacaoService eventoService;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoMaximo;
+    private final int tamanhoChunk;
+    private final Counter linhasCounter;
+    private final Timer loteTimer;
+    private final DistributionSummary vazaoSummary;
+
+    public MovimentacaoLoteService(MovimentacaoFinanceiraService movimentacaoService,
+            CadastroContaService contaService,
+            SaldoContaService saldoContaService,
+            TravaContaService travaContaService,
+            FiltroDuplicidadeService filtroDuplicidadeService,
+            ResumoMensalService resumoMensalService,
+            ProgressoMetaService progressoMetaService,
+            EventoMovimentacaoService eventoService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.lote.tamanho-maximo:10000}") int tamanhoMaximo,
+            @Value("${financeiro.lote.tamanho-chunk:500}") int tamanhoChunk) {
+        this.movimentacaoService = movimentacaoService;
+        this.contaService = contaService;
+        this.saldoContaService = saldoContaService;
+        this.travaContaService = travaContaService;
+        this.filtroDuplicidadeService = filtroDuplicidadeService;
+        this.resumoMensalService = resumoMensalService;
+        this.progressoMetaService = progressoMetaService;
+        this.eventoService = eventoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.tamanhoChunk = tamanhoChunk;
+        this.linhasCounter = Counter.builder("assitentefinanceiro_lote_linhas_total")
+                .description("Total de movimentações gravadas via lote")
+                .register(meterRegistry);
+        this.loteTimer = Timer.builder("assitentefinanceiro_lote_tempo")
+                .description("Tempo de processamento dos lotes de movimentações")
+                .register(meterRegistry);
+        this.vazaoSummary = DistributionSummary.builder("assitentefinanceiro_lote_linhas_por_segundo")
+                .description("Vazão de gravação dos lotes em linhas por segundo")
+                .register(meterRegistry);
+    }
+
+    public ResultadoLoteDTO registrarLote(List<MovimentacaoFinanceiraDTO> movimentacoes) {
+        validarLote(movimentacoes);
+
+        long inicio = System.nanoTime();
+        logger.info("Iniciando registro de lote com {} movimentações", movimentacoes.size());
+
+        List<ResultadoLoteDTO.ErroItemLoteDTO> erros = new ArrayList<>();
+        Map<Long, List<Integer>> indicesPorConta = new LinkedHashMap<>();
+        List<MovimentacaoFinanceiraDTO> categorizadas = new ArrayList<>(movimentacoes.size());
+
+        for (int i = 0; i < movimentacoes.size(); i++) {
+            MovimentacaoFinanceiraDTO dto = movimentacaoService.completarCategoria(movimentacoes.get(i));
+            categorizadas.add(dto);
+            try {
+                movimentacaoService.validarMovimentacaoDTO(dto);
+                indicesPorConta.computeIfAbsent(dto.contaId(), id -> new ArrayList<>()).add(i);
+            } catch (IllegalArgumentException e) {
+                erros.add(new ResultadoLoteDTO.ErroItemLoteDTO(i, dto != null ? dto.contaId() : null, e.getMessage()));
+            }
+        }
+
+        int totalRegistrado = 0;
+        for (Map.Entry<Long, List<Integer>> entrada : indicesPorConta.entrySet()) {
+            totalRegistrado += registrarLoteDaConta(entrada.getKey(), entrada.getValue(), categorizadas, erros);
+        }
+
+        long duracaoNanos = System.nanoTime() - inicio;
+        double segundos = Math.max(duracaoNanos, 1) / 1_000_000_000.0;
+        double linhasPorSegundo = totalRegistrado / segundos;
+
+        loteTimer.record(duracaoNanos, TimeUnit.NANOSECONDS);
+        linhasCounter.increment(totalRegistrado);
+        vazaoSummary.record(linhasPorSegundo);
+        erros.sort(Comparator.comparingInt(ResultadoLoteDTO.ErroItemLoteDTO::indice));
+
+        logger.info("Lote concluído. Recebidas: {}, Registradas: {}, Com erro: {}, Vazão: {} linhas/s",
+                movimentacoes.size(), totalRegistrado, erros.size(), String.format("%.2f", linhasPorSegundo));
+
+        return new ResultadoLoteDTO(movimentacoes.size(), totalRegistrado, erros.size(), erros,
+                TimeUnit.NANOSECONDS.toMillis(duracaoNanos), linhasPorSegundo);
+    }
+
+    private int registrarLoteDaConta(Long contaId, List<Integer> indices, List<MovimentacaoFinanceiraDTO> movimentacoes,
+            List<ResultadoLoteDTO.ErroItemLoteDTO> erros) {
+        DadosConta conta;
+        try {
+            conta = contaService.buscarContaPorId(contaId);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Conta {} do lote inválida: {}", contaId, e.getMessage());
+            rejeitarItens(contaId, indices, e.getMessage(), erros);
+            return 0;
+        }
+
+        List<Integer> indicesValidos = rejeitarDuplicados(contaId, indices, movimentacoes, erros);
+        if (indicesValidos.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Integer registradas = transactionTemplate.execute(status -> gravarEncadeado(conta,
+                    indicesValidos.stream().map(movimentacoes::get).toList()).size());
+            logger.info("Gravadas {} movimentações do lote para conta {}", registradas, contaId);
+            return registradas != null ? registradas : 0;
+        } catch (RuntimeException e) {
+            logger.error("Falha ao gravar movimentações do lote para conta {}: {}", contaId, e.getMessage());
+            rejeitarItens(contaId, indicesValidos, "Falha ao gravar movimentações da conta " + contaId, erros);
+            return 0;
+        }
+    }
+
+    public List<MovimentacaoFinanceira> gravarEncadeado(DadosConta conta, List<MovimentacaoFinanceiraDTO> movimentacoes) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Gravação encadeada requer uma transação ativa");
+        }
+
+        travaContaService.travarAteFimDaTransacao(conta.getId());
+        SaldoConta saldoConta = saldoContaService.obterParaAtualizacao(conta.getId());
+        BigDecimal saldo = saldoConta.getSaldo();
+        List<MovimentacaoFinanceira> persistidas = new ArrayList<>(movimentacoes.size());
+
+        for (MovimentacaoFinanceiraDTO dto : movimentacoes) {
+            MovimentacaoFinanceira movimentacao = movimentacaoService.criarMovimentacao(dto, conta, saldo);
+            entityManager.persist(movimentacao);
+            filtroDuplicidadeService.registrar(conta.getId(), movimentacao.getIdentificadorExterno());
+            persistidas.add(movimentacao);
+            saldo = movimentacao.getSaldoAtual();
+
+            if (persistidas.size() % tamanhoChunk == 0) {
+                entityManager.flush();
+                liberarChunk(persistidas);
+            }
+        }
+
+        entityManager.flush();
+        saldoContaService.aplicarMovimentacoes(saldoConta, persistidas);
+        resumoMensalService.aplicarMovimentacoes(persistidas);
+        progressoMetaService.aplicarMovimentacoes(persistidas);
+        eventoService.publicar(persistidas.stream()
+                .map(movimentacao -> new EventoMovimentacao(TipoEventoMovimentacao.REGISTRADA, movimentacao).emLote())
+                .toList());
+        return persistidas;
+    }
+
+    /**
+     * Desanexa apenas as movimentações do chunk recém-gravado. Um {@code clear()} desanexaria também o saldo
+     * travado com PESSIMISTIC_WRITE e as entidades do chamador, que seriam depois gravadas com merge.
+     */
+    private void liberarChunk(List<MovimentacaoFinanceira> persistidas) {
+        for (MovimentacaoFinanceira movimentacao : persistidas.subList(persistidas.size() - tamanhoChunk,
+                persistidas.size())) {
+            entityManager.detach(movimentacao);
+        }
+    }
+
+    private List<Integer> rejeitarDuplicados(Long contaId, List<Integer> indices,
+            List<MovimentacaoFinanceiraDTO> movimentacoes, List<ResultadoLoteDTO.ErroItemLoteDTO> erros) {
+        Set<String> identificadores = new HashSet<>();
+        for (Integer indice : indices) {
+            String identificador = movimentacoes.get(indice).identificadorExterno();
+            if (identificador != null) {
+                identificadores.add(identificador);
+            }
+        }
+        if (identificadores.isEmpty()) {
+            return indices;
+        }
+
+        Set<String> existentes = filtroDuplicidadeService.buscarExistentes(contaId, identificadores);
+        Set<String> vistos = new HashSet<>();
+        List<Integer> validos = new ArrayList<>(indices.size());
+        for (Integer indice : indices) {
+            String identificador = movimentacoes.get(indice).identificadorExterno();
+            if (identificador != null && (existentes.contains(identificador) || !vistos.add(identificador))) {
+                erros.add(new ResultadoLoteDTO.ErroItemLoteDTO(indice, contaId,
+                        "Identificador externo já registrado para a conta: " + identificador));
+            } else {
+                validos.add(indice);
+            }
+        }
+        return validos;
+    }
+
+    private void rejeitarItens(Long contaId, List<Integer> indices, String mensagem,
+            List<ResultadoLoteDTO.ErroItemLoteDTO> erros) {
+        for (Integer indice : indices) {
+            erros.add(new ResultadoLoteDTO.ErroItemLoteDTO(indice, contaId, mensagem));
+        }
+    }
+
+    private void validarLote(List<MovimentacaoFinanceiraDTO> movimentacoes) {
+        if (movimentacoes == null || movimentacoes.isEmpty()) {
+            throw new IllegalArgumentException("Lote de movimentações é obrigatório");
+        }
+        if (movimentacoes.size() > tamanhoMaximo) {
+            throw new IllegalArgumentException("Lote excede o limite de " + tamanhoMaximo + " movimentações");
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoProgressoMetaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MetaEconomiaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Progresso das metas vinculadas a categorias de poupança e investimento. Uma movimentação concluída numa categoria
+ * vinculada, com data a partir do início da meta, é um aporte: a despesa (dinheiro que sai da conta para a aplicação)
+ * soma ao progresso e a receita (resgate) subtrai.
+ *
+ * <p>Os aportes são aplicados na transação da escrita da movimentação, que já tem a trava da conta, por um UPDATE
+ * atômico em {@code meta_economia}; o recálculo a partir do histórico toma a mesma trava, então não se cruza com
+ * nenhum aporte da conta.
+ */
+@Service
+public class ProgressoMetaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressoMetaService.class);
+
+    public static final Set<CategoriaFinanceira> CATEGORIAS_VINCULAVEIS = Collections.unmodifiableSet(
+            EnumSet.of(CategoriaFinanceira.POUPANCA, CategoriaFinanceira.CDB, CategoriaFinanceira.FUNDOS,
+                    CategoriaFinanceira.ACOES, CategoriaFinanceira.CRIPTOMOEDAS,
+                    CategoriaFinanceira.INVESTIMENTOS_APLICADOS));
+
+    private final MetaEconomiaRepository metaRepository;
+    private final MovimentacaoFinanceiraRepository movimentacaoRepository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final ArquivamentoMovimentacaoService arquivamentoService;
+    private final TravaContaService travaContaService;
+    private final ResumoContasService resumoContasService;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore reconciliacoes;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("progresso-meta-", 0).factory());
+    private final Counter aportesCounter;
+    private final Counter divergenciasCounter;
+
+    public ProgressoMetaService(MetaEconomiaRepository metaRepository,
+            MovimentacaoFinanceiraRepository movimentacaoRepository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            ArquivamentoMovimentacaoService arquivamentoService,
+            TravaContaService travaContaService,
+            ResumoContasService resumoContasService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.metas.reconciliacao.paralelismo:4}") int paralelismo) {
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("Paralelismo da reconciliação de metas deve ser maior que zero");
+        }
+        this.metaRepository = metaRepository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.arquivamentoService = arquivamentoService;
+        this.travaContaService = travaContaService;
+        this.resumoContasService = resumoContasService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconciliacoes = new Semaphore(paralelismo);
+        this.aportesCounter = Counter.builder("assitentefinanceiro_metas_aportes_total")
+                .description("Aportes de movimentações aplicados ao progresso das metas")
+                .register(meterRegistry);
+        this.divergenciasCounter = Counter.builder("assitentefinanceiro_metas_progresso_divergencias_total")
+                .description("Metas com progresso divergente do histórico encontradas na reconciliação")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    public void aplicarMovimentacao(MovimentacaoFinanceira movimentacao) {
+        ajustar(movimentacao.getConta().getId(), movimentacao.getCategoria(), movimentacao.getDataMovimentacao(),
+                aporte(movimentacao.getTipoMovimentacao(), movimentacao.getStatus(), movimentacao.getValor()));
+    }
+
+    @Transactional
+    public void aplicarMovimentacoes(List<MovimentacaoFinanceira> movimentacoes) {
+        Map<ChaveAporte, BigDecimal> parciais = new LinkedHashMap<>();
+        for (MovimentacaoFinanceira movimentacao : movimentacoes) {
+            BigDecimal aporte = aporte(movimentacao.getTipoMovimentacao(), movimentacao.getStatus(),
+                    movimentacao.getValor());
+            if (aporte.signum() != 0 && CATEGORIAS_VINCULAVEIS.contains(movimentacao.getCategoria())) {
+                parciais.merge(new ChaveAporte(movimentacao.getConta().getId(), movimentacao.getCategoria(),
+                        movimentacao.getDataMovimentacao()), aporte, BigDecimal::add);
+            }
+        }
+        parciais.forEach((chave, aporte) -> ajustar(chave.contaId(), chave.categoria(), chave.data(), aporte));
+    }
+
+    @Transactional
+    public void reverterMovimentacao(MovimentacaoFinanceira movimentacao) {
+        ajustar(movimentacao.getConta().getId(), movimentacao.getCategoria(), movimentacao.getDataMovimentacao(),
+                aporte(movimentacao.getTipoMovimentacao(), movimentacao.getStatus(), movimentacao.getValor()).negate());
+    }
+
+    /**
+     * Recalcula o progresso da meta a partir das movimentações da conta, com a trava da conta até o fim da
+     * transação corrente. Não grava a meta.
+     */
+    public void recalcular(MetaEconomia meta) {
+        travaContaService.travarAteFimDaTransacao(meta.getConta().getId());
+        meta.redefinirProgresso(calcular(meta));
+    }
+
+    /**
+     * Recalcula o progresso de todas as metas vinculadas a categorias, uma transação por conta, com até
+     * {@code financeiro.metas.reconciliacao.paralelismo} contas ao mesmo tempo.
+     */
+    public ReconciliacaoProgressoMetaDTO reconciliar(boolean corrigir) {
+        long inicio = System.currentTimeMillis();
+        List<Long> contas = metaRepository.findContaIdsComCategoriasVinculadas();
+        logger.info("Iniciando reconciliação do progresso das metas de {} conta(s). Corrigir divergências: {}",
+                contas.size(), corrigir);
+
+        List<Callable<ResultadoConta>> tarefas = contas.stream()
+                .map(contaId -> (Callable<ResultadoConta>) () -> reconciliarConta(contaId, corrigir))
+                .toList();
+        int verificadas = 0;
+        List<ReconciliacaoProgressoMetaDTO.DivergenciaProgressoDTO> divergencias = new ArrayList<>();
+        try {
+            for (Future<ResultadoConta> resultado : executor.invokeAll(tarefas)) {
+                verificadas += resultado.get().verificadas();
+                divergencias.addAll(resultado.get().divergencias());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconciliação do progresso das metas interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro ao reconciliar o progresso das metas", e.getCause());
+        }
+        divergenciasCounter.increment(divergencias.size());
+        if (corrigir && !divergencias.isEmpty()) {
+            resumoContasService.registrarAlteracaoMetas();
+        }
+
+        long duracaoMs = System.currentTimeMillis() - inicio;
+        logger.info("Reconciliação do progresso das metas concluída. Verificadas: {}, Divergentes: {}, Duração: {} ms",
+                verificadas, divergencias.size(), duracaoMs);
+        return new ReconciliacaoProgressoMetaDTO(verificadas, divergencias.size(), corrigir, divergencias, duracaoMs,
+                LocalDateTime.now());
+    }
+
+    static BigDecimal aporte(TipoMovimentacao tipo, StatusMovimentacao status, BigDecimal valor) {
+        if (!StatusMovimentacao.CONCLUIDA.equals(status)) {
+            return BigDecimal.ZERO;
+        }
+        return switch (tipo) {
+            case DESPESA -> valor;
+            case RECEITA -> valor.negate();
+            default -> BigDecimal.ZERO;
+        };
+    }
+
+    private void ajustar(Long contaId, CategoriaFinanceira categoria, LocalDate data, BigDecimal aporte) {
+        if (aporte.signum() == 0 || !CATEGORIAS_VINCULAVEIS.contains(categoria)) {
+            return;
+        }
+        int metas = metaRepository.aplicarAporte(contaId, categoria, data, aporte);
+        if (metas > 0) {
+            aportesCounter.increment();
+            logger.debug("Aporte de {} em {} aplicado a {} meta(s) da conta {}", aporte, categoria, metas, contaId);
+        }
+    }
+
+    private ResultadoConta reconciliarConta(Long contaId, boolean corrigir) throws InterruptedException {
+        reconciliacoes.acquire();
+        try {
+            return transactionTemplate.execute(status -> {
+                travaContaService.travarAteFimDaTransacao(contaId);
+                List<MetaEconomia> metas = metaRepository.findVinculadasACategoriasByContaId(contaId);
+                List<ReconciliacaoProgressoMetaDTO.DivergenciaProgressoDTO> divergencias = new ArrayList<>();
+                for (MetaEconomia meta : metas) {
+                    BigDecimal registrado = meta.getValorAtual();
+                    BigDecimal calculado = calcular(meta);
+                    if (registrado.compareTo(calculado) == 0) {
+                        continue;
+                    }
+                    divergencias.add(new ReconciliacaoProgressoMetaDTO.DivergenciaProgressoDTO(meta.getId(), contaId,
+                            registrado, calculado, registrado.subtract(calculado)));
+                    logger.warn("Divergência de progresso na meta {} da conta {}. Registrado: {}, Calculado: {}",
+                            meta.getId(), contaId, registrado, calculado);
+                    if (corrigir) {
+                        meta.redefinirProgresso(calculado);
+                        metaRepository.save(meta);
+                    }
+                }
+                return new ResultadoConta(metas.size(), divergencias);
+            });
+        } finally {
+            reconciliacoes.release();
+        }
+    }
+
+    private BigDecimal calcular(MetaEconomia meta) {
+        Long contaId = meta.getConta().getId();
+        Set<CategoriaFinanceira> categorias = meta.getCategoriasVinculadas();
+        BigDecimal total = movimentacaoRepository.sumAportesConcluidos(contaId, categorias, meta.getDataInicio())
+                .orElse(BigDecimal.ZERO);
+        if (arquivamentoService.abrangeArquivo(contaId, meta.getDataInicio())) {
+            total = total.add(arquivadaRepository.sumAportesConcluidos(contaId, categorias, meta.getDataInicio())
+                    .orElse(BigDecimal.ZERO));
+        }
+        return total;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private record ChaveAporte(Long contaId, CategoriaFinanceira categoria, LocalDate data) {
+    }
+
+    private record ResultadoConta(int verificadas,
+            List<ReconciliacaoProgressoMetaDTO.DivergenciaProgressoDTO> divergencias) {
+    }
+}
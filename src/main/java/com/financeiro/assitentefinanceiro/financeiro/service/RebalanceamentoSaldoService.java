@@ -0,0 +1,150 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.DeslocamentoSaldoPendente;
+import com.financeiro.assitentefinanceiro.financeiro.repository.DeslocamentoSaldoPendenteRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Desloca {@code saldoAnterior}/{@code saldoAtual} das movimentações registradas depois da alterada. Na transação da
+ * escrita, sob a trava da conta, só o primeiro lote de até {@code financeiro.rebalanceamento.tamanho-lote}
+ * movimentações é atualizado; o restante fica em {@link DeslocamentoSaldoPendente} e é aplicado em segundo plano, um
+ * lote por transação, com a trava da conta só durante o lote.
+ *
+ * <p>Os deslocamentos são somas, então a ordem de aplicação não importa e as escritas feitas enquanto um deles está
+ * pendente continuam certas quando ele termina. Até lá, as movimentações ainda não alcançadas mostram os saldos
+ * encadeados antigos; o saldo da conta, os resumos e os checkpoints não dependem deles.
+ */
+@Service
+public class RebalanceamentoSaldoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RebalanceamentoSaldoService.class);
+    private final MovimentacaoFinanceiraRepository repository;
+    private final DeslocamentoSaldoPendenteRepository pendenteRepository;
+    private final TravaContaService travaContaService;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final DistributionSummary linhasSummary;
+    private final Timer rebalanceamentoTimer;
+
+    public RebalanceamentoSaldoService(MovimentacaoFinanceiraRepository repository,
+            DeslocamentoSaldoPendenteRepository pendenteRepository,
+            TravaContaService travaContaService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.rebalanceamento.tamanho-lote:2000}") int tamanhoLote) {
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote de rebalanceamento deve ser maior que zero");
+        }
+        this.repository = repository;
+        this.pendenteRepository = pendenteRepository;
+        this.travaContaService = travaContaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.linhasSummary = DistributionSummary.builder("assitentefinanceiro_rebalanceamento_linhas")
+                .description("Movimentações posteriores atualizadas por rebalanceamento de saldo")
+                .register(meterRegistry);
+        this.rebalanceamentoTimer = Timer.builder("assitentefinanceiro_rebalanceamento_tempo")
+                .description("Tempo de rebalanceamento dos saldos das movimentações posteriores")
+                .register(meterRegistry);
+
+        Gauge.builder("assitentefinanceiro_rebalanceamento_pendentes", pendenteRepository,
+                        DeslocamentoSaldoPendenteRepository::count)
+                .description("Rebalanceamentos de saldo com movimentações ainda não atualizadas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Atualiza o primeiro lote de movimentações posteriores à alterada e grava o restante, se houver, como pendente.
+     * Devolve a quantidade de movimentações atualizadas agora.
+     */
+    @Transactional
+    public int rebalancearApos(Long contaId, Long movimentacaoId, BigDecimal diferenca) {
+        if (diferenca == null || diferenca.signum() == 0) {
+            return 0;
+        }
+
+        Long ateId = repository.findUltimoIdByContaId(contaId).orElse(movimentacaoId);
+        List<Long> ids = repository.findIdsEntre(contaId, movimentacaoId, ateId, PageRequest.ofSize(tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int linhas = deslocar(contaId, movimentacaoId, ids.getLast(), diferenca);
+        if (ids.getLast() < ateId) {
+            pendenteRepository.save(new DeslocamentoSaldoPendente(contaId, ids.getLast(), ateId, diferenca));
+            logger.info("Rebalanceamento da conta {} posterior à movimentação {} continua em segundo plano até a {}",
+                    contaId, ids.getLast(), ateId);
+        }
+
+        logger.debug("Saldos de {} movimentação(ões) da conta {} posteriores à {} deslocados em {}",
+                linhas, contaId, movimentacaoId, diferenca);
+        return linhas;
+    }
+
+    /**
+     * Aplica os deslocamentos pendentes, um lote por transação, até não restar nenhum.
+     */
+    public int aplicarPendentes() {
+        int total = 0;
+        for (Object[] pendente : pendenteRepository.findIdsEContas()) {
+            Long id = (Long) pendente[0];
+            Long contaId = (Long) pendente[1];
+            int linhas;
+            do {
+                linhas = transactionTemplate.execute(status -> aplicarLote(id, contaId));
+                total += linhas;
+            } while (linhas > 0);
+        }
+        return total;
+    }
+
+    public boolean possuiPendentes(Long contaId) {
+        return pendenteRepository.existsByContaId(contaId);
+    }
+
+    private int aplicarLote(Long id, Long contaId) {
+        travaContaService.travarAteFimDaTransacao(contaId);
+        DeslocamentoSaldoPendente pendente = pendenteRepository.findById(id).orElse(null);
+        if (pendente == null) {
+            return 0;
+        }
+
+        List<Long> ids = repository.findIdsEntre(contaId, pendente.getAposId(), pendente.getAteId(),
+                PageRequest.ofSize(tamanhoLote));
+        if (ids.isEmpty()) {
+            pendenteRepository.delete(pendente);
+            return 0;
+        }
+        int linhas = deslocar(contaId, pendente.getAposId(), ids.getLast(), pendente.getDiferenca());
+        if (ids.getLast() < pendente.getAteId()) {
+            pendente.avancar(ids.getLast());
+        } else {
+            pendenteRepository.delete(pendente);
+            logger.debug("Rebalanceamento pendente {} da conta {} concluído", id, contaId);
+        }
+        return linhas;
+    }
+
+    private int deslocar(Long contaId, Long aposId, Long ateId, BigDecimal diferenca) {
+        long inicio = System.nanoTime();
+        int linhas = repository.deslocarSaldosEntre(contaId, aposId, ateId, diferenca);
+        rebalanceamentoTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        linhasSummary.record(linhas);
+        return linhas;
+    }
+}
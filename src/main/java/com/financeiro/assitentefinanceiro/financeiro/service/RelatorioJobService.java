@@ -0,0 +1,302 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.financeiro.domain.RelatorioJob;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusRelatorioJob;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fila de geração de relatórios PDF fora das threads do Tomcat. Os jobs rodam em threads virtuais, limitados por
+ * um semáforo global e por uma cota de jobs ativos por usuário. Os PDFs prontos ficam em cache pela chave
+ * (conta, período, tipo, título, resumo, sequência de alteração da conta), então um pedido repetido sobre dados
+ * inalterados é concluído sem gerar o relatório de novo.
+ */
+@Service
+public class RelatorioJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioJobService.class);
+
+    private final RelatorioPdfService relatorioPdfService;
+    private final CadastroContaService contaService;
+    private final SaldoContaService saldoContaService;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("relatorio-job-", 0).factory());
+    private final Semaphore execucoes;
+    private final AtomicInteger jobsAtivos = new AtomicInteger();
+    private final Map<String, Integer> jobsAtivosPorUsuario = new ConcurrentHashMap<>();
+    private final Map<ChaveRelatorio, RelatorioJob> jobsEmAndamento = new ConcurrentHashMap<>();
+    private final Cache<String, RelatorioJob> jobs;
+    private final Cache<ChaveRelatorio, RelatorioJob.Artefato> artefatos;
+    private final Path diretorio;
+    private final int maximoPorUsuario;
+    private final int maximoAtivos;
+    private final Counter cacheCounter;
+    private final Counter concluidosCounter;
+    private final Counter falhasCounter;
+    private final Counter rejeitadosCounter;
+    private final Timer esperaTimer;
+
+    public RelatorioJobService(RelatorioPdfService relatorioPdfService,
+            CadastroContaService contaService,
+            SaldoContaService saldoContaService,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.relatorio.jobs.diretorio:${java.io.tmpdir}/assistentefinanceiro-relatorios}") String diretorio,
+            @Value("${financeiro.relatorio.jobs.execucoes-simultaneas:4}") int execucoesSimultaneas,
+            @Value("${financeiro.relatorio.jobs.maximo-por-usuario:2}") int maximoPorUsuario,
+            @Value("${financeiro.relatorio.jobs.maximo-ativos:200}") int maximoAtivos,
+            @Value("${financeiro.relatorio.jobs.retencao-minutos:60}") long retencaoMinutos,
+            @Value("${financeiro.relatorio.cache.tamanho-maximo-mb:512}") long tamanhoMaximoCacheMb) {
+        if (execucoesSimultaneas <= 0 || maximoPorUsuario <= 0 || maximoAtivos <= 0) {
+            throw new IllegalArgumentException("Limites da fila de relatórios devem ser maiores que zero");
+        }
+        this.relatorioPdfService = relatorioPdfService;
+        this.contaService = contaService;
+        this.saldoContaService = saldoContaService;
+        this.execucoes = new Semaphore(execucoesSimultaneas, true);
+        this.diretorio = Paths.get(diretorio);
+        this.maximoPorUsuario = maximoPorUsuario;
+        this.maximoAtivos = maximoAtivos;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(retencaoMinutos))
+                .build();
+        this.artefatos = Caffeine.newBuilder()
+                .maximumWeight(tamanhoMaximoCacheMb * 1024 * 1024)
+                .weigher((ChaveRelatorio chave, RelatorioJob.Artefato artefato) ->
+                        (int) Math.min(Integer.MAX_VALUE, artefato.tamanhoBytes()))
+                .expireAfterAccess(Duration.ofMinutes(retencaoMinutos))
+                .removalListener((ChaveRelatorio chave, RelatorioJob.Artefato artefato, RemovalCause causa) ->
+                        excluirArquivo(artefato != null ? artefato.arquivo() : null))
+                .build();
+        this.cacheCounter = contadorJobs(meterRegistry, "cache");
+        this.concluidosCounter = contadorJobs(meterRegistry, "concluido");
+        this.falhasCounter = contadorJobs(meterRegistry, "falhou");
+        this.rejeitadosCounter = contadorJobs(meterRegistry, "rejeitado");
+        this.esperaTimer = Timer.builder("assitentefinanceiro_relatorio_job_espera")
+                .description("Tempo que os jobs de relatório aguardam na fila antes de executar")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enfileira a geração do relatório ou, quando um PDF com os mesmos parâmetros já foi gerado sobre os dados
+     * atuais da conta, devolve um job já concluído.
+     *
+     * @throws IllegalArgumentException quando a conta não existe
+     * @throws IllegalStateException quando o usuário ou a fila atingiram o limite de jobs ativos
+     */
+    public RelatorioJob submeter(RelatorioPDFParametrosDTO parametros, String usuario) {
+        contaService.buscarContaPorId(parametros.contaId());
+        ChaveRelatorio chave = ChaveRelatorio.de(parametros,
+                saldoContaService.obterSequenciaAlteracao(parametros.contaId()));
+
+        RelatorioJob.Artefato artefato = artefatos.getIfPresent(chave);
+        if (artefato != null && Files.exists(artefato.arquivo())) {
+            RelatorioJob job = RelatorioJob.doCache(UUID.randomUUID().toString(), usuario, parametros.contaId(),
+                    artefato);
+            jobs.put(job.getId(), job);
+            cacheCounter.increment();
+            logger.info("Relatório da conta {} servido do cache. Job: {}, Páginas: {}", parametros.contaId(),
+                    job.getId(), artefato.paginas());
+            return job;
+        }
+
+        RelatorioJob emAndamento = jobsEmAndamento.get(chave);
+        if (emAndamento != null && emAndamento.getUsuario().equals(usuario)) {
+            logger.info("Relatório da conta {} já em geração pelo job {}", parametros.contaId(), emAndamento.getId());
+            return emAndamento;
+        }
+
+        reservar(usuario);
+        RelatorioJob job = new RelatorioJob(UUID.randomUUID().toString(), usuario, parametros.contaId());
+        jobs.put(job.getId(), job);
+        jobsEmAndamento.putIfAbsent(chave, job);
+        agendar(job, parametros, chave);
+        logger.info("Job de relatório {} enfileirado para a conta {} pelo usuário {}", job.getId(),
+                parametros.contaId(), usuario);
+        return job;
+    }
+
+    public RelatorioJob buscarJob(String id, String usuario) {
+        RelatorioJob job = id != null ? jobs.getIfPresent(id) : null;
+        if (job == null || !job.getUsuario().equals(usuario)) {
+            throw new IllegalArgumentException("Job de relatório não encontrado: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Abre o PDF de um job concluído. O arquivo pode ter sido removido do cache depois da conclusão; nesse caso o
+     * relatório precisa ser solicitado de novo.
+     *
+     * @throws IllegalStateException quando o job ainda não terminou, falhou ou o PDF expirou
+     */
+    public InputStream abrirPdf(String id, String usuario) throws IOException {
+        RelatorioJob job = buscarJob(id, usuario);
+        if (!StatusRelatorioJob.CONCLUIDO.equals(job.getStatus())) {
+            throw new IllegalStateException("Relatório ainda não concluído. Status: " + job.getStatus());
+        }
+        try {
+            return Files.newInputStream(job.getArtefato().arquivo());
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("Relatório expirado; solicite-o novamente");
+        }
+    }
+
+    /**
+     * O job só muda para o status final depois de liberar a cota do usuário, para que um cliente que acompanha o
+     * status possa pedir o próximo relatório assim que o anterior terminar.
+     */
+    Future<?> agendar(RelatorioJob job, RelatorioPDFParametrosDTO parametros, ChaveRelatorio chave) {
+        long enfileiradoEm = System.nanoTime();
+        return executor.submit(() -> {
+            RelatorioJob.Artefato artefato = null;
+            String erro = null;
+            try {
+                execucoes.acquire();
+                try {
+                    esperaTimer.record(System.nanoTime() - enfileiradoEm, TimeUnit.NANOSECONDS);
+                    job.iniciar();
+                    artefato = executar(job, parametros, chave);
+                } finally {
+                    execucoes.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                erro = "Geração do relatório interrompida";
+            } catch (Exception e) {
+                erro = e.getMessage();
+                logger.error("Falha no job de relatório {}: {}", job.getId(), e.getMessage(), e);
+            } finally {
+                finalizar(job, chave);
+            }
+            if (artefato != null) {
+                job.concluir(artefato);
+                concluidosCounter.increment();
+            } else {
+                job.falhar(erro);
+                falhasCounter.increment();
+            }
+        });
+    }
+
+    private RelatorioJob.Artefato executar(RelatorioJob job, RelatorioPDFParametrosDTO parametros,
+            ChaveRelatorio chave) throws IOException {
+        Files.createDirectories(diretorio);
+        Path arquivo = Files.createTempFile(diretorio, "relatorio-" + parametros.contaId() + "-", ".pdf");
+        try {
+            int paginas;
+            try (OutputStream saida = Files.newOutputStream(arquivo)) {
+                RelatorioDadosDTO resumo = relatorioPdfService.prepararRelatorio(parametros);
+                paginas = relatorioPdfService.gerarPdf(parametros, resumo, saida);
+            }
+            RelatorioJob.Artefato artefato = new RelatorioJob.Artefato(arquivo, Files.size(arquivo), paginas,
+                    LocalDateTime.now());
+            artefatos.put(chave, artefato);
+            logger.info("Job de relatório {} concluído. Páginas: {}, Bytes: {}", job.getId(), paginas,
+                    artefato.tamanhoBytes());
+            return artefato;
+        } catch (IOException | RuntimeException e) {
+            excluirArquivo(arquivo);
+            throw e;
+        }
+    }
+
+    private void reservar(String usuario) {
+        boolean[] reservado = { false };
+        jobsAtivosPorUsuario.compute(usuario, (chave, ativos) -> {
+            int atuais = ativos != null ? ativos : 0;
+            if (atuais >= maximoPorUsuario) {
+                return ativos;
+            }
+            reservado[0] = true;
+            return atuais + 1;
+        });
+        if (!reservado[0]) {
+            rejeitadosCounter.increment();
+            throw new IllegalStateException("Limite de " + maximoPorUsuario + " relatórios em andamento por usuário atingido");
+        }
+        if (jobsAtivos.incrementAndGet() > maximoAtivos) {
+            jobsAtivos.decrementAndGet();
+            liberar(usuario);
+            rejeitadosCounter.increment();
+            throw new IllegalStateException("Fila de relatórios cheia; tente novamente em instantes");
+        }
+    }
+
+    private void finalizar(RelatorioJob job, ChaveRelatorio chave) {
+        jobsEmAndamento.remove(chave, job);
+        jobsAtivos.decrementAndGet();
+        liberar(job.getUsuario());
+    }
+
+    private void liberar(String usuario) {
+        jobsAtivosPorUsuario.computeIfPresent(usuario, (chave, ativos) -> ativos > 1 ? ativos - 1 : null);
+    }
+
+    private static void excluirArquivo(Path arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            logger.warn("Não foi possível excluir o relatório temporário {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private static Counter contadorJobs(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("assitentefinanceiro_relatorio_job_total")
+                .description("Total de jobs de relatório por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+        artefatos.invalidateAll();
+        artefatos.cleanUp();
+    }
+
+    record ChaveRelatorio(Long contaId, LocalDate dataInicio, LocalDate dataFim, TipoMovimentacao tipoMovimentacao,
+            String tituloRelatorio, boolean incluirResumo, long sequenciaAlteracao) {
+
+        static ChaveRelatorio de(RelatorioPDFParametrosDTO parametros, long sequenciaAlteracao) {
+            return new ChaveRelatorio(parametros.contaId(), parametros.dataInicio(), parametros.dataFim(),
+                    parametros.tipoMovimentacao(), parametros.tituloRelatorio(),
+                    Boolean.TRUE.equals(parametros.incluirResumo()), sequenciaAlteracao);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Gera o extrato em PDF página a página enquanto lê as movimentações por cursor. As páginas já escritas ficam no
+ * cache temporário em disco do PDFBox, então a memória não cresce com o número de linhas.
+ */
+@Service
+public class RelatorioPdfService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioPdfService.class);
+
+    private static final PDRectangle TAMANHO_PAGINA = PDRectangle.A4;
+    private static final float MARGEM = 40f;
+    private static final float ALTURA_LINHA = 14f;
+    private static final float TAMANHO_TITULO = 14f;
+    private static final float TAMANHO_TEXTO = 9f;
+    private static final float TAMANHO_TABELA = 8f;
+    private static final float[] LARGURA_COLUNAS = { 55f, 185f, 85f, 60f, 65f, 65f };
+    private static final String[] TITULO_COLUNAS = { "Data", "Descrição", "Categoria", "Tipo", "Status", "Valor" };
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final Locale LOCALE_BR = Locale.of("pt", "BR");
+
+    /**
+     * Fontes padrão do PDF não são embutidas no documento, então as instâncias com as métricas já carregadas são
+     * compartilhadas entre todos os relatórios.
+     */
+    private static final PDType1Font FONTE_NORMAL = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    private static final PDType1Font FONTE_NEGRITO = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+
+    private final MovimentacaoFinanceiraService movimentacaoService;
+    private final Counter paginasCounter;
+    private final Timer geracaoTimer;
+
+    public RelatorioPdfService(MovimentacaoFinanceiraService movimentacaoService, MeterRegistry meterRegistry) {
+        this.movimentacaoService = movimentacaoService;
+        this.paginasCounter = Counter.builder("assitentefinanceiro_relatorio_pdf_paginas_total")
+                .description("Total de páginas de relatórios PDF geradas")
+                .register(meterRegistry);
+        this.geracaoTimer = Timer.builder("assitentefinanceiro_relatorio_pdf_tempo")
+                .description("Tempo de geração dos relatórios PDF")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Valida os parâmetros e calcula o cabeçalho do relatório antes de a resposta começar a ser transmitida.
+     */
+    public RelatorioDadosDTO prepararRelatorio(RelatorioPDFParametrosDTO parametros) {
+        return movimentacaoService.buscarResumoRelatorio(parametros);
+    }
+
+    @Transactional(readOnly = true)
+    public int gerarPdf(RelatorioPDFParametrosDTO parametros, RelatorioDadosDTO resumo, OutputStream saida)
+            throws IOException {
+        long inicio = System.nanoTime();
+        logger.info("Iniciando geração do relatório PDF da conta {}. Movimentações: {}", parametros.contaId(),
+                resumo.quantidadeMovimentacoes());
+
+        int paginas;
+        try (PDDocument documento = new PDDocument(IOUtils.createTempFileOnlyStreamCache());
+                Stream<MovimentacaoFinanceiraDTO> movimentacoes =
+                        movimentacaoService.streamMovimentacoesRelatorio(parametros)) {
+            paginas = escreverPaginas(documento, parametros, resumo, movimentacoes.iterator());
+
+            BufferedOutputStream buffer = new BufferedOutputStream(saida, 64 * 1024);
+            documento.save(buffer, CompressParameters.NO_COMPRESSION);
+            buffer.flush();
+        }
+
+        geracaoTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        logger.info("Relatório PDF da conta {} concluído. Páginas: {}, Tempo: {}ms", parametros.contaId(), paginas,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return paginas;
+    }
+
+    private int escreverPaginas(PDDocument documento, RelatorioPDFParametrosDTO parametros, RelatorioDadosDTO resumo,
+            Iterator<MovimentacaoFinanceiraDTO> movimentacoes) throws IOException {
+        NumberFormat moeda = NumberFormat.getCurrencyInstance(LOCALE_BR);
+        int paginas = 0;
+        do {
+            PDPage pagina = new PDPage(TAMANHO_PAGINA);
+            documento.addPage(pagina);
+            paginas++;
+
+            try (PDPageContentStream conteudo = new PDPageContentStream(documento, pagina)) {
+                float y = TAMANHO_PAGINA.getHeight() - MARGEM;
+                if (paginas == 1) {
+                    y = escreverCabecalho(conteudo, parametros, resumo, moeda, y);
+                }
+                y = escreverTituloTabela(conteudo, y);
+                while (movimentacoes.hasNext() && y - ALTURA_LINHA >= MARGEM + ALTURA_LINHA) {
+                    y = escreverLinha(conteudo, movimentacoes.next(), moeda, y);
+                }
+                escrever(conteudo, FONTE_NORMAL, TAMANHO_TABELA, MARGEM, MARGEM / 2, "Página " + paginas);
+            }
+            paginasCounter.increment();
+        } while (movimentacoes.hasNext());
+        return paginas;
+    }
+
+    private float escreverCabecalho(PDPageContentStream conteudo, RelatorioPDFParametrosDTO parametros,
+            RelatorioDadosDTO resumo, NumberFormat moeda, float y) throws IOException {
+        escrever(conteudo, FONTE_NEGRITO, TAMANHO_TITULO, MARGEM, y, resumo.tituloRelatorio());
+        y -= ALTURA_LINHA * 1.5f;
+
+        RelatorioDadosDTO.DadosContaResumoDTO conta = resumo.conta();
+        escrever(conteudo, FONTE_NORMAL, TAMANHO_TEXTO, MARGEM, y, "Conta: " + conta.banco() + " - Ag. "
+                + conta.numeroAgencia() + " - Nº " + conta.numeroConta() + " - " + conta.responsavel());
+        y -= ALTURA_LINHA;
+        escrever(conteudo, FONTE_NORMAL, TAMANHO_TEXTO, MARGEM, y, "Período: " + formatarPeriodo(resumo)
+                + (resumo.tipoMovimentacao() != null ? " - Tipo: " + resumo.tipoMovimentacao() : "")
+                + " - Gerado em " + FORMATO_DATA.format(resumo.dataGeracao()));
+        y -= ALTURA_LINHA;
+
+        if (Boolean.TRUE.equals(parametros.incluirResumo())) {
+            escrever(conteudo, FONTE_NORMAL, TAMANHO_TEXTO, MARGEM, y,
+                    "Receitas: " + moeda.format(resumo.totalReceitas())
+                            + "   Despesas: " + moeda.format(resumo.totalDespesas())
+                            + "   Saldo do período: " + moeda.format(resumo.saldoLiquido()));
+            y -= ALTURA_LINHA;
+            escrever(conteudo, FONTE_NORMAL, TAMANHO_TEXTO, MARGEM, y,
+                    "Saldo atual: " + moeda.format(resumo.saldoAtual())
+                            + "   Movimentações: " + resumo.quantidadeMovimentacoes());
+            y -= ALTURA_LINHA;
+        }
+        return y - ALTURA_LINHA / 2;
+    }
+
+    private float escreverTituloTabela(PDPageContentStream conteudo, float y) throws IOException {
+        float x = MARGEM;
+        for (int i = 0; i < TITULO_COLUNAS.length; i++) {
+            escrever(conteudo, FONTE_NEGRITO, TAMANHO_TABELA, x, y, TITULO_COLUNAS[i]);
+            x += LARGURA_COLUNAS[i];
+        }
+        conteudo.setLineWidth(0.5f);
+        conteudo.moveTo(MARGEM, y - 4);
+        conteudo.lineTo(x, y - 4);
+        conteudo.stroke();
+        return y - ALTURA_LINHA;
+    }
+
+    private float escreverLinha(PDPageContentStream conteudo, MovimentacaoFinanceiraDTO movimentacao,
+            NumberFormat moeda, float y) throws IOException {
+        String[] colunas = {
+                FORMATO_DATA.format(movimentacao.dataMovimentacao()),
+                movimentacao.descricao(),
+                String.valueOf(movimentacao.categoria()),
+                String.valueOf(movimentacao.tipoMovimentacao()),
+                String.valueOf(movimentacao.status()),
+                movimentacao.valor() != null ? moeda.format(movimentacao.valor()) : ""
+        };
+        float x = MARGEM;
+        for (int i = 0; i < colunas.length - 1; i++) {
+            escrever(conteudo, FONTE_NORMAL, TAMANHO_TABELA, x, y,
+                    ajustarLargura(colunas[i], LARGURA_COLUNAS[i] - 4));
+            x += LARGURA_COLUNAS[i];
+        }
+        String valor = textoSuportado(colunas[colunas.length - 1]);
+        float larguraValor = largura(FONTE_NORMAL, TAMANHO_TABELA, valor);
+        escrever(conteudo, FONTE_NORMAL, TAMANHO_TABELA, x + LARGURA_COLUNAS[colunas.length - 1] - larguraValor, y,
+                valor);
+        return y - ALTURA_LINHA;
+    }
+
+    private static void escrever(PDPageContentStream conteudo, PDType1Font fonte, float tamanho, float x, float y,
+            String texto) throws IOException {
+        conteudo.beginText();
+        conteudo.setFont(fonte, tamanho);
+        conteudo.newLineAtOffset(x, y);
+        conteudo.showText(textoSuportado(texto));
+        conteudo.endText();
+    }
+
+    private static String ajustarLargura(String texto, float larguraMaxima) throws IOException {
+        String ajustado = textoSuportado(texto);
+        if (largura(FONTE_NORMAL, TAMANHO_TABELA, ajustado) <= larguraMaxima) {
+            return ajustado;
+        }
+        float larguraReticencias = largura(FONTE_NORMAL, TAMANHO_TABELA, "...");
+        int fim = ajustado.length();
+        while (fim > 0 && largura(FONTE_NORMAL, TAMANHO_TABELA, ajustado.substring(0, fim))
+                + larguraReticencias > larguraMaxima) {
+            fim--;
+        }
+        return ajustado.substring(0, fim) + "...";
+    }
+
+    private static float largura(PDType1Font fonte, float tamanho, String texto) throws IOException {
+        return fonte.getStringWidth(texto) / 1000f * tamanho;
+    }
+
+    /**
+     * As fontes padrão usam WinAnsiEncoding: quebras de linha e caracteres fora do Latin-1 seriam rejeitados pelo
+     * PDFBox no meio da transmissão, então são substituídos antes de escrever.
+     */
+    private static String textoSuportado(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        StringBuilder resultado = null;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            boolean suportado = (c >= 0x20 && c <= 0x7E) || (c >= 0xA0 && c <= 0xFF);
+            if (!suportado && resultado == null) {
+                resultado = new StringBuilder(texto.length()).append(texto, 0, i);
+            }
+            if (resultado != null) {
+                resultado.append(suportado ? c : Character.isWhitespace(c) ? ' ' : '?');
+            }
+        }
+        return resultado != null ? resultado.toString() : texto;
+    }
+
+    private static String formatarPeriodo(RelatorioDadosDTO resumo) {
+        LocalDate inicio = resumo.dataInicio() != null ? resumo.dataInicio() : resumo.dataPrimeiraMovimentacao();
+        LocalDate fim = resumo.dataFim() != null ? resumo.dataFim() : resumo.dataUltimaMovimentacao();
+        if (inicio == null || fim == null) {
+            return "sem movimentações";
+        }
+        return FORMATO_DATA.format(inicio) + " a " + FORMATO_DATA.format(fim);
+    }
+}
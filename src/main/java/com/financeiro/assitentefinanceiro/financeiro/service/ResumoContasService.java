@@ -0,0 +1,220 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.common.CursorPaginacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ResumoContasDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MetaEconomiaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.ResumoMensalRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.SaldoContaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resumo consolidado de várias contas com uma consulta agrupada por tabela. O saldo materializado é lido a cada
+ * chamada e traz a marca d'água de cada conta ({@link SaldoConta#getSequenciaAlteracao()}); os totais do mês e a
+ * contagem de metas ativas ficam em cache por conta e só voltam ao banco para as contas cuja marca d'água, mês ou
+ * versão das metas mudou.
+ */
+@Service
+public class ResumoContasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumoContasService.class);
+
+    private final DadosContaRepository contaRepository;
+    private final SaldoContaRepository saldoRepository;
+    private final SaldoContaService saldoContaService;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final MetaEconomiaRepository metaRepository;
+    private final Cache<Long, TotaisConta> totaisPorConta;
+    private final AtomicLong versaoMetas = new AtomicLong();
+    private final Counter cacheCounter;
+    private final Counter bancoCounter;
+
+    public ResumoContasService(DadosContaRepository contaRepository,
+            SaldoContaRepository saldoRepository,
+            SaldoContaService saldoContaService,
+            ResumoMensalRepository resumoMensalRepository,
+            MetaEconomiaRepository metaRepository,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.resumo.cache.maximo-contas:10000}") long maximoContas,
+            @Value("${financeiro.resumo.cache.expiracao-minutos:30}") long expiracaoMinutos) {
+        this.contaRepository = contaRepository;
+        this.saldoRepository = saldoRepository;
+        this.saldoContaService = saldoContaService;
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.metaRepository = metaRepository;
+        this.totaisPorConta = Caffeine.newBuilder()
+                .maximumSize(maximoContas)
+                .expireAfterAccess(Duration.ofMinutes(expiracaoMinutos))
+                .build();
+        this.cacheCounter = contadorContas(meterRegistry, "cache");
+        this.bancoCounter = contadorContas(meterRegistry, "banco");
+    }
+
+    @Transactional
+    public ResumoContasDTO resumirContasDoUsuario(Long usuarioId) {
+        if (usuarioId == null) {
+            throw new IllegalArgumentException("Usuário autenticado é obrigatório");
+        }
+        List<DadosConta> contas = contaRepository.findByUsuarioIdOrderByIdAsc(usuarioId,
+                CursorPaginacao.limite(CursorPaginacao.LIMITE_SEM_PAGINACAO));
+        return resumir(contas);
+    }
+
+    @Transactional
+    public ResumoContasDTO resumirContas(Collection<Long> contaIds) {
+        if (contaIds == null || contaIds.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma conta");
+        }
+        TreeSet<Long> ids = new TreeSet<>();
+        for (Long contaId : contaIds) {
+            if (contaId == null || contaId <= 0) {
+                throw new IllegalArgumentException("ID de conta inválido: " + contaId);
+            }
+            ids.add(contaId);
+        }
+        if (ids.size() > CursorPaginacao.LIMITE_SEM_PAGINACAO) {
+            throw new IllegalArgumentException("Resumo limitado a " + CursorPaginacao.LIMITE_SEM_PAGINACAO + " contas");
+        }
+
+        List<DadosConta> contas = contaRepository.findByIdInOrderByIdAsc(ids);
+        if (contas.size() != ids.size()) {
+            contas.forEach(conta -> ids.remove(conta.getId()));
+            throw new IllegalArgumentException("Conta não encontrada com ID: " + ids.first());
+        }
+        return resumir(contas);
+    }
+
+    /**
+     * Muda a versão das metas depois do commit, para que a contagem de metas ativas de todas as contas seja
+     * consultada de novo. Alterações de metas feitas na transação de uma movimentação já mudam a marca d'água.
+     */
+    public void registrarAlteracaoMetas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versaoMetas.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versaoMetas.incrementAndGet();
+            }
+        });
+    }
+
+    private ResumoContasDTO resumir(List<DadosConta> contas) {
+        String anoMes = YearMonth.now().toString();
+        long versao = versaoMetas.get();
+        List<Long> ids = contas.stream().map(DadosConta::getId).toList();
+
+        Map<Long, SaldoConta> saldos = new HashMap<>();
+        if (!ids.isEmpty()) {
+            saldoRepository.findAllById(ids).forEach(saldo -> saldos.put(saldo.getContaId(), saldo));
+        }
+
+        Map<Long, TotaisConta> totais = new HashMap<>();
+        Map<Long, Long> pendentes = new HashMap<>();
+        for (Long contaId : ids) {
+            SaldoConta saldo = saldos.computeIfAbsent(contaId, saldoContaService::obterOuCalcular);
+            TotaisConta emCache = totaisPorConta.getIfPresent(contaId);
+            if (emCache != null && emCache.valido(saldo.getSequenciaAlteracao(), anoMes, versao)) {
+                totais.put(contaId, emCache);
+            } else {
+                pendentes.put(contaId, saldo.getSequenciaAlteracao());
+            }
+        }
+        cacheCounter.increment(totais.size());
+        if (!pendentes.isEmpty()) {
+            totais.putAll(consultar(pendentes, anoMes, versao));
+            bancoCounter.increment(pendentes.size());
+        }
+
+        List<ResumoContasDTO.ResumoContaDTO> resumos = new ArrayList<>(contas.size());
+        BigDecimal saldoTotal = BigDecimal.ZERO;
+        BigDecimal receitasMes = BigDecimal.ZERO;
+        BigDecimal despesasMes = BigDecimal.ZERO;
+        long metasAtivas = 0;
+        for (DadosConta conta : contas) {
+            BigDecimal saldo = saldos.get(conta.getId()).getSaldo();
+            TotaisConta total = totais.get(conta.getId());
+            resumos.add(new ResumoContasDTO.ResumoContaDTO(conta.getId(), conta.getBanco(), conta.getNumeroConta(),
+                    conta.getTipoConta(), saldo, total.receitas(), total.despesas(), total.metasAtivas()));
+            saldoTotal = saldoTotal.add(saldo);
+            receitasMes = receitasMes.add(total.receitas());
+            despesasMes = despesasMes.add(total.despesas());
+            metasAtivas += total.metasAtivas();
+        }
+
+        logger.debug("Resumo de {} contas montado. Consultadas no banco: {}", contas.size(), pendentes.size());
+        return new ResumoContasDTO(anoMes, saldoTotal, receitasMes, despesasMes, metasAtivas, List.copyOf(resumos),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Totais do mês e metas ativas das contas sem cache válido, guardados com a marca d'água lida antes das
+     * consultas: uma escrita concorrente deixa a entrada com marca antiga e a próxima chamada consulta de novo.
+     */
+    private Map<Long, TotaisConta> consultar(Map<Long, Long> sequencias, String anoMes, long versao) {
+        Map<Long, BigDecimal[]> movimentos = new HashMap<>();
+        for (Object[] linha : resumoMensalRepository.sumTotalConcluidoAgrupadoPorContaETipo(sequencias.keySet(),
+                anoMes)) {
+            BigDecimal[] valores = movimentos.computeIfAbsent((Long) linha[0],
+                    id -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+            valores[TipoMovimentacao.RECEITA.equals(linha[1]) ? 0 : 1] = (BigDecimal) linha[2];
+        }
+        Map<Long, Long> metas = new HashMap<>();
+        for (Object[] linha : metaRepository.countAtivasAgrupadoPorConta(sequencias.keySet())) {
+            metas.put((Long) linha[0], ((Number) linha[1]).longValue());
+        }
+
+        Map<Long, TotaisConta> totais = new HashMap<>();
+        sequencias.forEach((contaId, sequencia) -> {
+            BigDecimal[] valores = movimentos.getOrDefault(contaId,
+                    new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+            TotaisConta total = new TotaisConta(sequencia, anoMes, versao, valores[0], valores[1],
+                    metas.getOrDefault(contaId, 0L));
+            totaisPorConta.put(contaId, total);
+            totais.put(contaId, total);
+        });
+        return totais;
+    }
+
+    private static Counter contadorContas(MeterRegistry meterRegistry, String origem) {
+        return Counter.builder("assitentefinanceiro_resumo_contas_total")
+                .description("Contas incluídas no resumo consolidado por origem dos totais")
+                .tag("origem", origem)
+                .register(meterRegistry);
+    }
+
+    private record TotaisConta(long sequenciaAlteracao, String anoMes, long versaoMetas, BigDecimal receitas,
+            BigDecimal despesas, long metasAtivas) {
+
+        boolean valido(long sequenciaAtual, String anoMesAtual, long versaoAtual) {
+            return sequenciaAlteracao == sequenciaAtual && versaoMetas == versaoAtual && anoMes.equals(anoMesAtual);
+        }
+    }
+}
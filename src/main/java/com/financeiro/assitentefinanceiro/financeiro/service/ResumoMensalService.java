@@ -0,0 +1,187 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.ResumoMensal;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconstrucaoResumoMensalDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.ResumoMensalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class ResumoMensalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumoMensalService.class);
+    private static final YearMonth INICIO_PADRAO = YearMonth.of(1, 1);
+    private static final YearMonth FIM_PADRAO = YearMonth.of(9999, 12);
+
+    private final ResumoMensalRepository repository;
+    private final MovimentacaoFinanceiraRepository movimentacaoRepository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final ArquivamentoMovimentacaoService arquivamentoService;
+    private final TravaContaService travaContaService;
+    private final SaldoCheckpointService saldoCheckpointService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean reconstruirAoIniciar;
+
+    public ResumoMensalService(ResumoMensalRepository repository,
+            MovimentacaoFinanceiraRepository movimentacaoRepository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            ArquivamentoMovimentacaoService arquivamentoService,
+            TravaContaService travaContaService,
+            SaldoCheckpointService saldoCheckpointService,
+            PlatformTransactionManager transactionManager,
+            @Value("${financeiro.resumo-mensal.reconstruir-ao-iniciar:true}") boolean reconstruirAoIniciar) {
+        this.repository = repository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.arquivamentoService = arquivamentoService;
+        this.travaContaService = travaContaService;
+        this.saldoCheckpointService = saldoCheckpointService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconstruirAoIniciar = reconstruirAoIniciar;
+    }
+
+    @Transactional
+    public void aplicarMovimentacao(MovimentacaoFinanceira movimentacao) {
+        ajustar(chave(movimentacao), 1, movimentacao.getValor());
+    }
+
+    @Transactional
+    public void aplicarMovimentacoes(List<MovimentacaoFinanceira> movimentacoes) {
+        Map<ChaveResumo, ResumoMensal> parciais = new LinkedHashMap<>();
+        for (MovimentacaoFinanceira movimentacao : movimentacoes) {
+            ChaveResumo chave = chave(movimentacao);
+            parciais.computeIfAbsent(chave, ChaveResumo::novoResumo).somar(1, movimentacao.getValor());
+        }
+        parciais.forEach((chave, parcial) -> ajustar(chave, parcial.getQuantidade(), parcial.getTotal()));
+        logger.debug("Resumo mensal atualizado com {} movimentações em {} chave(s)",
+                movimentacoes.size(), parciais.size());
+    }
+
+    @Transactional
+    public void reverterMovimentacao(MovimentacaoFinanceira movimentacao) {
+        ajustar(chave(movimentacao), -1, movimentacao.getValor().negate());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResumoMensal> listarPorConta(Long contaId, YearMonth inicio, YearMonth fim) {
+        return repository.findByContaIdAndPeriodo(contaId,
+                (inicio != null ? inicio : INICIO_PADRAO).toString(),
+                (fim != null ? fim : FIM_PADRAO).toString());
+    }
+
+    public int reconstruir(Long contaId) {
+        Integer linhas = transactionTemplate.execute(status -> {
+            travaContaService.travarAteFimDaTransacao(contaId);
+            int removidas = repository.deleteByContaId(contaId);
+
+            List<Object[]> linhas = new ArrayList<>(
+                    movimentacaoRepository.sumValorAgrupadoPorMesCategoriaTipoEStatus(contaId));
+            if (arquivamentoService.abrangeArquivo(contaId, null)) {
+                linhas.addAll(arquivadaRepository.sumValorAgrupadoPorMesCategoriaTipoEStatus(contaId));
+            }
+            Map<ChaveResumo, ResumoMensal> resumos = new LinkedHashMap<>();
+            for (Object[] linha : linhas) {
+                String anoMes = YearMonth.of(((Number) linha[0]).intValue(), ((Number) linha[1]).intValue()).toString();
+                ChaveResumo chave = new ChaveResumo(contaId, anoMes, (CategoriaFinanceira) linha[2],
+                        (TipoMovimentacao) linha[3], (StatusMovimentacao) linha[4]);
+                resumos.computeIfAbsent(chave, ChaveResumo::novoResumo)
+                        .somar(((Number) linha[5]).longValue(), (BigDecimal) linha[6]);
+            }
+            repository.saveAll(resumos.values());
+            int checkpoints = saldoCheckpointService.reconstruir(contaId);
+
+            logger.debug("Resumo mensal da conta {} reconstruído. Linhas removidas: {}, Geradas: {}, Checkpoints: {}",
+                    contaId, removidas, resumos.size(), checkpoints);
+            return resumos.size();
+        });
+        return linhas != null ? linhas : 0;
+    }
+
+    public ReconstrucaoResumoMensalDTO reconstruirTodos() {
+        long inicio = System.currentTimeMillis();
+        Set<Long> contas = new TreeSet<>(movimentacaoRepository.findContaIdsComMovimentacoes());
+        contas.addAll(arquivadaRepository.findContaIdsComMovimentacoes());
+        contas.addAll(repository.findContaIds());
+        logger.info("Iniciando reconstrução do resumo mensal de {} conta(s)", contas.size());
+
+        long linhas = 0;
+        for (Long contaId : contas) {
+            linhas += reconstruir(contaId);
+        }
+
+        long duracaoMs = System.currentTimeMillis() - inicio;
+        logger.info("Reconstrução do resumo mensal concluída. Contas: {}, Linhas: {}, Duração: {} ms",
+                contas.size(), linhas, duracaoMs);
+        return new ReconstrucaoResumoMensalDTO(contas.size(), linhas, duracaoMs, LocalDateTime.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirSeVazio() {
+        if (!reconstruirAoIniciar) {
+            return;
+        }
+        try {
+            if (repository.count() == 0 && (movimentacaoRepository.count() > 0 || arquivadaRepository.count() > 0)) {
+                logger.info("Resumo mensal vazio com movimentações existentes; executando backfill");
+                reconstruirTodos();
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao executar backfill do resumo mensal", e);
+        }
+    }
+
+    private void ajustar(ChaveResumo chave, long quantidade, BigDecimal valor) {
+        ResumoMensal resumo = repository.findByChave(chave.contaId(), chave.anoMes(), chave.categoria(),
+                chave.tipoMovimentacao(), chave.status()).orElseGet(chave::novoResumo);
+        resumo.somar(quantidade, valor);
+
+        if (resumo.isVazio()) {
+            if (resumo.getId() != null) {
+                repository.delete(resumo);
+            }
+        } else {
+            repository.save(resumo);
+        }
+        saldoCheckpointService.aplicarEfeito(chave.contaId(), YearMonth.parse(chave.anoMes()).atDay(1),
+                SaldoConta.efeito(chave.tipoMovimentacao(), chave.status(), valor));
+    }
+
+    private ChaveResumo chave(MovimentacaoFinanceira movimentacao) {
+        LocalDate data = movimentacao.getDataMovimentacao();
+        return new ChaveResumo(movimentacao.getConta().getId(), YearMonth.from(data).toString(),
+                movimentacao.getCategoria(), movimentacao.getTipoMovimentacao(), movimentacao.getStatus());
+    }
+
+    private record ChaveResumo(Long contaId, String anoMes, CategoriaFinanceira categoria,
+            TipoMovimentacao tipoMovimentacao, StatusMovimentacao status) {
+
+        ResumoMensal novoResumo() {
+            return new ResumoMensal(contaId, anoMes, categoria, tipoMovimentacao, status, 0, BigDecimal.ZERO);
+        }
+    }
+}
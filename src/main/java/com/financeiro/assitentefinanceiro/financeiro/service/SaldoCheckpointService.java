@@ -0,0 +1,234 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.AcumuladorCentavos;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoCheckpoint;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.SaldoDiarioDTO;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.SaldoCheckpointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mantém o saldo acumulado de cada conta ao fim de cada mês encerrado. O saldo em uma data é o último
+ * checkpoint até ela somado às movimentações posteriores, no máximo um mês de histórico. O arquivo só é consultado
+ * quando esse intervalo começa antes da data limite do arquivamento da conta.
+ */
+@Service
+public class SaldoCheckpointService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaldoCheckpointService.class);
+
+    private final SaldoCheckpointRepository repository;
+    private final MovimentacaoFinanceiraRepository movimentacaoRepository;
+    private final MovimentacaoArquivadaRepository arquivadaRepository;
+    private final ArquivamentoMovimentacaoService arquivamentoService;
+    private final TravaContaService travaContaService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maximoDiasSerie;
+    private final boolean fecharAoIniciar;
+    private final Timer saldoEmTimer;
+    private final Timer serieTimer;
+
+    public SaldoCheckpointService(SaldoCheckpointRepository repository,
+            MovimentacaoFinanceiraRepository movimentacaoRepository,
+            MovimentacaoArquivadaRepository arquivadaRepository,
+            ArquivamentoMovimentacaoService arquivamentoService,
+            TravaContaService travaContaService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${financeiro.saldo.serie.maximo-dias:1096}") int maximoDiasSerie,
+            @Value("${financeiro.saldo.checkpoint.fechar-ao-iniciar:true}") boolean fecharAoIniciar) {
+        this.repository = repository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.arquivadaRepository = arquivadaRepository;
+        this.arquivamentoService = arquivamentoService;
+        this.travaContaService = travaContaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maximoDiasSerie = maximoDiasSerie;
+        this.fecharAoIniciar = fecharAoIniciar;
+        this.saldoEmTimer = Timer.builder("assitentefinanceiro_saldo_consulta_tempo")
+                .description("Tempo de consulta do saldo histórico a partir dos checkpoints")
+                .tag("consulta", "data")
+                .register(meterRegistry);
+        this.serieTimer = Timer.builder("assitentefinanceiro_saldo_consulta_tempo")
+                .description("Tempo de consulta do saldo histórico a partir dos checkpoints")
+                .tag("consulta", "serie")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    public void aplicarEfeito(Long contaId, LocalDate dataMovimentacao, BigDecimal efeito) {
+        if (efeito.signum() == 0) {
+            return;
+        }
+        int atualizados = repository.somarEfeitoAPartirDe(contaId, dataMovimentacao, efeito, LocalDateTime.now());
+        logger.debug("Efeito {} de {} aplicado a {} checkpoint(s) da conta {}",
+                efeito, dataMovimentacao, atualizados, contaId);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal saldoEm(Long contaId, LocalDate data) {
+        return saldoEmTimer.record(() -> calcularSaldoEm(contaId, data));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SaldoDiarioDTO> serie(Long contaId, LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null || dataFim == null) {
+            throw new IllegalArgumentException("Data de início e fim são obrigatórias");
+        }
+        if (dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+        }
+        if (ChronoUnit.DAYS.between(dataInicio, dataFim) >= maximoDiasSerie) {
+            throw new IllegalArgumentException("Período da série excede o limite de " + maximoDiasSerie + " dias");
+        }
+
+        return serieTimer.record(() -> {
+            int dias = (int) ChronoUnit.DAYS.between(dataInicio, dataFim) + 1;
+            long[] efeitosPorDia = new long[dias];
+            for (Object[] linha : efeitosPorData(contaId, dataInicio, dataFim)) {
+                int indice = (int) ChronoUnit.DAYS.between(dataInicio, (LocalDate) linha[0]);
+                efeitosPorDia[indice] = Math.addExact(efeitosPorDia[indice],
+                        AcumuladorCentavos.centavos((BigDecimal) linha[1]));
+            }
+
+            AcumuladorCentavos saldo = new AcumuladorCentavos()
+                    .adicionar(calcularSaldoEm(contaId, dataInicio.minusDays(1)));
+            List<SaldoDiarioDTO> serie = new ArrayList<>(dias);
+            for (int i = 0; i < dias; i++) {
+                saldo.adicionarCentavos(efeitosPorDia[i]);
+                serie.add(new SaldoDiarioDTO(dataInicio.plusDays(i), saldo.valor()));
+            }
+            return serie;
+        });
+    }
+
+    @Transactional
+    public int reconstruir(Long contaId) {
+        repository.deleteByContaId(contaId);
+        return fecharMeses(contaId, YearMonth.now().minusMonths(1));
+    }
+
+    public int fecharMesesEncerrados() {
+        YearMonth ultimoMesEncerrado = YearMonth.now().minusMonths(1);
+        int criados = 0;
+        for (Long contaId : movimentacaoRepository.findContaIdsComMovimentacoes()) {
+            Integer criadosConta = transactionTemplate.execute(status -> {
+                travaContaService.travarAteFimDaTransacao(contaId);
+                return fecharMeses(contaId, ultimoMesEncerrado);
+            });
+            criados += criadosConta != null ? criadosConta : 0;
+        }
+        logger.info("Checkpoints de saldo gerados até {}: {}", ultimoMesEncerrado, criados);
+        return criados;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void fecharMesesAoIniciar() {
+        if (!fecharAoIniciar) {
+            return;
+        }
+        try {
+            fecharMesesEncerrados();
+        } catch (Exception e) {
+            logger.error("Erro ao gerar checkpoints de saldo na inicialização", e);
+        }
+    }
+
+    private int fecharMeses(Long contaId, YearMonth ate) {
+        Optional<SaldoCheckpoint> ultimo = repository.findFirstByContaIdOrderByDataReferenciaDesc(contaId);
+        YearMonth mes;
+        BigDecimal saldo;
+        if (ultimo.isPresent()) {
+            mes = YearMonth.from(ultimo.get().getDataReferencia()).plusMonths(1);
+            saldo = ultimo.get().getSaldo();
+        } else {
+            Optional<LocalDate> primeiraData = movimentacaoRepository.findPrimeiraDataMovimentacao(contaId);
+            if (arquivamentoService.abrangeArquivo(contaId, null)) {
+                Optional<LocalDate> primeiraArquivada = arquivadaRepository.findPrimeiraDataMovimentacao(contaId);
+                if (primeiraArquivada.isPresent()
+                        && (primeiraData.isEmpty() || primeiraArquivada.get().isBefore(primeiraData.get()))) {
+                    primeiraData = primeiraArquivada;
+                }
+            }
+            if (primeiraData.isEmpty()) {
+                return 0;
+            }
+            mes = YearMonth.from(primeiraData.get());
+            saldo = BigDecimal.ZERO;
+        }
+        if (mes.isAfter(ate)) {
+            return 0;
+        }
+
+        int meses = (int) ChronoUnit.MONTHS.between(mes, ate) + 1;
+        long[] efeitosPorMes = new long[meses];
+        for (Object[] linha : efeitosPorData(contaId, mes.atDay(1), ate.atEndOfMonth())) {
+            int indice = (int) ChronoUnit.MONTHS.between(mes, YearMonth.from((LocalDate) linha[0]));
+            efeitosPorMes[indice] = Math.addExact(efeitosPorMes[indice],
+                    AcumuladorCentavos.centavos((BigDecimal) linha[1]));
+        }
+
+        AcumuladorCentavos acumulado = new AcumuladorCentavos().adicionar(saldo);
+        List<SaldoCheckpoint> checkpoints = new ArrayList<>(meses);
+        for (int i = 0; i < meses; i++) {
+            acumulado.adicionarCentavos(efeitosPorMes[i]);
+            checkpoints.add(new SaldoCheckpoint(contaId, mes.plusMonths(i).atEndOfMonth(), acumulado.valor()));
+        }
+        repository.saveAll(checkpoints);
+
+        logger.debug("Conta {}: {} checkpoint(s) de saldo gerado(s) até {}", contaId, checkpoints.size(), ate);
+        return checkpoints.size();
+    }
+
+    private BigDecimal calcularSaldoEm(Long contaId, LocalDate data) {
+        Optional<SaldoCheckpoint> checkpoint = repository
+                .findFirstByContaIdAndDataReferenciaLessThanEqualOrderByDataReferenciaDesc(contaId, data);
+        Optional<BigDecimal> efeito = checkpoint.isPresent()
+                ? movimentacaoRepository.sumEfeitoSaldoEntre(contaId, checkpoint.get().getDataReferencia(), data)
+                : movimentacaoRepository.sumEfeitoSaldoAte(contaId, data);
+        BigDecimal saldo = checkpoint.map(SaldoCheckpoint::getSaldo).orElse(BigDecimal.ZERO)
+                .add(efeito.orElse(BigDecimal.ZERO));
+
+        LocalDate inicio = checkpoint.map(c -> c.getDataReferencia().plusDays(1)).orElse(null);
+        if (arquivamentoService.abrangeArquivo(contaId, inicio)) {
+            Optional<BigDecimal> efeitoArquivado = checkpoint.isPresent()
+                    ? arquivadaRepository.sumEfeitoSaldoEntre(contaId, checkpoint.get().getDataReferencia(), data)
+                    : arquivadaRepository.sumEfeitoSaldoAte(contaId, data);
+            saldo = saldo.add(efeitoArquivado.orElse(BigDecimal.ZERO));
+        }
+        return saldo;
+    }
+
+    /**
+     * Efeito no saldo por data das duas tabelas; uma data pode aparecer uma vez em cada.
+     */
+    private List<Object[]> efeitosPorData(Long contaId, LocalDate dataInicio, LocalDate dataFim) {
+        List<Object[]> efeitos = movimentacaoRepository.sumEfeitoSaldoAgrupadoPorData(contaId, dataInicio, dataFim);
+        if (!arquivamentoService.abrangeArquivo(contaId, dataInicio)) {
+            return efeitos;
+        }
+        List<Object[]> todos = new ArrayList<>(efeitos);
+        todos.addAll(arquivadaRepository.sumEfeitoSaldoAgrupadoPorData(contaId, dataInicio, dataFim));
+        return todos;
+    }
+}
@@ -0,0 +1,194 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoAbertura;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoSaldoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.SaldoAberturaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.SaldoContaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class SaldoContaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaldoContaService.class);
+    private final SaldoContaRepository repository;
+    private final MovimentacaoFinanceiraRepository movimentacaoRepository;
+    private final SaldoAberturaRepository aberturaRepository;
+
+    public SaldoContaService(SaldoContaRepository repository,
+            MovimentacaoFinanceiraRepository movimentacaoRepository,
+            SaldoAberturaRepository aberturaRepository) {
+        this.repository = repository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.aberturaRepository = aberturaRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal obterSaldo(Long contaId) {
+        return obterOuCalcular(contaId).getSaldo();
+    }
+
+    /**
+     * Marca d'água das movimentações da conta: muda sempre que uma movimentação é registrada, alterada, estornada
+     * ou excluída.
+     */
+    @Transactional(readOnly = true)
+    public long obterSequenciaAlteracao(Long contaId) {
+        return obterOuCalcular(contaId).getSequenciaAlteracao();
+    }
+
+    /**
+     * Saldo materializado da conta ou, se ainda não existe, calculado a partir do histórico sem gravar: leituras
+     * não criam a linha, que nasce na primeira escrita via {@link #obterParaAtualizacao}.
+     */
+    @Transactional(readOnly = true)
+    public SaldoConta obterOuCalcular(Long contaId) {
+        return repository.findById(contaId).orElseGet(() -> calcular(contaId));
+    }
+
+    @Transactional
+    public SaldoConta obterParaAtualizacao(Long contaId) {
+        return repository.findByContaIdParaAtualizacao(contaId).orElseGet(() -> inicializar(contaId));
+    }
+
+    @Transactional
+    public void aplicarMovimentacao(SaldoConta saldoConta, MovimentacaoFinanceira movimentacao) {
+        saldoConta.aplicar(movimentacao.getTipoMovimentacao(), movimentacao.getStatus(),
+                movimentacao.getValor(), movimentacao.getId());
+        repository.save(saldoConta);
+        logger.debug("Saldo materializado da conta {} atualizado para {} (movimentação {})",
+                saldoConta.getContaId(), saldoConta.getSaldo(), movimentacao.getId());
+    }
+
+    @Transactional
+    public void aplicarMovimentacoes(SaldoConta saldoConta, List<MovimentacaoFinanceira> movimentacoes) {
+        for (MovimentacaoFinanceira movimentacao : movimentacoes) {
+            saldoConta.aplicar(movimentacao.getTipoMovimentacao(), movimentacao.getStatus(),
+                    movimentacao.getValor(), movimentacao.getId());
+        }
+        repository.save(saldoConta);
+        logger.debug("Saldo materializado da conta {} atualizado para {} ({} movimentações)",
+                saldoConta.getContaId(), saldoConta.getSaldo(), movimentacoes.size());
+    }
+
+    @Transactional
+    public void reverterMovimentacao(SaldoConta saldoConta, TipoMovimentacao tipoMovimentacao,
+            StatusMovimentacao status, BigDecimal valor, Long movimentacaoId) {
+        saldoConta.reverter(tipoMovimentacao, status, valor, movimentacaoId);
+        repository.save(saldoConta);
+        logger.debug("Efeito da movimentação {} revertido no saldo da conta {}. Novo saldo: {}",
+                movimentacaoId, saldoConta.getContaId(), saldoConta.getSaldo());
+    }
+
+    @Transactional
+    public ReconciliacaoSaldoDTO reconciliarSaldos(boolean corrigir) {
+        logger.info("Iniciando reconciliação dos saldos materializados. Corrigir divergências: {}", corrigir);
+
+        Map<Long, BigDecimal[]> totaisCalculados = new HashMap<>();
+        Map<Long, Long> ultimasMovimentacoes = new HashMap<>();
+        for (SaldoAbertura abertura : aberturaRepository.findAll()) {
+            totaisCalculados.put(abertura.getContaId(),
+                    new BigDecimal[] { abertura.getTotalReceitas(), abertura.getTotalDespesas() });
+            if (abertura.getUltimaMovimentacaoId() != null) {
+                ultimasMovimentacoes.put(abertura.getContaId(), abertura.getUltimaMovimentacaoId());
+            }
+        }
+        for (Object[] linha : movimentacaoRepository.sumValorConcluidoAgrupadoPorContaETipo()) {
+            Long contaId = (Long) linha[0];
+            TipoMovimentacao tipo = (TipoMovimentacao) linha[1];
+            BigDecimal total = (BigDecimal) linha[2];
+            Long ultimaId = (Long) linha[3];
+
+            BigDecimal[] totais = totaisCalculados.computeIfAbsent(contaId,
+                    id -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+            int indice = TipoMovimentacao.RECEITA.equals(tipo) ? 0 : 1;
+            totais[indice] = totais[indice].add(total);
+            ultimasMovimentacoes.merge(contaId, ultimaId, Math::max);
+        }
+
+        List<ReconciliacaoSaldoDTO.DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+        Set<Long> contasVerificadas = new HashSet<>();
+
+        for (SaldoConta saldoConta : repository.findAll()) {
+            contasVerificadas.add(saldoConta.getContaId());
+            BigDecimal[] totais = totaisCalculados.getOrDefault(saldoConta.getContaId(),
+                    new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+            BigDecimal saldoCalculado = totais[0].subtract(totais[1]);
+
+            if (saldoConta.getSaldo().compareTo(saldoCalculado) != 0
+                    || saldoConta.getTotalReceitas().compareTo(totais[0]) != 0
+                    || saldoConta.getTotalDespesas().compareTo(totais[1]) != 0) {
+                divergencias.add(new ReconciliacaoSaldoDTO.DivergenciaSaldoDTO(saldoConta.getContaId(),
+                        saldoConta.getSaldo(), saldoCalculado, saldoConta.getSaldo().subtract(saldoCalculado)));
+                logger.warn("Divergência de saldo na conta {}. Registrado: {}, Calculado: {}",
+                        saldoConta.getContaId(), saldoConta.getSaldo(), saldoCalculado);
+
+                if (corrigir) {
+                    saldoConta.redefinir(totais[0], totais[1],
+                            ultimasMovimentacoes.get(saldoConta.getContaId()));
+                    repository.save(saldoConta);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, BigDecimal[]> entrada : totaisCalculados.entrySet()) {
+            if (contasVerificadas.add(entrada.getKey())) {
+                BigDecimal saldoCalculado = entrada.getValue()[0].subtract(entrada.getValue()[1]);
+                logger.info("Conta {} sem saldo materializado. Saldo calculado: {}", entrada.getKey(), saldoCalculado);
+                if (corrigir) {
+                    repository.save(new SaldoConta(entrada.getKey(), entrada.getValue()[0], entrada.getValue()[1],
+                            ultimasMovimentacoes.get(entrada.getKey())));
+                }
+            }
+        }
+
+        logger.info("Reconciliação de saldos concluída. Contas verificadas: {}, Divergentes: {}",
+                contasVerificadas.size(), divergencias.size());
+
+        return new ReconciliacaoSaldoDTO(contasVerificadas.size(), divergencias.size(), corrigir,
+                divergencias, LocalDateTime.now());
+    }
+
+    private SaldoConta inicializar(Long contaId) {
+        SaldoConta saldoConta = repository.save(calcular(contaId));
+        logger.info("Saldo materializado inicializado para conta {}. Receitas: {}, Despesas: {}, Saldo: {}",
+                contaId, saldoConta.getTotalReceitas(), saldoConta.getTotalDespesas(), saldoConta.getSaldo());
+        return saldoConta;
+    }
+
+    /**
+     * Saldo inicial a partir do histórico da tabela principal somado ao saldo de abertura das movimentações
+     * arquivadas.
+     */
+    private SaldoConta calcular(Long contaId) {
+        Optional<SaldoAbertura> abertura = aberturaRepository.findById(contaId);
+        BigDecimal totalReceitas = movimentacaoRepository
+                .sumValorByContaIdAndTipoMovimentacao(contaId, TipoMovimentacao.RECEITA)
+                .orElse(BigDecimal.ZERO)
+                .add(abertura.map(SaldoAbertura::getTotalReceitas).orElse(BigDecimal.ZERO));
+
+        BigDecimal totalDespesas = movimentacaoRepository
+                .sumValorByContaIdAndTipoMovimentacao(contaId, TipoMovimentacao.DESPESA)
+                .orElse(BigDecimal.ZERO)
+                .add(abertura.map(SaldoAbertura::getTotalDespesas).orElse(BigDecimal.ZERO));
+
+        return new SaldoConta(contaId, totalReceitas, totalDespesas, null);
+    }
+}
@@ -0,0 +1,94 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class TravaContaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TravaContaService.class);
+    private final ReentrantLock[] travas;
+    private final Counter[] contencoes;
+    private final Timer[] esperas;
+    private final long timeoutMs;
+
+    public TravaContaService(MeterRegistry meterRegistry,
+            @Value("${financeiro.travas.stripes:64}") int stripes,
+            @Value("${financeiro.travas.timeout-ms:10000}") long timeoutMs) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Quantidade de stripes deve ser maior que zero");
+        }
+        this.timeoutMs = timeoutMs;
+        this.travas = new ReentrantLock[stripes];
+        this.contencoes = new Counter[stripes];
+        this.esperas = new Timer[stripes];
+
+        for (int i = 0; i < stripes; i++) {
+            String stripe = String.valueOf(i);
+            travas[i] = new ReentrantLock();
+            contencoes[i] = Counter.builder("assitentefinanceiro_conta_trava_contencao_total")
+                    .description("Total de escritas que aguardaram a trava da conta")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            esperas[i] = Timer.builder("assitentefinanceiro_conta_trava_espera")
+                    .description("Tempo de espera pela trava da conta")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+
+    public void travarAteFimDaTransacao(Long contaId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Trava de conta requer uma transação ativa");
+        }
+
+        int stripe = stripe(contaId);
+        ReentrantLock trava = travas[stripe];
+        if (trava.isHeldByCurrentThread()) {
+            return;
+        }
+
+        adquirir(contaId, stripe);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                trava.unlock();
+            }
+        });
+    }
+
+    int stripe(Long contaId) {
+        return Math.floorMod(Long.hashCode(contaId) * 0x9E3779B9, travas.length);
+    }
+
+    private void adquirir(Long contaId, int stripe) {
+        ReentrantLock trava = travas[stripe];
+        if (trava.tryLock()) {
+            return;
+        }
+
+        contencoes[stripe].increment();
+        long inicio = System.nanoTime();
+        try {
+            if (!trava.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.error("Tempo esgotado aguardando trava da conta {} (stripe {})", contaId, stripe);
+                throw new IllegalStateException("Conta " + contaId + " ocupada por outra operação");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando trava da conta " + contaId, e);
+        } finally {
+            esperas[stripe].record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+}
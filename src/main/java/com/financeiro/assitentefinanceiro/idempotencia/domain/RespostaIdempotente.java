@@ -0,0 +1,80 @@
+package com.financeiro.assitentefinanceiro.idempotencia.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta gravada para uma chave de idempotência. A {@code chave} é o hash do usuário, método, caminho e valor do
+ * cabeçalho {@code Idempotency-Key}; a {@code impressao} é o hash da query string e do corpo da primeira requisição,
+ * para recusar a mesma chave reutilizada com outro conteúdo.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "resposta_idempotente", indexes = {
+        @Index(name = "idx_resposta_idempotente_expiracao", columnList = "dataExpiracao")
+})
+public class RespostaIdempotente implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String chave;
+
+    @Column(nullable = false, length = 64)
+    private String impressao;
+
+    @Column(nullable = false)
+    private int status;
+
+    private String tipoConteudo;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] corpo;
+
+    @Column(nullable = false)
+    private LocalDateTime dataRegistro;
+
+    @Column(nullable = false)
+    private LocalDateTime dataExpiracao;
+
+    /**
+     * A chave é atribuída pela aplicação; sem isto o {@code save} faria um SELECT antes de cada INSERT.
+     */
+    @Transient
+    private boolean nova = true;
+
+    public RespostaIdempotente(String chave, String impressao, int status, String tipoConteudo, byte[] corpo,
+            LocalDateTime dataExpiracao) {
+        this.chave = chave;
+        this.impressao = impressao;
+        this.status = status;
+        this.tipoConteudo = tipoConteudo;
+        this.corpo = corpo;
+        this.dataRegistro = LocalDateTime.now();
+        this.dataExpiracao = dataExpiracao;
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    @PostLoad
+    void marcarCarregada() {
+        this.nova = false;
+    }
+
+    public boolean isExpirada(LocalDateTime agora) {
+        return !dataExpiracao.isAfter(agora);
+    }
+}
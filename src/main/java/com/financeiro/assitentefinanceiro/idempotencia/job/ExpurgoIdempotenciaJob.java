@@ -0,0 +1,27 @@
+package com.financeiro.assitentefinanceiro.idempotencia.job;
+
+import com.financeiro.assitentefinanceiro.idempotencia.service.IdempotenciaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ExpurgoIdempotenciaJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpurgoIdempotenciaJob.class);
+    private final IdempotenciaService idempotenciaService;
+
+    public ExpurgoIdempotenciaJob(IdempotenciaService idempotenciaService) {
+        this.idempotenciaService = idempotenciaService;
+    }
+
+    @Scheduled(cron = "${financeiro.idempotencia.expurgo.cron:0 0 5 * * *}")
+    public void expurgar() {
+        try {
+            idempotenciaService.expurgar();
+        } catch (Exception e) {
+            logger.error("Erro ao expurgar respostas idempotentes expiradas", e);
+        }
+    }
+}
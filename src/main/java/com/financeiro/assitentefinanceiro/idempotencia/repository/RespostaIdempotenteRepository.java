@@ -0,0 +1,18 @@
+package com.financeiro.assitentefinanceiro.idempotencia.repository;
+
+import com.financeiro.assitentefinanceiro.idempotencia.domain.RespostaIdempotente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RespostaIdempotenteRepository extends JpaRepository<RespostaIdempotente, String> {
+
+    @Modifying
+    @Query("DELETE FROM RespostaIdempotente r WHERE r.dataExpiracao <= :agora")
+    int deleteExpiradas(@Param("agora") LocalDateTime agora);
+}
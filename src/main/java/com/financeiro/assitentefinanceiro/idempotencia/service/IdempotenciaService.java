@@ -0,0 +1,174 @@
+package com.financeiro.assitentefinanceiro.idempotencia.service;
+
+import com.financeiro.assitentefinanceiro.idempotencia.domain.RespostaIdempotente;
+import com.financeiro.assitentefinanceiro.idempotencia.repository.RespostaIdempotenteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Respostas das requisições com {@code Idempotency-Key}: em memória (Caffeine, limitado e expirando junto com a
+ * resposta) e gravadas em {@code resposta_idempotente} para sobreviver a reinícios. Cada chave tem no máximo uma
+ * execução em andamento por instância; as repetições concorrentes aguardam o {@link CompletableFuture} dela.
+ */
+@Service
+public class IdempotenciaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaService.class);
+
+    private final RespostaIdempotenteRepository repository;
+    private final Cache<String, RespostaIdempotente> respostas;
+    private final ConcurrentHashMap<String, CompletableFuture<RespostaIdempotente>> emAndamento =
+            new ConcurrentHashMap<>();
+    private final Duration validade;
+    private final long esperaMaximaMs;
+    private final int tamanhoMaximoResposta;
+
+    public IdempotenciaService(RespostaIdempotenteRepository repository,
+            @Value("${financeiro.idempotencia.validade-horas:24}") long validadeHoras,
+            @Value("${financeiro.idempotencia.maximo-entradas:10000}") long maximoEntradas,
+            @Value("${financeiro.idempotencia.espera-maxima-ms:30000}") long esperaMaximaMs,
+            @Value("${financeiro.idempotencia.tamanho-maximo-resposta:1048576}") int tamanhoMaximoResposta) {
+        this.repository = repository;
+        this.validade = Duration.ofHours(validadeHoras);
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.tamanhoMaximoResposta = tamanhoMaximoResposta;
+        this.respostas = Caffeine.newBuilder()
+                .maximumSize(maximoEntradas)
+                .expireAfter(new ExpiracaoResposta())
+                .build();
+    }
+
+    /**
+     * Resposta já gravada para a chave, da memória ou, na falta, do banco.
+     */
+    public Optional<RespostaIdempotente> buscar(String chave) {
+        Optional<RespostaIdempotente> emMemoria = buscarEmMemoria(chave);
+        if (emMemoria.isPresent()) {
+            return emMemoria;
+        }
+        Optional<RespostaIdempotente> gravada = repository.findById(chave)
+                .filter(encontrada -> !encontrada.isExpirada(LocalDateTime.now()));
+        gravada.ifPresent(encontrada -> respostas.put(chave, encontrada));
+        return gravada;
+    }
+
+    /**
+     * Resposta gravada por uma execução desta instância; basta para conferir, logo depois de reservar, se outra
+     * execução da chave terminou entre a busca e a reserva.
+     */
+    public Optional<RespostaIdempotente> buscarEmMemoria(String chave) {
+        return Optional.ofNullable(respostas.getIfPresent(chave));
+    }
+
+    /**
+     * Reserva a execução da chave. Devolve {@code null} quando a reserva é de quem chamou, que deve executar a
+     * requisição e depois chamar {@link #concluir}; caso contrário, devolve a execução em andamento.
+     */
+    public CompletableFuture<RespostaIdempotente> reservar(String chave) {
+        return emAndamento.putIfAbsent(chave, new CompletableFuture<>());
+    }
+
+    /**
+     * Aguarda a execução em andamento. Vazio quando ela terminou sem resposta gravável (erro do servidor ou resposta
+     * grande demais); nesse caso a repetição pode tentar reservar de novo.
+     */
+    public Optional<RespostaIdempotente> aguardar(CompletableFuture<RespostaIdempotente> execucao)
+            throws InterruptedException, TimeoutException {
+        try {
+            return Optional.ofNullable(execucao.get(esperaMaximaMs, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Grava a resposta da execução reservada, quando ela pode ser repetida, e libera quem aguarda. Respostas de erro
+     * do servidor não são gravadas: a próxima requisição com a chave executa de novo.
+     */
+    public RespostaIdempotente concluir(String chave, String impressao, int status, String tipoConteudo,
+            byte[] corpo) {
+        RespostaIdempotente resposta = null;
+        try {
+            if (status >= 500) {
+                logger.debug("Resposta {} da chave de idempotência não gravada", status);
+            } else if (corpo.length > tamanhoMaximoResposta) {
+                logger.warn("Resposta de {} bytes acima do limite de idempotência ({} bytes) não gravada",
+                        corpo.length, tamanhoMaximoResposta);
+            } else {
+                resposta = new RespostaIdempotente(chave, impressao, status, tipoConteudo, corpo,
+                        LocalDateTime.now().plus(validade));
+                respostas.put(chave, resposta);
+                gravar(resposta);
+            }
+        } finally {
+            liberar(chave, resposta);
+        }
+        return resposta;
+    }
+
+    /**
+     * Libera a reserva da chave, entregando a resposta (ou nada) a quem aguarda.
+     */
+    public void liberar(String chave, RespostaIdempotente resposta) {
+        CompletableFuture<RespostaIdempotente> reserva = emAndamento.remove(chave);
+        if (reserva != null) {
+            reserva.complete(resposta);
+        }
+    }
+
+    public int getTamanhoMaximoResposta() {
+        return tamanhoMaximoResposta;
+    }
+
+    @Transactional
+    public int expurgar() {
+        int removidas = repository.deleteExpiradas(LocalDateTime.now());
+        logger.info("Respostas idempotentes expiradas removidas: {}", removidas);
+        return removidas;
+    }
+
+    /**
+     * A gravação no banco é a cópia durável; se falhar (outra instância gravou a mesma chave, banco indisponível),
+     * a resposta continua em memória e a requisição não é afetada.
+     */
+    private void gravar(RespostaIdempotente resposta) {
+        try {
+            repository.save(resposta);
+        } catch (Exception e) {
+            logger.warn("Não foi possível gravar a resposta idempotente: {}", e.getMessage());
+        }
+    }
+
+    private static class ExpiracaoResposta implements Expiry<String, RespostaIdempotente> {
+
+        @Override
+        public long expireAfterCreate(String chave, RespostaIdempotente resposta, long agora) {
+            return Math.max(0, Duration.between(LocalDateTime.now(), resposta.getDataExpiracao()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, RespostaIdempotente resposta, long agora, long duracaoAtual) {
+            return expireAfterCreate(chave, resposta, agora);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, RespostaIdempotente resposta, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
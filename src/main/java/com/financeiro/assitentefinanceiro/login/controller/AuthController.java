@@ -1,6 +1,7 @@
 package com.financeiro.assitentefinanceiro.login.controller;
 
 import com.financeiro.assitentefinanceiro.common.ApiResponse;
+import com.financeiro.assitentefinanceiro.common.Pagina;
 import com.financeiro.assitentefinanceiro.login.domain.dto.LoginResponseDTO;
 import com.financeiro.assitentefinanceiro.login.domain.dto.RegistroUsuarioDTO;
 import com.financeiro.assitentefinanceiro.login.domain.dto.AtualizacaoUsuarioDTO;
@@ -190,6 +191,32 @@ public class AuthController {
         }
     }
 
+    @Operation(summary = "Listar usuários paginados", description = "Lista usuários cadastrados navegando por cursor")
+    @GetMapping("/listarUsuarios/pagina")
+    public ResponseEntity<ApiResponse<Pagina<UsuarioResponseDTO>>> listarUsuariosPaginados(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        try {
+            logger.info("Solicitação para listar usuários paginados. Tamanho: {}", tamanho);
+
+            Pagina<UsuarioResponseDTO> pagina = usuarioService.listarPaginado(cursor, tamanho)
+                    .map(UsuarioResponseDTO::fromUsuario);
+
+            return ResponseEntity.ok(
+                    ApiResponse.sucesso("Usuários listados com sucesso", pagina)
+            );
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Parâmetros de paginação inválidos: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.erro("Dados inválidos", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Erro ao listar usuários paginados: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.erro("Erro interno do servidor", "Não foi possível listar os usuários. Tente novamente mais tarde."));
+        }
+    }
+
     @Operation(summary = "Buscar usuário por ID", description = "Retorna os dados de um usuário específico pelo ID")
     @GetMapping("/buscarUsuario/{id}")
     public ResponseEntity<ApiResponse<UsuarioResponseDTO>> buscarUsuarioPorId(@PathVariable Long id) {
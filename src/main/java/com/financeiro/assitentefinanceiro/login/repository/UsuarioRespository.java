@@ -1,9 +1,11 @@
 package com.financeiro.assitentefinanceiro.login.repository;
 
 import com.financeiro.assitentefinanceiro.login.domain.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +13,6 @@ public interface UsuarioRespository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    List<Usuario> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -1,5 +1,7 @@
 package com.financeiro.assitentefinanceiro.login.service;
 
+import com.financeiro.assitentefinanceiro.common.CursorPaginacao;
+import com.financeiro.assitentefinanceiro.common.Pagina;
 import com.financeiro.assitentefinanceiro.login.domain.Usuario;
 import com.financeiro.assitentefinanceiro.login.domain.dto.RegistroUsuarioDTO;
 import com.financeiro.assitentefinanceiro.login.domain.dto.AtualizacaoUsuarioDTO;
@@ -95,12 +97,29 @@ public class UsuarioService implements UserDetailsService {
     public List<Usuario> listarTodos() {
         return executarComTratamentoErro(() -> {
             logger.info("Buscando lista de todos os usuários");
-            List<Usuario> usuarios = usuarioRespository.findAll();
+            List<Usuario> usuarios = usuarioRespository.findByIdGreaterThanOrderByIdAsc(0L,
+                    CursorPaginacao.limite(CursorPaginacao.LIMITE_SEM_PAGINACAO + 1));
+            if (usuarios.size() > CursorPaginacao.LIMITE_SEM_PAGINACAO) {
+                logger.warn("Listagem de usuários limitada a {} registros; use a listagem paginada",
+                        CursorPaginacao.LIMITE_SEM_PAGINACAO);
+                usuarios = usuarios.subList(0, CursorPaginacao.LIMITE_SEM_PAGINACAO);
+            }
             logger.info("Total de usuários encontrados: {}", usuarios.size());
             return usuarios;
         }, "listar usuários");
     }
 
+    public Pagina<Usuario> listarPaginado(String cursor, Integer tamanho) {
+        return executarComTratamentoErro(() -> {
+            int tamanhoPagina = CursorPaginacao.validarTamanho(tamanho);
+            CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor);
+
+            List<Usuario> usuarios = usuarioRespository.findByIdGreaterThanOrderByIdAsc(
+                    posicao != null ? posicao.id() : 0L, CursorPaginacao.limite(tamanhoPagina + 1));
+            return CursorPaginacao.montar(usuarios, tamanhoPagina, usuario -> CursorPaginacao.codificar(usuario.getId()));
+        }, "listar usuários paginados");
+    }
+
     public Usuario buscarPorId(Long id) {
         return executarComTratamentoErro(() -> {
             if (id == null || id <= 0) {
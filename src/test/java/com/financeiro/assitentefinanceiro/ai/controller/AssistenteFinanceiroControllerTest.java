@@ -76,7 +76,7 @@ class AssistenteFinanceiroControllerTest {
             LocalDateTime.now(),
             "Meta para viagem",
             BigDecimal.valueOf(20.0),
-            1L
+            1L, null
         );
 
         when(assistenteFinanceiroService.analisarViabilidadeMeta(any(MetaEconomiaDTO.class)))
@@ -146,7 +146,7 @@ class AssistenteFinanceiroControllerTest {
             LocalDateTime.now(),
             "Meta teste",
             BigDecimal.valueOf(10.0),
-            1L
+            1L, null
         );
 
         when(assistenteFinanceiroService.analisarViabilidadeMeta(any(MetaEconomiaDTO.class)))
@@ -227,7 +227,7 @@ class AssistenteFinanceiroControllerTest {
             LocalDateTime.now(),
             "Meta de teste",
             BigDecimal.valueOf(10.0),
-            999L
+            999L, null
         );
 
         when(assistenteFinanceiroService.analisarViabilidadeMeta(any(MetaEconomiaDTO.class)))
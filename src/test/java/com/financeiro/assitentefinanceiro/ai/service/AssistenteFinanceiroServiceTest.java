@@ -74,7 +74,7 @@ class AssistenteFinanceiroServiceTest {
             LocalDateTime.now(),
             "Meta para viagem",
             BigDecimal.valueOf(20.0),
-            1L
+            1L, null
         );
 
         metasAtivas = Arrays.asList(metaEconomia);
@@ -224,7 +224,7 @@ class AssistenteFinanceiroServiceTest {
             LocalDateTime.now(),
             "Meta teste",
             BigDecimal.valueOf(0.0),
-            1L
+            1L, null
         );
 
         String resultado = assistenteFinanceiroService.analisarViabilidadeMeta(metaComValorAtualNulo);
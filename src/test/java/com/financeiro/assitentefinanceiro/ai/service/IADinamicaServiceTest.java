@@ -2,22 +2,29 @@ package com.financeiro.assitentefinanceiro.ai.service;
 
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
 import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.financeiro.analise.ColunasMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
 import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.AnaliseColunarService;
 import com.financeiro.assitentefinanceiro.financeiro.service.MetaEconomiaService;
 import com.financeiro.assitentefinanceiro.financeiro.service.MovimentacaoFinanceiraService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,18 +44,25 @@ class IADinamicaServiceTest {
     @Mock
     private CadastroContaService cadastroContaService;
 
+    @Mock
+    private AnaliseColunarService analiseColunarService;
+
     @Mock
     private ChatClient.Builder chatClientBuilder;
 
     @Mock
     private ChatClient chatClient;
 
+    @Spy
+    private ContextoFinanceiroCache contextoCache = new ContextoFinanceiroCache(new SimpleMeterRegistry(), 100, 10);
+
     @InjectMocks
     private IADinamicaService iaDinamicaService;
 
     private MetaEconomia metaEconomia;
     private List<MetaEconomia> metasAtivas;
     private DadosConta dadosConta;
+    private String promptEnviado;
     
     @SuppressWarnings("unchecked")
     private void setupChatClientMock(String resposta) {
@@ -80,6 +94,9 @@ class IADinamicaServiceTest {
             Object requestSpec = mock(requestSpecClass, invocationOnMock -> {
                 String methodName = invocationOnMock.getMethod().getName();
                 if ("user".equals(methodName)) {
+                    if (invocationOnMock.getArgument(0) instanceof String texto) {
+                        promptEnviado = texto;
+                    }
                     return invocationOnMock.getMock();
                 } else if ("call".equals(methodName)) {
                     return responseSpec;
@@ -126,7 +143,7 @@ class IADinamicaServiceTest {
 
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -137,6 +154,59 @@ class IADinamicaServiceTest {
         verify(metaEconomiaService).buscarMetasAtivasPorConta(contaId);
     }
 
+    @Test
+    @DisplayName("Deve montar o contexto financeiro a partir das colunas da conta")
+    void deveMontarContextoAPartirDasColunas() {
+        Long contaId = 1L;
+        LocalDate hoje = LocalDate.now();
+        ColunasMovimentacao colunas = new ColunasMovimentacao();
+        colunas.registrar(1, new BigDecimal("5000.00"), hoje, TipoMovimentacao.RECEITA,
+            CategoriaFinanceira.SALARIO, StatusMovimentacao.CONCLUIDA);
+        colunas.registrar(2, new BigDecimal("1200.00"), hoje, TipoMovimentacao.DESPESA,
+            CategoriaFinanceira.MORADIA, StatusMovimentacao.CONCLUIDA);
+        colunas.registrar(3, new BigDecimal("300.00"), hoje.minusYears(1), TipoMovimentacao.DESPESA,
+            CategoriaFinanceira.ALIMENTACAO, StatusMovimentacao.CONCLUIDA);
+        colunas.registrar(4, new BigDecimal("999.00"), hoje, TipoMovimentacao.DESPESA,
+            CategoriaFinanceira.LAZER, StatusMovimentacao.PENDENTE);
+
+        when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
+        when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(colunas);
+        when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(new BigDecimal("3500.00"));
+
+        iaDinamicaService.responderPromptDinamico("Onde estou gastando mais?", contaId);
+
+        assertNotNull(promptEnviado);
+        assertTrue(promptEnviado.contains("- Total de Movimentações: 4"));
+        assertTrue(promptEnviado.contains(String.format("- Despesas do Mês: R$ %.2f", 1200.0)));
+        assertTrue(promptEnviado.contains(String.format("- Total de Despesas: R$ %.2f", 1500.0)));
+        assertTrue(promptEnviado.contains(String.format("Top Categorias de Despesas: MORADIA: R$ %.2f; ALIMENTACAO: R$ %.2f",
+            1200.0, 300.0)));
+        assertFalse(promptEnviado.contains("LAZER"));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o resumo das movimentações até chegar evento da conta")
+    void deveReaproveitarResumoAteEventoDaConta() {
+        Long contaId = 1L;
+        EventoMovimentacao evento = mock(EventoMovimentacao.class);
+
+        when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
+        when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
+        when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
+        when(evento.getContaId()).thenReturn(contaId);
+
+        iaDinamicaService.responderPromptDinamico("Como estou?", contaId);
+        iaDinamicaService.responderPromptDinamico("E agora?", contaId);
+        verify(analiseColunarService, times(1)).colunasDaConta(contaId);
+        verify(movimentacaoFinanceiraService, times(2)).calcularSaldoAtual(contaId);
+
+        contextoCache.processar(List.of(evento));
+        iaDinamicaService.responderPromptDinamico("E depois do lançamento?", contaId);
+        verify(analiseColunarService, times(2)).colunasDaConta(contaId);
+    }
+
     @Test
     @DisplayName("Deve responder prompt dinâmico sem contexto de conta")
     void deveResponderPromptDinamicoSemContexto() {
@@ -176,7 +246,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Conversa Continuada: Histórico da Conversa analisado.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.manterConversacao(prompt, historico, contaId);
@@ -212,7 +282,7 @@ class IADinamicaServiceTest {
         
         lenient().when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         lenient().when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        lenient().when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        lenient().when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         lenient().when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
         when(chatClientBuilder.build()).thenThrow(new RuntimeException("Erro ao construir ChatClient"));
 
@@ -249,7 +319,7 @@ class IADinamicaServiceTest {
         
         lenient().when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         lenient().when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        lenient().when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        lenient().when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         lenient().when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
         when(chatClientBuilder.build()).thenThrow(new RuntimeException("Erro ao construir ChatClient"));
 
@@ -269,7 +339,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Resposta Personalizada: Metas Financeiras identificadas.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -287,7 +357,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Resposta Personalizada: Investimentos analisados.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -305,7 +375,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Resposta Personalizada: Orçamento detalhado.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -323,7 +393,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Resposta Personalizada: Dívidas analisadas.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -341,7 +411,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Resposta Personalizada: Renda otimizada.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -359,7 +429,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Resposta Personalizada: Reserva de Emergência recomendada.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -377,7 +447,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Resposta Personalizada: Planejamento Futuro sugerido.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -395,7 +465,7 @@ class IADinamicaServiceTest {
         setupChatClientMock("Resposta Personalizada: Geral: Recomendação financeira completa.");
         when(cadastroContaService.buscarContaPorId(contaId)).thenReturn(dadosConta);
         when(metaEconomiaService.buscarMetasAtivasPorConta(contaId)).thenReturn(metasAtivas);
-        when(movimentacaoFinanceiraService.buscarMovimentacoesPorConta(contaId)).thenReturn(Collections.emptyList());
+        when(analiseColunarService.colunasDaConta(contaId)).thenReturn(new ColunasMovimentacao());
         when(movimentacaoFinanceiraService.calcularSaldoAtual(contaId)).thenReturn(BigDecimal.ZERO);
 
         String resultado = iaDinamicaService.responderPromptDinamico(prompt, contaId);
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -83,14 +84,14 @@ class CadastroContaServiceTest {
     @DisplayName("Deve listar todas as contas com sucesso")
     void deveListarTodasContasComSucesso() {
         List<DadosConta> contas = List.of(contaTeste);
-        when(repository.findAll()).thenReturn(contas);
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(contas);
 
         List<DadosConta> resultado = service.listarContas();
 
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals(contaTeste.getId(), resultado.get(0).getId());
-        verify(repository).findAll();
+        verify(repository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
     }
 
     @Test
@@ -0,0 +1,58 @@
+package com.financeiro.assitentefinanceiro.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para CursorPaginacao")
+class CursorPaginacaoTest {
+
+    @Test
+    @DisplayName("Deve codificar e decodificar cursor com data e ID")
+    void deveCodificarEDecodificarCursorComData() {
+        String cursor = CursorPaginacao.codificar(LocalDate.of(2024, 1, 15), 42L);
+
+        CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor);
+
+        assertEquals(LocalDate.of(2024, 1, 15), posicao.data());
+        assertEquals(42L, posicao.id());
+    }
+
+    @Test
+    @DisplayName("Deve codificar e decodificar cursor apenas com ID")
+    void deveCodificarEDecodificarCursorApenasComId() {
+        CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(CursorPaginacao.codificar(7L));
+
+        assertNull(posicao.data());
+        assertEquals(7L, posicao.id());
+        assertNull(CursorPaginacao.decodificar(null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor e tamanho inválidos")
+    void deveRejeitarCursorETamanhoInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.decodificar("@@@"));
+        assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.validarTamanho(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> CursorPaginacao.validarTamanho(CursorPaginacao.TAMANHO_MAXIMO + 1));
+        assertEquals(CursorPaginacao.TAMANHO_PADRAO, CursorPaginacao.validarTamanho(null));
+    }
+
+    @Test
+    @DisplayName("Deve montar página descartando o item excedente")
+    void deveMontarPaginaDescartandoItemExcedente() {
+        Pagina<Long> pagina = CursorPaginacao.montar(List.of(1L, 2L, 3L), 2, CursorPaginacao::codificar);
+
+        assertEquals(List.of(1L, 2L), pagina.itens());
+        assertTrue(pagina.temMais());
+        assertEquals(2L, CursorPaginacao.decodificar(pagina.proximoCursor()).id());
+
+        Pagina<Long> ultima = CursorPaginacao.montar(List.of(3L), 2, CursorPaginacao::codificar);
+        assertFalse(ultima.temMais());
+        assertNull(ultima.proximoCursor());
+    }
+}
@@ -0,0 +1,51 @@
+package com.financeiro.assitentefinanceiro.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para FiltroBloom")
+class FiltroBloomTest {
+
+    @Test
+    @DisplayName("Deve reconhecer todos os valores adicionados")
+    void deveReconhecerValoresAdicionados() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("FIT-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.podeConter("FIT-" + i));
+        }
+        assertTrue(filtro.isCheio());
+    }
+
+    @Test
+    @DisplayName("Deve manter taxa de falso positivo próxima da configurada")
+    void deveManterTaxaDeFalsoPositivo() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("FIT-" + i);
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filtro.podeConter("FIT-" + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        assertTrue(falsosPositivos / 100_000.0 < 0.02, "Taxa observada: " + falsosPositivos / 100_000.0);
+        assertTrue(filtro.getTaxaFalsoPositivoEstimada() < 0.02);
+        assertTrue(filtro.getTamanhoBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar parâmetros inválidos")
+    void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 1.0));
+    }
+}
@@ -0,0 +1,42 @@
+package com.financeiro.assitentefinanceiro.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para Intercalacao")
+class IntercalacaoTest {
+
+    @Test
+    @DisplayName("Deve intercalar listas ordenadas mantendo a ordem e os empates da primeira antes")
+    void deveIntercalarListasOrdenadas() {
+        List<int[]> primeira = List.of(new int[]{1, 0}, new int[]{4, 0}, new int[]{4, 1}, new int[]{9, 0});
+        List<int[]> segunda = List.of(new int[]{2, 2}, new int[]{4, 2}, new int[]{10, 2});
+
+        List<int[]> resultado = Intercalacao.intercalar(primeira, segunda, Comparator.comparingInt(par -> par[0]));
+
+        assertEquals(List.of(1, 2, 4, 4, 4, 9, 10), resultado.stream().map(par -> par[0]).toList());
+        assertEquals(List.of(0, 1, 2), resultado.subList(2, 5).stream().map(par -> par[1]).toList());
+        assertEquals(List.of(3, 1), Intercalacao.intercalar(List.of(), List.of(3, 1), Comparator.reverseOrder()));
+    }
+
+    @Test
+    @DisplayName("Deve fechar os dois streams ao fechar o intercalado")
+    void deveFecharOsDoisStreams() {
+        AtomicInteger fechados = new AtomicInteger();
+        Stream<Integer> primeira = Stream.of(1, 3, 5).onClose(fechados::incrementAndGet);
+        Stream<Integer> segunda = Stream.of(2, 4).onClose(fechados::incrementAndGet);
+
+        try (Stream<Integer> intercalado = Intercalacao.intercalar(primeira, segunda, Comparator.naturalOrder())) {
+            assertEquals(List.of(1, 2, 3, 4, 5), intercalado.toList());
+        }
+
+        assertEquals(2, fechados.get());
+    }
+}
@@ -0,0 +1,161 @@
+package com.financeiro.assitentefinanceiro.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import com.financeiro.assitentefinanceiro.login.domain.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Testes de integração para o Idempotency-Key nas requisições de escrita")
+class IdempotenciaFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    private ObjectMapper objectMapper;
+    private Usuario usuario;
+    private Long contaId;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        usuario = new Usuario("Teste Idempotência", "idempotencia@teste.com", "senha");
+        usuario.setId(ThreadLocalRandom.current().nextLong(1_000_000L, Long.MAX_VALUE));
+        contaId = contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Idempotência")).getId();
+    }
+
+    @Test
+    @DisplayName("Deve repetir a resposta gravada sem registrar a movimentação de novo")
+    void deveRepetirRespostaGravada() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        String corpo = corpo("150.00");
+
+        MvcResult primeira = mockMvc.perform(registrar(chave, corpo)).andReturn();
+        MvcResult segunda = mockMvc.perform(registrar(chave, corpo)).andReturn();
+
+        assertEquals(201, primeira.getResponse().getStatus());
+        assertNull(primeira.getResponse().getHeader(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals(201, segunda.getResponse().getStatus());
+        assertEquals("true", segunda.getResponse().getHeader(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals(primeira.getResponse().getContentAsString(), segunda.getResponse().getContentAsString());
+        assertEquals(1, movimentacaoRepository.countByContaId(contaId));
+
+        mockMvc.perform(registrar(UUID.randomUUID().toString(), corpo)).andReturn();
+        assertEquals(2, movimentacaoRepository.countByContaId(contaId));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a mesma chave com outro corpo e aceitar a chave de outro usuário")
+    void deveRecusarMesmaChaveComOutroCorpo() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        mockMvc.perform(registrar(chave, corpo("100.00"))).andReturn();
+
+        MvcResult outroCorpo = mockMvc.perform(registrar(chave, corpo("200.00"))).andReturn();
+        assertEquals(422, outroCorpo.getResponse().getStatus());
+        assertEquals(1, movimentacaoRepository.countByContaId(contaId));
+
+        usuario = new Usuario("Outro Usuário", "outro@teste.com", "senha");
+        usuario.setId(ThreadLocalRandom.current().nextLong(1_000_000L, Long.MAX_VALUE));
+        MvcResult outroUsuario = mockMvc.perform(registrar(chave, corpo("200.00"))).andReturn();
+        assertEquals(201, outroUsuario.getResponse().getStatus());
+        assertEquals(2, movimentacaoRepository.countByContaId(contaId));
+
+        MvcResult chaveInvalida = mockMvc.perform(registrar(" ", corpo("100.00"))).andReturn();
+        assertEquals(400, chaveInvalida.getResponse().getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única vez as repetições concorrentes da mesma chave")
+    void deveExecutarUmaVezRepeticoesConcorrentes() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        String corpo = corpo("75.00");
+        int requisicoes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requisicoes);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<MvcResult>> resultados = new ArrayList<>();
+            for (int i = 0; i < requisicoes; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return mockMvc.perform(registrar(chave, corpo)).andReturn();
+                }));
+            }
+            largada.countDown();
+
+            int repetidas = 0;
+            String primeiroCorpo = null;
+            for (Future<MvcResult> resultado : resultados) {
+                MvcResult mvcResult = resultado.get();
+                assertEquals(201, mvcResult.getResponse().getStatus());
+                if (mvcResult.getResponse().getHeader(IdempotenciaFilter.CABECALHO_REPETIDA) != null) {
+                    repetidas++;
+                }
+                if (primeiroCorpo == null) {
+                    primeiroCorpo = mvcResult.getResponse().getContentAsString();
+                }
+                assertEquals(primeiroCorpo, mvcResult.getResponse().getContentAsString());
+            }
+            assertEquals(requisicoes - 1, repetidas);
+            assertEquals(1, movimentacaoRepository.countByContaId(contaId));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MockHttpServletRequestBuilder registrar(String chave, String corpo) {
+        return post("/api/v1/movimentacoes")
+                .with(authentication(new UsernamePasswordAuthenticationToken(usuario, null,
+                        usuario.getAuthorities())))
+                .header(IdempotenciaFilter.CABECALHO, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo);
+    }
+
+    private String corpo(String valor) throws Exception {
+        MovimentacaoFinanceiraDTO dto = TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comValor(new BigDecimal(valor))
+                .build();
+        return objectMapper.writeValueAsString(dto);
+    }
+}
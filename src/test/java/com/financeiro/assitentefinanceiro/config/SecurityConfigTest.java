@@ -0,0 +1,65 @@
+package com.financeiro.assitentefinanceiro.config;
+
+import com.financeiro.assitentefinanceiro.login.domain.Usuario;
+import com.financeiro.assitentefinanceiro.login.domain.enums.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Testes de integração para as regras de acesso do SecurityConfig")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Deve restringir a fila de eventos a administradores")
+    void deveRestringirFilaDeEventosAAdministradores() throws Exception {
+        assertEquals(403, status(get("/api/v1/movimentacoes/eventos/ouvintes"), Role.USER));
+        assertEquals(403, status(post("/api/v1/movimentacoes/eventos/ouvintes/contexto-ia/reprocessar")
+                .param("aPartirDe", "1"), Role.USER));
+        assertEquals(200, status(get("/api/v1/movimentacoes/eventos/ouvintes"), Role.ADMIN));
+    }
+
+    @Test
+    @DisplayName("Deve restringir a reconciliação do progresso das metas a administradores")
+    void deveRestringirReconciliacaoDeMetasAAdministradores() throws Exception {
+        assertEquals(403, status(post("/api/v1/metas/progresso/reconciliar").param("corrigir", "true"), Role.USER));
+        assertEquals(200, status(post("/api/v1/metas/progresso/reconciliar"), Role.ADMIN));
+    }
+
+    @Test
+    @DisplayName("Deve restringir a alteração das regras de categorização a administradores")
+    void deveRestringirAlteracaoDeRegrasAAdministradores() throws Exception {
+        assertEquals(403, status(post("/api/v1/categorizacao/regras").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"termo\": \"Academia\", \"categoria\": \"SAUDE\", \"tipoMovimentacao\": \"DESPESA\"}"),
+                Role.USER));
+        assertEquals(403, status(delete("/api/v1/categorizacao/regras/1"), Role.USER));
+        assertEquals(403, status(post("/api/v1/categorizacao/recarregar"), Role.USER));
+        assertEquals(200, status(get("/api/v1/categorizacao/regras"), Role.USER));
+        assertEquals(200, status(post("/api/v1/categorizacao/recarregar"), Role.ADMIN));
+    }
+
+    private int status(MockHttpServletRequestBuilder requisicao, Role role) throws Exception {
+        Usuario usuario = new Usuario("Teste Acesso", "acesso@teste.com", "senha", role);
+        usuario.setId(ThreadLocalRandom.current().nextLong(1_000_000L, Long.MAX_VALUE));
+        return mockMvc.perform(requisicao.with(authentication(new UsernamePasswordAuthenticationToken(usuario, null,
+                usuario.getAuthorities())))).andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,98 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara a soma de valores monetários em {@code double}, como a antiga consulta {@code Optional<Double>}, em
+ * {@link BigDecimal} e em centavos com o {@link AcumuladorCentavos}. Executado pela task {@code testVolume}, com
+ * heap de 256 MB.
+ */
+@Tag("volume")
+@DisplayName("Benchmark da soma de valores monetários em centavos")
+class AcumuladorCentavosBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AcumuladorCentavosBenchmarkTest.class);
+
+    private static final int TOTAL = 500_000;
+    private static final int AQUECIMENTO = 10;
+    private static final int ITERACOES = 20;
+
+    @Test
+    @DisplayName("Deve somar em centavos de forma exata, mais rápido e sem alocar por parcela")
+    void deveSomarEmCentavos() {
+        Random random = new Random(42);
+        List<BigDecimal> valores = new ArrayList<>(TOTAL);
+        for (int i = 0; i < TOTAL; i++) {
+            valores.add(BigDecimal.valueOf(random.nextLong(100_000_000_000L), 2));
+        }
+
+        Supplier<BigDecimal> somaDouble = () -> {
+            Double total = valores.stream().mapToDouble(BigDecimal::doubleValue).sum();
+            return BigDecimal.valueOf(total);
+        };
+        Supplier<BigDecimal> somaBigDecimal = () -> valores.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        Supplier<BigDecimal> somaCentavos = () -> {
+            AcumuladorCentavos acumulador = new AcumuladorCentavos();
+            for (BigDecimal valor : valores) {
+                acumulador.adicionar(valor);
+            }
+            return acumulador.valor();
+        };
+
+        BigDecimal esperado = somaBigDecimal.get();
+        assertEquals(0, esperado.compareTo(somaCentavos.get()));
+        BigDecimal erroDouble = somaDouble.get().subtract(esperado).abs();
+
+        Medicao doubles = medir(somaDouble);
+        Medicao bigDecimals = medir(somaBigDecimal);
+        Medicao centavos = medir(somaCentavos);
+
+        logger.info("Soma de {} valores. double: {} µs/op, {} KB/op, erro de R$ {}; BigDecimal: {} µs/op, {} KB/op; "
+                        + "centavos: {} µs/op, {} KB/op",
+                TOTAL, doubles.nanosPorOperacao / 1_000, doubles.bytesPorOperacao / 1024, erroDouble.toPlainString(),
+                bigDecimals.nanosPorOperacao / 1_000, bigDecimals.bytesPorOperacao / 1024,
+                centavos.nanosPorOperacao / 1_000, centavos.bytesPorOperacao / 1024);
+
+        assertTrue(centavos.bytesPorOperacao < bigDecimals.bytesPorOperacao / 10,
+                "A soma em centavos não deveria alocar um BigDecimal por parcela");
+        assertTrue(centavos.nanosPorOperacao < bigDecimals.nanosPorOperacao,
+                "A soma em centavos deveria ser mais rápida que a redução com BigDecimal");
+    }
+
+    private static Medicao medir(Supplier<BigDecimal> operacao) {
+        BigDecimal sumidouro = BigDecimal.ZERO;
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            sumidouro = sumidouro.add(operacao.get());
+        }
+        long bytesAntes = bytesAlocados();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            sumidouro = sumidouro.add(operacao.get());
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = bytesAlocados() - bytesAntes;
+        assertNotEquals(0, sumidouro.signum());
+        return new Medicao(nanos / ITERACOES, bytes / ITERACOES);
+    }
+
+    private static long bytesAlocados() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private record Medicao(long nanosPorOperacao, long bytesPorOperacao) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para AcumuladorCentavos")
+class AcumuladorCentavosTest {
+
+    private static final int CASOS = 200;
+
+    @Test
+    @DisplayName("Deve coincidir com a redução em BigDecimal para valores aleatórios em qualquer ordem")
+    void deveCoincidirComReducaoBigDecimal() {
+        Random random = new Random(20240601L);
+        for (int caso = 0; caso < CASOS; caso++) {
+            List<BigDecimal> valores = valoresAleatorios(random, 1 + random.nextInt(2_000));
+            BigDecimal esperado = valores.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            AcumuladorCentavos acumulador = new AcumuladorCentavos();
+            valores.forEach(acumulador::adicionar);
+            Collections.shuffle(valores, random);
+
+            assertEquals(0, esperado.compareTo(acumulador.valor()), "Caso " + caso);
+            assertEquals(esperado.setScale(2), valores.stream().collect(AcumuladorCentavos.somando(v -> v)),
+                    "Caso " + caso + " embaralhado");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve combinar somas parciais e desfazer adições com subtrações")
+    void deveCombinarEDesfazerSomas() {
+        Random random = new Random(7L);
+        for (int caso = 0; caso < CASOS; caso++) {
+            List<BigDecimal> valores = valoresAleatorios(random, 2 + random.nextInt(500));
+            int corte = random.nextInt(valores.size());
+
+            AcumuladorCentavos inicio = new AcumuladorCentavos();
+            AcumuladorCentavos fim = new AcumuladorCentavos();
+            AcumuladorCentavos todos = new AcumuladorCentavos();
+            for (int i = 0; i < valores.size(); i++) {
+                (i < corte ? inicio : fim).adicionar(valores.get(i));
+                todos.adicionar(valores.get(i));
+            }
+            valores.subList(0, corte).forEach(todos::subtrair);
+
+            assertEquals(fim.centavos(), todos.centavos(), "Caso " + caso);
+            assertEquals(fim.centavos() + inicio.centavos(), inicio.combinar(fim).centavos(), "Caso " + caso);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter a exatidão em saldos grandes onde a soma em double perde centavos")
+    void deveManterExatidaoEmSaldosGrandes() {
+        List<BigDecimal> valores = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            valores.add(new BigDecimal("987654321012.34"));
+            valores.add(new BigDecimal("0.01"));
+        }
+
+        AcumuladorCentavos acumulador = new AcumuladorCentavos();
+        double somaDouble = 0;
+        for (BigDecimal valor : valores) {
+            acumulador.adicionar(valor);
+            somaDouble += valor.doubleValue();
+        }
+
+        assertEquals(new BigDecimal("987654321012350.00"), acumulador.valor());
+        assertNotEquals(0, acumulador.valor().compareTo(BigDecimal.valueOf(somaDouble)));
+    }
+
+    @Test
+    @DisplayName("Deve arredondar terceiras casas, ignorar nulos e rejeitar estouro do long")
+    void deveArredondarIgnorarNulosERejeitarEstouro() {
+        AcumuladorCentavos acumulador = new AcumuladorCentavos()
+                .adicionar(new BigDecimal("10.005"))
+                .adicionar(null)
+                .subtrair(new BigDecimal("0.004"));
+
+        assertEquals(1001, acumulador.centavos());
+        assertEquals(new BigDecimal("10.01"), acumulador.valor());
+        assertThrows(ArithmeticException.class,
+                () -> new AcumuladorCentavos().adicionarCentavos(Long.MAX_VALUE).adicionar(new BigDecimal("0.01")));
+    }
+
+    private static List<BigDecimal> valoresAleatorios(Random random, int quantidade) {
+        List<BigDecimal> valores = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            long centavos = switch (random.nextInt(3)) {
+                case 0 -> random.nextInt(100);
+                case 1 -> random.nextInt(1_000_000);
+                default -> random.nextLong(1_000_000_000_000L);
+            };
+            BigDecimal valor = BigDecimal.valueOf(random.nextBoolean() ? centavos : -centavos, 2);
+            valores.add(random.nextBoolean() ? valor.stripTrailingZeros() : valor);
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,149 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.AutomatoCategorias.PalavraChave;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede a categorização de descrições de extrato com o dicionário embutido mais regras de usuário sintéticas,
+ * comparando o autômato com o laço de uma expressão regular por termo. Executado pela task {@code testVolume}, com
+ * heap de 256 MB.
+ */
+@Tag("volume")
+@DisplayName("Benchmark da categorização automática de descrições")
+class AutomatoCategoriasBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutomatoCategoriasBenchmarkTest.class);
+
+    private static final int DESCRICOES = 200_000;
+    private static final int REGRAS_USUARIO = 2_000;
+    private static final int AMOSTRA_REGEX = 2_000;
+    private static final int AQUECIMENTO = 5;
+    private static final int ITERACOES = 10;
+    private static final double VAZAO_MINIMA = 100_000;
+
+    @Test
+    @DisplayName("Deve categorizar mais de 100 mil descrições por segundo numa thread sem alocar por descrição")
+    void deveCategorizarEmAltaVazao() throws IOException {
+        Random random = new Random(42);
+        List<PalavraChave> palavras = dicionario();
+        int termosDicionario = palavras.size();
+        CategoriaFinanceira[] categorias = CategoriaFinanceira.values();
+        for (int i = 0; i < REGRAS_USUARIO; i++) {
+            palavras.add(new PalavraChave("estabelecimento " + i, categorias[random.nextInt(categorias.length)],
+                    null, 1));
+        }
+
+        long inicioCompilacao = System.nanoTime();
+        AutomatoCategorias automato = AutomatoCategorias.compilar(palavras);
+        long compilacaoMs = (System.nanoTime() - inicioCompilacao) / 1_000_000;
+
+        List<String> termos = palavras.stream().map(PalavraChave::termo).toList();
+        String[] descricoes = new String[DESCRICOES];
+        TipoMovimentacao[] tipos = new TipoMovimentacao[DESCRICOES];
+        for (int i = 0; i < DESCRICOES; i++) {
+            String termo = termos.get(random.nextInt(termos.size())).toUpperCase();
+            descricoes[i] = switch (random.nextInt(4)) {
+                case 0 -> "COMPRA CARTAO " + termo + " SAO PAULO BR " + random.nextInt(10_000);
+                case 1 -> "PIX ENVIADO " + termo + " " + random.nextInt(100_000);
+                case 2 -> "PAG*" + termo + " PARC 01/0" + (1 + random.nextInt(9));
+                default -> "TED RECEBIDA CLIENTE " + random.nextInt(1_000_000) + " DOC " + random.nextInt(1_000);
+            };
+            tipos[i] = random.nextInt(5) == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA;
+        }
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            categorizarTodas(automato, descricoes, tipos);
+        }
+        long bytesAntes = bytesAlocados();
+        long inicio = System.nanoTime();
+        int categorizadas = 0;
+        for (int i = 0; i < ITERACOES; i++) {
+            categorizadas += categorizarTodas(automato, descricoes, tipos);
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = bytesAlocados() - bytesAntes;
+        double vazao = (double) DESCRICOES * ITERACOES / (nanos / 1_000_000_000.0);
+        double bytesPorDescricao = (double) bytes / ((long) DESCRICOES * ITERACOES);
+
+        List<Pattern> expressoes = termos.stream()
+                .map(termo -> Pattern.compile("\\b" + Pattern.quote(AutomatoCategorias.normalizar(termo)) + "\\b"))
+                .toList();
+        long inicioRegex = System.nanoTime();
+        int categorizadasRegex = 0;
+        for (int i = 0; i < AMOSTRA_REGEX; i++) {
+            String texto = AutomatoCategorias.normalizar(descricoes[i]);
+            for (Pattern expressao : expressoes) {
+                Matcher matcher = expressao.matcher(texto);
+                if (matcher.find()) {
+                    categorizadasRegex++;
+                    break;
+                }
+            }
+        }
+        double vazaoRegex = AMOSTRA_REGEX / ((System.nanoTime() - inicioRegex) / 1_000_000_000.0);
+
+        logger.info("Categorização de {} descrições com {} termos ({} do dicionário, {} estados, {} KB, compilado em {}ms). "
+                        + "Autômato: {} descrições/s, {} bytes/descrição, {}% categorizadas; regex por termo: {} descrições/s",
+                DESCRICOES, automato.getQuantidadeTermos(), termosDicionario, automato.getQuantidadeEstados(),
+                automato.getTamanhoBytes() / 1024, compilacaoMs, String.format("%.0f", vazao),
+                String.format("%.2f", bytesPorDescricao), categorizadas * 100L / ((long) DESCRICOES * ITERACOES),
+                String.format("%.0f", vazaoRegex));
+
+        assertTrue(categorizadasRegex > 0);
+        assertTrue(vazao > VAZAO_MINIMA, "Vazão abaixo de 100 mil descrições/s: " + vazao);
+        assertTrue(vazao > vazaoRegex * 10, "O autômato deveria superar com folga o laço de regex por termo");
+        assertTrue(bytesPorDescricao < 1, "A categorização não deveria alocar por descrição");
+    }
+
+    private static int categorizarTodas(AutomatoCategorias automato, String[] descricoes, TipoMovimentacao[] tipos) {
+        int categorizadas = 0;
+        for (int i = 0; i < descricoes.length; i++) {
+            if (automato.categorizar(descricoes[i], tipos[i]) != null) {
+                categorizadas++;
+            }
+        }
+        return categorizadas;
+    }
+
+    private static List<PalavraChave> dicionario() throws IOException {
+        Properties propriedades = new Properties();
+        try (Reader reader = new InputStreamReader(AutomatoCategoriasBenchmarkTest.class.getClassLoader()
+                .getResourceAsStream("categorizacao/dicionario.properties"), StandardCharsets.UTF_8)) {
+            propriedades.load(reader);
+        }
+        List<PalavraChave> palavras = new ArrayList<>();
+        for (String chave : propriedades.stringPropertyNames()) {
+            String[] partes = chave.split("\\.");
+            for (String termo : propriedades.getProperty(chave).split(",")) {
+                palavras.add(new PalavraChave(termo.trim(), CategoriaFinanceira.valueOf(partes[0]),
+                        partes.length > 1 ? TipoMovimentacao.valueOf(partes[1]) : null, 0));
+            }
+        }
+        return palavras;
+    }
+
+    private static long bytesAlocados() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,120 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.AutomatoCategorias.PalavraChave;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para AutomatoCategorias")
+class AutomatoCategoriasTest {
+
+    private static final int CASOS = 50_000;
+
+    @Test
+    @DisplayName("Deve casar palavras inteiras ignorando acentos, caixa e pontuação")
+    void deveCasarPalavrasInteiras() {
+        AutomatoCategorias automato = AutomatoCategorias.compilar(List.of(
+                new PalavraChave("Uber", CategoriaFinanceira.TRANSPORTE, TipoMovimentacao.DESPESA, 0),
+                new PalavraChave("farmácia", CategoriaFinanceira.SAUDE, null, 0),
+                new PalavraChave("pão de açúcar", CategoriaFinanceira.ALIMENTACAO, null, 0)));
+
+        assertEquals(CategoriaFinanceira.TRANSPORTE, automato.categorizar("UBER *TRIP 12/03", TipoMovimentacao.DESPESA));
+        assertNull(automato.categorizar("Uberlândia Materiais", TipoMovimentacao.DESPESA));
+        assertEquals(CategoriaFinanceira.SAUDE, automato.categorizar("COMPRA-FARMACIA", TipoMovimentacao.DESPESA));
+        assertEquals(CategoriaFinanceira.ALIMENTACAO, automato.categorizar("PAO  DE   ACUCAR 123", null));
+        assertNull(automato.categorizar("", TipoMovimentacao.DESPESA));
+        assertNull(automato.categorizar(null, TipoMovimentacao.DESPESA));
+        assertEquals("pao de acucar", AutomatoCategorias.normalizar("  Pão de Açúcar!! "));
+    }
+
+    @Test
+    @DisplayName("Deve preferir prioridade, depois o termo mais longo, e respeitar o tipo da movimentação")
+    void devePreferirPrioridadeEComprimento() {
+        AutomatoCategorias automato = AutomatoCategorias.compilar(List.of(
+                new PalavraChave("uber", CategoriaFinanceira.TRANSPORTE, TipoMovimentacao.DESPESA, 0),
+                new PalavraChave("uber eats", CategoriaFinanceira.ALIMENTACAO, TipoMovimentacao.DESPESA, 0),
+                new PalavraChave("salario", CategoriaFinanceira.SALARIO, TipoMovimentacao.RECEITA, 0),
+                new PalavraChave("padaria", CategoriaFinanceira.ALIMENTACAO, null, 0),
+                new PalavraChave("padaria do ze", CategoriaFinanceira.COMPRAS, null, 0),
+                new PalavraChave("ze", CategoriaFinanceira.LAZER, null, 1)));
+
+        assertEquals(CategoriaFinanceira.ALIMENTACAO, automato.categorizar("UBER EATS pedido", TipoMovimentacao.DESPESA));
+        assertNull(automato.categorizar("UBER EATS pedido", TipoMovimentacao.RECEITA));
+        assertNull(automato.categorizar("uber", null));
+        assertEquals(CategoriaFinanceira.SALARIO, automato.categorizar("Salário março", TipoMovimentacao.RECEITA));
+        assertNull(automato.categorizar("Salário março", TipoMovimentacao.DESPESA));
+        assertEquals(CategoriaFinanceira.ALIMENTACAO, automato.categorizar("Padaria do Zezinho", null));
+        assertEquals(CategoriaFinanceira.LAZER, automato.categorizar("padaria do ze", TipoMovimentacao.DESPESA));
+    }
+
+    @Test
+    @DisplayName("Deve coincidir com a busca termo a termo para descrições aleatórias")
+    void deveCoincidirComBuscaTermoATermo() {
+        Random random = new Random(20240715L);
+        String[] termos = { "ab", "ba", "abc", "c", "bca", "a b", "b", "cab", "a-c" };
+        CategoriaFinanceira[] categorias = CategoriaFinanceira.values();
+        List<PalavraChave> palavras = new ArrayList<>();
+        for (int i = 0; i < termos.length; i++) {
+            palavras.add(new PalavraChave(termos[i], categorias[i], i % 3 == 0 ? null : TipoMovimentacao.values()[i % 2],
+                    random.nextInt(2)));
+        }
+        AutomatoCategorias automato = AutomatoCategorias.compilar(palavras);
+
+        for (int caso = 0; caso < CASOS; caso++) {
+            StringBuilder descricao = new StringBuilder();
+            int tamanho = random.nextInt(16);
+            for (int i = 0; i < tamanho; i++) {
+                descricao.append("abcÁ -.".charAt(random.nextInt(7)));
+            }
+            TipoMovimentacao tipo = random.nextBoolean() ? null : TipoMovimentacao.values()[random.nextInt(2)];
+
+            assertEquals(buscarTermoATermo(palavras, descricao.toString(), tipo),
+                    automato.categorizar(descricao, tipo), "Descrição '" + descricao + "', tipo " + tipo);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar termos sem letras ou dígitos e palavras sem categoria")
+    void deveRejeitarTermosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> AutomatoCategorias.compilar(List.of(
+                new PalavraChave(" *-* ", CategoriaFinanceira.LAZER, null, 0))));
+        assertThrows(IllegalArgumentException.class, () -> AutomatoCategorias.compilar(List.of(
+                new PalavraChave("cinema", null, null, 0))));
+        assertEquals(0, AutomatoCategorias.compilar(List.of()).getQuantidadeTermos());
+    }
+
+    private static CategoriaFinanceira buscarTermoATermo(List<PalavraChave> palavras, String descricao,
+            TipoMovimentacao tipo) {
+        String texto = " " + AutomatoCategorias.normalizar(descricao) + " ";
+        PalavraChave vencedora = null;
+        int tamanhoVencedora = 0;
+        int fimVencedora = 0;
+        for (PalavraChave palavra : palavras) {
+            if (palavra.tipoMovimentacao() != null && palavra.tipoMovimentacao() != tipo) {
+                continue;
+            }
+            String termo = " " + AutomatoCategorias.normalizar(palavra.termo()) + " ";
+            int posicao = texto.indexOf(termo);
+            if (posicao < 0) {
+                continue;
+            }
+            int fim = posicao + termo.length();
+            if (vencedora == null || palavra.prioridade() > vencedora.prioridade()
+                    || (palavra.prioridade() == vencedora.prioridade()
+                    && (termo.length() > tamanhoVencedora
+                    || (termo.length() == tamanhoVencedora && fim < fimVencedora)))) {
+                vencedora = palavra;
+                tamanhoVencedora = termo.length();
+                fimVencedora = fim;
+            }
+        }
+        return vencedora != null ? vencedora.categoria() : null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para ColunasMovimentacao")
+class ColunasMovimentacaoTest {
+
+    private static final LocalDate MARCO = LocalDate.of(2024, 3, 10);
+
+    @Test
+    @DisplayName("Deve somar, contar e agrupar apenas as linhas aceitas pelo filtro")
+    void deveSomarContarEAgruparPorFiltro() {
+        ColunasMovimentacao colunas = new ColunasMovimentacao();
+        colunas.registrar(1, new BigDecimal("5000.00"), MARCO, TipoMovimentacao.RECEITA,
+                CategoriaFinanceira.SALARIO, StatusMovimentacao.CONCLUIDA);
+        colunas.registrar(2, new BigDecimal("1200.00"), MARCO, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.MORADIA, StatusMovimentacao.CONCLUIDA);
+        colunas.registrar(3, new BigDecimal("45.90"), MARCO.plusMonths(1), TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.ALIMENTACAO, StatusMovimentacao.CONCLUIDA);
+        colunas.registrar(4, new BigDecimal("999.99"), MARCO, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.LAZER, StatusMovimentacao.PENDENTE);
+
+        ColunasMovimentacao.Filtro despesasConcluidas = ColunasMovimentacao.Filtro.TODAS
+                .comTipos(TipoMovimentacao.DESPESA)
+                .comStatus(StatusMovimentacao.CONCLUIDA);
+        long[] porCategoria = new long[ColunasMovimentacao.QUANTIDADE_CATEGORIAS];
+        colunas.somarPorCategoria(despesasConcluidas, porCategoria);
+        long[] porMes = new long[3];
+        colunas.somarPorMes(despesasConcluidas, ColunasMovimentacao.mes(MARCO), porMes);
+
+        assertEquals(4, colunas.tamanho());
+        assertEquals(124590, colunas.somar(despesasConcluidas));
+        assertEquals(2, colunas.contar(despesasConcluidas));
+        assertEquals(120000, colunas.somar(despesasConcluidas.noPeriodo(MARCO.withDayOfMonth(1), MARCO)));
+        assertEquals(4590, colunas.somar(despesasConcluidas.comCategorias(CategoriaFinanceira.ALIMENTACAO)));
+        assertEquals(120000, porCategoria[CategoriaFinanceira.MORADIA.ordinal()]);
+        assertEquals(4590, porCategoria[CategoriaFinanceira.ALIMENTACAO.ordinal()]);
+        assertEquals(0, porCategoria[CategoriaFinanceira.LAZER.ordinal()]);
+        assertArrayEquals(new long[] { 120000, 4590, 0 }, porMes);
+        assertEquals(new BigDecimal("1245.90"), ColunasMovimentacao.valor(colunas.somar(despesasConcluidas)));
+    }
+
+    @Test
+    @DisplayName("Deve substituir a linha de mesmo ID e remover linhas pelo ID")
+    void deveSubstituirERemoverPorId() {
+        ColunasMovimentacao colunas = new ColunasMovimentacao(1);
+        colunas.registrar(10, new BigDecimal("100.00"), MARCO, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.SAUDE, StatusMovimentacao.CONCLUIDA);
+        colunas.registrar(5, new BigDecimal("30.00"), MARCO, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.SAUDE, StatusMovimentacao.CONCLUIDA);
+        colunas.registrar(10, new BigDecimal("100.00"), MARCO, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.SAUDE, StatusMovimentacao.ESTORNADA);
+
+        ColunasMovimentacao.Filtro concluidas = ColunasMovimentacao.Filtro.TODAS
+                .comStatus(StatusMovimentacao.CONCLUIDA);
+        assertEquals(2, colunas.tamanho());
+        assertEquals(3000, colunas.somar(concluidas));
+
+        assertTrue(colunas.remover(5));
+        assertFalse(colunas.remover(5));
+        assertEquals(1, colunas.tamanho());
+        assertEquals(0, colunas.somar(concluidas));
+        assertEquals(10000, colunas.somar(ColunasMovimentacao.Filtro.TODAS));
+    }
+
+    @Test
+    @DisplayName("Deve produzir as mesmas somas que a redução com BigDecimal em dados aleatórios")
+    void deveCoincidirComReducaoBigDecimal() {
+        Random random = new Random(42);
+        ColunasMovimentacao colunas = new ColunasMovimentacao();
+        List<Object[]> linhas = new ArrayList<>();
+        TipoMovimentacao[] tipos = TipoMovimentacao.values();
+        CategoriaFinanceira[] categorias = CategoriaFinanceira.values();
+        StatusMovimentacao[] status = StatusMovimentacao.values();
+
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(8_000);
+            BigDecimal valor = BigDecimal.valueOf(random.nextInt(10_000_000) + 1, 2);
+            LocalDate data = LocalDate.of(2023, 1, 1).plusDays(random.nextInt(730));
+            Object[] linha = { id, valor, data, tipos[random.nextInt(tipos.length)],
+                    categorias[random.nextInt(categorias.length)], status[random.nextInt(status.length)] };
+            linhas.removeIf(existente -> (long) existente[0] == id);
+            linhas.add(linha);
+            colunas.registrar(id, valor, data, (TipoMovimentacao) linha[3], (CategoriaFinanceira) linha[4],
+                    (StatusMovimentacao) linha[5]);
+        }
+
+        LocalDate inicio = LocalDate.of(2023, 6, 1);
+        LocalDate fim = LocalDate.of(2024, 2, 29);
+        ColunasMovimentacao.Filtro filtro = ColunasMovimentacao.Filtro.TODAS
+                .comTipos(TipoMovimentacao.DESPESA)
+                .comStatus(StatusMovimentacao.CONCLUIDA)
+                .noPeriodo(inicio, fim);
+        BigDecimal esperado = linhas.stream()
+                .filter(l -> l[3] == TipoMovimentacao.DESPESA && l[5] == StatusMovimentacao.CONCLUIDA)
+                .filter(l -> !((LocalDate) l[2]).isBefore(inicio) && !((LocalDate) l[2]).isAfter(fim))
+                .map(l -> (BigDecimal) l[1])
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertEquals(linhas.size(), colunas.tamanho());
+        assertEquals(0, esperado.compareTo(ColunasMovimentacao.valor(colunas.somar(filtro))));
+    }
+}
@@ -0,0 +1,111 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede o custo que a detecção de anomalias acrescenta a cada despesa registrada: avaliar contra as estatísticas da
+ * conta e somar o valor a elas, como no registro e no commit. Executado pela task {@code testVolume}, com heap de
+ * 256 MB.
+ */
+@Tag("volume")
+@DisplayName("Benchmark da detecção de anomalias no registro de despesas")
+class DetectorAnomaliasBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DetectorAnomaliasBenchmarkTest.class);
+
+    private static final int CONTAS = 512;
+    private static final int DESPESAS = 2_000_000;
+    private static final int ESTABELECIMENTOS = 300;
+    private static final int AQUECIMENTO = 3;
+    private static final double CUSTO_MAXIMO_MEDIO_NS = 2_000;
+    private static final double CUSTO_MAXIMO_P99_NS = 10_000;
+
+    @Test
+    @DisplayName("Deve avaliar e registrar cada despesa em poucos microssegundos sem alocar")
+    void deveAvaliarEmMicrossegundos() {
+        Random random = new Random(42);
+        CategoriaFinanceira[] categorias = CategoriaFinanceira.values();
+        String[] descricoes = new String[ESTABELECIMENTOS];
+        for (int i = 0; i < ESTABELECIMENTOS; i++) {
+            descricoes[i] = "COMPRA CARTAO ESTABELECIMENTO " + (char) ('A' + i % 26) + (char) ('A' + i / 26 % 26)
+                    + " SAO PAULO " + random.nextInt(10_000);
+        }
+        int[] contas = new int[DESPESAS];
+        long[] valores = new long[DESPESAS];
+        CategoriaFinanceira[] categoriasDespesa = new CategoriaFinanceira[DESPESAS];
+        String[] descricoesDespesa = new String[DESPESAS];
+        for (int i = 0; i < DESPESAS; i++) {
+            contas[i] = random.nextInt(CONTAS);
+            categoriasDespesa[i] = categorias[random.nextInt(categorias.length)];
+            valores[i] = Math.max(100, (long) (5_000 + random.nextGaussian() * 1_500) * (random.nextInt(200) == 0 ? 8 : 1));
+            descricoesDespesa[i] = descricoes[random.nextInt(ESTABELECIMENTOS)];
+        }
+
+        DetectorAnomalias.Parametros parametros = new DetectorAnomalias.Parametros(5, 4, 5, 3, 0.1);
+        DetectorAnomalias[] detectores = new DetectorAnomalias[CONTAS];
+        for (int rodada = 0; rodada < AQUECIMENTO; rodada++) {
+            for (int i = 0; i < CONTAS; i++) {
+                detectores[i] = new DetectorAnomalias(parametros);
+            }
+            processar(detectores, contas, valores, categoriasDespesa, descricoesDespesa, null);
+        }
+
+        for (int i = 0; i < CONTAS; i++) {
+            detectores[i] = new DetectorAnomalias(parametros);
+        }
+        long[] latencias = new long[DESPESAS];
+        long bytesAntes = bytesAlocados();
+        long inicio = System.nanoTime();
+        int anomalias = processar(detectores, contas, valores, categoriasDespesa, descricoesDespesa, latencias);
+        long nanos = System.nanoTime() - inicio;
+        long bytes = bytesAlocados() - bytesAntes - 16L * anomalias * 2;
+        Arrays.sort(latencias);
+
+        double medioNs = (double) nanos / DESPESAS;
+        double bytesPorDespesa = Math.max(0, (double) bytes / DESPESAS);
+        logger.info("Detecção de anomalias em {} despesas de {} contas: {} ns/despesa em média, p50 {} ns, "
+                        + "p99 {} ns, máximo {} ns, {} bytes/despesa, {} anomalias ({}%)",
+                DESPESAS, CONTAS, String.format("%.0f", medioNs), latencias[DESPESAS / 2],
+                latencias[DESPESAS * 99 / 100], latencias[DESPESAS - 1], String.format("%.2f", bytesPorDespesa),
+                anomalias, String.format("%.2f", anomalias * 100.0 / DESPESAS));
+
+        assertTrue(anomalias > 0);
+        assertTrue(medioNs < CUSTO_MAXIMO_MEDIO_NS, "Custo médio acima de 2µs por despesa: " + medioNs);
+        assertTrue(latencias[DESPESAS * 99 / 100] < CUSTO_MAXIMO_P99_NS,
+                "p99 acima de 10µs por despesa: " + latencias[DESPESAS * 99 / 100]);
+        assertTrue(bytesPorDespesa < 8, "A avaliação não deveria alocar por despesa normal");
+    }
+
+    private static int processar(DetectorAnomalias[] detectores, int[] contas, long[] valores,
+            CategoriaFinanceira[] categorias, String[] descricoes, long[] latencias) {
+        int anomalias = 0;
+        for (int i = 0; i < contas.length; i++) {
+            long inicio = latencias != null ? System.nanoTime() : 0;
+            DetectorAnomalias detector = detectores[contas[i]];
+            if (detector.avaliar(valores[i], categorias[i], descricoes[i]) != null) {
+                anomalias++;
+            }
+            detector.registrar(valores[i], categorias[i], descricoes[i]);
+            if (latencias != null) {
+                latencias[i] = System.nanoTime() - inicio;
+            }
+        }
+        return anomalias;
+    }
+
+    private static long bytesAlocados() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
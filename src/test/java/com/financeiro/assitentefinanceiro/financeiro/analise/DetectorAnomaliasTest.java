@@ -0,0 +1,146 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.MotivoAnomalia;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para DetectorAnomalias")
+class DetectorAnomaliasTest {
+
+    private static final DetectorAnomalias.Parametros PARAMETROS = new DetectorAnomalias.Parametros(5, 4, 5, 3, 0.1);
+
+    @Test
+    @DisplayName("Deve calcular média e variância de Welford iguais às da série completa")
+    void deveCalcularMediaEVariancia() {
+        Random random = new Random(7);
+        EstatisticaStreaming estatistica = new EstatisticaStreaming();
+        double[] valores = new double[10_000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = 1_000_000 + random.nextGaussian() * 25_000;
+            estatistica.registrar(valores[i], 0.1);
+        }
+        double media = 0;
+        for (double valor : valores) {
+            media += valor;
+        }
+        media /= valores.length;
+        double variancia = 0;
+        for (double valor : valores) {
+            variancia += (valor - media) * (valor - media);
+        }
+        variancia /= valores.length - 1;
+
+        assertEquals(valores.length, estatistica.getQuantidade());
+        assertEquals(media, estatistica.getMedia(), 1e-6);
+        assertEquals(variancia, estatistica.getVariancia(), variancia * 1e-9);
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar os valores recentes pela EWMA")
+    void deveAcompanharValoresRecentesPelaEwma() {
+        EstatisticaStreaming estatistica = new EstatisticaStreaming();
+        estatistica.registrar(100, 0.5);
+        assertEquals(100, estatistica.getEwma(), 1e-9);
+        estatistica.registrar(200, 0.5);
+        assertEquals(150, estatistica.getEwma(), 1e-9);
+        for (int i = 0; i < 50; i++) {
+            estatistica.registrar(400, 0.5);
+        }
+        assertEquals(400, estatistica.getEwma(), 1e-6);
+        assertTrue(estatistica.getMedia() < 400);
+    }
+
+    @Test
+    @DisplayName("Deve apontar valor muito acima do habitual somente depois do mínimo de observações")
+    void deveApontarValorAcimaDoHabitual() {
+        DetectorAnomalias detector = new DetectorAnomalias(PARAMETROS);
+        for (int i = 0; i < 4; i++) {
+            detector.registrar(8_000 + i * 100, CategoriaFinanceira.ALIMENTACAO, "Restaurante Bom Prato");
+        }
+        assertNull(detector.avaliar(100_000, CategoriaFinanceira.ALIMENTACAO, "Restaurante Bom Prato"));
+
+        detector.registrar(8_200, CategoriaFinanceira.ALIMENTACAO, "Restaurante Bom Prato");
+        DetectorAnomalias.Anomalia anomalia = detector.avaliar(45_000, CategoriaFinanceira.ALIMENTACAO,
+                "Restaurante Bom Prato");
+        assertNotNull(anomalia);
+        assertEquals(MotivoAnomalia.VALOR_ACIMA_DO_HABITUAL, anomalia.motivo());
+        assertTrue(anomalia.referencia() > 8_000 && anomalia.referencia() < 8_500);
+        assertNull(detector.avaliar(9_000, CategoriaFinanceira.ALIMENTACAO, "Restaurante Bom Prato"));
+        assertNull(detector.avaliar(45_000, CategoriaFinanceira.TRANSPORTE, "Restaurante Bom Prato"));
+        assertNull(detector.avaliar(45_000, null, "Restaurante Bom Prato"));
+    }
+
+    @Test
+    @DisplayName("Deve apontar valor muitos desvios acima da média mesmo abaixo do fator da média")
+    void deveApontarValorForaDoPadrao() {
+        DetectorAnomalias detector = new DetectorAnomalias(PARAMETROS);
+        for (int i = 0; i < 20; i++) {
+            detector.registrar(10_000 + (i % 2) * 400, CategoriaFinanceira.TRANSPORTE, "Posto Shell");
+        }
+
+        DetectorAnomalias.Anomalia anomalia = detector.avaliar(20_000, CategoriaFinanceira.TRANSPORTE, "Posto Shell");
+        assertNotNull(anomalia);
+        assertEquals(MotivoAnomalia.VALOR_FORA_DO_PADRAO, anomalia.motivo());
+        assertTrue(anomalia.desvios() >= 4);
+        assertNull(detector.avaliar(12_000, CategoriaFinanceira.TRANSPORTE, "Posto Shell"));
+    }
+
+    @Test
+    @DisplayName("Deve apontar estabelecimento novo com valor alto e ignorar dígitos da descrição")
+    void deveApontarNovoEstabelecimento() {
+        DetectorAnomalias detector = new DetectorAnomalias(new DetectorAnomalias.Parametros(5, 4, 5, 1.5, 0.1));
+        for (int i = 0; i < 10; i++) {
+            detector.registrar(i % 2 == 0 ? 3_000 : 7_000, CategoriaFinanceira.COMPRAS,
+                    "PAG*LOJA CENTRO " + i + "/10");
+        }
+
+        assertEquals(1, detector.getQuantidadeEstabelecimentos());
+        assertNull(detector.avaliar(9_000, CategoriaFinanceira.COMPRAS, "Pag Loja Centro 99"));
+        assertNull(detector.avaliar(6_000, CategoriaFinanceira.COMPRAS, "Eletrônicos Novos"));
+        DetectorAnomalias.Anomalia anomalia = detector.avaliar(9_000, CategoriaFinanceira.COMPRAS,
+                "ELETRONICOS NOVOS 4471");
+        assertNotNull(anomalia);
+        assertEquals(MotivoAnomalia.NOVO_ESTABELECIMENTO, anomalia.motivo());
+
+        detector.registrar(9_000, CategoriaFinanceira.COMPRAS, "Eletrônicos Novos");
+        assertNull(detector.avaliar(9_000, CategoriaFinanceira.COMPRAS, "ELETRONICOS NOVOS 4471"));
+        assertEquals(0, DetectorAnomalias.chaveEstabelecimento("12345 / 678"));
+        assertEquals(DetectorAnomalias.chaveEstabelecimento("Padaria São José 01"),
+                DetectorAnomalias.chaveEstabelecimento("PADARIA SAO JOSE"));
+    }
+
+    @Test
+    @DisplayName("Deve restaurar as estatísticas a partir do snapshot")
+    void deveRestaurarDoSnapshot() {
+        DetectorAnomalias original = new DetectorAnomalias(PARAMETROS);
+        for (int i = 0; i < 30; i++) {
+            original.registrar(3_000 + i * 10, CategoriaFinanceira.LAZER, "Cinema");
+            original.registrar(150_000, CategoriaFinanceira.MORADIA, "Aluguel");
+        }
+        assertEquals(60, original.getVersao());
+
+        List<DetectorAnomalias.Snapshot> snapshots = original.snapshots();
+        assertEquals(2, snapshots.size());
+        DetectorAnomalias restaurado = new DetectorAnomalias(PARAMETROS);
+        snapshots.forEach(restaurado::restaurar);
+
+        assertEquals(snapshots, restaurado.snapshots());
+        assertEquals(0, restaurado.getVersao());
+        assertEquals(original.avaliar(40_000, CategoriaFinanceira.LAZER, "Cinema"),
+                restaurado.avaliar(40_000, CategoriaFinanceira.LAZER, "Cinema"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar parâmetros inválidos")
+    void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new DetectorAnomalias.Parametros(1, 4, 5, 3, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new DetectorAnomalias.Parametros(5, 4, 1, 3, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new DetectorAnomalias.Parametros(5, 4, 5, 3, 1));
+    }
+}
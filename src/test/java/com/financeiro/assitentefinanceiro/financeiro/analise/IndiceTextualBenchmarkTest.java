@@ -0,0 +1,98 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede a montagem e a busca do índice textual de uma conta com um milhão de movimentações de extrato sintéticas,
+ * com termos raros, frequentes, prefixos e filtro de período. Executado pela task {@code testVolume}, com heap de
+ * 256 MB.
+ */
+@Tag("volume")
+@DisplayName("Benchmark da busca textual de movimentações")
+class IndiceTextualBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceTextualBenchmarkTest.class);
+
+    private static final int MOVIMENTACOES = 1_000_000;
+    private static final int ESTABELECIMENTOS = 20_000;
+    private static final int CONSULTAS = 2_000;
+    private static final int AQUECIMENTO = 500;
+    private static final LocalDate DATA_BASE = LocalDate.of(2020, 1, 1);
+    private static final String[] OPERACOES = { "compra cartao", "pix enviado", "pix recebido", "pagamento boleto",
+            "ted recebida", "debito automatico", "saque", "transferencia" };
+    private static final String[] CIDADES = { "São Paulo", "Rio de Janeiro", "Belo Horizonte", "Curitiba",
+            "Porto Alegre", "Salvador", "Recife", "Brasília" };
+    private static final String[] OBSERVACOES = { "parcela", "assinatura mensal", "reembolso", "presente",
+            "viagem de férias", "conta de luz", "manutenção do carro", "mercado da semana" };
+    private static final long LATENCIA_P99_MAXIMA_MS = 50;
+
+    @Test
+    @DisplayName("Deve responder buscas em um milhão de movimentações com latência de milissegundos")
+    void deveBuscarEmMilissegundos() {
+        Random random = new Random(42);
+        IndiceTextual indice = new IndiceTextual(MOVIMENTACOES);
+
+        long inicioMontagem = System.nanoTime();
+        for (int i = 0; i < MOVIMENTACOES; i++) {
+            String descricao = OPERACOES[random.nextInt(OPERACOES.length)].toUpperCase() + " "
+                    + "ESTABELECIMENTO " + estabelecimento(random) + " " + CIDADES[random.nextInt(CIDADES.length)];
+            String observacoes = random.nextInt(3) == 0 ? OBSERVACOES[random.nextInt(OBSERVACOES.length)] : null;
+            indice.registrar(i + 1L, descricao, observacoes, DATA_BASE.plusDays(random.nextInt(1_800)));
+        }
+        long montagemMs = (System.nanoTime() - inicioMontagem) / 1_000_000;
+
+        String[] consultas = new String[CONSULTAS];
+        LocalDate[] inicios = new LocalDate[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            consultas[i] = switch (i % 5) {
+                case 0 -> "estabelecimento " + estabelecimento(random);
+                case 1 -> "pix " + CIDADES[random.nextInt(CIDADES.length)];
+                case 2 -> "compra " + OBSERVACOES[random.nextInt(OBSERVACOES.length)];
+                case 3 -> "loja" + random.nextInt(ESTABELECIMENTOS / 100) + "*";
+                default -> "saque";
+            };
+            inicios[i] = i % 2 == 0 ? DATA_BASE.plusDays(random.nextInt(1_800)) : null;
+        }
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            indice.buscar(consultas[i % CONSULTAS], inicios[i % CONSULTAS], null, 20);
+        }
+        long[] latencias = new long[CONSULTAS];
+        long encontrados = 0;
+        for (int i = 0; i < CONSULTAS; i++) {
+            long inicio = System.nanoTime();
+            IndiceTextual.Resultado resultado = indice.buscar(consultas[i], inicios[i], null, 20);
+            latencias[i] = System.nanoTime() - inicio;
+            encontrados += resultado.encontrados();
+        }
+        Arrays.sort(latencias);
+        double p50Ms = latencias[CONSULTAS / 2] / 1_000_000.0;
+        double p99Ms = latencias[CONSULTAS * 99 / 100] / 1_000_000.0;
+
+        Runtime runtime = Runtime.getRuntime();
+        logger.info("Índice textual com {} movimentações e {} termos ({} MB), montado em {}ms. "
+                        + "Busca: p50 {}ms, p99 {}ms, máximo {}ms, média de {} encontradas; heap usado {} MB",
+                indice.tamanho(), indice.getQuantidadeTermos(), indice.getTamanhoBytes() / (1024 * 1024), montagemMs,
+                String.format("%.3f", p50Ms), String.format("%.3f", p99Ms),
+                String.format("%.3f", latencias[CONSULTAS - 1] / 1_000_000.0), encontrados / CONSULTAS,
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+
+        assertEquals(MOVIMENTACOES, indice.tamanho());
+        assertTrue(encontrados > 0);
+        assertTrue(p99Ms < LATENCIA_P99_MAXIMA_MS, "p99 da busca acima de 50ms: " + p99Ms);
+    }
+
+    private static String estabelecimento(Random random) {
+        return "LOJA" + random.nextInt(ESTABELECIMENTOS);
+    }
+}
@@ -0,0 +1,193 @@
+package com.financeiro.assitentefinanceiro.financeiro.analise;
+
+import com.financeiro.assitentefinanceiro.financeiro.analise.IndiceTextual.Acerto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para IndiceTextual")
+class IndiceTextualTest {
+
+    private static final LocalDate DATA_BASE = LocalDate.of(2024, 1, 1);
+    private static final int CASOS = 2_000;
+
+    @Test
+    @DisplayName("Deve encontrar termos ignorando acentos, caixa e palavras vazias")
+    void deveEncontrarIgnorandoAcentos() {
+        IndiceTextual indice = new IndiceTextual();
+        indice.registrar(1L, "Farmácia São João", null, DATA_BASE);
+        indice.registrar(2L, "Mercado", "compra de remédio na FARMACIA", DATA_BASE.plusDays(1));
+        indice.registrar(3L, "Padaria do Zé", "pão e café", DATA_BASE.plusDays(2));
+
+        assertEquals(List.of(1L, 2L), ids(indice.buscar("farmacia", null, null, 10).acertos()));
+        assertEquals(List.of(3L), ids(indice.buscar("PÃO de Café", null, null, 10).acertos()));
+        assertEquals(List.of(3L), ids(indice.buscar("ze", null, null, 10).acertos()));
+        assertEquals(0, indice.buscar("farmacia padaria", null, null, 10).encontrados());
+        assertEquals(0, indice.buscar("de", null, null, 10).encontrados());
+        assertEquals(0, indice.buscar("  ", null, null, 10).encontrados());
+    }
+
+    @Test
+    @DisplayName("Deve ranquear a descrição acima das observações e aceitar prefixo e período")
+    void deveRanquearEFiltrar() {
+        IndiceTextual indice = new IndiceTextual();
+        indice.registrar(10L, "Supermercado Extra", null, DATA_BASE);
+        indice.registrar(11L, "Compra mensal", "supermercado extra", DATA_BASE.plusDays(10));
+        indice.registrar(12L, "Supermercado Dia", null, DATA_BASE.plusDays(20));
+
+        IndiceTextual.Resultado resultado = indice.buscar("supermercado extra", null, null, 10);
+        assertEquals(2, resultado.encontrados());
+        assertEquals(List.of(10L, 11L), ids(resultado.acertos()));
+        assertTrue(resultado.acertos().get(0).relevancia() > resultado.acertos().get(1).relevancia());
+
+        assertEquals(3, indice.buscar("super*", null, null, 10).encontrados());
+        assertEquals(List.of(11L, 12L), ids(indice.buscar("supermerc*", DATA_BASE.plusDays(5), null, 10).acertos())
+                .stream().sorted().toList());
+        assertEquals(List.of(10L), ids(indice.buscar("supermercado", null, DATA_BASE.plusDays(5), 10).acertos()));
+        assertEquals(1, indice.buscar("supermercado", null, null, 1).acertos().size());
+        assertEquals(3, indice.buscar("supermercado", null, null, 1).encontrados());
+    }
+
+    @Test
+    @DisplayName("Deve substituir a versão anterior ao alterar e esquecer a movimentação excluída")
+    void deveAlterarEExcluir() {
+        IndiceTextual indice = new IndiceTextual();
+        indice.registrar(1L, "Conta de luz", null, DATA_BASE);
+        indice.registrar(2L, "Conta de água", null, DATA_BASE);
+
+        indice.registrar(1L, "Conta de gás", null, DATA_BASE);
+        assertEquals(0, indice.buscar("luz", null, null, 10).encontrados());
+        assertEquals(List.of(1L), ids(indice.buscar("gas", null, null, 10).acertos()));
+        assertEquals(2, indice.tamanho());
+
+        indice.remover(2L);
+        indice.remover(99L);
+        assertEquals(List.of(1L), ids(indice.buscar("conta", null, null, 10).acertos()));
+        assertEquals(1, indice.tamanho());
+        assertEquals(2.0 / 3, indice.getFracaoRemovida(), 1e-9);
+
+        indice.registrar(2L, "Conta de água", null, DATA_BASE);
+        assertEquals(2, indice.buscar("conta", null, null, 10).encontrados());
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o índice serializado com as mesmas respostas e continuar recebendo escritas")
+    void deveRestaurarIndiceSerializado() {
+        Random random = new Random(20240915L);
+        String[] palavras = { "pix", "mercado", "mercearia", "luz", "agua", "conta", "cartao", "uber" };
+        IndiceTextual indice = new IndiceTextual(4);
+        for (int caso = 0; caso < CASOS; caso++) {
+            long id = 1 + random.nextInt(500);
+            if (random.nextInt(6) == 0) {
+                indice.remover(id);
+            } else {
+                indice.registrar(id, texto(random, palavras), null, DATA_BASE.plusDays(random.nextInt(60)));
+            }
+        }
+
+        IndiceTextual restaurado = IndiceTextual.restaurar(indice.serializar());
+
+        assertEquals(indice.tamanho(), restaurado.tamanho());
+        assertEquals(indice.getQuantidadeTermos(), restaurado.getQuantidadeTermos());
+        assertEquals(indice.getFracaoRemovida(), restaurado.getFracaoRemovida(), 1e-12);
+        for (String consulta : List.of("mercado", "merc*", "conta luz", "pix cartao", "uber")) {
+            assertEquals(indice.buscar(consulta, null, null, 1_000), restaurado.buscar(consulta, null, null, 1_000),
+                    "Consulta '" + consulta + "'");
+        }
+
+        indice.registrar(1_000L, "Conta de luz", null, DATA_BASE);
+        restaurado.registrar(1_000L, "Conta de luz", null, DATA_BASE);
+        indice.remover(1L);
+        restaurado.remover(1L);
+        assertEquals(indice.buscar("conta luz", DATA_BASE, null, 1_000),
+                restaurado.buscar("conta luz", DATA_BASE, null, 1_000));
+        assertThrows(IllegalArgumentException.class, () -> IndiceTextual.restaurar(new byte[] { 0, 0, 0, 9 }));
+    }
+
+    @Test
+    @DisplayName("Deve coincidir com a varredura de todos os documentos para operações aleatórias")
+    void deveCoincidirComVarredura() {
+        Random random = new Random(20240801L);
+        String[] palavras = { "pix", "ted", "mercado", "mercearia", "luz", "agua", "conta", "cartao", "uber", "de" };
+        IndiceTextual indice = new IndiceTextual(4);
+        Map<Long, Set<String>> documentos = new HashMap<>();
+        Map<Long, LocalDate> datas = new HashMap<>();
+
+        for (int caso = 0; caso < CASOS; caso++) {
+            long id = 1 + random.nextInt(300);
+            if (random.nextInt(5) == 0) {
+                indice.remover(id);
+                documentos.remove(id);
+                datas.remove(id);
+            } else {
+                String descricao = texto(random, palavras);
+                String observacoes = random.nextBoolean() ? texto(random, palavras) : null;
+                LocalDate data = DATA_BASE.plusDays(random.nextInt(60));
+                indice.registrar(id, descricao, observacoes, data);
+                Set<String> termos = new HashSet<>(List.of(NormalizadorTexto.normalizar(descricao + " "
+                        + (observacoes != null ? observacoes : "")).split(" ")));
+                documentos.put(id, termos);
+                datas.put(id, data);
+            }
+
+            String consulta = palavras[random.nextInt(palavras.length - 1)]
+                    + (random.nextBoolean() ? " " + palavras[random.nextInt(palavras.length - 1)] : "");
+            boolean prefixo = random.nextInt(4) == 0;
+            if (prefixo) {
+                consulta = consulta.substring(0, Math.max(1, consulta.length() - 2)) + "*";
+            }
+            LocalDate inicio = random.nextBoolean() ? DATA_BASE.plusDays(random.nextInt(60)) : null;
+
+            Set<Long> esperados = new HashSet<>();
+            for (Map.Entry<Long, Set<String>> documento : documentos.entrySet()) {
+                if (contem(documento.getValue(), consulta)
+                        && (inicio == null || !datas.get(documento.getKey()).isBefore(inicio))) {
+                    esperados.add(documento.getKey());
+                }
+            }
+
+            IndiceTextual.Resultado resultado = indice.buscar(consulta, inicio, null, 1_000);
+            assertEquals(esperados, new HashSet<>(ids(resultado.acertos())), "Consulta '" + consulta + "'");
+            assertEquals(esperados.size(), resultado.encontrados());
+            assertEquals(documentos.size(), indice.tamanho());
+            for (int i = 1; i < resultado.acertos().size(); i++) {
+                assertTrue(resultado.acertos().get(i - 1).relevancia() >= resultado.acertos().get(i).relevancia());
+            }
+        }
+    }
+
+    private static boolean contem(Set<String> termos, String consulta) {
+        for (String parte : consulta.split(" ")) {
+            boolean prefixo = parte.endsWith("*");
+            String termo = prefixo ? parte.substring(0, parte.length() - 1) : parte;
+            if (prefixo ? termos.stream().noneMatch(t -> t.startsWith(termo)) : !termos.contains(termo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String texto(Random random, String[] palavras) {
+        List<String> partes = new ArrayList<>();
+        int tamanho = 1 + random.nextInt(4);
+        for (int i = 0; i < tamanho; i++) {
+            String palavra = palavras[random.nextInt(palavras.length)];
+            partes.add(random.nextBoolean() ? palavra.toUpperCase() : palavra);
+        }
+        return String.join(" ", partes);
+    }
+
+    private static List<Long> ids(List<Acerto> acertos) {
+        return acertos.stream().map(Acerto::id).toList();
+    }
+}
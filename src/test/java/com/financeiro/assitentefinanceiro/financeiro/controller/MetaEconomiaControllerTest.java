@@ -3,6 +3,7 @@ package com.financeiro.assitentefinanceiro.financeiro.controller;
 import com.financeiro.assitentefinanceiro.ai.service.AssistenteFinanceiroService;
 import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MetaEconomiaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoProgressoMetaDTO;
 import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMeta;
 import com.financeiro.assitentefinanceiro.financeiro.service.MetaEconomiaService;
@@ -21,9 +22,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -67,7 +70,7 @@ class MetaEconomiaControllerTest {
             LocalDateTime.now(),
             "Meta para emergências",
             BigDecimal.valueOf(20.0),
-            1L
+            1L, null
         );
 
         meta = new MetaEconomia(
@@ -236,7 +239,7 @@ class MetaEconomiaControllerTest {
             LocalDateTime.now(),
             "Meta para viagem",
             BigDecimal.valueOf(20.0),
-            2L
+            2L, null
         );
 
         MetaEconomia metaSalva = new MetaEconomia(
@@ -295,4 +298,19 @@ class MetaEconomiaControllerTest {
                 .andExpect(jsonPath("$.sucesso").value(true))
                 .andExpect(jsonPath("$.dados").value("Sugestões personalizadas para a conta"));
     }
+
+    @Test
+    @DisplayName("Deve reconciliar progresso das metas vinculadas")
+    void deveReconciliarProgressoDasMetasVinculadas() throws Exception {
+        ReconciliacaoProgressoMetaDTO resultado = new ReconciliacaoProgressoMetaDTO(3, 1, true,
+                List.of(new ReconciliacaoProgressoMetaDTO.DivergenciaProgressoDTO(1L, 1L, new BigDecimal("450.00"),
+                        new BigDecimal("300.00"), new BigDecimal("150.00"))), 12L, LocalDateTime.now());
+        when(metaEconomiaService.reconciliarProgresso(eq(true))).thenReturn(resultado);
+
+        mockMvc.perform(post("/api/v1/metas/progresso/reconciliar").param("corrigir", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.metasVerificadas").value(3))
+                .andExpect(jsonPath("$.metasDivergentes").value(1))
+                .andExpect(jsonPath("$.divergencias[0].diferenca").value(150.00));
+    }
 }
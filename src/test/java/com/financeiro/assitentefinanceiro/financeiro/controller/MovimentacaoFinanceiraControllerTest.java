@@ -1,9 +1,22 @@
 package com.financeiro.assitentefinanceiro.financeiro.controller;
 
+import com.financeiro.assitentefinanceiro.financeiro.domain.ResumoMensal;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.AlertaAnomaliaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.BuscaMovimentacoesDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.DistribuicaoCategoriasDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.OuvinteEventoDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ResultadoLoteDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.SaldoDiarioDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.MotivoAnomalia;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
 import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.ExportacaoMovimentacaoService;
 import com.financeiro.assitentefinanceiro.financeiro.service.MovimentacaoFinanceiraService;
+import com.financeiro.assitentefinanceiro.financeiro.service.MovimentacaoLoteService;
+import com.financeiro.assitentefinanceiro.financeiro.service.RelatorioPdfService;
 import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,12 +28,24 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -31,6 +56,15 @@ class MovimentacaoFinanceiraControllerTest {
     @Mock
     private MovimentacaoFinanceiraService service;
 
+    @Mock
+    private MovimentacaoLoteService loteService;
+
+    @Mock
+    private ExportacaoMovimentacaoService exportacaoService;
+
+    @Mock
+    private RelatorioPdfService relatorioPdfService;
+
     @InjectMocks
     private MovimentacaoFinanceiraController controller;
 
@@ -130,4 +164,260 @@ class MovimentacaoFinanceiraControllerTest {
                 .content(objectMapper.writeValueAsString(parametros)))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    @DisplayName("Deve registrar lote de movimentações com erros por item")
+    void deveRegistrarLoteComErrosPorItem() throws Exception {
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO(2, 1, 1,
+                List.of(new ResultadoLoteDTO.ErroItemLoteDTO(1, 1L, "Valor deve ser maior que zero")), 5L, 200.0);
+
+        when(loteService.registrarLote(anyList())).thenReturn(resultado);
+
+        mockMvc.perform(post("/api/v1/movimentacoes/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                        TestDataBuilder.movimentacaoFinanceiraDTO().build(),
+                        TestDataBuilder.movimentacaoFinanceiraDTO().comValor(java.math.BigDecimal.ZERO).build()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRegistrado").value(1))
+                .andExpect(jsonPath("$.erros[0].indice").value(1))
+                .andExpect(jsonPath("$.linhasPorSegundo").value(200.0));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para lote inválido")
+    void deveRetornarBadRequestParaLoteInvalido() throws Exception {
+        when(loteService.registrarLote(anyList())).thenThrow(new IllegalArgumentException("Lote de movimentações é obrigatório"));
+
+        mockMvc.perform(post("/api/v1/movimentacoes/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve exportar movimentações da conta em NDJSON")
+    void deveExportarMovimentacoesEmNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(1);
+            saida.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(exportacaoService).exportarNdjson(eq(1L), any(OutputStream.class));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/movimentacoes/conta/1/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao exportar conta inexistente")
+    void deveRetornarBadRequestAoExportarContaInexistente() throws Exception {
+        doThrow(new IllegalArgumentException("Conta não encontrada com ID: 99"))
+                .when(exportacaoService).validarConta(99L);
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/99/stream"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve transmitir o relatório em PDF")
+    void deveTransmitirRelatorioPdf() throws Exception {
+        RelatorioPDFParametrosDTO parametros = TestDataBuilder.relatorioPDFParametrosDTO().build();
+        RelatorioDadosDTO resumo = TestDataBuilder.relatorioDadosDTO().build();
+        when(relatorioPdfService.prepararRelatorio(any(RelatorioPDFParametrosDTO.class))).thenReturn(resumo);
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(2);
+            saida.write("%PDF-1.4\n%%EOF\n".getBytes(StandardCharsets.US_ASCII));
+            return 1;
+        }).when(relatorioPdfService).gerarPdf(any(RelatorioPDFParametrosDTO.class), eq(resumo), any(OutputStream.class));
+
+        MvcResult resultado = mockMvc.perform(post("/api/v1/movimentacoes/relatorio/pdf")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(parametros)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"relatorio-conta-" + parametros.contaId() + ".pdf\""))
+                .andExpect(content().string("%PDF-1.4\n%%EOF\n"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao gerar PDF de conta inexistente")
+    void deveRetornarBadRequestAoGerarPdfDeContaInexistente() throws Exception {
+        RelatorioPDFParametrosDTO parametros = TestDataBuilder.relatorioPDFParametrosDTO().build();
+        when(relatorioPdfService.prepararRelatorio(any(RelatorioPDFParametrosDTO.class)))
+                .thenThrow(new IllegalArgumentException("Conta não encontrada"));
+
+        mockMvc.perform(post("/api/v1/movimentacoes/relatorio/pdf")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(parametros)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar resumo mensal da conta")
+    void deveRetornarResumoMensal() throws Exception {
+        when(service.buscarResumoMensal(1L, YearMonth.of(2024, 1), YearMonth.of(2024, 3))).thenReturn(List.of(
+                new ResumoMensal(1L, "2024-01", CategoriaFinanceira.ALIMENTACAO, TipoMovimentacao.DESPESA,
+                        StatusMovimentacao.CONCLUIDA, 4, new BigDecimal("230.10"))));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/resumo-mensal")
+                .param("inicio", "2024-01")
+                .param("fim", "2024-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].anoMes").value("2024-01"))
+                .andExpect(jsonPath("$[0].categoria").value("ALIMENTACAO"))
+                .andExpect(jsonPath("$[0].quantidade").value(4))
+                .andExpect(jsonPath("$[0].total").value(230.10));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para período inválido do resumo mensal")
+    void deveRetornarBadRequestParaPeriodoInvalidoDoResumoMensal() throws Exception {
+        when(service.buscarResumoMensal(1L, YearMonth.of(2024, 3), YearMonth.of(2024, 1)))
+                .thenThrow(new IllegalArgumentException("Mês de início deve ser anterior ao mês de fim"));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/resumo-mensal")
+                .param("inicio", "2024-03")
+                .param("fim", "2024-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar distribuição por categoria com ranking e participação")
+    void deveRetornarDistribuicaoPorCategoria() throws Exception {
+        when(service.buscarDistribuicaoCategorias(1L, LocalDate.of(2024, 1, 1), null, TipoMovimentacao.DESPESA, 2))
+                .thenReturn(new DistribuicaoCategoriasDTO(1L, TipoMovimentacao.DESPESA, LocalDate.of(2024, 1, 1), null,
+                        new BigDecimal("2500.00"), List.of(
+                                new DistribuicaoCategoriasDTO.TotalCategoriaDTO(1, CategoriaFinanceira.MORADIA, 1,
+                                        new BigDecimal("1800.00"), new BigDecimal("72.00")),
+                                new DistribuicaoCategoriasDTO.TotalCategoriaDTO(2, CategoriaFinanceira.ALIMENTACAO, 5,
+                                        new BigDecimal("500.00"), new BigDecimal("20.00")))));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/categorias")
+                .param("inicio", "2024-01-01")
+                .param("tipo", "DESPESA")
+                .param("top", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2500.00))
+                .andExpect(jsonPath("$.categorias.length()").value(2))
+                .andExpect(jsonPath("$.categorias[0].posicao").value(1))
+                .andExpect(jsonPath("$.categorias[0].categoria").value("MORADIA"))
+                .andExpect(jsonPath("$.categorias[0].percentual").value(72.00))
+                .andExpect(jsonPath("$.categorias[1].quantidade").value(5));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para quantidade inválida de categorias")
+    void deveRetornarBadRequestParaTopInvalido() throws Exception {
+        when(service.buscarDistribuicaoCategorias(1L, null, null, null, 0))
+                .thenThrow(new IllegalArgumentException("Quantidade de categorias deve ser maior que zero"));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/categorias").param("top", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar movimentações encontradas pela busca textual em ordem de relevância")
+    void deveRetornarBuscaTextual() throws Exception {
+        when(service.buscarPorTexto(1L, "farmacia", LocalDate.of(2024, 1, 1), null, 5))
+                .thenReturn(new BuscaMovimentacoesDTO(1L, "farmacia", 12, List.of(
+                        new BuscaMovimentacoesDTO.ItemBuscaDTO(3.5, TestDataBuilder.movimentacaoFinanceiraDTO()
+                                .comId(7L).comDescricao("Farmácia São João").build()))));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/busca")
+                .param("q", "farmacia")
+                .param("inicio", "2024-01-01")
+                .param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEncontrado").value(12))
+                .andExpect(jsonPath("$.resultados.length()").value(1))
+                .andExpect(jsonPath("$.resultados[0].relevancia").value(3.5))
+                .andExpect(jsonPath("$.resultados[0].movimentacao.id").value(7))
+                .andExpect(jsonPath("$.resultados[0].movimentacao.descricao").value("Farmácia São João"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para busca textual sem termos")
+    void deveRetornarBadRequestParaBuscaVazia() throws Exception {
+        when(service.buscarPorTexto(1L, " ", null, null, null))
+                .thenThrow(new IllegalArgumentException("Consulta é obrigatória"));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/busca").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar alertas de despesas atípicas da conta")
+    void deveRetornarAlertasDeAnomalias() throws Exception {
+        when(service.buscarAlertas(1L, 10)).thenReturn(List.of(new AlertaAnomaliaDTO(5L, 42L,
+                MotivoAnomalia.VALOR_ACIMA_DO_HABITUAL, CategoriaFinanceira.ALIMENTACAO, "Restaurante Fasano",
+                new BigDecimal("1450.00"), new BigDecimal("85.30"), 12.4, LocalDate.of(2024, 3, 15),
+                LocalDate.of(2024, 3, 15).atTime(10, 30))));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/alertas").param("limite", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].movimentacaoId").value(42))
+                .andExpect(jsonPath("$[0].motivo").value("VALOR_ACIMA_DO_HABITUAL"))
+                .andExpect(jsonPath("$[0].valorHabitual").value(85.30));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para limite de alertas inválido")
+    void deveRetornarBadRequestParaLimiteDeAlertasInvalido() throws Exception {
+        when(service.buscarAlertas(1L, 0)).thenThrow(new IllegalArgumentException("Limite deve estar entre 1 e 500"));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/alertas").param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve reposicionar ouvinte de eventos para reprocessamento")
+    void deveReprocessarEventosDoOuvinte() throws Exception {
+        when(service.reprocessarEventos("contexto-ia", 10L)).thenReturn(new OuvinteEventoDTO("contexto-ia", 9, 25, 16));
+        when(service.reprocessarEventos("inexistente", 10L))
+                .thenThrow(new IllegalArgumentException("Ouvinte de eventos não encontrado: inexistente"));
+
+        mockMvc.perform(post("/api/v1/movimentacoes/eventos/ouvintes/contexto-ia/reprocessar").param("aPartirDe", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posicao").value(9))
+                .andExpect(jsonPath("$.atraso").value(16));
+        mockMvc.perform(post("/api/v1/movimentacoes/eventos/ouvintes/inexistente/reprocessar").param("aPartirDe", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar saldo na data informada")
+    void deveRetornarSaldoEmData() throws Exception {
+        when(service.calcularSaldoEm(1L, LocalDate.of(2024, 3, 31))).thenReturn(new BigDecimal("1234.56"));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/saldo").param("em", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1234.56"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar série diária de saldo")
+    void deveRetornarSerieDeSaldo() throws Exception {
+        when(service.buscarSerieSaldo(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2))).thenReturn(List.of(
+                new SaldoDiarioDTO(LocalDate.of(2024, 1, 1), new BigDecimal("100.00")),
+                new SaldoDiarioDTO(LocalDate.of(2024, 1, 2), new BigDecimal("80.00"))));
+
+        mockMvc.perform(get("/api/v1/movimentacoes/conta/1/saldo/serie")
+                .param("inicio", "2024-01-01")
+                .param("fim", "2024-01-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].saldo").value(80.00));
+    }
 }
@@ -0,0 +1,138 @@
+package com.financeiro.assitentefinanceiro.financeiro.controller;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.RelatorioJob;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.service.RelatorioJobService;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do RelatorioJobController")
+class RelatorioJobControllerTest {
+
+    @Mock
+    private RelatorioJobService service;
+
+    @InjectMocks
+    private RelatorioJobController controller;
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o pedido de relatório e retornar o ID do job")
+    void deveAceitarPedidoDeRelatorio() throws Exception {
+        RelatorioPDFParametrosDTO parametros = TestDataBuilder.relatorioPDFParametrosDTO().build();
+        when(service.submeter(any(RelatorioPDFParametrosDTO.class), eq("anonimo")))
+                .thenReturn(new RelatorioJob("job-1", "anonimo", 1L));
+
+        mockMvc.perform(post("/api/v1/relatorios/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(parametros)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("PENDENTE"))
+                .andExpect(jsonPath("$.emCache").value(false));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 200 com o link do PDF quando o relatório vem do cache")
+    void deveRetornarJobConcluidoDoCache() throws Exception {
+        RelatorioPDFParametrosDTO parametros = TestDataBuilder.relatorioPDFParametrosDTO().build();
+        when(service.submeter(any(RelatorioPDFParametrosDTO.class), eq("anonimo")))
+                .thenReturn(RelatorioJob.doCache("job-2", "anonimo", 1L, artefato()));
+
+        mockMvc.perform(post("/api/v1/relatorios/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(parametros)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONCLUIDO"))
+                .andExpect(jsonPath("$.emCache").value(true))
+                .andExpect(jsonPath("$.paginas").value(3))
+                .andExpect(jsonPath("$.urlDownload").value("/api/v1/relatorios/jobs/job-2/pdf"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 429 quando o limite de jobs foi atingido")
+    void deveRetornarTooManyRequestsQuandoLimiteAtingido() throws Exception {
+        RelatorioPDFParametrosDTO parametros = TestDataBuilder.relatorioPDFParametrosDTO().build();
+        when(service.submeter(any(RelatorioPDFParametrosDTO.class), any()))
+                .thenThrow(new IllegalStateException("Limite atingido"));
+
+        mockMvc.perform(post("/api/v1/relatorios/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(parametros)))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 para job inexistente")
+    void deveRetornarNotFoundParaJobInexistente() throws Exception {
+        when(service.buscarJob("x", "anonimo")).thenThrow(new IllegalArgumentException("Job não encontrado"));
+
+        mockMvc.perform(get("/api/v1/relatorios/jobs/x"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 409 ao baixar relatório ainda não concluído")
+    void deveRetornarConflictParaRelatorioNaoConcluido() throws Exception {
+        when(service.abrirPdf("job-1", "anonimo")).thenThrow(new IllegalStateException("Não concluído"));
+
+        mockMvc.perform(get("/api/v1/relatorios/jobs/job-1/pdf"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Deve transmitir o PDF de um job concluído")
+    void deveTransmitirPdfDoJobConcluido() throws Exception {
+        when(service.abrirPdf("job-2", "anonimo"))
+                .thenReturn(new ByteArrayInputStream("%PDF-teste".getBytes(StandardCharsets.US_ASCII)));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/relatorios/jobs/job-2/pdf"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"relatorio-job-2.pdf\""))
+                .andExpect(content().string("%PDF-teste"));
+    }
+
+    private static RelatorioJob.Artefato artefato() {
+        return new RelatorioJob.Artefato(Path.of("relatorio.pdf"), 1024, 3, LocalDateTime.now());
+    }
+}
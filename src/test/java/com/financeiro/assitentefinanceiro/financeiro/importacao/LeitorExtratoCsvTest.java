@@ -0,0 +1,94 @@
+package com.financeiro.assitentefinanceiro.financeiro.importacao;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.FormatoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para LeitorExtratoCsv")
+class LeitorExtratoCsvTest {
+
+    @Test
+    @DisplayName("Deve ler CSV brasileiro com ponto e vírgula e valores negativos como despesa")
+    void deveLerCsvBrasileiro() throws IOException {
+        String csv = """
+                Data;Histórico;Valor;Categoria;Identificador
+                15/01/2024;"Supermercado; filial 2";-1.234,56;Alimentação;ABC1
+                16/01/2024;Salário;5.000,00;;
+                """;
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(FormatoArquivo.CSV, new StringReader(csv))) {
+            RegistroExtrato despesa = leitor.proximo();
+            assertEquals(LocalDate.of(2024, 1, 15), despesa.dataMovimentacao());
+            assertEquals("Supermercado; filial 2", despesa.descricao());
+            assertEquals(new BigDecimal("1234.56"), despesa.valor());
+            assertEquals(TipoMovimentacao.DESPESA, despesa.tipoMovimentacao());
+            assertEquals(CategoriaFinanceira.ALIMENTACAO, despesa.categoria());
+            assertEquals("ABC1", despesa.identificadorExterno());
+
+            RegistroExtrato receita = leitor.proximo();
+            assertEquals(TipoMovimentacao.RECEITA, receita.tipoMovimentacao());
+            assertEquals(new BigDecimal("5000.00"), receita.valor());
+            assertNull(receita.categoria());
+            assertNull(receita.identificadorExterno());
+
+            assertNull(leitor.proximo());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve usar coluna de tipo quando informada")
+    void deveUsarColunaDeTipo() throws IOException {
+        String csv = """
+                date,description,amount,type
+                2024-02-01,Coffee,4.50,debit
+                """;
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(FormatoArquivo.CSV, new StringReader(csv))) {
+            RegistroExtrato registro = leitor.proximo();
+            assertEquals(TipoMovimentacao.DESPESA, registro.tipoMovimentacao());
+            assertEquals(new BigDecimal("4.50"), registro.valor());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linha inválida e continuar na próxima")
+    void deveRejeitarLinhaInvalidaEContinuar() throws IOException {
+        String csv = """
+                data;descricao;valor
+                32/13/2024;Inválida;10,00
+                01/03/2024;Válida;10,00
+                """;
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(FormatoArquivo.CSV, new StringReader(csv))) {
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, leitor::proximo);
+            assertTrue(erro.getMessage().startsWith("Linha 2"));
+            assertEquals("Válida", leitor.proximo().descricao());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cabeçalho sem colunas obrigatórias")
+    void deveRejeitarCabecalhoSemColunasObrigatorias() {
+        LeitorExtrato leitor = LeitorExtrato.abrir(FormatoArquivo.CSV, new StringReader("nome;quantia\n"));
+
+        assertThrows(IllegalArgumentException.class, leitor::proximo);
+    }
+
+    @Test
+    @DisplayName("Deve converter valores em formatos brasileiro e americano")
+    void deveConverterValores() {
+        assertEquals(new BigDecimal("1234.56"), LeitorExtratoCsv.converterValor("R$ 1.234,56"));
+        assertEquals(new BigDecimal("1234.56"), LeitorExtratoCsv.converterValor("1,234.56"));
+        assertEquals(new BigDecimal("-10.00"), LeitorExtratoCsv.converterValor("(10,00)"));
+        assertEquals(new BigDecimal("-10.00"), LeitorExtratoCsv.converterValor("10,00-"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.financeiro.assitentefinanceiro.financeiro.importacao;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.FormatoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes unitários para LeitorExtratoOfx")
+class LeitorExtratoOfxTest {
+
+    @Test
+    @DisplayName("Deve ler transações OFX em formato SGML sem tags de fechamento")
+    void deveLerTransacoesSgml() throws IOException {
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240115120000[-3:BRT]
+                <TRNAMT>-150.25
+                <FITID>2024011501
+                <MEMO>Farmácia &amp; Drogaria
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>CREDIT
+                <DTPOSTED>20240116
+                <TRNAMT>3000,00
+                <NAME>Empresa X
+                </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(FormatoArquivo.OFX, new StringReader(ofx))) {
+            RegistroExtrato debito = leitor.proximo();
+            assertEquals(LocalDate.of(2024, 1, 15), debito.dataMovimentacao());
+            assertEquals(new BigDecimal("150.25"), debito.valor());
+            assertEquals(TipoMovimentacao.DESPESA, debito.tipoMovimentacao());
+            assertEquals("Farmácia & Drogaria", debito.descricao());
+            assertEquals("2024011501", debito.identificadorExterno());
+
+            RegistroExtrato credito = leitor.proximo();
+            assertEquals(TipoMovimentacao.RECEITA, credito.tipoMovimentacao());
+            assertEquals(new BigDecimal("3000.00"), credito.valor());
+            assertEquals("Empresa X", credito.descricao());
+            assertNull(credito.identificadorExterno());
+
+            assertNull(leitor.proximo());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar transação sem valor e continuar na próxima")
+    void deveRejeitarTransacaoSemValor() throws IOException {
+        String ofx = """
+                <OFX>
+                <STMTTRN><TRNTYPE>DEBIT</TRNTYPE><DTPOSTED>20240115</DTPOSTED><MEMO>Sem valor</MEMO></STMTTRN>
+                <STMTTRN><TRNTYPE>DEBIT</TRNTYPE><DTPOSTED>20240115</DTPOSTED><TRNAMT>-1.00</TRNAMT><MEMO>Ok</MEMO></STMTTRN>
+                </OFX>
+                """;
+
+        try (LeitorExtrato leitor = LeitorExtrato.abrir(FormatoArquivo.OFX, new StringReader(ofx))) {
+            assertThrows(IllegalArgumentException.class, leitor::proximo);
+            assertEquals("Ok", leitor.proximo().descricao());
+        }
+    }
+}
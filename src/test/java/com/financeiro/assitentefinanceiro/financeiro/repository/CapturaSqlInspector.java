@@ -0,0 +1,31 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CapturaSqlInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURADOS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        CAPTURADOS.get().add(sql);
+        return sql;
+    }
+
+    public static void limpar() {
+        CAPTURADOS.get().clear();
+    }
+
+    public static String ultimoSelect() {
+        List<String> capturados = CAPTURADOS.get();
+        for (int i = capturados.size() - 1; i >= 0; i--) {
+            if (capturados.get(i).stripLeading().toLowerCase().startsWith("select")) {
+                return capturados.get(i);
+            }
+        }
+        throw new IllegalStateException("Nenhuma consulta capturada");
+    }
+}
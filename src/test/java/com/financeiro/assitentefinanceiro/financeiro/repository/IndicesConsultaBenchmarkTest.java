@@ -0,0 +1,204 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede as consultas quentes de movimentações em 5 milhões de linhas, primeiro com o esquema anterior e
+ * depois com os índices compostos declarados em {@code MovimentacaoFinanceira}. A carga é feita sem índices
+ * secundários, recriados em seguida. Executado pela task {@code testVolume}.
+ */
+@Tag("volume")
+@SpringBootTest
+@DisplayName("Benchmark dos índices de movimentações em 5 milhões de linhas")
+class IndicesConsultaBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndicesConsultaBenchmarkTest.class);
+
+    private static final int TOTAL_MOVIMENTACOES = 5_000_000;
+    private static final int TAMANHO_INSERCAO = 100_000;
+    private static final int CONTAS = 500;
+    private static final int EXECUCOES = 5;
+    private static final List<String> INDICES = List.of(
+            "IDX_MOVIMENTACAO_CONTA_TIPO_DATA",
+            "IDX_MOVIMENTACAO_CONTA_CATEGORIA_DATA",
+            "IDX_MOVIMENTACAO_CONTA_STATUS_TIPO_VALOR",
+            "IDX_MOVIMENTACAO_IDENTIFICADOR_EXTERNO",
+            "IDX_MOVIMENTACAO_ARQUIVO_ORIGEM");
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void configurarBancoEmArquivo(DynamicPropertyRegistry registry) throws IOException {
+        Path diretorio = Files.createTempDirectory("indices-benchmark");
+        diretorio.toFile().deleteOnExit();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:file:" + diretorio.resolve("movimentacoes") + ";CACHE_SIZE=16384;DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @Test
+    @DisplayName("Deve reduzir a latência das consultas quentes com os índices compostos")
+    void deveReduzirLatenciaComIndices() {
+        List<String> esquemaAnterior = new ArrayList<>();
+        List<String> indicesNovos = new ArrayList<>();
+        removerIndicesSecundarios(esquemaAnterior, indicesNovos);
+
+        Long contaId = popular();
+        Map<String, IntFunction<?>> consultas = consultas(contaId);
+
+        esquemaAnterior.forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("ANALYZE");
+        Map<String, Long> antes = medir(consultas);
+
+        indicesNovos.forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("ANALYZE");
+        Map<String, Long> depois = medir(consultas);
+
+        logger.info("Latência mediana em {} movimentações (esquema anterior -> índices compostos):\n{}", TOTAL_MOVIMENTACOES,
+                consultas.keySet().stream()
+                        .map(consulta -> String.format("  %-45s %8.2f ms -> %8.2f ms", consulta,
+                                antes.get(consulta) / 1e6, depois.get(consulta) / 1e6))
+                        .collect(Collectors.joining("\n")));
+
+        assertTrue(depois.get("findByIdentificadorExterno") * 10 < antes.get("findByIdentificadorExterno"));
+        assertTrue(depois.get("findByArquivoOrigem") * 10 < antes.get("findByArquivoOrigem"));
+    }
+
+    private void removerIndicesSecundarios(List<String> esquemaAnterior, List<String> indicesNovos) {
+        for (Map<String, Object> restricao : jdbcTemplate.queryForList("""
+                SELECT constraint_name, constraint_type FROM information_schema.table_constraints
+                WHERE table_name = 'MOVIMENTACAO_FINANCEIRA' AND constraint_type IN ('UNIQUE', 'FOREIGN KEY')
+                """)) {
+            String nome = (String) restricao.get("CONSTRAINT_NAME");
+            String colunas = String.join(", ", jdbcTemplate.queryForList(
+                    "SELECT column_name FROM information_schema.key_column_usage WHERE constraint_name = ? ORDER BY ordinal_position",
+                    String.class, nome));
+            esquemaAnterior.add("ALTER TABLE movimentacao_financeira ADD CONSTRAINT " + nome
+                    + ("UNIQUE".equals(restricao.get("CONSTRAINT_TYPE"))
+                            ? " UNIQUE (" + colunas + ")"
+                            : " FOREIGN KEY (" + colunas + ") REFERENCES dados_conta (id)"));
+            jdbcTemplate.execute("ALTER TABLE movimentacao_financeira DROP CONSTRAINT " + nome);
+        }
+
+        for (String indice : jdbcTemplate.queryForList("""
+                SELECT index_name FROM information_schema.indexes
+                WHERE table_name = 'MOVIMENTACAO_FINANCEIRA' AND index_type_name = 'INDEX'
+                """, String.class)) {
+            String colunas = String.join(", ", jdbcTemplate.queryForList(
+                    "SELECT column_name FROM information_schema.index_columns WHERE index_name = ? ORDER BY ordinal_position",
+                    String.class, indice));
+            (INDICES.contains(indice) ? indicesNovos : esquemaAnterior)
+                    .add("CREATE INDEX " + indice + " ON movimentacao_financeira (" + colunas + ")");
+            jdbcTemplate.execute("DROP INDEX " + indice);
+        }
+        assertEquals(INDICES.size(), indicesNovos.size());
+    }
+
+    private Long popular() {
+        jdbcTemplate.update("""
+                INSERT INTO dados_conta (banco, numero_agencia, numero_conta, tipo_conta, responsavel)
+                SELECT 'Banco Benchmark', '0001', 'BENCH-' || X, 'Corrente', 'Benchmark' FROM SYSTEM_RANGE(1, ?)
+                """, CONTAS);
+        Long contaId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM dados_conta WHERE numero_conta LIKE 'BENCH-%'", Long.class);
+
+        String insercao = """
+                INSERT INTO movimentacao_financeira (id, tipo_movimentacao, valor, descricao, categoria, data_movimentacao,
+                    data_registro, status, fonte_movimentacao, identificador_externo, arquivo_origem, conta_id)
+                SELECT X, %s[MOD(X, %d) + 1], MOD(X, 1000) + 0.50, 'Movimentação ' || X, %s[MOD(X, %d) + 1],
+                    DATEADD('DAY', MOD(X, 730), DATE '2023-01-01'), CURRENT_TIMESTAMP, %s[MOD(X / 7, %d) + 1], 'MANUAL',
+                    'EXT-' || X, 'extrato-' || MOD(X, 5000) || '.csv', ? + MOD(X, ?)
+                FROM SYSTEM_RANGE(?, ?)
+                """.formatted(valores(TipoMovimentacao.values()), TipoMovimentacao.values().length,
+                valores(CategoriaFinanceira.values()), CategoriaFinanceira.values().length,
+                valores(StatusMovimentacao.values()), StatusMovimentacao.values().length);
+        for (int inicio = 1; inicio <= TOTAL_MOVIMENTACOES; inicio += TAMANHO_INSERCAO) {
+            jdbcTemplate.update(insercao, contaId, CONTAS, inicio, inicio + TAMANHO_INSERCAO - 1);
+        }
+        assertEquals(TOTAL_MOVIMENTACOES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimentacao_financeira", Long.class));
+        return contaId;
+    }
+
+    private Map<String, IntFunction<?>> consultas(Long contaId) {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        Map<String, IntFunction<?>> consultas = new LinkedHashMap<>();
+        consultas.put("findByContaIdAndTipoMovimentacaoAndPeriodo", execucao ->
+                repository.findByContaIdAndTipoMovimentacaoAndPeriodo(contaId + execucao, TipoMovimentacao.DESPESA,
+                        inicio, inicio.plusMonths(3)));
+        consultas.put("findByContaIdAndCategoria", execucao ->
+                repository.findByContaIdAndCategoria(contaId + execucao, CategoriaFinanceira.ALIMENTACAO));
+        consultas.put("findByContaIdAndStatus", execucao ->
+                repository.findByContaIdAndStatus(contaId + execucao, StatusMovimentacao.PENDENTE));
+        consultas.put("sumValorByContaIdAndTipoMovimentacao", execucao ->
+                repository.sumValorByContaIdAndTipoMovimentacao(contaId + execucao, TipoMovimentacao.RECEITA));
+        consultas.put("findByIdentificadorExterno", execucao ->
+                repository.findByIdentificadorExterno("EXT-" + (TOTAL_MOVIMENTACOES / 2 + execucao * 7919)));
+        consultas.put("findByArquivoOrigem", execucao ->
+                repository.findByArquivoOrigem("extrato-" + (42 + execucao) + ".csv"));
+        return consultas;
+    }
+
+    /**
+     * Cada execução usa parâmetros diferentes: o H2 reaproveita o resultado de uma consulta repetida
+     * enquanto a tabela não muda, o que mediria o cache e não o plano.
+     */
+    private Map<String, Long> medir(Map<String, IntFunction<?>> consultas) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+
+        Map<String, Long> medianas = new LinkedHashMap<>();
+        consultas.forEach((nome, consulta) -> {
+            transacao.execute(status -> consulta.apply(EXECUCOES));
+            long[] tempos = new long[EXECUCOES];
+            for (int i = 0; i < EXECUCOES; i++) {
+                int execucao = i;
+                long inicio = System.nanoTime();
+                transacao.execute(status -> consulta.apply(execucao));
+                tempos[i] = System.nanoTime() - inicio;
+            }
+            Arrays.sort(tempos);
+            medianas.put(nome, tempos[EXECUCOES / 2]);
+        });
+        return medianas;
+    }
+
+    private static String valores(Enum<?>[] constantes) {
+        return Arrays.stream(constantes)
+                .map(constante -> "'" + constante.name() + "'")
+                .collect(Collectors.joining(", ", "ARRAY[", "]"));
+    }
+}
@@ -0,0 +1,223 @@
+package com.financeiro.assitentefinanceiro.financeiro.repository;
+
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMeta;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:planoconsulta",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.financeiro.assitentefinanceiro.financeiro.repository.CapturaSqlInspector"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Testes de plano de consulta dos repositórios de movimentações e metas")
+class PlanoConsultaIndicesTest {
+
+    private static final int CONTAS = 50;
+    private static final int MOVIMENTACOES = 20_000;
+    private static final int METAS = 5_000;
+    private static final Pattern INDICE_NO_PLANO = Pattern.compile("/\\* PUBLIC\\.(\\w+)");
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 12, 31);
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private MetaEconomiaRepository metaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long contaId;
+
+    @BeforeAll
+    void popularAmostra() {
+        jdbcTemplate.update("""
+                INSERT INTO dados_conta (banco, numero_agencia, numero_conta, tipo_conta, responsavel)
+                SELECT 'Banco Plano', '0001', 'PLANO-' || X, 'Corrente', 'Plano de consulta' FROM SYSTEM_RANGE(1, ?)
+                """, CONTAS);
+        contaId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM dados_conta WHERE numero_conta LIKE 'PLANO-%'", Long.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO movimentacao_financeira (id, tipo_movimentacao, valor, descricao, categoria, data_movimentacao,
+                    data_registro, status, fonte_movimentacao, identificador_externo, arquivo_origem, conta_id)
+                SELECT X, %s[MOD(X, %d) + 1], MOD(X, 1000) + 0.50, 'Movimentação ' || X, %s[MOD(X, %d) + 1],
+                    DATEADD('DAY', MOD(X, 730), DATE '2023-01-01'), CURRENT_TIMESTAMP, %s[MOD(X / 7, %d) + 1], 'MANUAL',
+                    'EXT-' || X, 'extrato-' || MOD(X, 100) || '.csv', ? + MOD(X, ?)
+                FROM SYSTEM_RANGE(1, ?)
+                """.formatted(valores(TipoMovimentacao.values()), TipoMovimentacao.values().length,
+                        valores(CategoriaFinanceira.values()), CategoriaFinanceira.values().length,
+                        valores(StatusMovimentacao.values()), StatusMovimentacao.values().length),
+                contaId, CONTAS, MOVIMENTACOES);
+
+        jdbcTemplate.update("""
+                INSERT INTO meta_economia (nome, tipo_meta, valor_meta, valor_atual, data_inicio, data_fim, status,
+                    data_registro, percentual_concluido, conta_id)
+                SELECT 'Meta ' || X, %s[MOD(X, %d) + 1], 1000.00, MOD(X, 100) * 10.00, DATE '2023-01-01',
+                    DATEADD('DAY', MOD(X, 730), DATE '2023-06-01'), %s[MOD(X / 3, %d) + 1], CURRENT_TIMESTAMP,
+                    MOD(X, 100), ? + MOD(X, ?)
+                FROM SYSTEM_RANGE(1, ?)
+                """.formatted(valores(TipoMeta.values()), TipoMeta.values().length,
+                        valores(StatusMeta.values()), StatusMeta.values().length),
+                contaId, CONTAS, METAS);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("Deve usar índice nas consultas de movimentações por conta")
+    void deveUsarIndiceNasConsultasDeMovimentacoes() {
+        assertUsaIndice("conta_id",
+                () -> movimentacaoRepository.findByContaId(contaId), contaId);
+        assertUsaIndice("data_movimentacao",
+                () -> movimentacaoRepository.findPagina(PageRequest.ofSize(10)), 10);
+        assertUsaIndice("data_movimentacao",
+                () -> movimentacaoRepository.findPaginaApos(FIM, 100L, PageRequest.ofSize(10)), FIM, FIM, 100L, 10);
+        assertUsaIndice("conta_id",
+                () -> movimentacaoRepository.findPaginaPorConta(contaId, PageRequest.ofSize(10)), contaId, 10);
+        assertUsaIndice("conta_id",
+                () -> movimentacaoRepository.findPaginaPorContaApos(contaId, FIM, 100L, PageRequest.ofSize(10)),
+                contaId, FIM, FIM, 100L, 10);
+        assertUsaIndice("conta_id, tipo_movimentacao",
+                () -> movimentacaoRepository.findByContaIdAndTipoMovimentacao(contaId, TipoMovimentacao.RECEITA),
+                contaId, TipoMovimentacao.RECEITA);
+        assertUsaIndice("conta_id, categoria",
+                () -> movimentacaoRepository.findByContaIdAndCategoria(contaId, CategoriaFinanceira.ALIMENTACAO),
+                contaId, CategoriaFinanceira.ALIMENTACAO);
+        assertUsaIndice("conta_id, data_movimentacao",
+                () -> movimentacaoRepository.findByContaIdAndDataMovimentacaoBetween(contaId, INICIO, FIM),
+                contaId, INICIO, FIM);
+        assertUsaIndice("conta_id, status",
+                () -> movimentacaoRepository.findByContaIdAndStatus(contaId, StatusMovimentacao.PENDENTE),
+                contaId, StatusMovimentacao.PENDENTE);
+        assertUsaIndice("conta_id, data_movimentacao",
+                () -> movimentacaoRepository.findByContaIdAndPeriodo(contaId, INICIO, FIM), contaId, INICIO, FIM);
+        assertUsaIndice("conta_id, tipo_movimentacao",
+                () -> movimentacaoRepository.findByContaIdAndTipoMovimentacaoAndPeriodo(contaId, TipoMovimentacao.DESPESA, INICIO, FIM),
+                contaId, TipoMovimentacao.DESPESA, INICIO, FIM);
+        assertUsaIndice("id",
+                () -> movimentacaoRepository.findContaIdById(100L), 100L);
+        assertUsaIndice("identificador_externo",
+                () -> movimentacaoRepository.findByIdentificadorExterno("EXT-1"), "EXT-1");
+        assertUsaIndice("arquivo_origem",
+                () -> movimentacaoRepository.findByArquivoOrigem("extrato.csv"), "extrato.csv");
+        assertUsaIndice("conta_id, identificador_externo",
+                () -> movimentacaoRepository.findIdentificadoresExistentes(contaId, List.of("EXT-1", "EXT-2")),
+                contaId, "EXT-1", "EXT-2");
+        assertUsaIndice("conta_id",
+                () -> movimentacaoRepository.countByContaId(contaId), contaId);
+        assertUsaIndice("conta_id, status, tipo_movimentacao",
+                () -> movimentacaoRepository.sumValorByContaIdAndTipoMovimentacao(contaId, TipoMovimentacao.RECEITA),
+                contaId, TipoMovimentacao.RECEITA);
+        assertUsaIndice("conta_id", () -> {
+            try (Stream<?> movimentacoes = movimentacaoRepository.streamByContaId(contaId)) {
+                return movimentacoes.count();
+            }
+        }, contaId);
+    }
+
+    @Test
+    @DisplayName("Deve usar índice nas consultas de metas por conta")
+    void deveUsarIndiceNasConsultasDeMetas() {
+        assertUsaIndice("conta_id",
+                () -> metaRepository.findByContaId(contaId), contaId);
+        assertUsaIndice("id",
+                () -> metaRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(10)), 0L, 10);
+        assertUsaIndice("conta_id, status",
+                () -> metaRepository.findByContaIdAndStatus(contaId, StatusMeta.ATIVA), contaId, StatusMeta.ATIVA);
+        assertUsaIndice("conta_id, tipo_meta",
+                () -> metaRepository.findByContaIdAndTipoMeta(contaId, TipoMeta.ECONOMIA_MENSAL),
+                contaId, TipoMeta.ECONOMIA_MENSAL);
+        assertUsaIndice("conta_id, status",
+                () -> metaRepository.findMetasAtivasByContaId(contaId), contaId);
+        assertUsaIndice("conta_id, data_fim",
+                () -> metaRepository.findMetasVencidasByContaId(contaId, FIM), contaId, FIM);
+        assertUsaIndice("conta_id, data_fim",
+                () -> metaRepository.findMetasByContaIdAndPeriodo(contaId, INICIO, FIM), contaId, INICIO, FIM);
+        assertUsaIndice("conta_id",
+                () -> metaRepository.countByContaId(contaId), contaId);
+        assertUsaIndice("conta_id, status",
+                () -> metaRepository.countConcluidasByContaId(contaId), contaId);
+        assertUsaIndice("conta_id, percentual_concluido",
+                () -> metaRepository.findMetasComProgressoMinimo(contaId, 50.0), contaId, 50.0);
+    }
+
+    private void assertUsaIndice(String colunasIniciais, Supplier<?> consulta, Object... parametros) {
+        CapturaSqlInspector.limpar();
+        new TransactionTemplate(transactionManager).execute(status -> consulta.get());
+
+        String sql = CapturaSqlInspector.ultimoSelect();
+        String plano = jdbcTemplate.queryForObject("EXPLAIN " + substituirParametros(sql, parametros), String.class);
+        assertFalse(plano.contains(".tableScan"), () -> "Consulta faz varredura completa:\n" + plano);
+
+        Matcher indiceUsado = INDICE_NO_PLANO.matcher(plano);
+        assertTrue(indiceUsado.find(), () -> "Plano sem índice:\n" + plano);
+        List<String> colunas = jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.index_columns WHERE index_name = ? ORDER BY ordinal_position",
+                String.class, indiceUsado.group(1));
+        List<String> esperadas = Arrays.stream(colunasIniciais.split(",\\s*"))
+                .map(coluna -> coluna.toUpperCase(Locale.ROOT))
+                .toList();
+
+        assertTrue(colunas.size() >= esperadas.size() && colunas.subList(0, esperadas.size()).equals(esperadas),
+                () -> "Índice " + indiceUsado.group(1) + " " + colunas + " não começa por " + esperadas + ":\n" + plano);
+    }
+
+    private static String substituirParametros(String sql, Object... parametros) {
+        StringBuilder resultado = new StringBuilder();
+        int parametro = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                resultado.append(literal(parametros[parametro++]));
+            } else {
+                resultado.append(c);
+            }
+        }
+        assertEquals(parametros.length, parametro, () -> "Quantidade de parâmetros divergente em: " + sql);
+        return resultado.toString();
+    }
+
+    private static String valores(Enum<?>[] constantes) {
+        return Arrays.stream(constantes)
+                .map(constante -> "'" + constante.name() + "'")
+                .collect(Collectors.joining(", ", "ARRAY[", "]"));
+    }
+
+    private static String literal(Object valor) {
+        if (valor instanceof Number) {
+            return valor.toString();
+        }
+        if (valor instanceof LocalDate data) {
+            return "DATE '" + data + "'";
+        }
+        return "'" + valor + "'";
+    }
+}
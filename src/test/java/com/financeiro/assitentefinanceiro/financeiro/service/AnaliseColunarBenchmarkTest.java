@@ -0,0 +1,195 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.analise.ColunasMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o contexto financeiro calculado por streams sobre as entidades, como o {@code IADinamicaService} fazia,
+ * com as mesmas agregações sobre o armazenamento colunar. Executado pela task {@code testVolume}, com heap de
+ * 256 MB.
+ */
+@Tag("volume")
+@SpringBootTest
+@DisplayName("Benchmark do armazenamento colunar de movimentações")
+class AnaliseColunarBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnaliseColunarBenchmarkTest.class);
+
+    private static final int TOTAL = 100_000;
+    private static final int AQUECIMENTO = 5;
+    private static final int ITERACOES = 20;
+    private static final long ID_INICIAL = 50_000_000L;
+
+    @Autowired
+    private AnaliseColunarService analiseColunarService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configurarBancoEmArquivo(DynamicPropertyRegistry registry) throws IOException {
+        Path diretorio = Files.createTempDirectory("analise-colunar-volume");
+        diretorio.toFile().deleteOnExit();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:file:" + diretorio.resolve("movimentacoes") + ";CACHE_SIZE=8192;DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @Test
+    @DisplayName("Deve calcular o contexto financeiro nas colunas sem alocar por consulta")
+    void deveCalcularContextoNasColunas() {
+        Long contaId = criarConta();
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicioMes = hoje.withDayOfMonth(1);
+
+        long esperado = contextoPorStreams(movimentacaoService.buscarMovimentacoesPorConta(contaId), inicioMes, hoje);
+
+        long inicioCarga = System.nanoTime();
+        ColunasMovimentacao colunas = analiseColunarService.colunasDaConta(contaId);
+        long cargaMs = (System.nanoTime() - inicioCarga) / 1_000_000;
+        ColunasMovimentacao.Filtro concluidas = ColunasMovimentacao.Filtro.TODAS.comStatus(StatusMovimentacao.CONCLUIDA);
+        ColunasMovimentacao.Filtro receitas = concluidas.comTipos(TipoMovimentacao.RECEITA);
+        ColunasMovimentacao.Filtro despesas = concluidas.comTipos(TipoMovimentacao.DESPESA);
+        ColunasMovimentacao.Filtro receitasMes = receitas.noPeriodo(inicioMes, hoje);
+        ColunasMovimentacao.Filtro despesasMes = despesas.noPeriodo(inicioMes, hoje);
+        long[] porCategoria = new long[ColunasMovimentacao.QUANTIDADE_CATEGORIAS];
+        LongSupplier consultaColunar = () -> {
+            Arrays.fill(porCategoria, 0);
+            colunas.somarPorCategoria(despesas, porCategoria);
+            long total = colunas.somar(receitasMes) + colunas.somar(despesasMes) + colunas.somar(receitas)
+                    + colunas.somar(despesas);
+            for (long valor : porCategoria) {
+                total += valor;
+            }
+            return total;
+        };
+
+        assertEquals(esperado, consultaColunar.getAsLong());
+        Medicao colunar = medir(consultaColunar);
+        Medicao streams = medir(() -> contextoPorStreams(movimentacaoService.buscarMovimentacoesPorConta(contaId),
+                inicioMes, hoje));
+
+        logger.info("Contexto financeiro de {} movimentações. Streams sobre entidades: {} µs/op e {} KB/op; "
+                        + "colunas: {} µs/op e {} B/op (carga inicial {} ms)",
+                TOTAL, streams.nanosPorOperacao / 1_000, streams.bytesPorOperacao / 1024,
+                colunar.nanosPorOperacao / 1_000, colunar.bytesPorOperacao, cargaMs);
+
+        assertTrue(colunar.bytesPorOperacao < 1024, "A consulta colunar não deveria alocar por operação");
+        assertTrue(colunar.nanosPorOperacao < streams.nanosPorOperacao,
+                "As colunas deveriam ser mais rápidas que os streams sobre entidades");
+    }
+
+    /**
+     * Mesmas reduções que o {@code IADinamicaService} fazia antes do armazenamento colunar, somadas em centavos
+     * para comparação.
+     */
+    private static long contextoPorStreams(List<MovimentacaoFinanceira> movimentacoes, LocalDate inicioMes,
+            LocalDate fimMes) {
+        List<MovimentacaoFinanceira> concluidas = movimentacoes.stream()
+                .filter(m -> StatusMovimentacao.CONCLUIDA.equals(m.getStatus()))
+                .collect(Collectors.toList());
+        BigDecimal receitasMes = concluidas.stream()
+                .filter(m -> TipoMovimentacao.RECEITA.equals(m.getTipoMovimentacao()))
+                .filter(m -> !m.getDataMovimentacao().isBefore(inicioMes) && !m.getDataMovimentacao().isAfter(fimMes))
+                .map(MovimentacaoFinanceira::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal despesasMes = concluidas.stream()
+                .filter(m -> TipoMovimentacao.DESPESA.equals(m.getTipoMovimentacao()))
+                .filter(m -> !m.getDataMovimentacao().isBefore(inicioMes) && !m.getDataMovimentacao().isAfter(fimMes))
+                .map(MovimentacaoFinanceira::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalReceitas = concluidas.stream()
+                .filter(m -> TipoMovimentacao.RECEITA.equals(m.getTipoMovimentacao()))
+                .map(MovimentacaoFinanceira::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalDespesas = concluidas.stream()
+                .filter(m -> TipoMovimentacao.DESPESA.equals(m.getTipoMovimentacao()))
+                .map(MovimentacaoFinanceira::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<String, BigDecimal> despesasPorCategoria = concluidas.stream()
+                .filter(m -> TipoMovimentacao.DESPESA.equals(m.getTipoMovimentacao()))
+                .collect(Collectors.groupingBy(
+                        m -> m.getCategoria().toString(),
+                        Collectors.reducing(BigDecimal.ZERO, MovimentacaoFinanceira::getValor, BigDecimal::add)));
+
+        BigDecimal total = receitasMes.add(despesasMes).add(totalReceitas).add(totalDespesas);
+        for (BigDecimal valor : despesasPorCategoria.values()) {
+            total = total.add(valor);
+        }
+        return ColunasMovimentacao.centavos(total);
+    }
+
+    private static Medicao medir(LongSupplier operacao) {
+        long sumidouro = 0;
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            sumidouro += operacao.getAsLong();
+        }
+        long bytesAntes = bytesAlocados();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            sumidouro += operacao.getAsLong();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = bytesAlocados() - bytesAntes;
+        assertNotEquals(0, sumidouro);
+        return new Medicao(nanos / ITERACOES, bytes / ITERACOES);
+    }
+
+    private Long criarConta() {
+        DadosConta conta = contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Análise colunar volume"));
+        jdbcTemplate.update("""
+                INSERT INTO movimentacao_financeira (id, tipo_movimentacao, valor, descricao, categoria,
+                    data_movimentacao, data_registro, status, fonte_movimentacao, conta_id)
+                SELECT ? + X, CASEWHEN(MOD(X, 3) = 0, 'RECEITA', 'DESPESA'), 10.00 + MOD(X, 997) / 100.0,
+                    'Movimentação de teste número ' || X,
+                    CASEWHEN(MOD(X, 3) = 0, 'SALARIO', CASEWHEN(MOD(X, 5) = 0, 'MORADIA', 'ALIMENTACAO')),
+                    DATEADD('DAY', -MOD(X, 730), CURRENT_DATE), CURRENT_TIMESTAMP,
+                    CASEWHEN(MOD(X, 11) = 0, 'PENDENTE', 'CONCLUIDA'), 'MANUAL', ?
+                FROM SYSTEM_RANGE(1, ?)
+                """, ID_INICIAL, conta.getId(), TOTAL);
+        return conta.getId();
+    }
+
+    private static long bytesAlocados() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private record Medicao(long nanosPorOperacao, long bytesPorOperacao) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.analise.ColunasMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.EventoMovimentacaoRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para o armazenamento colunar de movimentações")
+class AnaliseColunarServiceTest {
+
+    @Autowired
+    private AnaliseColunarService analiseColunarService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventoMovimentacaoService eventoService;
+
+    @Autowired
+    private EventoMovimentacaoRepository eventoRepository;
+
+    @Test
+    @DisplayName("Deve manter as colunas carregadas iguais ao banco após cada tipo de escrita")
+    void deveManterColunasIguaisAoBancoAposEscritas() throws InterruptedException {
+        Long contaId = criarConta();
+        MovimentacaoFinanceira salario = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.RECEITA, CategoriaFinanceira.SALARIO, "5000.00", LocalDate.of(2024, 1, 5)));
+        aguardarEventos();
+        ColunasMovimentacao colunas = analiseColunarService.colunasDaConta(contaId);
+        assertEquals(1, colunas.tamanho());
+
+        MovimentacaoFinanceira mercado = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO, "320.45", LocalDate.of(2024, 1, 12)));
+        MovimentacaoFinanceira aluguel = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.DESPESA, CategoriaFinanceira.MORADIA, "1800.00", LocalDate.of(2024, 2, 10)));
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            lote.add(dto(contaId, i % 3 == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA,
+                    i % 2 == 0 ? CategoriaFinanceira.ALIMENTACAO : CategoriaFinanceira.TRANSPORTE,
+                    "10.0" + (i % 10), LocalDate.of(2024, 1 + i % 3, 1 + i)));
+        }
+        loteService.registrarLote(lote);
+        aguardarEventos();
+        assertColunasIguaisAoBanco(contaId, colunas);
+
+        movimentacaoService.atualizarMovimentacao(mercado.getId(), dto(contaId,
+                TipoMovimentacao.DESPESA, CategoriaFinanceira.TRANSPORTE, "150.00", LocalDate.of(2024, 3, 1)));
+        movimentacaoService.estornarMovimentacao(aluguel.getId());
+        movimentacaoService.excluirMovimentacao(salario.getId());
+        aguardarEventos();
+
+        assertSame(colunas, analiseColunarService.colunasDaConta(contaId));
+        assertColunasIguaisAoBanco(contaId, colunas);
+    }
+
+    @Test
+    @DisplayName("Não deve aplicar às colunas escritas de transações desfeitas")
+    void naoDeveAplicarEscritasDesfeitas() throws InterruptedException {
+        Long contaId = criarConta();
+        ColunasMovimentacao colunas = analiseColunarService.colunasDaConta(contaId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            movimentacaoService.registrarMovimentacao(dto(contaId, TipoMovimentacao.DESPESA,
+                    CategoriaFinanceira.LAZER, "75.00", LocalDate.of(2024, 5, 1)));
+            status.setRollbackOnly();
+        });
+        aguardarEventos();
+
+        assertEquals(0, colunas.tamanho());
+        assertEquals(0, movimentacaoRepository.countByContaId(contaId));
+    }
+
+    private void assertColunasIguaisAoBanco(Long contaId, ColunasMovimentacao colunas) {
+        List<MovimentacaoFinanceira> movimentacoes = movimentacaoRepository.findByContaId(contaId);
+        assertEquals(movimentacoes.size(), colunas.tamanho());
+
+        for (TipoMovimentacao tipo : TipoMovimentacao.values()) {
+            for (StatusMovimentacao status : StatusMovimentacao.values()) {
+                long[] porCategoria = new long[ColunasMovimentacao.QUANTIDADE_CATEGORIAS];
+                colunas.somarPorCategoria(ColunasMovimentacao.Filtro.TODAS.comTipos(tipo).comStatus(status),
+                        porCategoria);
+                for (CategoriaFinanceira categoria : CategoriaFinanceira.values()) {
+                    BigDecimal esperado = movimentacoes.stream()
+                            .filter(m -> m.getTipoMovimentacao() == tipo && m.getStatus() == status
+                                    && m.getCategoria() == categoria)
+                            .map(MovimentacaoFinanceira::getValor)
+                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    assertEquals(0, esperado.compareTo(ColunasMovimentacao.valor(porCategoria[categoria.ordinal()])),
+                            tipo + "|" + status + "|" + categoria);
+                }
+            }
+        }
+    }
+
+    private MovimentacaoFinanceiraDTO dto(Long contaId, TipoMovimentacao tipo, CategoriaFinanceira categoria,
+            String valor, LocalDate data) {
+        return TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(tipo)
+                .comCategoria(categoria)
+                .comValor(new BigDecimal(valor))
+                .comDataMovimentacao(data)
+                .build();
+    }
+
+    /**
+     * As escritas chegam às estruturas em memória pela fila de eventos; espera até todos os ouvintes estarem em dia.
+     */
+    private void aguardarEventos() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite) {
+            eventoService.despachar();
+            if (eventoRepository.findNaoSequenciados(PageRequest.ofSize(1)).isEmpty()
+                    && eventoService.listarOuvintes().stream().allMatch(ouvinte -> ouvinte.atraso() == 0)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Eventos de movimentação não foram entregues no tempo esperado");
+    }
+
+    private Long criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Análise Colunar")).getId();
+    }
+}
@@ -0,0 +1,210 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.common.Pagina;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.BuscaMovimentacoesDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.DistribuicaoCategoriasDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para o arquivamento de movimentações antigas")
+class ArquivamentoMovimentacaoServiceTest {
+
+    private static final LocalDate DATA_LIMITE = LocalDate.of(2000, 1, 1);
+    private static final LocalDate INICIO = LocalDate.of(1999, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2000, 12, 31);
+
+    @Autowired
+    private ArquivamentoMovimentacaoService arquivamentoService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private ExportacaoMovimentacaoService exportacaoService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private MovimentacaoArquivadaRepository arquivadaRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve arquivar só as concluídas anteriores ao limite mantendo saldo e leituras por período")
+    void deveArquivarConcluidasAntigasMantendoSaldoELeituras() throws Exception {
+        Long contaId = criarConta();
+        String identificador = "ARQ-" + UUID.randomUUID();
+        registrar(contaId, TipoMovimentacao.RECEITA, CategoriaFinanceira.SALARIO, "1000.00",
+                LocalDate.of(1999, 3, 10), StatusMovimentacao.CONCLUIDA, identificador);
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO, "200.00",
+                LocalDate.of(1999, 6, 15), StatusMovimentacao.CONCLUIDA, null);
+        MovimentacaoFinanceira pendente = registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.LAZER,
+                "50.00", LocalDate.of(1999, 8, 20), StatusMovimentacao.PENDENTE, null);
+        MovimentacaoFinanceira recente = registrar(contaId, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.ALIMENTACAO, "100.00", LocalDate.of(2000, 2, 10), StatusMovimentacao.CONCLUIDA, null);
+        BigDecimal saldoAntes = movimentacaoService.calcularSaldoAtual(contaId);
+        BigDecimal saldoFimDe1999 = movimentacaoService.calcularSaldoEm(contaId, LocalDate.of(1999, 12, 31));
+
+        assertTrue(arquivamentoService.arquivar(DATA_LIMITE) >= 2);
+
+        assertEquals(2, arquivadaRepository.countByContaId(contaId));
+        assertEquals(2, movimentacaoRepository.countByContaId(contaId));
+        assertTrue(movimentacaoRepository.existsById(pendente.getId()));
+        assertTrue(arquivamentoService.abrangeArquivo(contaId, INICIO));
+        assertFalse(arquivamentoService.abrangeArquivo(contaId, DATA_LIMITE));
+
+        assertEquals(0, saldoAntes.compareTo(movimentacaoService.calcularSaldoAtual(contaId)));
+        assertEquals(0, saldoFimDe1999.compareTo(movimentacaoService.calcularSaldoEm(contaId,
+                LocalDate.of(1999, 12, 31))));
+        assertTrue(movimentacaoService.reconciliarSaldos(false).divergencias().stream()
+                .noneMatch(divergencia -> divergencia.contaId().equals(contaId)));
+
+        List<MovimentacaoFinanceira> periodo = movimentacaoService.buscarMovimentacoesPorPeriodo(contaId, INICIO, FIM);
+        assertEquals(List.of(LocalDate.of(2000, 2, 10), LocalDate.of(1999, 8, 20), LocalDate.of(1999, 6, 15),
+                LocalDate.of(1999, 3, 10)), periodo.stream().map(MovimentacaoFinanceira::getDataMovimentacao).toList());
+        assertEquals(recente.getId(), periodo.getFirst().getId());
+        assertEquals(1, movimentacaoService.buscarMovimentacoesPorPeriodo(contaId, DATA_LIMITE, FIM).size());
+
+        RelatorioDadosDTO relatorio = movimentacaoService.buscarDadosRelatorio(new RelatorioPDFParametrosDTO(
+                contaId, INICIO, FIM, null, "Arquivo", true));
+        assertEquals(4, relatorio.quantidadeMovimentacoes());
+        assertEquals(4, relatorio.movimentacoes().size());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(relatorio.totalReceitas()));
+        assertEquals(LocalDate.of(1999, 3, 10), relatorio.dataPrimeiraMovimentacao());
+
+        DistribuicaoCategoriasDTO distribuicao = movimentacaoService.buscarDistribuicaoCategorias(contaId, INICIO,
+                FIM, TipoMovimentacao.DESPESA, null);
+        DistribuicaoCategoriasDTO.TotalCategoriaDTO alimentacao = distribuicao.categorias().getFirst();
+        assertEquals(CategoriaFinanceira.ALIMENTACAO, alimentacao.categoria());
+        assertEquals(2, alimentacao.quantidade());
+        assertEquals(0, new BigDecimal("300.00").compareTo(alimentacao.total()));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        assertEquals(4, exportacaoService.exportarNdjson(contaId, saida));
+        List<String> linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertTrue(linhas.getFirst().contains("1999-03-10"));
+        assertTrue(linhas.getLast().contains("2000-02-10"));
+
+        MovimentacaoFinanceiraDTO duplicada = TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comDataMovimentacao(LocalDate.of(2000, 3, 1))
+                .comIdentificadorExterno(identificador)
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> movimentacaoService.registrarMovimentacao(duplicada));
+    }
+
+    @Test
+    @DisplayName("Deve ler movimentações arquivadas por ID e nas listagens da conta e recusar alterá-las")
+    void deveLerArquivadasERecusarAlteracoes() {
+        Long contaId = criarConta();
+        MovimentacaoFinanceira antiga = registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO,
+                "80.00", LocalDate.of(1999, 4, 5), StatusMovimentacao.CONCLUIDA, null);
+        registrar(contaId, TipoMovimentacao.RECEITA, CategoriaFinanceira.SALARIO, "500.00",
+                LocalDate.of(1999, 5, 5), StatusMovimentacao.CONCLUIDA, null);
+        MovimentacaoFinanceira recente = registrar(contaId, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.ALIMENTACAO, "30.00", LocalDate.of(2000, 6, 1), StatusMovimentacao.CONCLUIDA, null);
+
+        arquivamentoService.arquivar(DATA_LIMITE);
+        assertEquals(2, arquivadaRepository.countByContaId(contaId));
+
+        MovimentacaoFinanceira lida = movimentacaoService.buscarMovimentacaoPorId(antiga.getId());
+        assertEquals(0, new BigDecimal("80.00").compareTo(lida.getValor()));
+        assertEquals(contaId, lida.getConta().getId());
+
+        assertEquals(3, movimentacaoService.buscarMovimentacoesPorConta(contaId).size());
+        assertEquals(recente.getId(), movimentacaoService.buscarMovimentacoesPorConta(contaId).getFirst().getId());
+        assertEquals(List.of(recente.getId(), antiga.getId()), movimentacaoService
+                .buscarMovimentacoesPorTipo(contaId, TipoMovimentacao.DESPESA).stream()
+                .map(MovimentacaoFinanceira::getId).toList());
+
+        Pagina<MovimentacaoFinanceira> primeira = movimentacaoService.buscarMovimentacoesPorContaPaginadas(contaId,
+                null, 2);
+        assertTrue(primeira.temMais());
+        Pagina<MovimentacaoFinanceira> segunda = movimentacaoService.buscarMovimentacoesPorContaPaginadas(contaId,
+                primeira.proximoCursor(), 2);
+        assertEquals(List.of(antiga.getId()), segunda.itens().stream().map(MovimentacaoFinanceira::getId).toList());
+
+        MovimentacaoFinanceiraDTO alteracao = TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(contaId).build();
+        IllegalArgumentException atualizar = assertThrows(IllegalArgumentException.class,
+                () -> movimentacaoService.atualizarMovimentacao(antiga.getId(), alteracao));
+        assertTrue(atualizar.getMessage().contains("arquivada"));
+        assertThrows(IllegalArgumentException.class, () -> movimentacaoService.excluirMovimentacao(antiga.getId()));
+        assertThrows(IllegalArgumentException.class, () -> movimentacaoService.estornarMovimentacao(antiga.getId()));
+        assertTrue(arquivadaRepository.existsById(antiga.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar movimentações arquivadas na busca textual")
+    void deveEncontrarArquivadasNaBuscaTextual() {
+        Long contaId = criarConta();
+        MovimentacaoFinanceira antiga = movimentacaoService.registrarMovimentacao(TestDataBuilder
+                .movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comDescricao("Quitanda do Bairro")
+                .comDataMovimentacao(LocalDate.of(1999, 9, 9))
+                .build());
+        MovimentacaoFinanceira recente = movimentacaoService.registrarMovimentacao(TestDataBuilder
+                .movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comDescricao("Quitanda da Esquina")
+                .comDataMovimentacao(LocalDate.of(2000, 9, 9))
+                .build());
+        assertEquals(2, movimentacaoService.buscarPorTexto(contaId, "quitanda", null, null, null).totalEncontrado());
+
+        arquivamentoService.arquivar(DATA_LIMITE);
+        assertTrue(arquivadaRepository.existsById(antiga.getId()));
+
+        BuscaMovimentacoesDTO busca = movimentacaoService.buscarPorTexto(contaId, "quitanda", null, null, null);
+        assertEquals(List.of(antiga.getId(), recente.getId()), busca.resultados().stream()
+                .map(item -> item.movimentacao().id())
+                .sorted()
+                .toList());
+        assertEquals("Quitanda do Bairro", movimentacaoService.buscarPorTexto(contaId, "bairro", null, null, null)
+                .resultados().getFirst().movimentacao().descricao());
+    }
+
+    private MovimentacaoFinanceira registrar(Long contaId, TipoMovimentacao tipo, CategoriaFinanceira categoria,
+            String valor, LocalDate data, StatusMovimentacao status, String identificadorExterno) {
+        MovimentacaoFinanceiraDTO dto = TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(tipo)
+                .comCategoria(categoria)
+                .comValor(new BigDecimal(valor))
+                .comDataMovimentacao(data)
+                .comStatus(status)
+                .comIdentificadorExterno(identificadorExterno)
+                .build();
+        return movimentacaoService.registrarMovimentacao(dto);
+    }
+
+    private Long criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Arquivamento")).getId();
+    }
+}
@@ -0,0 +1,230 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.analise.IndiceTextual;
+import com.financeiro.assitentefinanceiro.financeiro.domain.IndiceTextualConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.BuscaMovimentacoesDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.EventoMovimentacaoRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.IndiceTextualContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para a busca textual de movimentações")
+class BuscaTextualServiceTest {
+
+    @Autowired
+    private BuscaTextualService buscaTextualService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventoMovimentacaoService eventoService;
+
+    @Autowired
+    private EventoMovimentacaoRepository eventoRepository;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private MovimentacaoArquivadaRepository arquivadaRepository;
+
+    @Autowired
+    private IndiceTextualContaRepository indiceRepository;
+
+    @Test
+    @DisplayName("Deve montar o índice a partir do banco e acompanhar cada tipo de escrita")
+    void deveAcompanharEscritas() throws InterruptedException {
+        Long contaId = criarConta();
+        MovimentacaoFinanceira farmacia = movimentacaoService.registrarMovimentacao(dto(contaId,
+                "Farmácia São João", "remédio de pressão", LocalDate.of(2024, 1, 5)));
+        aguardarEventos();
+        IndiceTextual indice = buscaTextualService.indiceDaConta(contaId);
+        assertEquals(1, indice.tamanho());
+
+        MovimentacaoFinanceira mercado = movimentacaoService.registrarMovimentacao(dto(contaId,
+                "Mercado Pão de Açúcar", null, LocalDate.of(2024, 1, 12)));
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lote.add(dto(contaId, "Posto Ipiranga " + i, "combustível", LocalDate.of(2024, 2, 1 + i)));
+        }
+        loteService.registrarLote(lote);
+        aguardarEventos();
+
+        assertSame(indice, buscaTextualService.indiceDaConta(contaId));
+        assertEquals(12, indice.tamanho());
+        assertEquals(10, movimentacaoService.buscarPorTexto(contaId, "combustivel", null, null, null)
+                .totalEncontrado());
+        assertEquals(mercado.getId(), idsEncontrados(contaId, "acucar").getFirst());
+
+        movimentacaoService.atualizarMovimentacao(mercado.getId(), dto(contaId, "Mercado Extra", null,
+                LocalDate.of(2024, 1, 12)));
+        movimentacaoService.excluirMovimentacao(farmacia.getId());
+        aguardarEventos();
+
+        assertEquals(List.of(), idsEncontrados(contaId, "acucar"));
+        assertEquals(List.of(mercado.getId()), idsEncontrados(contaId, "extra"));
+        assertEquals(List.of(), idsEncontrados(contaId, "farmacia"));
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o índice gravado e aplicar os eventos posteriores à gravação")
+    void deveRestaurarIndiceGravado() throws InterruptedException {
+        Long contaId = criarConta();
+        MovimentacaoFinanceira farmacia = movimentacaoService.registrarMovimentacao(dto(contaId,
+                "Farmácia São João", null, LocalDate.of(2024, 6, 1)));
+        aguardarEventos();
+        buscaTextualService.indiceDaConta(contaId);
+
+        assertTrue(buscaTextualService.persistirIndices() >= 1);
+        IndiceTextualConta salvo = indiceRepository.findById(contaId).orElseThrow();
+        assertEquals(1, salvo.getDocumentos());
+
+        MovimentacaoFinanceira padaria = movimentacaoService.registrarMovimentacao(dto(contaId,
+                "Padaria Real", null, LocalDate.of(2024, 6, 2)));
+        movimentacaoService.excluirMovimentacao(farmacia.getId());
+        aguardarEventos();
+
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        BuscaTextualService outraInstancia = new BuscaTextualService(movimentacaoRepository, arquivadaRepository,
+                indiceRepository, eventoRepository, transactionManager, registro, 8, 0.9);
+        IndiceTextual restaurado = outraInstancia.indiceDaConta(contaId);
+
+        assertEquals(1, restaurado.tamanho());
+        assertEquals(List.of(padaria.getId()), restaurado.buscar("padaria", null, null, 10).acertos().stream()
+                .map(IndiceTextual.Acerto::id).toList());
+        assertEquals(0, restaurado.buscar("farmacia", null, null, 10).encontrados());
+        assertEquals(1.0, registro.get("assitentefinanceiro_busca_textual_buscas_total").tag("origem", "snapshot")
+                .counter().count());
+        assertEquals(0.0, registro.get("assitentefinanceiro_busca_textual_buscas_total").tag("origem", "carga")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por relevância, limitar e filtrar pelo período")
+    void deveOrdenarLimitarEFiltrar() {
+        Long contaId = criarConta();
+        MovimentacaoFinanceira descricao = movimentacaoService.registrarMovimentacao(dto(contaId,
+                "Academia Smart Fit", null, LocalDate.of(2024, 3, 1)));
+        MovimentacaoFinanceira observacao = movimentacaoService.registrarMovimentacao(dto(contaId,
+                "Débito automático", "mensalidade academia", LocalDate.of(2024, 4, 1)));
+
+        BuscaMovimentacoesDTO busca = movimentacaoService.buscarPorTexto(contaId, "ACADEMIA", null, null, null);
+        assertEquals(2, busca.totalEncontrado());
+        assertEquals(descricao.getId(), busca.resultados().get(0).movimentacao().id());
+        assertEquals(observacao.getId(), busca.resultados().get(1).movimentacao().id());
+        assertTrue(busca.resultados().get(0).relevancia() > busca.resultados().get(1).relevancia());
+
+        BuscaMovimentacoesDTO limitada = movimentacaoService.buscarPorTexto(contaId, "acad*", null, null, 1);
+        assertEquals(2, limitada.totalEncontrado());
+        assertEquals(1, limitada.resultados().size());
+        assertEquals(List.of(observacao.getId()), idsEncontrados(contaId, "academia", LocalDate.of(2024, 3, 15)));
+    }
+
+    @Test
+    @DisplayName("Não deve indexar escritas de transações desfeitas")
+    void naoDeveIndexarEscritasDesfeitas() throws InterruptedException {
+        Long contaId = criarConta();
+        IndiceTextual indice = buscaTextualService.indiceDaConta(contaId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            movimentacaoService.registrarMovimentacao(dto(contaId, "Cinema shopping", null,
+                    LocalDate.of(2024, 5, 1)));
+            status.setRollbackOnly();
+        });
+        aguardarEventos();
+
+        assertEquals(0, indice.tamanho());
+        assertEquals(0, movimentacaoService.buscarPorTexto(contaId, "cinema", null, null, null).totalEncontrado());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar consulta vazia, limite inválido e conta inexistente")
+    void deveRejeitarParametrosInvalidos() {
+        Long contaId = criarConta();
+        assertThrows(IllegalArgumentException.class,
+                () -> movimentacaoService.buscarPorTexto(contaId, "  ", null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> movimentacaoService.buscarPorTexto(contaId, "x".repeat(201), null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> movimentacaoService.buscarPorTexto(contaId, "mercado", null, null, 101));
+        assertThrows(IllegalArgumentException.class, () -> movimentacaoService.buscarPorTexto(contaId, "mercado",
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> movimentacaoService.buscarPorTexto(999_999L, "mercado", null, null, null));
+    }
+
+    private List<Long> idsEncontrados(Long contaId, String consulta) {
+        return idsEncontrados(contaId, consulta, null);
+    }
+
+    private List<Long> idsEncontrados(Long contaId, String consulta, LocalDate inicio) {
+        return movimentacaoService.buscarPorTexto(contaId, consulta, inicio, null, null).resultados().stream()
+                .map(item -> item.movimentacao().id())
+                .toList();
+    }
+
+    private MovimentacaoFinanceiraDTO dto(Long contaId, String descricao, String observacoes, LocalDate data) {
+        return TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(TipoMovimentacao.RECEITA)
+                .comCategoria(CategoriaFinanceira.OUTRAS_RECEITAS)
+                .comDescricao(descricao)
+                .comObservacoes(observacoes)
+                .comDataMovimentacao(data)
+                .build();
+    }
+
+    /**
+     * As escritas chegam às estruturas em memória pela fila de eventos; espera até todos os ouvintes estarem em dia.
+     */
+    private void aguardarEventos() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite) {
+            eventoService.despachar();
+            if (eventoRepository.findNaoSequenciados(PageRequest.ofSize(1)).isEmpty()
+                    && eventoService.listarOuvintes().stream().allMatch(ouvinte -> ouvinte.atraso() == 0)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Eventos de movimentação não foram entregues no tempo esperado");
+    }
+
+    private Long criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Busca Textual")).getId();
+    }
+}
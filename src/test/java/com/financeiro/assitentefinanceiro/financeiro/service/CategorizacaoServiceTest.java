@@ -0,0 +1,137 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.RegraCategorizacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RegraCategorizacaoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para CategorizacaoService")
+class CategorizacaoServiceTest {
+
+    @Autowired
+    private CategorizacaoService categorizacaoService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve categorizar pelo dicionário embutido conforme o tipo da movimentação")
+    void deveCategorizarPeloDicionario() {
+        assertEquals(CategoriaFinanceira.TRANSPORTE,
+                categorizacaoService.categorizar("UBER *TRIP HELP.UBER.COM", TipoMovimentacao.DESPESA));
+        assertEquals(CategoriaFinanceira.ALIMENTACAO,
+                categorizacaoService.categorizar("Uber Eats - pedido 123", TipoMovimentacao.DESPESA));
+        assertEquals(CategoriaFinanceira.SALARIO,
+                categorizacaoService.categorizar("CRED SALÁRIO EMPRESA X", TipoMovimentacao.RECEITA));
+        assertEquals(CategoriaFinanceira.CRIPTOMOEDAS,
+                categorizacaoService.categorizar("Compra Bitcoin corretora", TipoMovimentacao.INVESTIMENTO));
+        assertNull(categorizacaoService.categorizar("PIX ENVIADO FULANO", TipoMovimentacao.DESPESA));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a regra do usuário acima do dicionário logo após gravá-la e removê-la ao excluir")
+    void deveAplicarRegraDoUsuarioAposGravar() {
+        String descricao = "Academia Smart Fit mensalidade";
+        assertEquals(CategoriaFinanceira.SAUDE, categorizacaoService.categorizar(descricao, TipoMovimentacao.DESPESA));
+
+        RegraCategorizacao regra = categorizacaoService.criarRegra(new RegraCategorizacaoDTO(null, "Smart Fit",
+                CategoriaFinanceira.LAZER, TipoMovimentacao.DESPESA, null));
+        try {
+            assertEquals(CategoriaFinanceira.LAZER, categorizacaoService.categorizar(descricao,
+                    TipoMovimentacao.DESPESA));
+            assertTrue(categorizacaoService.listarRegras().stream().anyMatch(r -> r.getId().equals(regra.getId())));
+        } finally {
+            categorizacaoService.excluirRegra(regra.getId());
+        }
+
+        assertEquals(CategoriaFinanceira.SAUDE, categorizacaoService.categorizar(descricao, TipoMovimentacao.DESPESA));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar regras sem termo útil ou sem categoria")
+    void deveRejeitarRegrasInvalidas() {
+        assertThrows(IllegalArgumentException.class, () -> categorizacaoService.criarRegra(
+                new RegraCategorizacaoDTO(null, " -*- ", CategoriaFinanceira.LAZER, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> categorizacaoService.criarRegra(
+                new RegraCategorizacaoDTO(null, "cinema", null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> categorizacaoService.excluirRegra(999_999L));
+    }
+
+    @Test
+    @DisplayName("Deve continuar categorizando enquanto o autômato é recompilado")
+    void deveCategorizarDuranteRecarga() throws Exception {
+        String termo = "loja " + UUID.randomUUID().toString().substring(0, 8);
+        AtomicBoolean executando = new AtomicBoolean(true);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Long> leituras = executor.submit(() -> {
+                long total = 0;
+                while (executando.get()) {
+                    assertEquals(CategoriaFinanceira.TRANSPORTE,
+                            categorizacaoService.categorizar("POSTO IPIRANGA 123", TipoMovimentacao.DESPESA));
+                    total++;
+                }
+                return total;
+            });
+
+            RegraCategorizacao regra = categorizacaoService.criarRegra(new RegraCategorizacaoDTO(null, termo,
+                    CategoriaFinanceira.COMPRAS, null, null));
+            for (int i = 0; i < 20; i++) {
+                categorizacaoService.recarregar();
+            }
+            assertEquals(CategoriaFinanceira.COMPRAS, categorizacaoService.categorizar(termo.toUpperCase(), null));
+            categorizacaoService.excluirRegra(regra.getId());
+
+            executando.set(false);
+            assertTrue(leituras.get() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve categorizar pela descrição a movimentação registrada sem categoria")
+    void deveCategorizarMovimentacaoSemCategoria() {
+        Long contaId = criarConta().getId();
+        MovimentacaoFinanceiraDTO dto = TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(TipoMovimentacao.DESPESA)
+                .comDescricao("Pagamento Aluguel apto 12")
+                .comCategoria(null)
+                .build();
+
+        MovimentacaoFinanceira movimentacao = movimentacaoService.registrarMovimentacao(dto);
+
+        assertEquals(CategoriaFinanceira.MORADIA, movimentacao.getCategoria());
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> movimentacaoService.registrarMovimentacao(TestDataBuilder.movimentacaoFinanceiraDTO()
+                        .comContaId(contaId)
+                        .comDescricao("PIX ENVIADO FULANO")
+                        .comCategoria(null)
+                        .build()));
+        assertEquals("Categoria e obrigatoria", exception.getMessage());
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Categorização"));
+    }
+}
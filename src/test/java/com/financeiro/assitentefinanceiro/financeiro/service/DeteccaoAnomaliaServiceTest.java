@@ -0,0 +1,169 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.analise.DetectorAnomalias;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EstatisticaCategoria;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.AlertaAnomaliaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.MotivoAnomalia;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.EstatisticaCategoriaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.EventoMovimentacaoRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para a detecção de despesas atípicas")
+class DeteccaoAnomaliaServiceTest {
+
+    @Autowired
+    private DeteccaoAnomaliaService deteccaoAnomaliaService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private EstatisticaCategoriaRepository estatisticaRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventoMovimentacaoService eventoService;
+
+    @Autowired
+    private EventoMovimentacaoRepository eventoRepository;
+
+    @Test
+    @DisplayName("Deve gravar alerta para despesa muito acima do habitual da categoria")
+    void deveGravarAlertaParaDespesaAtipica() throws InterruptedException {
+        Long contaId = criarConta();
+        for (int i = 0; i < 10; i++) {
+            movimentacaoService.registrarMovimentacao(despesa(contaId, "80." + i, "Restaurante Bom Prato"));
+        }
+        aguardarEventos();
+        assertEquals(List.of(), movimentacaoService.buscarAlertas(contaId, null));
+
+        MovimentacaoFinanceira atipica = movimentacaoService.registrarMovimentacao(
+                despesa(contaId, "950.00", "Restaurante Bom Prato"));
+        movimentacaoService.registrarMovimentacao(despesa(contaId, "82.00", "Restaurante Bom Prato"));
+        aguardarEventos();
+
+        List<AlertaAnomaliaDTO> alertas = movimentacaoService.buscarAlertas(contaId, null);
+        assertEquals(1, alertas.size());
+        AlertaAnomaliaDTO alerta = alertas.getFirst();
+        assertEquals(atipica.getId(), alerta.movimentacaoId());
+        assertEquals(MotivoAnomalia.VALOR_ACIMA_DO_HABITUAL, alerta.motivo());
+        assertEquals(CategoriaFinanceira.ALIMENTACAO, alerta.categoria());
+        assertEquals(0, new BigDecimal("950.00").compareTo(alerta.valor()));
+        assertTrue(alerta.valorHabitual().compareTo(new BigDecimal("80")) > 0
+                && alerta.valorHabitual().compareTo(new BigDecimal("85")) < 0);
+    }
+
+    @Test
+    @DisplayName("Deve somar despesas de lote sem alertar e ignorar transações desfeitas")
+    void deveSomarLoteEIgnorarTransacoesDesfeitas() throws InterruptedException {
+        Long contaId = criarConta();
+        movimentacaoService.registrarMovimentacao(despesa(contaId, "50.00", "Posto Ipiranga"));
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lote.add(despesa(contaId, "6" + i + ".00", "Posto Ipiranga"));
+        }
+        lote.add(despesa(contaId, "4000.00", "Posto Ipiranga"));
+        loteService.registrarLote(lote);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            movimentacaoService.registrarMovimentacao(despesa(contaId, "9000.00", "Posto Ipiranga"));
+            status.setRollbackOnly();
+        });
+        aguardarEventos();
+
+        DetectorAnomalias.Snapshot snapshot = deteccaoAnomaliaService.detectorDaConta(contaId, null)
+                .snapshots().getFirst();
+        assertEquals(10, snapshot.quantidade());
+        assertEquals(List.of(), movimentacaoService.buscarAlertas(contaId, null));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o snapshot das estatísticas e restaurá-lo no lugar do histórico")
+    void deveGravarSnapshotDasEstatisticas() throws InterruptedException {
+        Long contaId = criarConta();
+        for (int i = 0; i < 6; i++) {
+            movimentacaoService.registrarMovimentacao(despesa(contaId, "120.00", "Farmácia São João"));
+        }
+        aguardarEventos();
+
+        assertTrue(deteccaoAnomaliaService.persistirEstatisticas() >= 1);
+        List<EstatisticaCategoria> estatisticas = estatisticaRepository.findByContaId(contaId);
+        assertEquals(1, estatisticas.size());
+        assertEquals(CategoriaFinanceira.ALIMENTACAO, estatisticas.getFirst().getCategoria());
+        assertEquals(6, estatisticas.getFirst().getQuantidade());
+        assertEquals(12_000, estatisticas.getFirst().getMedia(), 1e-6);
+
+        deteccaoAnomaliaService.persistirEstatisticas();
+        assertEquals(estatisticas.getFirst().getDataAtualizacao(),
+                estatisticaRepository.findByContaId(contaId).getFirst().getDataAtualizacao());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar limite inválido e conta inexistente")
+    void deveRejeitarParametrosInvalidos() {
+        Long contaId = criarConta();
+        assertThrows(IllegalArgumentException.class, () -> movimentacaoService.buscarAlertas(contaId, 0));
+        assertThrows(IllegalArgumentException.class, () -> movimentacaoService.buscarAlertas(contaId, 501));
+        assertThrows(IllegalArgumentException.class, () -> movimentacaoService.buscarAlertas(999_999L, null));
+    }
+
+    private MovimentacaoFinanceiraDTO despesa(Long contaId, String valor, String descricao) {
+        return TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(TipoMovimentacao.DESPESA)
+                .comCategoria(CategoriaFinanceira.ALIMENTACAO)
+                .comValor(new BigDecimal(valor))
+                .comDescricao(descricao)
+                .build();
+    }
+
+    /**
+     * As escritas chegam às estruturas em memória pela fila de eventos; espera até todos os ouvintes estarem em dia.
+     */
+    private void aguardarEventos() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite) {
+            eventoService.despachar();
+            if (eventoRepository.findNaoSequenciados(PageRequest.ofSize(1)).isEmpty()
+                    && eventoService.listarOuvintes().stream().allMatch(ouvinte -> ouvinte.atraso() == 0)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Eventos de movimentação não foram entregues no tempo esperado");
+    }
+
+    private Long criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Anomalias")).getId();
+    }
+}
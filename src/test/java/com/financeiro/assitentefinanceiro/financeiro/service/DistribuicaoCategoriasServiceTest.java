@@ -0,0 +1,117 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.DistribuicaoCategoriasDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para a distribuição por categoria")
+class DistribuicaoCategoriasServiceTest {
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve ordenar as categorias concluídas pelo total com a participação de cada uma")
+    void deveOrdenarCategoriasConcluidasPeloTotal() {
+        Long contaId = criarConta();
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO, "120.50", LocalDate.of(2024, 1, 5));
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO, "79.50", LocalDate.of(2024, 2, 5));
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.MORADIA, "1800.00", LocalDate.of(2024, 1, 10));
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.TRANSPORTE, "200.00", LocalDate.of(2024, 3, 1));
+        registrar(contaId, TipoMovimentacao.RECEITA, CategoriaFinanceira.SALARIO, "5000.00", LocalDate.of(2024, 1, 5));
+        movimentacaoService.registrarMovimentacao(TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(TipoMovimentacao.DESPESA)
+                .comCategoria(CategoriaFinanceira.LAZER)
+                .comValor(new BigDecimal("9999.00"))
+                .comDataMovimentacao(LocalDate.of(2024, 1, 20))
+                .comStatus(StatusMovimentacao.PENDENTE)
+                .build());
+
+        DistribuicaoCategoriasDTO todas = movimentacaoService.buscarDistribuicaoCategorias(contaId, null, null,
+                null, null);
+        DistribuicaoCategoriasDTO top2 = movimentacaoService.buscarDistribuicaoCategorias(contaId, null, null,
+                TipoMovimentacao.DESPESA, 2);
+        DistribuicaoCategoriasDTO janeiro = movimentacaoService.buscarDistribuicaoCategorias(contaId,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), TipoMovimentacao.DESPESA, null);
+
+        assertEquals(0, new BigDecimal("2200.00").compareTo(todas.total()));
+        assertEquals(List.of(CategoriaFinanceira.MORADIA, CategoriaFinanceira.ALIMENTACAO,
+                CategoriaFinanceira.TRANSPORTE), todas.categorias().stream()
+                .map(DistribuicaoCategoriasDTO.TotalCategoriaDTO::categoria).toList());
+        DistribuicaoCategoriasDTO.TotalCategoriaDTO alimentacao = todas.categorias().get(1);
+        assertEquals(2, alimentacao.posicao());
+        assertEquals(2, alimentacao.quantidade());
+        assertEquals(0, new BigDecimal("200.00").compareTo(alimentacao.total()));
+        assertEquals(new BigDecimal("81.82"), todas.categorias().get(0).percentual());
+        assertEquals(new BigDecimal("9.09"), alimentacao.percentual());
+
+        assertEquals(2, top2.categorias().size());
+        assertEquals(0, todas.total().compareTo(top2.total()));
+        assertEquals(0, new BigDecimal("1920.50").compareTo(janeiro.total()));
+        assertEquals(2, janeiro.categorias().size());
+    }
+
+    @Test
+    @DisplayName("Deve servir do cache até a próxima escrita na conta")
+    void deveServirDoCacheAteProximaEscrita() {
+        Long contaId = criarConta();
+        MovimentacaoFinanceira mercado = registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO,
+                "300.00", LocalDate.of(2024, 4, 2));
+
+        DistribuicaoCategoriasDTO primeira = movimentacaoService.buscarDistribuicaoCategorias(contaId, null, null,
+                null, null);
+        DistribuicaoCategoriasDTO segunda = movimentacaoService.buscarDistribuicaoCategorias(contaId, null, null,
+                null, null);
+        assertSame(primeira, segunda);
+
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.SAUDE, "450.00", LocalDate.of(2024, 4, 3));
+        DistribuicaoCategoriasDTO aposRegistro = movimentacaoService.buscarDistribuicaoCategorias(contaId, null, null,
+                null, null);
+        assertEquals(CategoriaFinanceira.SAUDE, aposRegistro.categorias().get(0).categoria());
+
+        movimentacaoService.estornarMovimentacao(mercado.getId());
+        DistribuicaoCategoriasDTO aposEstorno = movimentacaoService.buscarDistribuicaoCategorias(contaId, null, null,
+                null, null);
+        assertEquals(1, aposEstorno.categorias().size());
+        assertEquals(0, new BigDecimal("450.00").compareTo(aposEstorno.total()));
+    }
+
+    private MovimentacaoFinanceira registrar(Long contaId, TipoMovimentacao tipo, CategoriaFinanceira categoria,
+            String valor, LocalDate data) {
+        MovimentacaoFinanceiraDTO dto = TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(tipo)
+                .comCategoria(categoria)
+                .comValor(new BigDecimal(valor))
+                .comDataMovimentacao(data)
+                .build();
+        return movimentacaoService.registrarMovimentacao(dto);
+    }
+
+    private Long criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Distribuição")).getId();
+    }
+}
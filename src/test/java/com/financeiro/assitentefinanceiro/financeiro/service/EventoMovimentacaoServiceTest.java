@@ -0,0 +1,162 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.EventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.OuvinteEventoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoEventoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.evento.OuvinteMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para a fila de eventos de movimentação")
+class EventoMovimentacaoServiceTest {
+
+    private static final String OUVINTE = "registro-teste";
+
+    @Autowired
+    private EventoMovimentacaoService eventoService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private OuvinteRegistro ouvinte;
+
+    @Test
+    @DisplayName("Deve entregar os eventos na ordem das alterações com o estado anterior")
+    void deveEntregarEventosNaOrdemComEstadoAnterior() throws InterruptedException {
+        Long contaId = criarConta();
+        MovimentacaoFinanceira movimentacao = movimentacaoService.registrarMovimentacao(dto(contaId, "100.00",
+                StatusMovimentacao.CONCLUIDA));
+        movimentacaoService.atualizarMovimentacao(movimentacao.getId(), dto(contaId, "150.00",
+                StatusMovimentacao.CONCLUIDA));
+        movimentacaoService.estornarMovimentacao(movimentacao.getId());
+        MovimentacaoFinanceira pendente = movimentacaoService.registrarMovimentacao(dto(contaId, "30.00",
+                StatusMovimentacao.PENDENTE));
+        movimentacaoService.excluirMovimentacao(pendente.getId());
+
+        aguardar(() -> ouvinte.daConta(contaId).size() == 5);
+
+        List<EventoMovimentacao> eventos = ouvinte.daConta(contaId);
+        assertEquals(List.of(TipoEventoMovimentacao.REGISTRADA, TipoEventoMovimentacao.ATUALIZADA,
+                TipoEventoMovimentacao.ESTORNADA, TipoEventoMovimentacao.REGISTRADA, TipoEventoMovimentacao.EXCLUIDA),
+                eventos.stream().map(EventoMovimentacao::getTipo).toList());
+        for (int i = 1; i < eventos.size(); i++) {
+            assertTrue(eventos.get(i).getPosicao() > eventos.get(i - 1).getPosicao());
+        }
+
+        EventoMovimentacao atualizada = eventos.get(1);
+        assertEquals(0, new BigDecimal("100.00").compareTo(atualizada.getValorAnterior()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(atualizada.getValor()));
+        EventoMovimentacao estornada = eventos.get(2);
+        assertEquals(StatusMovimentacao.CONCLUIDA, estornada.getStatusAnterior());
+        assertEquals(StatusMovimentacao.ESTORNADA, estornada.getStatus());
+        assertNull(eventos.get(0).getValorAnterior());
+        assertEquals(pendente.getId(), eventos.get(4).getMovimentacaoId());
+    }
+
+    @Test
+    @DisplayName("Deve entregar de novo o lote que falhou e reprocessar a partir de uma posição")
+    void deveEntregarDeNovoLoteQueFalhouEReprocessar() throws InterruptedException {
+        Long contaId = criarConta();
+        ouvinte.falhasRestantes.set(1);
+        MovimentacaoFinanceira movimentacao = movimentacaoService.registrarMovimentacao(dto(contaId, "80.00",
+                StatusMovimentacao.CONCLUIDA));
+
+        aguardar(() -> {
+            eventoService.despachar();
+            return ouvinte.daConta(contaId).size() == 1;
+        });
+        assertEquals(0, ouvinte.falhasRestantes.get());
+        EventoMovimentacao registrada = ouvinte.daConta(contaId).getFirst();
+        assertEquals(movimentacao.getId(), registrada.getMovimentacaoId());
+
+        OuvinteEventoDTO reposicionado = eventoService.reprocessar(OUVINTE, registrada.getPosicao());
+        assertEquals(registrada.getPosicao() - 1, reposicionado.posicao());
+        aguardar(() -> ouvinte.daConta(contaId).size() == 2);
+        assertEquals(registrada.getPosicao(), ouvinte.daConta(contaId).getLast().getPosicao());
+
+        aguardar(() -> eventoService.listarOuvintes().stream()
+                .anyMatch(dto -> OUVINTE.equals(dto.ouvinte()) && dto.atraso() == 0));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.reprocessar("inexistente", 1));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.reprocessar(OUVINTE, 0));
+    }
+
+    private MovimentacaoFinanceiraDTO dto(Long contaId, String valor, StatusMovimentacao status) {
+        return TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comValor(new BigDecimal(valor))
+                .comStatus(status)
+                .build();
+    }
+
+    private Long criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Eventos")).getId();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite) {
+            if (condicao.getAsBoolean()) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Eventos não foram entregues no tempo esperado");
+    }
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        OuvinteRegistro ouvinteRegistro() {
+            return new OuvinteRegistro();
+        }
+    }
+
+    static class OuvinteRegistro implements OuvinteMovimentacao {
+
+        private final List<EventoMovimentacao> recebidos = new CopyOnWriteArrayList<>();
+        private final AtomicInteger falhasRestantes = new AtomicInteger();
+
+        @Override
+        public String getNome() {
+            return OUVINTE;
+        }
+
+        @Override
+        public void processar(List<EventoMovimentacao> eventos) {
+            if (falhasRestantes.getAndUpdate(falhas -> Math.max(0, falhas - 1)) > 0) {
+                throw new IllegalStateException("Falha simulada do ouvinte");
+            }
+            recebidos.addAll(eventos);
+        }
+
+        List<EventoMovimentacao> daConta(Long contaId) {
+            return recebidos.stream().filter(evento -> contaId.equals(evento.getContaId())).toList();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executado pela task {@code testVolume}, com heap de 256 MB: o banco fica em arquivo para que
+ * apenas a exportação concorra pela memória da JVM.
+ */
+@Tag("volume")
+@SpringBootTest
+@DisplayName("Teste de volume da exportação NDJSON de movimentações")
+class ExportacaoMovimentacaoVolumeTest {
+
+    private static final int TOTAL_MOVIMENTACOES = 1_000_000;
+    private static final int TAMANHO_INSERCAO = 100_000;
+    private static final long ID_INICIAL = 10_000_000L;
+
+    @Autowired
+    private ExportacaoMovimentacaoService exportacaoService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void configurarBancoEmArquivo(DynamicPropertyRegistry registry) throws IOException {
+        Path diretorio = Files.createTempDirectory("exportacao-volume");
+        diretorio.toFile().deleteOnExit();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:file:" + diretorio.resolve("movimentacoes") + ";CACHE_SIZE=8192;DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @Test
+    @DisplayName("Deve exportar 1 milhão de movimentações com memória constante")
+    void deveExportarUmMilhaoDeMovimentacoes() throws IOException {
+        DadosConta conta = contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Exportação volume"));
+
+        for (int inicio = 0; inicio < TOTAL_MOVIMENTACOES; inicio += TAMANHO_INSERCAO) {
+            jdbcTemplate.update("""
+                    INSERT INTO movimentacao_financeira (id, tipo_movimentacao, valor, descricao, categoria,
+                        data_movimentacao, data_registro, status, fonte_movimentacao, conta_id)
+                    SELECT ? + X, 'DESPESA', 10.00, 'Movimentação ' || X, 'ALIMENTACAO',
+                        DATEADD('DAY', MOD(X, 365), DATE '2024-01-01'), CURRENT_TIMESTAMP, 'CONCLUIDA', 'MANUAL', ?
+                    FROM SYSTEM_RANGE(?, ?)
+                    """, ID_INICIAL, conta.getId(), inicio, inicio + TAMANHO_INSERCAO - 1);
+        }
+
+        ContadorLinhas saida = new ContadorLinhas();
+        long exportadas = exportacaoService.exportarNdjson(conta.getId(), saida);
+
+        assertEquals(TOTAL_MOVIMENTACOES, exportadas);
+        assertEquals(TOTAL_MOVIMENTACOES, saida.linhas);
+
+        JsonNode primeira = objectMapper.readTree(saida.primeiraLinha.toString(StandardCharsets.UTF_8));
+        assertEquals(conta.getId(), primeira.get("contaId").asLong());
+        assertEquals("DESPESA", primeira.get("tipoMovimentacao").asText());
+    }
+
+    private static class ContadorLinhas extends OutputStream {
+
+        private final ByteArrayOutputStream primeiraLinha = new ByteArrayOutputStream();
+        private long linhas;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                linhas++;
+            } else if (linhas == 0) {
+                primeiraLinha.write(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para FiltroDuplicidadeService")
+class FiltroDuplicidadeServiceTest {
+
+    @Autowired
+    private FiltroDuplicidadeService filtroDuplicidadeService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository repository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve identificar duplicados por conta e evitar consulta para identificadores novos")
+    void deveIdentificarDuplicadosPorConta() {
+        DadosConta contaA = criarConta();
+        DadosConta contaB = criarConta();
+        movimentacaoService.registrarMovimentacao(TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaA.getId()).comIdentificadorExterno("FIT-100").build());
+
+        double ausentesAntes = consultas("ausente");
+
+        assertEquals(Set.of("FIT-100"), filtroDuplicidadeService.buscarExistentes(contaA.getId(),
+                List.of("FIT-100", "FIT-101", "FIT-102")));
+        assertTrue(filtroDuplicidadeService.buscarExistentes(contaB.getId(), List.of("FIT-100")).isEmpty());
+        assertTrue(consultas("ausente") - ausentesAntes >= 2);
+        assertTrue(meterRegistry.get("assitentefinanceiro_duplicidade_filtro_memoria_bytes").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar identificador externo repetido na mesma conta")
+    void deveRejeitarIdentificadorRepetidoNaMesmaConta() {
+        DadosConta conta = criarConta();
+        movimentacaoService.registrarMovimentacao(TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(conta.getId()).comIdentificadorExterno("FIT-200").build());
+
+        assertThrows(IllegalArgumentException.class, () -> movimentacaoService.registrarMovimentacao(
+                TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(conta.getId()).comIdentificadorExterno("FIT-200").build()));
+        assertThrows(DataIntegrityViolationException.class, () -> repository.saveAndFlush(MovimentacaoFinanceira.fromDTO(
+                TestDataBuilder.movimentacaoFinanceiraDTO().comIdentificadorExterno("FIT-200").build(), conta)));
+    }
+
+    @Test
+    @DisplayName("Deve expandir o filtro no aquecimento quando a conta tem mais identificadores que a capacidade")
+    void deveExpandirFiltroNoAquecimento() {
+        MovimentacaoFinanceiraRepository repositorioMock = mock(MovimentacaoFinanceiraRepository.class);
+        MovimentacaoArquivadaRepository arquivadaMock = mock(MovimentacaoArquivadaRepository.class);
+        when(repositorioMock.countIdentificadoresExternosAgrupadoPorConta())
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, 10L }));
+        when(arquivadaMock.countIdentificadoresExternosAgrupadoPorConta()).thenReturn(List.of());
+        when(repositorioMock.streamIdentificadoresExternos()).thenReturn(IntStream.range(0, 5000)
+                .mapToObj(i -> new Object[] { 1L, "FIT-" + i }));
+        when(arquivadaMock.streamIdentificadoresExternos()).thenReturn(Stream.empty());
+        when(repositorioMock.findIdentificadoresExistentes(anyLong(), anyCollection())).thenReturn(List.of());
+        when(arquivadaMock.findIdentificadoresExistentes(anyLong(), anyCollection())).thenReturn(List.of());
+
+        FiltroDuplicidadeService servico = new FiltroDuplicidadeService(repositorioMock, arquivadaMock,
+                transactionManager, new SimpleMeterRegistry(), 100, 0.01);
+        servico.registrar(1L, "FIT-ANTES-DO-AQUECIMENTO");
+        servico.aquecer();
+
+        assertTrue(servico.getTaxaFalsoPositivoEstimada() < 0.1);
+        servico.buscarExistentes(1L, IntStream.range(0, 2000).mapToObj(i -> "NOVO-" + i).toList());
+        assertTrue(servico.getTaxaFalsoPositivoObservada() < 0.1);
+    }
+
+    private double consultas(String resultado) {
+        return meterRegistry.get("assitentefinanceiro_duplicidade_consultas_total").tag("resultado", resultado)
+                .counter().count();
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Duplicidade"));
+    }
+}
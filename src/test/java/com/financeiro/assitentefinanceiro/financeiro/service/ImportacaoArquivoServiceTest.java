@@ -0,0 +1,195 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.ImportacaoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.FonteMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.FormatoArquivo;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusImportacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.ImportacaoArquivoRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para ImportacaoArquivoService")
+class ImportacaoArquivoServiceTest {
+
+    private static final String CABECALHO = "data;descricao;valor\n";
+
+    @Autowired
+    private ImportacaoArquivoService importacaoService;
+
+    @Autowired
+    private SaldoContaService saldoContaService;
+
+    @Autowired
+    private ImportacaoArquivoRepository importacaoRepository;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @TempDir
+    Path diretorioTemporario;
+
+    @Test
+    @DisplayName("Deve importar CSV em chunks e ignorar duplicados na reimportação")
+    void deveImportarCsvEIgnorarDuplicadosNaReimportacao() throws InterruptedException {
+        Long contaId = criarConta().getId();
+        StringBuilder csv = new StringBuilder(CABECALHO);
+        for (int i = 1; i <= 1200; i++) {
+            csv.append(String.format("%02d/01/2024;Lançamento %d;%s%d,00\n", i % 28 + 1, i, i % 3 == 0 ? "-" : "", i));
+        }
+        csv.append("99/99/2024;Data inválida;1,00\n");
+
+        ImportacaoArquivo importacao = aguardarConclusao(importacaoService.iniciarImportacao(contaId,
+                arquivoCsv("extrato.csv", csv.toString()), null, null).getId());
+
+        assertEquals(StatusImportacao.CONCLUIDA, importacao.getStatus());
+        assertEquals(1201, importacao.getRegistrosProcessados());
+        assertEquals(1200, importacao.getRegistrosImportados());
+        assertEquals(1, importacao.getRegistrosComErro());
+        assertEquals(100.0, importacao.getPercentualConcluido());
+        assertFalse(Files.exists(Path.of(importacao.getCaminhoArquivo())));
+
+        List<MovimentacaoFinanceira> movimentacoes = movimentacaoRepository.findByContaId(contaId);
+        assertEquals(1200, movimentacoes.size());
+        assertTrue(movimentacoes.stream().allMatch(m -> FonteMovimentacao.IMPORTACAO_ARQUIVO.equals(m.getFonteMovimentacao())
+                && "extrato.csv".equals(m.getArquivoOrigem()) && m.getIdentificadorExterno() != null));
+
+        ImportacaoArquivo reimportacao = aguardarConclusao(importacaoService.iniciarImportacao(contaId,
+                arquivoCsv("extrato.csv", csv.toString()), null, null).getId());
+
+        assertEquals(0, reimportacao.getRegistrosImportados());
+        assertEquals(1200, reimportacao.getRegistrosDuplicados());
+        assertEquals(1200, movimentacaoRepository.findByContaId(contaId).size());
+        assertEquals(2, importacaoService.buscarImportacoesPorArquivo("extrato.csv").stream()
+                .filter(i -> contaId.equals(i.getContaId())).count());
+    }
+
+    @Test
+    @DisplayName("Deve retomar importação a partir do último chunk confirmado")
+    void deveRetomarImportacaoAPartirDoUltimoChunk() throws IOException, InterruptedException {
+        Long contaId = criarConta().getId();
+        String inicio = CABECALHO
+                + "01/02/2024;Aluguel;-1.500,00\n"
+                + "02/02/2024;Salário;5.000,00\n"
+                + "03/02/2024;Mercado;-300,00\n";
+        aguardarConclusao(importacaoService.iniciarImportacao(contaId, arquivoCsv("fev.csv", inicio), null, null).getId());
+
+        Path arquivo = diretorioTemporario.resolve("fev-completo.csv");
+        Files.writeString(arquivo, inicio + "04/02/2024;Farmácia;-50,00\n05/02/2024;Freelance;700,00\n");
+        ImportacaoArquivo interrompida = new ImportacaoArquivo(contaId, "fev-completo.csv", FormatoArquivo.CSV,
+                StandardCharsets.UTF_8.name(), arquivo.toString(), Files.size(arquivo));
+        interrompida.registrarChunk(3, 3, 0, 0, inicio.getBytes(StandardCharsets.UTF_8).length, 10);
+        interrompida.falhar("Aplicação interrompida");
+        interrompida = importacaoRepository.save(interrompida);
+
+        importacaoService.retomarImportacao(interrompida.getId());
+        ImportacaoArquivo retomada = aguardarConclusao(interrompida.getId());
+
+        assertEquals(StatusImportacao.CONCLUIDA, retomada.getStatus());
+        assertEquals(5, retomada.getRegistrosProcessados());
+        assertEquals(5, retomada.getRegistrosImportados());
+        assertEquals(0, retomada.getRegistrosDuplicados());
+        assertEquals(5, movimentacaoRepository.findByContaId(contaId).size());
+        assertEquals(0, new BigDecimal("3850.00").compareTo(saldoContaService.obterSaldo(contaId)));
+    }
+
+    @Test
+    @DisplayName("Deve importar registros iguais repetidos em extrato fora de ordem de data")
+    void deveImportarRegistrosIguaisEmExtratoForaDeOrdem() throws InterruptedException {
+        Long contaId = criarConta().getId();
+        String csv = CABECALHO
+                + "10/04/2024;Padaria;-12,00\n"
+                + "11/04/2024;Padaria;-12,00\n"
+                + "10/04/2024;Padaria;-12,00\n"
+                + "11/04/2024;Padaria;-12,00\n"
+                + "10/04/2024;Padaria;-12,00\n";
+
+        ImportacaoArquivo importacao = aguardarConclusao(importacaoService.iniciarImportacao(contaId,
+                arquivoCsv("abr.csv", csv), null, null).getId());
+
+        assertEquals(5, importacao.getRegistrosImportados());
+        assertEquals(0, importacao.getRegistrosDuplicados());
+        assertEquals(5, movimentacaoRepository.findByContaId(contaId).size());
+
+        ImportacaoArquivo reimportacao = aguardarConclusao(importacaoService.iniciarImportacao(contaId,
+                arquivoCsv("abr.csv", csv), null, null).getId());
+        assertEquals(5, reimportacao.getRegistrosDuplicados());
+    }
+
+    @Test
+    @DisplayName("Deve categorizar pela descrição os registros sem categoria no extrato")
+    void deveCategorizarRegistrosSemCategoria() throws InterruptedException {
+        Long contaId = criarConta().getId();
+        String csv = CABECALHO
+                + "01/03/2024;ALUGUEL MARCO;-1.500,00\n"
+                + "02/03/2024;CRED SALARIO EMPRESA;5.000,00\n"
+                + "03/03/2024;COMPRA CARTAO DROGASIL 1234;-80,00\n"
+                + "04/03/2024;PIX ENVIADO FULANO;-50,00\n"
+                + "05/03/2024;Freelance;700,00\n";
+
+        aguardarConclusao(importacaoService.iniciarImportacao(contaId, arquivoCsv("mar.csv", csv), null, null).getId());
+
+        Map<String, CategoriaFinanceira> categorias = movimentacaoRepository.findByContaId(contaId).stream()
+                .collect(Collectors.toMap(MovimentacaoFinanceira::getDescricao, MovimentacaoFinanceira::getCategoria));
+        assertEquals(CategoriaFinanceira.MORADIA, categorias.get("ALUGUEL MARCO"));
+        assertEquals(CategoriaFinanceira.SALARIO, categorias.get("CRED SALARIO EMPRESA"));
+        assertEquals(CategoriaFinanceira.SAUDE, categorias.get("COMPRA CARTAO DROGASIL 1234"));
+        assertEquals(CategoriaFinanceira.OUTRAS_DESPESAS, categorias.get("PIX ENVIADO FULANO"));
+        assertEquals(CategoriaFinanceira.OUTRAS_RECEITAS, categorias.get("Freelance"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo com formato não reconhecido")
+    void deveRejeitarFormatoNaoReconhecido() {
+        Long contaId = criarConta().getId();
+
+        assertThrows(IllegalArgumentException.class, () -> importacaoService.iniciarImportacao(contaId,
+                arquivoCsv("extrato.xlsx", CABECALHO), null, null));
+    }
+
+    private ImportacaoArquivo aguardarConclusao(Long importacaoId) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < limite) {
+            ImportacaoArquivo importacao = importacaoRepository.findById(importacaoId).orElseThrow();
+            if (!StatusImportacao.EM_ANDAMENTO.equals(importacao.getStatus())) {
+                return importacao;
+            }
+            Thread.sleep(50);
+        }
+        fail("Importação " + importacaoId + " não concluiu no tempo esperado");
+        return null;
+    }
+
+    private MockMultipartFile arquivoCsv(String nome, String conteudo) {
+        return new MockMultipartFile("arquivo", nome, "text/csv", conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Responsável Teste"));
+    }
+}
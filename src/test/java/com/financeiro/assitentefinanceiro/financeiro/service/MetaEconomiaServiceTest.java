@@ -15,11 +15,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,6 +40,12 @@ class MetaEconomiaServiceTest {
     @Mock
     private AssistenteFinanceiroService assistenteService;
 
+    @Mock
+    private ProgressoMetaService progressoMetaService;
+
+    @Mock
+    private ResumoContasService resumoContasService;
+
     @InjectMocks
     private MetaEconomiaService service;
 
@@ -113,14 +121,14 @@ class MetaEconomiaServiceTest {
     @DisplayName("Deve listar todas as metas com sucesso")
     void deveListarTodasMetasComSucesso() {
         List<MetaEconomia> metas = List.of(meta);
-        when(repository.findAll()).thenReturn(metas);
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(metas);
 
         List<MetaEconomia> resultado = service.listarMetas();
 
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals(meta.getId(), resultado.get(0).getId());
-        verify(repository).findAll();
+        verify(repository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
     }
 
     @Test
@@ -263,6 +271,51 @@ class MetaEconomiaServiceTest {
         verify(repository, never()).save(any(MetaEconomia.class));
     }
 
+    @Test
+    @DisplayName("Deve recalcular o progresso ao criar meta vinculada a categorias")
+    void deveRecalcularProgressoAoCriarMetaVinculada() {
+        MetaEconomiaDTO dtoVinculado = TestDataBuilder.metaEconomiaDTO()
+            .comCategoriasVinculadas(CategoriaFinanceira.POUPANCA, CategoriaFinanceira.CDB)
+            .build();
+        when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
+        when(repository.save(any(MetaEconomia.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MetaEconomia resultado = service.criarMeta(dtoVinculado);
+
+        assertEquals(Set.of(CategoriaFinanceira.POUPANCA, CategoriaFinanceira.CDB),
+            resultado.getCategoriasVinculadas());
+        verify(progressoMetaService).recalcular(resultado);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar categoria que não é de poupança ou investimento")
+    void deveRejeitarCategoriaNaoVinculavel() {
+        MetaEconomiaDTO dtoInvalido = TestDataBuilder.metaEconomiaDTO()
+            .comCategoriasVinculadas(CategoriaFinanceira.ALIMENTACAO)
+            .build();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> service.criarMeta(dtoInvalido));
+
+        assertTrue(exception.getMessage().contains("ALIMENTACAO"));
+        verifyNoInteractions(progressoMetaService);
+        verify(repository, never()).save(any(MetaEconomia.class));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar progresso manual em meta vinculada a categorias")
+    void deveRejeitarProgressoManualEmMetaVinculada() {
+        MetaEconomia metaVinculada = TestDataBuilder.metaEconomia().build();
+        metaVinculada.vincularCategorias(List.of(CategoriaFinanceira.POUPANCA));
+        when(repository.findById(anyLong())).thenReturn(Optional.of(metaVinculada));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> service.atualizarProgressoMeta(1L, new BigDecimal("100.00")));
+
+        assertEquals("Meta vinculada a categorias tem progresso calculado pelas movimentacoes", exception.getMessage());
+        verify(repository, never()).save(any(MetaEconomia.class));
+    }
+
     @Test
     @DisplayName("Deve excluir meta com sucesso")
     void deveExcluirMetaComSucesso() {
@@ -302,6 +355,7 @@ class MetaEconomiaServiceTest {
         assertEquals(StatusMeta.PAUSADA, resultado.getStatus());
         verify(repository).findById(1L);
         verify(repository).save(any(MetaEconomia.class));
+        verify(resumoContasService).registrarAlteracaoMetas();
     }
 
     @Test
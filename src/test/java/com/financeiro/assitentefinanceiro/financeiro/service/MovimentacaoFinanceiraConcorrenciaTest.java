@@ -0,0 +1,103 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de concorrência para escrita de movimentações por conta")
+class MovimentacaoFinanceiraConcorrenciaTest {
+
+    private static final int CONTAS = 3;
+    private static final int MOVIMENTACOES_POR_CONTA = 1000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private MovimentacaoFinanceiraService service;
+
+    @Autowired
+    private SaldoContaService saldoContaService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository repository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve manter cadeia de saldos sem lacunas com inserções paralelas")
+    void deveManterCadeiaDeSaldosSemLacunasComInsercoesParalelas() throws Exception {
+        List<Long> contas = new ArrayList<>();
+        for (int i = 0; i < CONTAS; i++) {
+            contas.add(criarConta().getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<MovimentacaoFinanceira>> futuros = new ArrayList<>();
+            for (int i = 0; i < MOVIMENTACOES_POR_CONTA * CONTAS; i++) {
+                Long contaId = contas.get(i % CONTAS);
+                MovimentacaoFinanceiraDTO dto = TestDataBuilder.movimentacaoFinanceiraDTO()
+                        .comContaId(contaId)
+                        .comTipoMovimentacao(i % 3 == 0 ? TipoMovimentacao.DESPESA : TipoMovimentacao.RECEITA)
+                        .comValor(new BigDecimal(1 + (i % 97) + ".25"))
+                        .build();
+                futuros.add(executor.submit(() -> service.registrarMovimentacao(dto)));
+            }
+            for (Future<MovimentacaoFinanceira> futuro : futuros) {
+                assertNotNull(futuro.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (Long contaId : contas) {
+            List<MovimentacaoFinanceira> cadeia = repository.findByContaId(contaId).stream()
+                    .sorted(Comparator.comparing(MovimentacaoFinanceira::getId))
+                    .toList();
+
+            assertEquals(MOVIMENTACOES_POR_CONTA, cadeia.size());
+            BigDecimal saldoEsperado = BigDecimal.ZERO;
+            for (MovimentacaoFinanceira movimentacao : cadeia) {
+                assertEquals(0, saldoEsperado.compareTo(movimentacao.getSaldoAnterior()),
+                        "Lacuna na cadeia de saldos da conta " + contaId + " na movimentação " + movimentacao.getId());
+                saldoEsperado = movimentacao.getSaldoAtual();
+            }
+            assertEquals(0, saldoEsperado.compareTo(saldoContaService.obterSaldo(contaId)));
+        }
+
+        double contencao = meterRegistry.find("assitentefinanceiro_conta_trava_contencao_total").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+        assertTrue(contencao > 0, "Métrica de contenção por stripe deveria registrar esperas");
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Concorrência"));
+    }
+}
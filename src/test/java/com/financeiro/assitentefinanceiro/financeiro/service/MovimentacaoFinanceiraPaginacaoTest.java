@@ -0,0 +1,84 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.common.Pagina;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para paginação por cursor de movimentações")
+class MovimentacaoFinanceiraPaginacaoTest {
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve percorrer todas as movimentações da conta sem repetir nem pular itens")
+    void devePercorrerMovimentacoesDaContaPorCursor() {
+        Long contaId = criarConta().getId();
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            lote.add(TestDataBuilder.movimentacaoFinanceiraDTO()
+                    .comContaId(contaId)
+                    .comDataMovimentacao(LocalDate.of(2024, 1, 1).plusDays(i % 7))
+                    .build());
+        }
+        loteService.registrarLote(lote);
+
+        List<MovimentacaoFinanceira> percorridas = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            Pagina<MovimentacaoFinanceira> pagina = movimentacaoService.buscarMovimentacoesPorContaPaginadas(contaId, cursor, 40);
+            assertTrue(pagina.itens().size() <= 40);
+            percorridas.addAll(pagina.itens());
+            cursor = pagina.proximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(7, paginas);
+        assertEquals(250, percorridas.size());
+        Set<Long> ids = new HashSet<>();
+        percorridas.forEach(m -> assertTrue(ids.add(m.getId())));
+        assertEquals(percorridas, percorridas.stream()
+                .sorted(Comparator.comparing(MovimentacaoFinanceira::getDataMovimentacao)
+                        .thenComparing(MovimentacaoFinanceira::getId).reversed())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor sem data para movimentações")
+    void deveRejeitarCursorSemData() {
+        Long contaId = criarConta().getId();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> movimentacaoService.buscarMovimentacoesPorContaPaginadas(contaId, "MTA", 10));
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Paginação"));
+    }
+}
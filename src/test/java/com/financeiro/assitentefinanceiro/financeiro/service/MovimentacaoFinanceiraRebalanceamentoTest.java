@@ -0,0 +1,112 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "financeiro.rebalanceamento.tamanho-lote=3",
+        "financeiro.rebalanceamento.intervalo-ms=3600000"
+})
+@DisplayName("Testes de integração para rebalanceamento dos saldos encadeados de movimentações")
+class MovimentacaoFinanceiraRebalanceamentoTest {
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private RebalanceamentoSaldoService rebalanceamentoSaldoService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository repository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve manter o encadeamento de saldos após atualização, estorno e exclusão no meio do histórico, "
+            + "inclusive com registros feitos enquanto o rebalanceamento está pendente")
+    void deveManterEncadeamentoAposAlteracoesNoMeioDoHistorico() {
+        Long contaId = criarConta().getId();
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            lote.add(dto(contaId, i % 4 == 0 ? TipoMovimentacao.DESPESA : TipoMovimentacao.RECEITA,
+                    "1" + i + ".50"));
+        }
+        loteService.registrarLote(lote);
+        List<MovimentacaoFinanceira> movimentacoes = movimentacoesOrdenadas(contaId);
+        assertEncadeamentoConsistente(contaId);
+
+        movimentacaoService.atualizarMovimentacao(movimentacoes.get(2).getId(),
+                dto(contaId, TipoMovimentacao.DESPESA, "250.00"));
+        assertTrue(rebalanceamentoSaldoService.possuiPendentes(contaId));
+        movimentacaoService.registrarMovimentacao(dto(contaId, TipoMovimentacao.RECEITA, "40.00"));
+        assertEncadeamentoConsistente(contaId);
+        assertFalse(rebalanceamentoSaldoService.possuiPendentes(contaId));
+
+        movimentacaoService.estornarMovimentacao(movimentacoes.get(5).getId());
+        assertEncadeamentoConsistente(contaId);
+
+        movimentacaoService.excluirMovimentacao(movimentacoes.get(7).getId());
+        assertEncadeamentoConsistente(contaId);
+
+        movimentacaoService.atualizarMovimentacao(movimentacoes.get(19).getId(),
+                dto(contaId, TipoMovimentacao.RECEITA, "1.00"));
+        assertEncadeamentoConsistente(contaId);
+    }
+
+    private void assertEncadeamentoConsistente(Long contaId) {
+        rebalanceamentoSaldoService.aplicarPendentes();
+        BigDecimal saldo = BigDecimal.ZERO;
+        for (MovimentacaoFinanceira movimentacao : movimentacoesOrdenadas(contaId)) {
+            assertEquals(0, saldo.compareTo(movimentacao.getSaldoAnterior()),
+                    "Saldo anterior divergente na movimentação " + movimentacao.getId());
+            saldo = saldo.add(SaldoConta.efeito(movimentacao.getTipoMovimentacao(), movimentacao.getStatus(),
+                    movimentacao.getValor()));
+            assertEquals(0, saldo.compareTo(movimentacao.getSaldoAtual()),
+                    "Saldo atual divergente na movimentação " + movimentacao.getId());
+        }
+        assertEquals(0, saldo.compareTo(movimentacaoService.calcularSaldoAtual(contaId)));
+    }
+
+    private List<MovimentacaoFinanceira> movimentacoesOrdenadas(Long contaId) {
+        return repository.findByContaId(contaId).stream()
+                .sorted(Comparator.comparing(MovimentacaoFinanceira::getId))
+                .toList();
+    }
+
+    private MovimentacaoFinanceiraDTO dto(Long contaId, TipoMovimentacao tipo, String valor) {
+        return TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(tipo)
+                .comValor(new BigDecimal(valor))
+                .comDataMovimentacao(LocalDate.of(2024, 5, 10))
+                .build();
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Rebalanceamento"));
+    }
+}
@@ -3,10 +3,14 @@ package com.financeiro.assitentefinanceiro.financeiro.service;
 import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
 import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
 import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.ResumoMensal;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.DistribuicaoCategoriasDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
 import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
 import com.financeiro.assitentefinanceiro.financeiro.enums.*;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoArquivadaRepository;
 import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
 import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +20,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +43,51 @@ class MovimentacaoFinanceiraServiceTest {
     @Mock
     private CadastroContaService contaService;
 
+    @Mock
+    private SaldoContaService saldoContaService;
+
+    @Mock
+    private TravaContaService travaContaService;
+
+    @Mock
+    private FiltroDuplicidadeService filtroDuplicidadeService;
+
+    @Mock
+    private ResumoMensalService resumoMensalService;
+
+    @Mock
+    private SaldoCheckpointService saldoCheckpointService;
+
+    @Mock
+    private RebalanceamentoSaldoService rebalanceamentoSaldoService;
+
+    @Mock
+    private AnaliseColunarService analiseColunarService;
+
+    @Mock
+    private DistribuicaoCategoriasService distribuicaoCategoriasService;
+
+    @Mock
+    private CategorizacaoService categorizacaoService;
+
+    @Mock
+    private BuscaTextualService buscaTextualService;
+
+    @Mock
+    private DeteccaoAnomaliaService deteccaoAnomaliaService;
+
+    @Mock
+    private MovimentacaoArquivadaRepository arquivadaRepository;
+
+    @Mock
+    private ArquivamentoMovimentacaoService arquivamentoService;
+
+    @Mock
+    private EventoMovimentacaoService eventoService;
+
+    @Mock
+    private ProgressoMetaService progressoMetaService;
+
     @InjectMocks
     private MovimentacaoFinanceiraService service;
 
@@ -54,10 +106,7 @@ class MovimentacaoFinanceiraServiceTest {
     @DisplayName("Deve registrar movimentação financeira com sucesso")
     void deveRegistrarMovimentacaoComSucesso() {
         when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
-        when(repository.sumValorByContaIdAndTipoMovimentacao(anyLong(), eq(TipoMovimentacao.RECEITA)))
-                .thenReturn(Optional.of(5000.0));
-        when(repository.sumValorByContaIdAndTipoMovimentacao(anyLong(), eq(TipoMovimentacao.DESPESA)))
-                .thenReturn(Optional.of(0.0));
+        when(saldoContaService.obterParaAtualizacao(anyLong())).thenReturn(saldoConta());
         when(repository.save(any(MovimentacaoFinanceira.class))).thenReturn(movimentacao);
 
         MovimentacaoFinanceira resultado = service.registrarMovimentacao(movimentacaoDTO);
@@ -67,6 +116,27 @@ class MovimentacaoFinanceiraServiceTest {
         assertEquals(StatusMovimentacao.CONCLUIDA, resultado.getStatus());
         verify(contaService).buscarContaPorId(movimentacaoDTO.contaId());
         verify(repository).save(any(MovimentacaoFinanceira.class));
+        verify(travaContaService).travarAteFimDaTransacao(contaTeste.getId());
+        verify(saldoContaService).aplicarMovimentacao(any(SaldoConta.class), eq(movimentacao));
+        verify(resumoMensalService).aplicarMovimentacao(movimentacao);
+        verify(progressoMetaService).aplicarMovimentacao(movimentacao);
+        verify(repository, never()).sumValorByContaIdAndTipoMovimentacao(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar movimentação com identificador externo já registrado na conta")
+    void deveRejeitarIdentificadorExternoDuplicado() {
+        MovimentacaoFinanceiraDTO dtoDuplicado = TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comIdentificadorExterno("FIT-001")
+                .build();
+        when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
+        when(filtroDuplicidadeService.existe(contaTeste.getId(), "FIT-001")).thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service.registrarMovimentacao(dtoDuplicado));
+
+        assertEquals("Identificador externo já registrado para a conta: FIT-001", exception.getMessage());
+        verify(repository, never()).save(any(MovimentacaoFinanceira.class));
     }
 
     @Test
@@ -92,10 +162,7 @@ class MovimentacaoFinanceiraServiceTest {
                 .build();
 
         when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
-        when(repository.sumValorByContaIdAndTipoMovimentacao(anyLong(), eq(TipoMovimentacao.RECEITA)))
-                .thenReturn(Optional.of(5000.0));
-        when(repository.sumValorByContaIdAndTipoMovimentacao(anyLong(), eq(TipoMovimentacao.DESPESA)))
-                .thenReturn(Optional.of(0.0));
+        when(saldoContaService.obterParaAtualizacao(anyLong())).thenReturn(saldoConta());
         when(repository.save(any(MovimentacaoFinanceira.class))).thenReturn(movimentacao);
 
         MovimentacaoFinanceira resultado = service.registrarMovimentacao(dtoComDataFutura);
@@ -110,14 +177,14 @@ class MovimentacaoFinanceiraServiceTest {
     @DisplayName("Deve listar todas as movimentações com sucesso")
     void deveListarTodasMovimentacoesComSucesso() {
         List<MovimentacaoFinanceira> movimentacoes = List.of(movimentacao);
-        when(repository.findAll()).thenReturn(movimentacoes);
+        when(repository.findPagina(any(Pageable.class))).thenReturn(movimentacoes);
 
         List<MovimentacaoFinanceira> resultado = service.listarMovimentacoes();
 
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         assertEquals(movimentacao.getId(), resultado.get(0).getId());
-        verify(repository).findAll();
+        verify(repository).findPagina(any(Pageable.class));
     }
 
     @Test
@@ -148,14 +215,14 @@ class MovimentacaoFinanceiraServiceTest {
     void deveBuscarMovimentacoesPorContaComSucesso() {
         List<MovimentacaoFinanceira> movimentacoes = List.of(movimentacao);
         when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
-        when(repository.findByContaId(anyLong())).thenReturn(movimentacoes);
+        when(repository.findPaginaPorConta(anyLong(), any(Pageable.class))).thenReturn(movimentacoes);
 
         List<MovimentacaoFinanceira> resultado = service.buscarMovimentacoesPorConta(1L);
 
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
         verify(contaService).buscarContaPorId(1L);
-        verify(repository).findByContaId(1L);
+        verify(repository).findPaginaPorConta(eq(1L), any(Pageable.class));
     }
 
     @Test
@@ -213,10 +280,7 @@ class MovimentacaoFinanceiraServiceTest {
 
         when(repository.findById(anyLong())).thenReturn(Optional.of(movimentacao));
         when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
-        when(repository.sumValorByContaIdAndTipoMovimentacao(anyLong(), eq(TipoMovimentacao.RECEITA)))
-                .thenReturn(Optional.of(5000.0));
-        when(repository.sumValorByContaIdAndTipoMovimentacao(anyLong(), eq(TipoMovimentacao.DESPESA)))
-                .thenReturn(Optional.of(0.0));
+        when(saldoContaService.obterParaAtualizacao(anyLong())).thenReturn(saldoConta());
         when(repository.save(any(MovimentacaoFinanceira.class))).thenReturn(movimentacao);
 
         MovimentacaoFinanceira resultado = service.atualizarMovimentacao(1L, dtoAtualizado);
@@ -224,29 +288,47 @@ class MovimentacaoFinanceiraServiceTest {
         assertNotNull(resultado);
         verify(repository).findById(1L);
         verify(repository).save(any(MovimentacaoFinanceira.class));
+        verify(saldoContaService).reverterMovimentacao(any(SaldoConta.class), eq(TipoMovimentacao.RECEITA),
+                eq(StatusMovimentacao.CONCLUIDA), eq(new BigDecimal("1000.00")), any());
+        verify(saldoContaService).aplicarMovimentacao(any(SaldoConta.class), eq(movimentacao));
+        verify(resumoMensalService).reverterMovimentacao(movimentacao);
+        verify(resumoMensalService).aplicarMovimentacao(movimentacao);
+        verify(progressoMetaService).reverterMovimentacao(movimentacao);
+        verify(progressoMetaService).aplicarMovimentacao(movimentacao);
+        verify(rebalanceamentoSaldoService).rebalancearApos(contaTeste.getId(), movimentacao.getId(),
+                new BigDecimal("500.00"));
     }
 
     @Test
     @DisplayName("Deve excluir movimentação com sucesso")
     void deveExcluirMovimentacaoComSucesso() {
-        when(repository.existsById(anyLong())).thenReturn(true);
+        when(repository.findContaIdById(1L)).thenReturn(Optional.of(contaTeste.getId()));
+        when(repository.findById(anyLong())).thenReturn(Optional.of(movimentacao));
+        when(saldoContaService.obterParaAtualizacao(anyLong())).thenReturn(saldoConta());
 
         assertDoesNotThrow(() -> service.excluirMovimentacao(1L));
 
-        verify(repository).existsById(1L);
-        verify(repository).deleteById(1L);
+        verify(travaContaService).travarAteFimDaTransacao(contaTeste.getId());
+        verify(repository).findById(1L);
+        verify(saldoContaService).reverterMovimentacao(any(SaldoConta.class), eq(movimentacao.getTipoMovimentacao()),
+                eq(movimentacao.getStatus()), eq(movimentacao.getValor()), any());
+        verify(resumoMensalService).reverterMovimentacao(movimentacao);
+        verify(repository).delete(movimentacao);
+        verify(rebalanceamentoSaldoService).rebalancearApos(contaTeste.getId(), movimentacao.getId(),
+                movimentacao.getValor().negate());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao tentar excluir movimentação inexistente")
     void deveLancarExcecaoAoExcluirMovimentacaoInexistente() {
-        when(repository.existsById(anyLong())).thenReturn(false);
+        when(repository.findById(anyLong())).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> service.excluirMovimentacao(999L));
 
         assertEquals("Movimentação não encontrada com ID: 999", exception.getMessage());
-        verify(repository, never()).deleteById(anyLong());
+        verify(repository, never()).delete(any(MovimentacaoFinanceira.class));
+        verifyNoInteractions(saldoContaService);
     }
 
     @Test
@@ -257,6 +339,7 @@ class MovimentacaoFinanceiraServiceTest {
                 .build();
 
         when(repository.findById(anyLong())).thenReturn(Optional.of(movimentacaoParaEstornar));
+        when(saldoContaService.obterParaAtualizacao(anyLong())).thenReturn(saldoConta());
         when(repository.save(any(MovimentacaoFinanceira.class))).thenReturn(movimentacaoParaEstornar);
 
         MovimentacaoFinanceira resultado = service.estornarMovimentacao(1L);
@@ -265,6 +348,13 @@ class MovimentacaoFinanceiraServiceTest {
         assertEquals(StatusMovimentacao.ESTORNADA, resultado.getStatus());
         verify(repository).findById(1L);
         verify(repository).save(any(MovimentacaoFinanceira.class));
+        verify(saldoContaService).reverterMovimentacao(any(SaldoConta.class), eq(TipoMovimentacao.RECEITA),
+                eq(StatusMovimentacao.CONCLUIDA), eq(new BigDecimal("1000.00")), any());
+        verify(resumoMensalService).reverterMovimentacao(movimentacaoParaEstornar);
+        verify(resumoMensalService).aplicarMovimentacao(movimentacaoParaEstornar);
+        assertEquals(resultado.getSaldoAnterior(), resultado.getSaldoAtual());
+        verify(rebalanceamentoSaldoService).rebalancearApos(movimentacaoParaEstornar.getConta().getId(),
+                movimentacaoParaEstornar.getId(), new BigDecimal("-1000.00"));
     }
 
     @Test
@@ -283,29 +373,104 @@ class MovimentacaoFinanceiraServiceTest {
         verify(repository, never()).save(any(MovimentacaoFinanceira.class));
     }
 
+    @Test
+    @DisplayName("Deve buscar resumo mensal da conta a partir do resumo materializado")
+    void deveBuscarResumoMensalComSucesso() {
+        YearMonth inicio = YearMonth.of(2024, 1);
+        YearMonth fim = YearMonth.of(2024, 6);
+        when(contaService.buscarContaPorId(1L)).thenReturn(contaTeste);
+        when(resumoMensalService.listarPorConta(1L, inicio, fim)).thenReturn(List.of(new ResumoMensal(1L, "2024-01",
+                CategoriaFinanceira.ALIMENTACAO, TipoMovimentacao.DESPESA, StatusMovimentacao.CONCLUIDA, 3,
+                new BigDecimal("150.00"))));
+
+        List<ResumoMensal> resultado = service.buscarResumoMensal(1L, inicio, fim);
+
+        assertEquals(1, resultado.size());
+        assertEquals(3, resultado.get(0).getQuantidade());
+        verify(repository, never()).findByContaId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar resumo mensal com mês inicial posterior ao final")
+    void deveLancarExcecaoAoBuscarResumoMensalComPeriodoInvalido() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service.buscarResumoMensal(1L, YearMonth.of(2024, 6), YearMonth.of(2024, 1)));
+
+        assertEquals("Mês de início deve ser anterior ao mês de fim", exception.getMessage());
+        verifyNoInteractions(resumoMensalService);
+    }
+
+    @Test
+    @DisplayName("Deve limitar a distribuição por categoria e usar despesas como tipo padrão")
+    void deveBuscarDistribuicaoCategoriasLimitada() {
+        when(contaService.buscarContaPorId(1L)).thenReturn(contaTeste);
+        when(distribuicaoCategoriasService.calcular(1L, TipoMovimentacao.DESPESA, null, null)).thenReturn(
+                new DistribuicaoCategoriasDTO(1L, TipoMovimentacao.DESPESA, null, null, new BigDecimal("300.00"),
+                        List.of(new DistribuicaoCategoriasDTO.TotalCategoriaDTO(1, CategoriaFinanceira.MORADIA, 1,
+                                        new BigDecimal("200.00"), new BigDecimal("66.67")),
+                                new DistribuicaoCategoriasDTO.TotalCategoriaDTO(2, CategoriaFinanceira.LAZER, 2,
+                                        new BigDecimal("100.00"), new BigDecimal("33.33")))));
+
+        DistribuicaoCategoriasDTO resultado = service.buscarDistribuicaoCategorias(1L, null, null, null, 1);
+
+        assertEquals(1, resultado.categorias().size());
+        assertEquals(CategoriaFinanceira.MORADIA, resultado.categorias().get(0).categoria());
+        assertEquals(new BigDecimal("300.00"), resultado.total());
+        verify(repository, never()).findByContaId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar distribuição por categoria com parâmetros inválidos")
+    void deveLancarExcecaoAoBuscarDistribuicaoCategoriasInvalida() {
+        IllegalArgumentException periodo = assertThrows(IllegalArgumentException.class,
+                () -> service.buscarDistribuicaoCategorias(1L, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 1, 1),
+                        null, null));
+        IllegalArgumentException top = assertThrows(IllegalArgumentException.class,
+                () -> service.buscarDistribuicaoCategorias(1L, null, null, null, 0));
+
+        assertEquals("Data de início deve ser anterior à data de fim", periodo.getMessage());
+        assertEquals("Quantidade de categorias deve ser maior que zero", top.getMessage());
+        verifyNoInteractions(distribuicaoCategoriasService);
+    }
+
     @Test
     @DisplayName("Deve calcular saldo atual com sucesso")
     void deveCalcularSaldoAtualComSucesso() {
-        when(repository.sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.RECEITA))
-                .thenReturn(Optional.of(10000.0));
-        when(repository.sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.DESPESA))
-                .thenReturn(Optional.of(3000.0));
+        when(saldoContaService.obterSaldo(1L)).thenReturn(new BigDecimal("7000.00"));
 
         BigDecimal saldo = service.calcularSaldoAtual(1L);
 
         assertNotNull(saldo);
-        assertEquals(new BigDecimal("7000.0"), saldo);
-        verify(repository).sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.RECEITA);
-        verify(repository).sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.DESPESA);
+        assertEquals(new BigDecimal("7000.00"), saldo);
+        verify(saldoContaService).obterSaldo(1L);
+        verify(repository, never()).sumValorByContaIdAndTipoMovimentacao(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve calcular saldo em data a partir dos checkpoints")
+    void deveCalcularSaldoEmDataPelosCheckpoints() {
+        LocalDate data = LocalDate.of(2024, 3, 15);
+        when(contaService.buscarContaPorId(1L)).thenReturn(contaTeste);
+        when(saldoCheckpointService.saldoEm(1L, data)).thenReturn(new BigDecimal("2750.00"));
+
+        BigDecimal saldo = service.calcularSaldoEm(1L, data);
+
+        assertEquals(new BigDecimal("2750.00"), saldo);
+        verify(repository, never()).findByContaId(anyLong());
+        verifyNoInteractions(saldoContaService);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao calcular saldo sem data de referência")
+    void deveLancarExcecaoAoCalcularSaldoSemData() {
+        assertThrows(IllegalArgumentException.class, () -> service.calcularSaldoEm(1L, null));
+        verifyNoInteractions(saldoCheckpointService);
     }
 
     @Test
     @DisplayName("Deve calcular saldo zero quando não há movimentações")
     void deveCalcularSaldoZeroQuandoNaoHaMovimentacoes() {
-        when(repository.sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.RECEITA))
-                .thenReturn(Optional.empty());
-        when(repository.sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.DESPESA))
-                .thenReturn(Optional.empty());
+        when(saldoContaService.obterSaldo(1L)).thenReturn(BigDecimal.ZERO);
 
         BigDecimal saldo = service.calcularSaldoAtual(1L);
 
@@ -365,6 +530,25 @@ class MovimentacaoFinanceiraServiceTest {
         assertEquals("Categoria e obrigatoria", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Deve preencher pela descrição apenas a categoria ausente")
+    void devePreencherPelaDescricaoApenasCategoriaAusente() {
+        MovimentacaoFinanceiraDTO semCategoria = TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comCategoria(null)
+                .comDescricao("Salário março")
+                .build();
+        when(categorizacaoService.categorizar("Salário março", TipoMovimentacao.RECEITA))
+                .thenReturn(CategoriaFinanceira.SALARIO);
+
+        MovimentacaoFinanceiraDTO categorizada = service.completarCategoria(semCategoria);
+
+        assertEquals(CategoriaFinanceira.SALARIO, categorizada.categoria());
+        assertEquals(semCategoria.descricao(), categorizada.descricao());
+        assertEquals(semCategoria.valor(), categorizada.valor());
+        assertSame(movimentacaoDTO, service.completarCategoria(movimentacaoDTO));
+        verify(categorizacaoService, times(1)).categorizar(any(), any());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao tentar registrar movimentação com fonte de movimentação nula")
     void deveLancarExcecaoComFonteMovimentacaoNula() {
@@ -400,10 +584,20 @@ class MovimentacaoFinanceiraServiceTest {
                 .comDataInicio(dataInicio)
                 .comDataFim(dataFim)
                 .build();
-        List<MovimentacaoFinanceira> movimentacoes = List.of(movimentacao);
+        List<MovimentacaoFinanceiraDTO> movimentacoes = List.of(
+                MovimentacaoFinanceiraDTO.fromMovimentacaoFinanceira(movimentacao));
+        List<Object[]> resumo = List.of(
+                new Object[] { TipoMovimentacao.RECEITA, StatusMovimentacao.CONCLUIDA, 2L, new BigDecimal("1500.00"),
+                        dataInicio.plusDays(1), dataFim.minusDays(3) },
+                new Object[] { TipoMovimentacao.DESPESA, StatusMovimentacao.CONCLUIDA, 1L, new BigDecimal("400.00"),
+                        dataInicio, dataInicio },
+                new Object[] { TipoMovimentacao.DESPESA, StatusMovimentacao.PENDENTE, 1L, new BigDecimal("90.00"),
+                        dataFim, dataFim });
 
         when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
-        when(repository.findByContaIdAndPeriodo(anyLong(), any(), any())).thenReturn(movimentacoes);
+        when(repository.resumirRelatorio(anyLong(), any(), any(), any())).thenReturn(resumo);
+        when(repository.findRelatorio(anyLong(), any(), any(), any())).thenReturn(movimentacoes);
+        when(saldoContaService.obterSaldo(anyLong())).thenReturn(new BigDecimal("6000.00"));
 
         RelatorioDadosDTO resultado = service.buscarDadosRelatorio(parametros);
 
@@ -414,12 +608,19 @@ class MovimentacaoFinanceiraServiceTest {
         assertEquals(contaTeste.getNumeroConta(), resultado.conta().numeroConta());
         assertEquals(contaTeste.getResponsavel(), resultado.conta().responsavel());
         assertEquals(1, resultado.movimentacoes().size());
-        assertNotNull(resultado.totalReceitas());
-        assertNotNull(resultado.totalDespesas());
-        assertNotNull(resultado.saldoLiquido());
-        assertNotNull(resultado.saldoAtual());
+        assertEquals(new BigDecimal("1500.00"), resultado.totalReceitas());
+        assertEquals(new BigDecimal("400.00"), resultado.totalDespesas());
+        assertEquals(new BigDecimal("1100.00"), resultado.saldoLiquido());
+        assertEquals(new BigDecimal("6000.00"), resultado.saldoAtual());
+        assertEquals(4, resultado.quantidadeMovimentacoes());
+        assertEquals(dataInicio, resultado.dataPrimeiraMovimentacao());
+        assertEquals(dataFim, resultado.dataUltimaMovimentacao());
         verify(contaService).buscarContaPorId(parametros.contaId());
-        verify(repository).findByContaIdAndPeriodo(parametros.contaId(), dataInicio, dataFim);
+        verify(repository).resumirRelatorio(parametros.contaId(), EnumSet.allOf(TipoMovimentacao.class),
+                dataInicio, dataFim);
+        verify(repository).findRelatorio(parametros.contaId(), EnumSet.allOf(TipoMovimentacao.class),
+                dataInicio, dataFim);
+        verify(repository, never()).findByContaIdAndPeriodo(anyLong(), any(), any());
     }
 
     @Test
@@ -431,17 +632,21 @@ class MovimentacaoFinanceiraServiceTest {
                 .comDataInicio(dataInicio)
                 .comDataFim(dataFim)
                 .build();
-        List<MovimentacaoFinanceira> movimentacoes = List.of(movimentacao);
 
         when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
-        when(repository.findByContaIdAndPeriodo(anyLong(), any(), any())).thenReturn(movimentacoes);
+        when(repository.resumirRelatorio(anyLong(), any(), any(), any())).thenReturn(List.of());
+        when(repository.findRelatorio(anyLong(), any(), any(), any())).thenReturn(List.of());
 
         RelatorioDadosDTO resultado = service.buscarDadosRelatorio(parametros);
 
         assertNotNull(resultado);
         assertEquals(dataInicio, resultado.dataInicio());
         assertEquals(dataFim, resultado.dataFim());
-        verify(repository).findByContaIdAndPeriodo(parametros.contaId(), dataInicio, dataFim);
+        assertEquals(new BigDecimal("0.00"), resultado.totalReceitas());
+        assertEquals(0, resultado.quantidadeMovimentacoes());
+        assertNull(resultado.dataPrimeiraMovimentacao());
+        verify(repository).findRelatorio(parametros.contaId(), EnumSet.allOf(TipoMovimentacao.class),
+                dataInicio, dataFim);
     }
 
     @Test
@@ -452,16 +657,20 @@ class MovimentacaoFinanceiraServiceTest {
                 .comDataInicio(null)
                 .comDataFim(null)
                 .build();
-        List<MovimentacaoFinanceira> movimentacoes = List.of(movimentacao);
+        List<MovimentacaoFinanceiraDTO> movimentacoes = List.of(
+                MovimentacaoFinanceiraDTO.fromMovimentacaoFinanceira(movimentacao));
 
         when(contaService.buscarContaPorId(anyLong())).thenReturn(contaTeste);
-        when(repository.findByContaIdAndTipoMovimentacao(anyLong(), any())).thenReturn(movimentacoes);
+        when(repository.resumirRelatorio(anyLong(), any(), any(), any())).thenReturn(List.of());
+        when(repository.findRelatorio(anyLong(), any(), any(), any())).thenReturn(movimentacoes);
 
         RelatorioDadosDTO resultado = service.buscarDadosRelatorio(parametros);
 
         assertNotNull(resultado);
         assertEquals(TipoMovimentacao.RECEITA.toString(), resultado.tipoMovimentacao());
-        verify(repository).findByContaIdAndTipoMovimentacao(parametros.contaId(), TipoMovimentacao.RECEITA);
+        assertEquals(1, resultado.movimentacoes().size());
+        verify(repository).findRelatorio(eq(parametros.contaId()), eq(EnumSet.of(TipoMovimentacao.RECEITA)),
+                eq(LocalDate.of(1, 1, 1)), eq(LocalDate.of(9999, 12, 31)));
     }
 
     @Test
@@ -476,4 +685,8 @@ class MovimentacaoFinanceiraServiceTest {
         assertThrows(IllegalArgumentException.class, () -> service.buscarDadosRelatorio(parametros));
         verify(contaService).buscarContaPorId(parametros.contaId());
     }
+
+    private SaldoConta saldoConta() {
+        return new SaldoConta(contaTeste.getId(), new BigDecimal("5000.00"), BigDecimal.ZERO, null);
+    }
 }
@@ -0,0 +1,144 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ResultadoLoteDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para MovimentacaoLoteService")
+class MovimentacaoLoteServiceTest {
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private SaldoContaService saldoContaService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository repository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve gravar lote de várias contas reportando erros por item")
+    void deveGravarLoteReportandoErrosPorItem() {
+        Long contaA = criarConta().getId();
+        Long contaB = criarConta().getId();
+
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            lote.add(TestDataBuilder.movimentacaoFinanceiraDTO()
+                    .comContaId(i % 2 == 0 ? contaA : contaB)
+                    .comTipoMovimentacao(i % 4 == 1 ? TipoMovimentacao.DESPESA : TipoMovimentacao.RECEITA)
+                    .comValor(new BigDecimal("10.50"))
+                    .build());
+        }
+        lote.set(7, TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(contaB).comValor(BigDecimal.ZERO).build());
+        lote.set(11, TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(999_999L).build());
+
+        ResultadoLoteDTO resultado = loteService.registrarLote(lote);
+
+        assertEquals(1200, resultado.totalRecebido());
+        assertEquals(1198, resultado.totalRegistrado());
+        assertEquals(2, resultado.totalComErro());
+        assertEquals(7, resultado.erros().get(0).indice());
+        assertEquals("Valor deve ser maior que zero", resultado.erros().get(0).mensagem());
+        assertEquals(11, resultado.erros().get(1).indice());
+        assertTrue(resultado.linhasPorSegundo() > 0);
+
+        verificarCadeia(contaA, 600);
+        verificarCadeia(contaB, 598);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar itens com identificador externo já registrado ou repetido no lote")
+    void deveRejeitarIdentificadoresDuplicados() {
+        Long contaId = criarConta().getId();
+        loteService.registrarLote(List.of(TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId).comIdentificadorExterno("EXT-1").build()));
+
+        ResultadoLoteDTO resultado = loteService.registrarLote(List.of(
+                TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(contaId).comIdentificadorExterno("EXT-1").build(),
+                TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(contaId).comIdentificadorExterno("EXT-2").build(),
+                TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(contaId).comIdentificadorExterno("EXT-2").build(),
+                TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(contaId).build()));
+
+        assertEquals(2, resultado.totalRegistrado());
+        assertEquals(List.of(0, 2), resultado.erros().stream().map(ResultadoLoteDTO.ErroItemLoteDTO::indice).toList());
+        verificarCadeia(contaId, 3);
+    }
+
+    @Test
+    @DisplayName("Deve manter o saldo travado gerenciado ao gravar vários chunks")
+    void deveManterSaldoGerenciadoEntreChunks() {
+        DadosConta conta = criarConta();
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 1100; i++) {
+            lote.add(TestDataBuilder.movimentacaoFinanceiraDTO().comContaId(conta.getId()).build());
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SaldoConta saldoConta = saldoContaService.obterParaAtualizacao(conta.getId());
+            loteService.gravarEncadeado(conta, lote);
+
+            assertTrue(entityManager.contains(saldoConta));
+            assertEquals(1100, saldoConta.getSequenciaAlteracao());
+        });
+
+        verificarCadeia(conta.getId(), 1100);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote vazio")
+    void deveRejeitarLoteVazio() {
+        assertThrows(IllegalArgumentException.class, () -> loteService.registrarLote(List.of()));
+    }
+
+    private void verificarCadeia(Long contaId, int quantidadeEsperada) {
+        List<MovimentacaoFinanceira> cadeia = repository.findByContaId(contaId).stream()
+                .sorted(Comparator.comparing(MovimentacaoFinanceira::getId))
+                .toList();
+
+        assertEquals(quantidadeEsperada, cadeia.size());
+        BigDecimal saldoEsperado = BigDecimal.ZERO;
+        for (MovimentacaoFinanceira movimentacao : cadeia) {
+            assertEquals(0, saldoEsperado.compareTo(movimentacao.getSaldoAnterior()));
+            saldoEsperado = movimentacao.getSaldoAtual();
+        }
+        assertEquals(0, saldoEsperado.compareTo(saldoContaService.obterSaldo(contaId)));
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Lote"));
+    }
+}
@@ -0,0 +1,160 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MetaEconomia;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoProgressoMetaDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMeta;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MetaEconomiaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para o progresso automático das metas")
+class ProgressoMetaServiceTest {
+
+    @Autowired
+    private ProgressoMetaService progressoMetaService;
+
+    @Autowired
+    private MetaEconomiaService metaService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private MetaEconomiaRepository metaRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve acompanhar aportes e resgates concluídos nas categorias vinculadas")
+    void deveAcompanharAportesEResgatesDasCategoriasVinculadas() {
+        Long contaId = criarConta();
+        LocalDate hoje = LocalDate.now();
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.POUPANCA, "50.00", hoje.minusDays(1),
+                StatusMovimentacao.CONCLUIDA);
+        MovimentacaoFinanceira primeiroAporte = registrar(contaId, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.POUPANCA, "100.00", hoje, StatusMovimentacao.CONCLUIDA);
+
+        Long metaId = metaService.criarMeta(TestDataBuilder.metaEconomiaDTO()
+                .comContaId(contaId)
+                .comValorMeta(new BigDecimal("1000.00"))
+                .comDataInicio(hoje)
+                .comCategoriasVinculadas(CategoriaFinanceira.POUPANCA, CategoriaFinanceira.CDB)
+                .build()).getId();
+        assertProgresso(metaId, "100.00", "10.00");
+
+        MovimentacaoFinanceira segundoAporte = registrar(contaId, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.POUPANCA, "200.00", hoje, StatusMovimentacao.CONCLUIDA);
+        registrar(contaId, TipoMovimentacao.RECEITA, CategoriaFinanceira.CDB, "50.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.ACOES, "500.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        MovimentacaoFinanceira pendente = registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.CDB,
+                "70.00", hoje, StatusMovimentacao.PENDENTE);
+        assertProgresso(metaId, "250.00", "25.00");
+
+        movimentacaoService.atualizarMovimentacao(pendente.getId(), dto(contaId, TipoMovimentacao.DESPESA,
+                CategoriaFinanceira.CDB, "70.00", hoje, StatusMovimentacao.CONCLUIDA));
+        assertProgresso(metaId, "320.00", "32.00");
+
+        movimentacaoService.estornarMovimentacao(segundoAporte.getId());
+        movimentacaoService.excluirMovimentacao(primeiroAporte.getId());
+        assertProgresso(metaId, "20.00", "2.00");
+
+        loteService.registrarLote(List.of(
+                dto(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.POUPANCA, "600.00", hoje,
+                        StatusMovimentacao.CONCLUIDA),
+                dto(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.CDB, "400.00", hoje,
+                        StatusMovimentacao.CONCLUIDA)));
+        MetaEconomia concluida = assertProgresso(metaId, "1020.00", "100");
+        assertEquals(StatusMeta.CONCLUIDA, concluida.getStatus());
+
+        assertThrows(IllegalArgumentException.class, () -> metaService.atualizarProgressoMeta(metaId,
+                new BigDecimal("10.00")));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar e corrigir o progresso divergente do histórico")
+    void deveCorrigirProgressoDivergente() {
+        Long contaId = criarConta();
+        LocalDate hoje = LocalDate.now();
+        registrar(contaId, TipoMovimentacao.DESPESA, CategoriaFinanceira.FUNDOS, "300.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        MetaEconomia meta = metaService.criarMeta(TestDataBuilder.metaEconomiaDTO()
+                .comContaId(contaId)
+                .comValorMeta(new BigDecimal("3000.00"))
+                .comDataInicio(hoje)
+                .comCategoriasVinculadas(CategoriaFinanceira.FUNDOS)
+                .build());
+        assertProgresso(meta.getId(), "300.00", "10.00");
+
+        MetaEconomia desviada = metaRepository.findById(meta.getId()).orElseThrow();
+        desviada.redefinirProgresso(new BigDecimal("450.00"));
+        metaRepository.save(desviada);
+
+        ReconciliacaoProgressoMetaDTO verificacao = progressoMetaService.reconciliar(false);
+        ReconciliacaoProgressoMetaDTO.DivergenciaProgressoDTO divergencia = verificacao.divergencias().stream()
+                .filter(item -> item.metaId().equals(meta.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, new BigDecimal("150.00").compareTo(divergencia.diferenca()));
+        assertProgresso(meta.getId(), "450.00", "15.00");
+
+        progressoMetaService.reconciliar(true);
+        assertProgresso(meta.getId(), "300.00", "10.00");
+        assertTrue(progressoMetaService.reconciliar(false).divergencias().stream()
+                .noneMatch(item -> item.metaId().equals(meta.getId())));
+    }
+
+    private MetaEconomia assertProgresso(Long metaId, String valorAtual, String percentual) {
+        MetaEconomia meta = metaService.buscarMetaPorId(metaId);
+        assertEquals(0, new BigDecimal(valorAtual).compareTo(meta.getValorAtual()),
+                "valorAtual: " + meta.getValorAtual());
+        assertEquals(0, new BigDecimal(percentual).compareTo(meta.getPercentualConcluido()),
+                "percentualConcluido: " + meta.getPercentualConcluido());
+        return meta;
+    }
+
+    private MovimentacaoFinanceira registrar(Long contaId, TipoMovimentacao tipo, CategoriaFinanceira categoria,
+            String valor, LocalDate data, StatusMovimentacao status) {
+        return movimentacaoService.registrarMovimentacao(dto(contaId, tipo, categoria, valor, data, status));
+    }
+
+    private MovimentacaoFinanceiraDTO dto(Long contaId, TipoMovimentacao tipo, CategoriaFinanceira categoria,
+            String valor, LocalDate data, StatusMovimentacao status) {
+        return TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(tipo)
+                .comCategoria(categoria)
+                .comValor(new BigDecimal(valor))
+                .comDataMovimentacao(data)
+                .comStatus(status)
+                .build();
+    }
+
+    private Long criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Metas")).getId();
+    }
+}
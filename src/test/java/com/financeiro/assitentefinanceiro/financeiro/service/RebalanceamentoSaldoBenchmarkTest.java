@@ -0,0 +1,129 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Altera movimentações no início e no fim de um histórico de 100 mil linhas e mede o rebalanceamento
+ * dos saldos encadeados: o lote feito na própria escrita e a aplicação dos lotes pendentes. Executado pela task
+ * {@code testVolume}.
+ */
+@Tag("volume")
+@SpringBootTest
+@DisplayName("Benchmark do rebalanceamento de saldos em 100 mil movimentações")
+class RebalanceamentoSaldoBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RebalanceamentoSaldoBenchmarkTest.class);
+
+    private static final int TOTAL_MOVIMENTACOES = 100_000;
+    private static final long ID_INICIAL = 20_000_000L;
+    private static final int POSICAO_INICIAL = 10;
+    private static final int POSICAO_FINAL = TOTAL_MOVIMENTACOES - 10;
+
+    @DynamicPropertySource
+    static void configurarBancoEmArquivo(DynamicPropertyRegistry registry) throws IOException {
+        Path diretorio = Files.createTempDirectory("rebalanceamento-volume");
+        diretorio.toFile().deleteOnExit();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:file:" + diretorio.resolve("movimentacoes") + ";CACHE_SIZE=8192;DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private RebalanceamentoSaldoService rebalanceamentoSaldoService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve reescrever apenas as movimentações posteriores à alterada")
+    void deveRebalancearApenasOSufixo() {
+        DadosConta conta = contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Rebalanceamento volume"));
+        jdbcTemplate.update("""
+                INSERT INTO movimentacao_financeira (id, tipo_movimentacao, valor, descricao, categoria,
+                    data_movimentacao, data_registro, status, fonte_movimentacao, saldo_anterior, saldo_atual, conta_id)
+                SELECT ? + X, 'RECEITA', 10.00, 'Movimentação ' || X, 'VENDAS',
+                    DATEADD('DAY', MOD(X, 365), DATE '2024-01-01'), CURRENT_TIMESTAMP, 'CONCLUIDA', 'MANUAL',
+                    (X - 1) * 10.00, X * 10.00, ?
+                FROM SYSTEM_RANGE(1, ?)
+                """, ID_INICIAL, conta.getId(), TOTAL_MOVIMENTACOES);
+        DistributionSummary linhas = meterRegistry.get("assitentefinanceiro_rebalanceamento_linhas").summary();
+        Timer tempo = meterRegistry.get("assitentefinanceiro_rebalanceamento_tempo").timer();
+
+        double linhasAntes = linhas.totalAmount();
+        double tempoAntes = tempo.totalTime(TimeUnit.MILLISECONDS);
+        long inicio = System.nanoTime();
+        movimentacaoService.estornarMovimentacao(ID_INICIAL + POSICAO_INICIAL);
+        long estornoNanos = System.nanoTime() - inicio;
+        long linhasNaEscrita = Math.round(linhas.totalAmount() - linhasAntes);
+        inicio = System.nanoTime();
+        rebalanceamentoSaldoService.aplicarPendentes();
+        long pendentesNanos = System.nanoTime() - inicio;
+        long linhasEstorno = Math.round(linhas.totalAmount() - linhasAntes);
+        double updateEstornoMs = tempo.totalTime(TimeUnit.MILLISECONDS) - tempoAntes;
+
+        linhasAntes = linhas.totalAmount();
+        inicio = System.nanoTime();
+        movimentacaoService.atualizarMovimentacao(ID_INICIAL + POSICAO_FINAL, TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(conta.getId())
+                .comTipoMovimentacao(TipoMovimentacao.RECEITA)
+                .comValor(new BigDecimal("25.00"))
+                .comDataMovimentacao(LocalDate.of(2024, 6, 1))
+                .build());
+        long atualizacaoNanos = System.nanoTime() - inicio;
+        rebalanceamentoSaldoService.aplicarPendentes();
+        long linhasAtualizacao = Math.round(linhas.totalAmount() - linhasAntes);
+
+        logger.info("Rebalanceamento em {} movimentações: estorno da posição {} reescreveu {} linhas na escrita em {} ms "
+                        + "e {} no total, com os pendentes em {} ms ({} ms nos UPDATEs); "
+                        + "atualização da posição {} reescreveu {} linhas em {} ms",
+                TOTAL_MOVIMENTACOES, POSICAO_INICIAL, linhasNaEscrita, String.format("%.1f", estornoNanos / 1e6),
+                linhasEstorno, String.format("%.1f", pendentesNanos / 1e6), String.format("%.1f", updateEstornoMs),
+                POSICAO_FINAL, linhasAtualizacao, String.format("%.1f", atualizacaoNanos / 1e6));
+
+        assertTrue(linhasNaEscrita < linhasEstorno);
+        assertEquals(TOTAL_MOVIMENTACOES - POSICAO_INICIAL, linhasEstorno);
+        assertEquals(TOTAL_MOVIMENTACOES - POSICAO_FINAL, linhasAtualizacao);
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM movimentacao_financeira
+                WHERE conta_id = ? AND id > ? AND saldo_anterior <> (id - ? - 2) * 10.00 + CASE WHEN id > ? THEN 15.00 ELSE 0 END
+                """, Long.class, conta.getId(), ID_INICIAL + POSICAO_INICIAL, ID_INICIAL, ID_INICIAL + POSICAO_FINAL));
+        assertEquals(0, new BigDecimal("1000005.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT saldo_atual FROM movimentacao_financeira WHERE id = ?", BigDecimal.class,
+                ID_INICIAL + TOTAL_MOVIMENTACOES)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para os dados do relatório")
+class RelatorioDadosServiceTest {
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve calcular o resumo do relatório igual ao agregado das movimentações em cada combinação de filtros")
+    void deveCalcularResumoIgualAoAgregadoDasMovimentacoes() {
+        Long contaId = contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Relatório")).getId();
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            lote.add(TestDataBuilder.movimentacaoFinanceiraDTO()
+                    .comContaId(contaId)
+                    .comTipoMovimentacao(i % 3 == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA)
+                    .comCategoria(i % 2 == 0 ? CategoriaFinanceira.ALIMENTACAO : CategoriaFinanceira.TRANSPORTE)
+                    .comValor(new BigDecimal("12.3" + (i % 10)))
+                    .comDataMovimentacao(LocalDate.of(2024, 1 + i % 6, 1 + i % 28))
+                    .build());
+        }
+        loteService.registrarLote(lote);
+        List<MovimentacaoFinanceira> registradas = movimentacaoRepository.findByContaId(contaId).stream()
+                .sorted(Comparator.comparing(MovimentacaoFinanceira::getId))
+                .toList();
+        movimentacaoService.estornarMovimentacao(registradas.get(3).getId());
+        movimentacaoService.estornarMovimentacao(registradas.get(4).getId());
+
+        LocalDate inicio = LocalDate.of(2024, 2, 10);
+        LocalDate fim = LocalDate.of(2024, 4, 20);
+        assertRelatorioIgualAoAgregado(contaId, null, null, null);
+        assertRelatorioIgualAoAgregado(contaId, inicio, fim, null);
+        assertRelatorioIgualAoAgregado(contaId, null, null, TipoMovimentacao.DESPESA);
+        assertRelatorioIgualAoAgregado(contaId, inicio, fim, TipoMovimentacao.RECEITA);
+        assertRelatorioIgualAoAgregado(contaId, inicio, null, null);
+    }
+
+    private void assertRelatorioIgualAoAgregado(Long contaId, LocalDate dataInicio, LocalDate dataFim,
+            TipoMovimentacao tipo) {
+        boolean filtraPeriodo = dataInicio != null && dataFim != null;
+        List<MovimentacaoFinanceira> esperadas = movimentacaoRepository.findByContaId(contaId).stream()
+                .filter(m -> tipo == null || tipo.equals(m.getTipoMovimentacao()))
+                .filter(m -> !filtraPeriodo || (!m.getDataMovimentacao().isBefore(dataInicio)
+                        && !m.getDataMovimentacao().isAfter(dataFim)))
+                .toList();
+
+        RelatorioDadosDTO relatorio = movimentacaoService.buscarDadosRelatorio(new RelatorioPDFParametrosDTO(
+                contaId, dataInicio, dataFim, tipo, null, true));
+
+        assertEquals(0, total(esperadas, TipoMovimentacao.RECEITA).compareTo(relatorio.totalReceitas()));
+        assertEquals(0, total(esperadas, TipoMovimentacao.DESPESA).compareTo(relatorio.totalDespesas()));
+        assertEquals(esperadas.size(), relatorio.quantidadeMovimentacoes());
+        assertEquals(esperadas.size(), relatorio.movimentacoes().size());
+        assertEquals(esperadas.stream().map(MovimentacaoFinanceira::getDataMovimentacao)
+                .min(Comparator.naturalOrder()).orElse(null), relatorio.dataPrimeiraMovimentacao());
+        assertEquals(esperadas.stream().map(MovimentacaoFinanceira::getDataMovimentacao)
+                .max(Comparator.naturalOrder()).orElse(null), relatorio.dataUltimaMovimentacao());
+        assertEquals(esperadas.stream().map(MovimentacaoFinanceira::getId).sorted().toList(),
+                relatorio.movimentacoes().stream().map(MovimentacaoFinanceiraDTO::id).sorted().toList());
+        assertTrue(relatorio.movimentacoes().stream().allMatch(m -> contaId.equals(m.contaId())));
+    }
+
+    private static BigDecimal total(List<MovimentacaoFinanceira> movimentacoes, TipoMovimentacao tipo) {
+        return movimentacoes.stream()
+                .filter(m -> tipo.equals(m.getTipoMovimentacao()) && StatusMovimentacao.CONCLUIDA.equals(m.getStatus()))
+                .map(MovimentacaoFinanceira::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,138 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara a montagem dos dados do relatório por consulta agregada e projeção em DTO com a carga de
+ * entidades somadas em memória. Executado pela task {@code testVolume}.
+ */
+@Tag("volume")
+@SpringBootTest
+@DisplayName("Teste de volume dos dados do relatório")
+class RelatorioDadosVolumeTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioDadosVolumeTest.class);
+
+    private static final int TOTAL_MOVIMENTACOES = 200_000;
+    private static final long ID_INICIAL = 30_000_000L;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void configurarBancoEmArquivo(DynamicPropertyRegistry registry) throws IOException {
+        Path diretorio = Files.createTempDirectory("relatorio-volume");
+        diretorio.toFile().deleteOnExit();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:file:" + diretorio.resolve("movimentacoes") + ";CACHE_SIZE=8192;DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @Test
+    @DisplayName("Deve montar os dados do relatório de 200 mil movimentações sem carregar entidades")
+    void deveMontarRelatorioSemCarregarEntidades() {
+        DadosConta conta = contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Relatório volume"));
+        jdbcTemplate.update("""
+                INSERT INTO movimentacao_financeira (id, tipo_movimentacao, valor, descricao, categoria,
+                    data_movimentacao, data_registro, status, fonte_movimentacao, conta_id)
+                SELECT ? + X, CASEWHEN(MOD(X, 3) = 0, 'RECEITA', 'DESPESA'), 10.00 + MOD(X, 7), 'Movimentação ' || X,
+                    'ALIMENTACAO', DATEADD('DAY', MOD(X, 365), DATE '2024-01-01'), CURRENT_TIMESTAMP,
+                    CASEWHEN(MOD(X, 11) = 0, 'PENDENTE', 'CONCLUIDA'), 'MANUAL', ?
+                FROM SYSTEM_RANGE(1, ?)
+                """, ID_INICIAL, conta.getId(), TOTAL_MOVIMENTACOES);
+        RelatorioPDFParametrosDTO parametros = new RelatorioPDFParametrosDTO(conta.getId(), null, null, null, null, true);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+
+        BigDecimal[] totaisEntidades = transacao.execute(status -> somarPorEntidades(conta.getId()));
+        movimentacaoService.buscarDadosRelatorio(parametros);
+
+        long bytesAntes = bytesAlocados();
+        long inicio = System.nanoTime();
+        totaisEntidades = transacao.execute(status -> somarPorEntidades(conta.getId()));
+        long entidadesNanos = System.nanoTime() - inicio;
+        long entidadesBytes = bytesAlocados() - bytesAntes;
+
+        bytesAntes = bytesAlocados();
+        inicio = System.nanoTime();
+        RelatorioDadosDTO relatorio = movimentacaoService.buscarDadosRelatorio(parametros);
+        long projecaoNanos = System.nanoTime() - inicio;
+        long projecaoBytes = bytesAlocados() - bytesAntes;
+
+        logger.info("Dados do relatório de {} movimentações: entidades em {} ms ({} MB alocados); "
+                        + "agregado + projeção em {} ms ({} MB alocados)",
+                TOTAL_MOVIMENTACOES, entidadesNanos / 1_000_000, entidadesBytes / (1024 * 1024),
+                projecaoNanos / 1_000_000, projecaoBytes / (1024 * 1024));
+
+        assertEquals(TOTAL_MOVIMENTACOES, relatorio.quantidadeMovimentacoes());
+        assertEquals(TOTAL_MOVIMENTACOES, relatorio.movimentacoes().size());
+        assertEquals(0, totaisEntidades[0].compareTo(relatorio.totalReceitas()));
+        assertEquals(0, totaisEntidades[1].compareTo(relatorio.totalDespesas()));
+        assertTrue(projecaoBytes < entidadesBytes,
+                "A projeção deveria alocar menos que a carga de entidades");
+    }
+
+    private BigDecimal[] somarPorEntidades(Long contaId) {
+        List<MovimentacaoFinanceira> movimentacoes = movimentacaoRepository.findByContaId(contaId);
+        List<MovimentacaoFinanceiraDTO> dtos = movimentacoes.stream()
+                .map(MovimentacaoFinanceiraDTO::fromMovimentacaoFinanceira)
+                .toList();
+        assertEquals(TOTAL_MOVIMENTACOES, dtos.size());
+        return new BigDecimal[] { somar(movimentacoes, TipoMovimentacao.RECEITA),
+                somar(movimentacoes, TipoMovimentacao.DESPESA) };
+    }
+
+    private static BigDecimal somar(List<MovimentacaoFinanceira> movimentacoes, TipoMovimentacao tipo) {
+        return movimentacoes.stream()
+                .filter(m -> tipo.equals(m.getTipoMovimentacao()) && StatusMovimentacao.CONCLUIDA.equals(m.getStatus()))
+                .map(MovimentacaoFinanceira::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static long bytesAlocados() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
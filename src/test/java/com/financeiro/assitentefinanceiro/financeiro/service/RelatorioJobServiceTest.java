@@ -0,0 +1,205 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.service.CadastroContaService;
+import com.financeiro.assitentefinanceiro.financeiro.domain.RelatorioJob;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusRelatorioJob;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Testes do RelatorioJobService")
+class RelatorioJobServiceTest {
+
+    private static final String USUARIO = "ana";
+
+    @Mock
+    private RelatorioPdfService relatorioPdfService;
+
+    @Mock
+    private CadastroContaService contaService;
+
+    @Mock
+    private SaldoContaService saldoContaService;
+
+    @TempDir
+    Path diretorio;
+
+    private RelatorioJobService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar o PDF em segundo plano e servir o pedido repetido do cache")
+    void deveServirPedidoRepetidoDoCache() throws Exception {
+        service = criarService(2);
+        RelatorioPDFParametrosDTO parametros = TestDataBuilder.relatorioPDFParametrosDTO().build();
+        when(saldoContaService.obterSequenciaAlteracao(anyLong())).thenReturn(5L);
+        simularGeracao(null);
+
+        RelatorioJob primeiro = aguardarConclusao(service.submeter(parametros, USUARIO));
+        RelatorioJob repetido = service.submeter(parametros, USUARIO);
+
+        assertEquals(StatusRelatorioJob.CONCLUIDO, primeiro.getStatus());
+        assertFalse(primeiro.isEmCache());
+        assertEquals(StatusRelatorioJob.CONCLUIDO, repetido.getStatus());
+        assertTrue(repetido.isEmCache());
+        assertNotEquals(primeiro.getId(), repetido.getId());
+        assertEquals(primeiro.getArtefato().arquivo(), repetido.getArtefato().arquivo());
+        try (InputStream pdf = service.abrirPdf(repetido.getId(), USUARIO)) {
+            assertEquals("%PDF-teste", new String(pdf.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+        verify(relatorioPdfService, times(1)).gerarPdf(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve gerar de novo quando as movimentações da conta mudaram")
+    void deveGerarDeNovoQuandoDadosMudaram() throws Exception {
+        service = criarService(2);
+        RelatorioPDFParametrosDTO parametros = TestDataBuilder.relatorioPDFParametrosDTO().build();
+        when(saldoContaService.obterSequenciaAlteracao(anyLong())).thenReturn(5L, 6L);
+        simularGeracao(null);
+
+        aguardarConclusao(service.submeter(parametros, USUARIO));
+        RelatorioJob novo = aguardarConclusao(service.submeter(parametros, USUARIO));
+
+        assertFalse(novo.isEmCache());
+        verify(relatorioPdfService, times(2)).gerarPdf(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar jobs acima do limite por usuário sem afetar outros usuários")
+    void deveRecusarJobsAcimaDoLimitePorUsuario() throws Exception {
+        service = criarService(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(saldoContaService.obterSequenciaAlteracao(anyLong())).thenReturn(1L);
+        simularGeracao(liberar);
+
+        RelatorioJob emExecucao = service.submeter(parametrosComTitulo("Janeiro"), USUARIO);
+        RelatorioJob mesmoPedido = service.submeter(parametrosComTitulo("Janeiro"), USUARIO);
+
+        assertEquals(emExecucao.getId(), mesmoPedido.getId());
+        assertThrows(IllegalStateException.class, () -> service.submeter(parametrosComTitulo("Fevereiro"), USUARIO));
+        RelatorioJob outroUsuario = service.submeter(parametrosComTitulo("Fevereiro"), "bruno");
+
+        liberar.countDown();
+        aguardarConclusao(emExecucao);
+        aguardarConclusao(outroUsuario);
+        RelatorioJob aposConclusao = aguardarConclusao(service.submeter(parametrosComTitulo("Março"), USUARIO));
+        assertEquals(StatusRelatorioJob.CONCLUIDO, aposConclusao.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve esconder jobs de outros usuários e recusar download antes da conclusão")
+    void deveEsconderJobsDeOutrosUsuarios() throws Exception {
+        service = criarService(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(saldoContaService.obterSequenciaAlteracao(anyLong())).thenReturn(1L);
+        simularGeracao(liberar);
+
+        RelatorioJob job = service.submeter(TestDataBuilder.relatorioPDFParametrosDTO().build(), USUARIO);
+
+        assertThrows(IllegalArgumentException.class, () -> service.buscarJob(job.getId(), "bruno"));
+        assertThrows(IllegalArgumentException.class, () -> service.buscarJob("inexistente", USUARIO));
+        assertThrows(IllegalStateException.class, () -> service.abrirPdf(job.getId(), USUARIO));
+        liberar.countDown();
+        aguardarConclusao(job);
+    }
+
+    @Test
+    @DisplayName("Deve marcar o job como falho e excluir o arquivo parcial")
+    void deveMarcarFalhaEExcluirArquivoParcial() throws Exception {
+        service = criarService(2);
+        when(saldoContaService.obterSequenciaAlteracao(anyLong())).thenReturn(1L);
+        doThrow(new IOException("Disco cheio")).when(relatorioPdfService).gerarPdf(any(), any(), any());
+
+        RelatorioJob job = aguardarConclusao(service.submeter(TestDataBuilder.relatorioPDFParametrosDTO().build(),
+                USUARIO));
+
+        assertEquals(StatusRelatorioJob.FALHOU, job.getStatus());
+        assertEquals("Disco cheio", job.getMensagemErro());
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(0, arquivos.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar conta inexistente antes de enfileirar")
+    void deveRecusarContaInexistente() {
+        service = criarService(2);
+        when(contaService.buscarContaPorId(99L)).thenThrow(new IllegalArgumentException("Conta não encontrada"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.submeter(
+                TestDataBuilder.relatorioPDFParametrosDTO().comContaId(99L).build(), USUARIO));
+    }
+
+    private RelatorioJobService criarService(int maximoPorUsuario) {
+        return new RelatorioJobService(relatorioPdfService, contaService, saldoContaService,
+                new SimpleMeterRegistry(), diretorio.toString(), 2, maximoPorUsuario, 10, 60, 16);
+    }
+
+    private void simularGeracao(CountDownLatch liberar) throws IOException {
+        when(relatorioPdfService.prepararRelatorio(any())).thenReturn(TestDataBuilder.relatorioDadosDTO().build());
+        doAnswer(invocation -> {
+            if (liberar != null && !liberar.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Geração não liberada");
+            }
+            OutputStream saida = invocation.getArgument(2);
+            saida.write("%PDF-teste".getBytes(StandardCharsets.US_ASCII));
+            return 1;
+        }).when(relatorioPdfService).gerarPdf(any(RelatorioPDFParametrosDTO.class), any(RelatorioDadosDTO.class),
+                any(OutputStream.class));
+    }
+
+    private RelatorioPDFParametrosDTO parametrosComTitulo(String titulo) {
+        return TestDataBuilder.relatorioPDFParametrosDTO().comTituloRelatorio(titulo).build();
+    }
+
+    private RelatorioJob aguardarConclusao(RelatorioJob job) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite) {
+            RelatorioJob atual = service.buscarJob(job.getId(), job.getUsuario());
+            if (StatusRelatorioJob.CONCLUIDO.equals(atual.getStatus())
+                    || StatusRelatorioJob.FALHOU.equals(atual.getStatus())) {
+                return atual;
+            }
+            Thread.sleep(20);
+        }
+        fail("Job " + job.getId() + " não concluiu no tempo esperado");
+        return null;
+    }
+}
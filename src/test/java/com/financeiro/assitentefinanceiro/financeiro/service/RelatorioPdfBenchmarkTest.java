@@ -0,0 +1,159 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gera relatórios PDF de tamanhos crescentes e mede páginas por segundo, bytes alocados e pico de heap por
+ * relatório. Executado pela task {@code testVolume}, com heap de 256 MB.
+ */
+@Tag("volume")
+@SpringBootTest
+@DisplayName("Benchmark da geração de relatórios PDF")
+class RelatorioPdfBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioPdfBenchmarkTest.class);
+
+    private static final int[] TAMANHOS = { 10_000, 200_000 };
+    private static final long ID_INICIAL = 40_000_000L;
+
+    @Autowired
+    private RelatorioPdfService relatorioPdfService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configurarBancoEmArquivo(DynamicPropertyRegistry registry) throws IOException {
+        Path diretorio = Files.createTempDirectory("relatorio-pdf-volume");
+        diretorio.toFile().deleteOnExit();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:file:" + diretorio.resolve("movimentacoes") + ";CACHE_SIZE=8192;DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @Test
+    @DisplayName("Deve gerar o PDF com pico de heap independente do número de linhas")
+    void deveGerarPdfComHeapLimitado() throws IOException {
+        long[] picos = new long[TAMANHOS.length];
+        long idInicial = ID_INICIAL;
+        for (int i = 0; i < TAMANHOS.length; i++) {
+            Long contaId = criarConta(idInicial, TAMANHOS[i]);
+            idInicial += TAMANHOS[i];
+            RelatorioPDFParametrosDTO parametros = new RelatorioPDFParametrosDTO(contaId, null, null, null, null, true);
+            gerar(parametros, new ContadorBytes());
+
+            System.gc();
+            redefinirPicoHeap();
+            long bytesAntes = bytesAlocados();
+            long inicio = System.nanoTime();
+            ContadorBytes saida = new ContadorBytes();
+            int paginas = gerar(parametros, saida);
+            long nanos = System.nanoTime() - inicio;
+            long alocados = bytesAlocados() - bytesAntes;
+            picos[i] = picoHeap();
+
+            logger.info("Relatório PDF de {} movimentações: {} páginas em {} ms ({} páginas/s), {} KB gerados, "
+                            + "{} MB alocados, pico de heap {} MB",
+                    TAMANHOS[i], paginas, nanos / 1_000_000, String.format("%.0f", paginas / (nanos / 1e9)),
+                    saida.bytes / 1024, alocados / (1024 * 1024), picos[i] / (1024 * 1024));
+
+            assertTrue(paginas > TAMANHOS[i] / 60, "Cada página comporta no máximo 60 linhas");
+            assertEquals("%PDF-", saida.inicio.toString(StandardCharsets.US_ASCII));
+        }
+        assertTrue(picos[picos.length - 1] < picos[0] * 2 + 32L * 1024 * 1024,
+                "O pico de heap não deveria crescer com o número de linhas");
+    }
+
+    private int gerar(RelatorioPDFParametrosDTO parametros, OutputStream saida) throws IOException {
+        RelatorioDadosDTO resumo = relatorioPdfService.prepararRelatorio(parametros);
+        return relatorioPdfService.gerarPdf(parametros, resumo, saida);
+    }
+
+    private Long criarConta(long idInicial, int total) {
+        DadosConta conta = contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Relatório PDF volume"));
+        jdbcTemplate.update("""
+                INSERT INTO movimentacao_financeira (id, tipo_movimentacao, valor, descricao, categoria,
+                    data_movimentacao, data_registro, status, fonte_movimentacao, conta_id)
+                SELECT ? + X, CASEWHEN(MOD(X, 3) = 0, 'RECEITA', 'DESPESA'), 10.00 + MOD(X, 7),
+                    'Movimentação de teste número ' || X, 'ALIMENTACAO',
+                    DATEADD('DAY', MOD(X, 365), DATE '2024-01-01'), CURRENT_TIMESTAMP, 'CONCLUIDA', 'MANUAL', ?
+                FROM SYSTEM_RANGE(1, ?)
+                """, idInicial, conta.getId(), total);
+        return conta.getId();
+    }
+
+    private static void redefinirPicoHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long picoHeap() {
+        long pico = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pico += pool.getPeakUsage().getUsed();
+            }
+        }
+        return pico;
+    }
+
+    private static long bytesAlocados() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static class ContadorBytes extends OutputStream {
+
+        private final ByteArrayOutputStream inicio = new ByteArrayOutputStream();
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            if (bytes++ < 5) {
+                inicio.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = 0; i < Math.min(len, 5); i++) {
+                if (bytes + i < 5) {
+                    inicio.write(b[off + i]);
+                }
+            }
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioDadosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.RelatorioPDFParametrosDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração do relatório PDF")
+class RelatorioPdfServiceTest {
+
+    private static final int TOTAL_MOVIMENTACOES = 130;
+
+    @Autowired
+    private RelatorioPdfService relatorioPdfService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve gerar uma página por bloco de linhas com todas as movimentações do período")
+    void deveGerarPaginasComTodasAsMovimentacoes() throws IOException {
+        Long contaId = criarConta();
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < TOTAL_MOVIMENTACOES; i++) {
+            lote.add(TestDataBuilder.movimentacaoFinanceiraDTO()
+                    .comContaId(contaId)
+                    .comTipoMovimentacao(i % 4 == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA)
+                    .comValor(new BigDecimal("10.00"))
+                    .comDescricao("Lançamento nº " + i)
+                    .comDataMovimentacao(LocalDate.of(2024, 3, 1).plusDays(i % 60))
+                    .build());
+        }
+        lote.add(TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comValor(new BigDecimal("10.00"))
+                .comDescricao("Café\nna padaria 😀 com uma descrição longa o bastante para ser cortada na coluna")
+                .comDataMovimentacao(LocalDate.of(2024, 3, 2))
+                .build());
+        loteService.registrarLote(lote);
+
+        RelatorioPDFParametrosDTO parametros = new RelatorioPDFParametrosDTO(contaId, LocalDate.of(2024, 3, 1),
+                LocalDate.of(2024, 4, 29), null, "Extrato de março", true);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        RelatorioDadosDTO resumo = relatorioPdfService.prepararRelatorio(parametros);
+        int paginas = relatorioPdfService.gerarPdf(parametros, resumo, saida);
+
+        try (PDDocument documento = Loader.loadPDF(saida.toByteArray())) {
+            String texto = new PDFTextStripper().getText(documento);
+
+            assertEquals(paginas, documento.getNumberOfPages());
+            assertTrue(paginas >= 3, "130 linhas deveriam ocupar mais de duas páginas");
+            assertTrue(texto.contains("Extrato de março"));
+            assertTrue(texto.contains("Página " + paginas));
+            assertTrue(texto.contains("Café na padaria ?"));
+            for (int i = 0; i < TOTAL_MOVIMENTACOES; i++) {
+                assertTrue(texto.contains("Lançamento nº " + i + "\n") || texto.contains("Lançamento nº " + i + " "),
+                        "Movimentação ausente do PDF: " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar uma página com o cabeçalho quando não há movimentações")
+    void deveGerarPaginaUnicaSemMovimentacoes() throws IOException {
+        Long contaId = criarConta();
+        RelatorioPDFParametrosDTO parametros = new RelatorioPDFParametrosDTO(contaId, null, null,
+                TipoMovimentacao.RECEITA, null, false);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        int paginas = relatorioPdfService.gerarPdf(parametros, relatorioPdfService.prepararRelatorio(parametros), saida);
+
+        try (PDDocument documento = Loader.loadPDF(saida.toByteArray())) {
+            String texto = new PDFTextStripper().getText(documento);
+
+            assertEquals(1, paginas);
+            assertEquals(1, documento.getNumberOfPages());
+            assertTrue(texto.contains("sem movimentações"));
+            assertFalse(texto.contains("Receitas:"));
+        }
+    }
+
+    private Long criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste PDF")).getId();
+    }
+}
@@ -0,0 +1,147 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ResumoContasDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para o resumo consolidado de contas")
+class ResumoContasServiceTest {
+
+    @Autowired
+    private ResumoContasService resumoService;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MetaEconomiaService metaService;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve consolidar saldo, totais do mês e metas ativas das contas do usuário")
+    void deveConsolidarContasDoUsuario() {
+        Long usuarioId = ThreadLocalRandom.current().nextLong(1_000_000L, Long.MAX_VALUE);
+        LocalDate hoje = LocalDate.now();
+        Long contaA = criarConta(usuarioId);
+        Long contaB = criarConta(usuarioId);
+        Long semUsuario = criarConta(null);
+        registrar(contaA, TipoMovimentacao.RECEITA, CategoriaFinanceira.SALARIO, "5000.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        registrar(contaA, TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO, "1200.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        registrar(contaA, TipoMovimentacao.DESPESA, CategoriaFinanceira.MORADIA, "300.00", hoje.minusMonths(1),
+                StatusMovimentacao.CONCLUIDA);
+        registrar(contaA, TipoMovimentacao.DESPESA, CategoriaFinanceira.LAZER, "999.00", hoje,
+                StatusMovimentacao.PENDENTE);
+        registrar(contaB, TipoMovimentacao.RECEITA, CategoriaFinanceira.VENDAS, "800.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        registrar(semUsuario, TipoMovimentacao.RECEITA, CategoriaFinanceira.SALARIO, "100.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        metaService.criarMeta(TestDataBuilder.metaEconomiaDTO().comContaId(contaA).build());
+
+        ResumoContasDTO resumo = resumoService.resumirContasDoUsuario(usuarioId);
+
+        assertEquals(YearMonth.now().toString(), resumo.anoMes());
+        assertEquals(List.of(contaA, contaB), resumo.contas().stream()
+                .map(ResumoContasDTO.ResumoContaDTO::contaId).toList());
+        ResumoContasDTO.ResumoContaDTO a = resumo.contas().getFirst();
+        assertEquals(0, new BigDecimal("3500.00").compareTo(a.saldo()));
+        assertEquals(0, new BigDecimal("5000.00").compareTo(a.receitasMes()));
+        assertEquals(0, new BigDecimal("1200.00").compareTo(a.despesasMes()));
+        assertEquals(1, a.metasAtivas());
+        assertEquals(0, resumo.contas().get(1).metasAtivas());
+        assertEquals(0, new BigDecimal("4300.00").compareTo(resumo.saldoTotal()));
+        assertEquals(0, new BigDecimal("5800.00").compareTo(resumo.receitasMes()));
+        assertEquals(0, new BigDecimal("1200.00").compareTo(resumo.despesasMes()));
+        assertEquals(1, resumo.metasAtivas());
+
+        ResumoContasDTO administrador = resumoService.resumirContas(List.of(semUsuario, contaB));
+        assertEquals(List.of(contaB, semUsuario), administrador.contas().stream()
+                .map(ResumoContasDTO.ResumoContaDTO::contaId).toList());
+        assertEquals(0, new BigDecimal("900.00").compareTo(administrador.saldoTotal()));
+        assertThrows(IllegalArgumentException.class,
+                () -> resumoService.resumirContas(List.of(contaA, Long.MAX_VALUE)));
+        assertTrue(resumoService.resumirContasDoUsuario(usuarioId + 1).contas().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve servir os totais do cache até a conta ou as metas mudarem")
+    void deveServirDoCacheAteContaOuMetasMudarem() {
+        Long usuarioId = ThreadLocalRandom.current().nextLong(1_000_000L, Long.MAX_VALUE);
+        LocalDate hoje = LocalDate.now();
+        Long contaA = criarConta(usuarioId);
+        Long contaB = criarConta(usuarioId);
+        registrar(contaA, TipoMovimentacao.RECEITA, CategoriaFinanceira.SALARIO, "1000.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        Long metaId = metaService.criarMeta(TestDataBuilder.metaEconomiaDTO().comContaId(contaB).build()).getId();
+        resumoService.resumirContasDoUsuario(usuarioId);
+
+        double banco = contasConsultadas("banco");
+        double cache = contasConsultadas("cache");
+        ResumoContasDTO semAlteracao = resumoService.resumirContasDoUsuario(usuarioId);
+        assertEquals(banco, contasConsultadas("banco"));
+        assertEquals(cache + 2, contasConsultadas("cache"));
+        assertEquals(1, semAlteracao.metasAtivas());
+
+        registrar(contaB, TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO, "250.00", hoje,
+                StatusMovimentacao.CONCLUIDA);
+        ResumoContasDTO aposMovimentacao = resumoService.resumirContasDoUsuario(usuarioId);
+        assertEquals(banco + 1, contasConsultadas("banco"));
+        assertEquals(0, new BigDecimal("250.00").compareTo(aposMovimentacao.despesasMes()));
+        assertEquals(0, new BigDecimal("750.00").compareTo(aposMovimentacao.saldoTotal()));
+
+        metaService.pausarMeta(metaId);
+        ResumoContasDTO aposPausa = resumoService.resumirContasDoUsuario(usuarioId);
+        assertEquals(banco + 3, contasConsultadas("banco"));
+        assertEquals(0, aposPausa.metasAtivas());
+    }
+
+    private double contasConsultadas(String origem) {
+        return meterRegistry.get("assitentefinanceiro_resumo_contas_total").tag("origem", origem).counter().count();
+    }
+
+    private void registrar(Long contaId, TipoMovimentacao tipo, CategoriaFinanceira categoria, String valor,
+            LocalDate data, StatusMovimentacao status) {
+        MovimentacaoFinanceiraDTO dto = TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(tipo)
+                .comCategoria(categoria)
+                .comValor(new BigDecimal(valor))
+                .comDataMovimentacao(data)
+                .comStatus(status)
+                .build();
+        movimentacaoService.registrarMovimentacao(dto);
+    }
+
+    private Long criarConta(Long usuarioId) {
+        DadosConta conta = new DadosConta("Banco Teste", "0001", UUID.randomUUID().toString().substring(0, 12),
+                "Corrente", "Teste Resumo");
+        conta.setUsuarioId(usuarioId);
+        return contaRepository.save(conta).getId();
+    }
+}
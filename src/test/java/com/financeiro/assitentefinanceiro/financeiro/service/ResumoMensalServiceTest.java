@@ -0,0 +1,169 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.ResumoMensal;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconstrucaoResumoMensalDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.CategoriaFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.ResumoMensalRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para o resumo mensal de movimentações")
+class ResumoMensalServiceTest {
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve manter o resumo mensal igual ao agregado das movimentações após cada tipo de escrita")
+    void deveManterResumoIgualAoAgregadoDasMovimentacoes() {
+        Long contaId = criarConta().getId();
+
+        MovimentacaoFinanceira salario = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.RECEITA, CategoriaFinanceira.SALARIO, "5000.00", LocalDate.of(2024, 1, 5)));
+        MovimentacaoFinanceira mercado = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO, "320.45", LocalDate.of(2024, 1, 12)));
+        MovimentacaoFinanceira restaurante = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.DESPESA, CategoriaFinanceira.ALIMENTACAO, "89.90", LocalDate.of(2024, 2, 3)));
+        MovimentacaoFinanceira aluguel = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.DESPESA, CategoriaFinanceira.MORADIA, "1800.00", LocalDate.of(2024, 2, 10)));
+
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            lote.add(dto(contaId, i % 3 == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA,
+                    i % 2 == 0 ? CategoriaFinanceira.ALIMENTACAO : CategoriaFinanceira.TRANSPORTE,
+                    "10.0" + (i % 10), LocalDate.of(2024, 1 + i % 3, 1 + i)));
+        }
+        loteService.registrarLote(lote);
+        assertResumoIgualAoAgregado(contaId);
+
+        movimentacaoService.atualizarMovimentacao(mercado.getId(), dto(contaId,
+                TipoMovimentacao.DESPESA, CategoriaFinanceira.TRANSPORTE, "150.00", LocalDate.of(2024, 3, 1)));
+        movimentacaoService.atualizarMovimentacao(aluguel.getId(), dto(contaId,
+                TipoMovimentacao.DESPESA, CategoriaFinanceira.MORADIA, "1800.00", LocalDate.of(2024, 2, 10)));
+        assertResumoIgualAoAgregado(contaId);
+
+        movimentacaoService.estornarMovimentacao(restaurante.getId());
+        assertResumoIgualAoAgregado(contaId);
+
+        movimentacaoService.excluirMovimentacao(salario.getId());
+        assertResumoIgualAoAgregado(contaId);
+
+        List<ResumoMensal> fevereiro = resumoMensalService.listarPorConta(contaId, YearMonth.of(2024, 2),
+                YearMonth.of(2024, 2));
+        assertFalse(fevereiro.isEmpty());
+        assertTrue(fevereiro.stream().allMatch(resumo -> "2024-02".equals(resumo.getAnoMes())));
+        assertTrue(fevereiro.stream().anyMatch(resumo -> StatusMovimentacao.ESTORNADA.equals(resumo.getStatus())
+                && resumo.getQuantidade() == 1 && resumo.getTotal().compareTo(new BigDecimal("89.90")) == 0));
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o resumo mensal a partir das movimentações existentes")
+    void deveReconstruirResumoAPartirDasMovimentacoes() {
+        Long contaId = criarConta().getId();
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            lote.add(dto(contaId, i % 4 == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA,
+                    i % 2 == 0 ? CategoriaFinanceira.LAZER : CategoriaFinanceira.SAUDE,
+                    "25.5" + (i % 10), LocalDate.of(2023, 1 + i % 12, 1 + i % 28)));
+        }
+        loteService.registrarLote(lote);
+        Map<String, String> esperado = resumo(contaId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> resumoMensalRepository.deleteByContaId(contaId));
+        assertTrue(resumoMensalService.listarPorConta(contaId, null, null).isEmpty());
+
+        ReconstrucaoResumoMensalDTO resultado = resumoMensalService.reconstruirTodos();
+
+        assertTrue(resultado.contasProcessadas() >= 1);
+        assertEquals(esperado, resumo(contaId));
+        assertResumoIgualAoAgregado(contaId);
+    }
+
+    private void assertResumoIgualAoAgregado(Long contaId) {
+        Map<String, BigDecimal> totais = new TreeMap<>();
+        Map<String, Long> quantidades = new TreeMap<>();
+        for (MovimentacaoFinanceira movimentacao : movimentacaoRepository.findByContaId(contaId)) {
+            String chave = chave(YearMonth.from(movimentacao.getDataMovimentacao()).toString(),
+                    movimentacao.getCategoria(), movimentacao.getTipoMovimentacao(), movimentacao.getStatus());
+            totais.merge(chave, movimentacao.getValor(), BigDecimal::add);
+            quantidades.merge(chave, 1L, Long::sum);
+        }
+
+        Map<String, String> esperado = new TreeMap<>();
+        totais.forEach((chave, total) -> esperado.put(chave, quantidades.get(chave) + " " + total.setScale(2)));
+        assertEquals(esperado, resumo(contaId));
+    }
+
+    private Map<String, String> resumo(Long contaId) {
+        Map<String, String> resumo = new TreeMap<>();
+        for (ResumoMensal linha : resumoMensalService.listarPorConta(contaId, null, null)) {
+            resumo.put(chave(linha.getAnoMes(), linha.getCategoria(), linha.getTipoMovimentacao(), linha.getStatus()),
+                    linha.getQuantidade() + " " + linha.getTotal().setScale(2));
+        }
+        return resumo;
+    }
+
+    private static String chave(String anoMes, CategoriaFinanceira categoria, TipoMovimentacao tipo,
+            StatusMovimentacao status) {
+        return anoMes + "|" + categoria + "|" + tipo + "|" + status;
+    }
+
+    private MovimentacaoFinanceiraDTO dto(Long contaId, TipoMovimentacao tipo, CategoriaFinanceira categoria,
+            String valor, LocalDate data) {
+        return TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(tipo)
+                .comCategoria(categoria)
+                .comValor(new BigDecimal(valor))
+                .comDataMovimentacao(data)
+                .build();
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Resumo Mensal"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.cadastro.domain.DadosConta;
+import com.financeiro.assitentefinanceiro.cadastro.reposiitory.DadosContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoCheckpoint;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.MovimentacaoFinanceiraDTO;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.SaldoDiarioDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.SaldoCheckpointRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Testes de integração para checkpoints de saldo")
+class SaldoCheckpointServiceTest {
+
+    @Autowired
+    private SaldoCheckpointService saldoCheckpointService;
+
+    @Autowired
+    private SaldoCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private MovimentacaoFinanceiraService movimentacaoService;
+
+    @Autowired
+    private MovimentacaoLoteService loteService;
+
+    @Autowired
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Autowired
+    private DadosContaRepository contaRepository;
+
+    @Test
+    @DisplayName("Deve responder saldo em data e série diária iguais ao histórico após escritas retroativas")
+    void deveManterCheckpointsConsistentesComEscritasRetroativas() {
+        Long contaId = criarConta().getId();
+        LocalDate inicio = YearMonth.now().minusMonths(14).atDay(1);
+
+        List<MovimentacaoFinanceiraDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            lote.add(dto(contaId, i % 3 == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA,
+                    "1" + (i % 9) + ".25", inicio.plusDays(i * 3L)));
+        }
+        loteService.registrarLote(lote);
+        saldoCheckpointService.fecharMesesEncerrados();
+
+        YearMonth ultimoMesEncerrado = YearMonth.now().minusMonths(1);
+        SaldoCheckpoint ultimo = checkpointRepository.findFirstByContaIdOrderByDataReferenciaDesc(contaId).orElseThrow();
+        assertEquals(ultimoMesEncerrado.atEndOfMonth(), ultimo.getDataReferencia());
+        assertEquals(0, saldoHistorico(contaId, ultimo.getDataReferencia()).compareTo(ultimo.getSaldo()));
+
+        MovimentacaoFinanceira retroativa = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.RECEITA, "900.00", inicio.plusDays(10)));
+        MovimentacaoFinanceira despesa = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.DESPESA, "75.40", inicio.plusMonths(3).plusDays(2)));
+        movimentacaoService.atualizarMovimentacao(despesa.getId(), dto(contaId,
+                TipoMovimentacao.DESPESA, "80.00", inicio.plusMonths(6)));
+        movimentacaoService.estornarMovimentacao(retroativa.getId());
+        MovimentacaoFinanceira excluida = movimentacaoService.registrarMovimentacao(dto(contaId,
+                TipoMovimentacao.RECEITA, "33.33", inicio.plusMonths(8)));
+        movimentacaoService.excluirMovimentacao(excluida.getId());
+        movimentacaoService.registrarMovimentacao(dto(contaId, TipoMovimentacao.RECEITA, "12.00", LocalDate.now()));
+
+        for (LocalDate data = inicio.minusDays(1); !data.isAfter(LocalDate.now()); data = data.plusDays(17)) {
+            assertEquals(0, saldoHistorico(contaId, data).compareTo(saldoCheckpointService.saldoEm(contaId, data)),
+                    "Saldo divergente em " + data);
+        }
+        for (SaldoCheckpoint checkpoint : checkpointRepository.findAll()) {
+            if (checkpoint.getContaId().equals(contaId)) {
+                assertEquals(0, saldoHistorico(contaId, checkpoint.getDataReferencia()).compareTo(checkpoint.getSaldo()),
+                        "Checkpoint divergente em " + checkpoint.getDataReferencia());
+            }
+        }
+
+        LocalDate inicioSerie = inicio.plusMonths(2).plusDays(5);
+        List<SaldoDiarioDTO> serie = saldoCheckpointService.serie(contaId, inicioSerie, inicioSerie.plusDays(200));
+        assertEquals(201, serie.size());
+        for (SaldoDiarioDTO dia : serie) {
+            assertEquals(0, saldoHistorico(contaId, dia.data()).compareTo(dia.saldo()), "Série divergente em " + dia.data());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar série com período invertido ou acima do limite")
+    void deveRejeitarSerieComPeriodoInvalido() {
+        LocalDate hoje = LocalDate.now();
+
+        assertThrows(IllegalArgumentException.class, () -> saldoCheckpointService.serie(1L, hoje, hoje.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> saldoCheckpointService.serie(1L, hoje.minusYears(10), hoje));
+    }
+
+    private BigDecimal saldoHistorico(Long contaId, LocalDate data) {
+        return movimentacaoRepository.findByContaId(contaId).stream()
+                .filter(m -> !m.getDataMovimentacao().isAfter(data))
+                .map(m -> SaldoConta.efeito(m.getTipoMovimentacao(), m.getStatus(), m.getValor()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private MovimentacaoFinanceiraDTO dto(Long contaId, TipoMovimentacao tipo, String valor, LocalDate data) {
+        return TestDataBuilder.movimentacaoFinanceiraDTO()
+                .comContaId(contaId)
+                .comTipoMovimentacao(tipo)
+                .comValor(new BigDecimal(valor))
+                .comDataMovimentacao(data)
+                .comStatus(StatusMovimentacao.CONCLUIDA)
+                .build();
+    }
+
+    private DadosConta criarConta() {
+        return contaRepository.save(new DadosConta("Banco Teste", "0001",
+                UUID.randomUUID().toString().substring(0, 12), "Corrente", "Teste Checkpoint"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.financeiro.assitentefinanceiro.financeiro.service;
+
+import com.financeiro.assitentefinanceiro.financeiro.domain.MovimentacaoFinanceira;
+import com.financeiro.assitentefinanceiro.financeiro.domain.SaldoConta;
+import com.financeiro.assitentefinanceiro.financeiro.domain.dto.ReconciliacaoSaldoDTO;
+import com.financeiro.assitentefinanceiro.financeiro.enums.StatusMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.enums.TipoMovimentacao;
+import com.financeiro.assitentefinanceiro.financeiro.repository.MovimentacaoFinanceiraRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.SaldoAberturaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.repository.SaldoContaRepository;
+import com.financeiro.assitentefinanceiro.financeiro.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes unitários para SaldoContaService")
+class SaldoContaServiceTest {
+
+    @Mock
+    private SaldoContaRepository repository;
+
+    @Mock
+    private MovimentacaoFinanceiraRepository movimentacaoRepository;
+
+    @Mock
+    private SaldoAberturaRepository aberturaRepository;
+
+    @InjectMocks
+    private SaldoContaService service;
+
+    @Test
+    @DisplayName("Deve retornar saldo materializado sem consultar o histórico")
+    void deveRetornarSaldoMaterializadoSemConsultarHistorico() {
+        when(repository.findById(1L)).thenReturn(Optional.of(
+                new SaldoConta(1L, new BigDecimal("10000.00"), new BigDecimal("3000.00"), 10L)));
+
+        BigDecimal saldo = service.obterSaldo(1L);
+
+        assertEquals(new BigDecimal("7000.00"), saldo);
+        verifyNoInteractions(movimentacaoRepository);
+        verify(repository, never()).save(any(SaldoConta.class));
+    }
+
+    @Test
+    @DisplayName("Deve calcular saldo a partir do histórico sem gravar quando não existe registro")
+    void deveCalcularSaldoSemGravarQuandoNaoExisteRegistro() {
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(movimentacaoRepository.sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.RECEITA))
+                .thenReturn(Optional.of(new BigDecimal("5000.00")));
+        when(movimentacaoRepository.sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.DESPESA))
+                .thenReturn(Optional.empty());
+
+        SaldoConta saldoConta = service.obterOuCalcular(1L);
+
+        assertEquals(1L, saldoConta.getContaId());
+        assertEquals(0, new BigDecimal("5000").compareTo(saldoConta.getSaldo()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldoConta.getTotalDespesas()));
+        verify(repository, never()).save(any(SaldoConta.class));
+    }
+
+    @Test
+    @DisplayName("Deve inicializar saldo a partir do histórico ao obter para atualização")
+    void deveInicializarSaldoAoObterParaAtualizacao() {
+        when(repository.findByContaIdParaAtualizacao(1L)).thenReturn(Optional.empty());
+        when(movimentacaoRepository.sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.RECEITA))
+                .thenReturn(Optional.of(new BigDecimal("5000.00")));
+        when(movimentacaoRepository.sumValorByContaIdAndTipoMovimentacao(1L, TipoMovimentacao.DESPESA))
+                .thenReturn(Optional.empty());
+        when(repository.save(any(SaldoConta.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SaldoConta saldoConta = service.obterParaAtualizacao(1L);
+
+        assertEquals(0, new BigDecimal("5000").compareTo(saldoConta.getSaldo()));
+        verify(repository).save(saldoConta);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar e reverter efeito de movimentação concluída")
+    void deveAplicarEReverterMovimentacaoConcluida() {
+        SaldoConta saldoConta = new SaldoConta(1L, new BigDecimal("5000.00"), BigDecimal.ZERO, null);
+        MovimentacaoFinanceira despesa = TestDataBuilder.movimentacaoFinanceira()
+                .comTipoMovimentacao(TipoMovimentacao.DESPESA)
+                .comValor(new BigDecimal("1200.00"))
+                .build();
+
+        service.aplicarMovimentacao(saldoConta, despesa);
+        assertEquals(new BigDecimal("3800.00"), saldoConta.getSaldo());
+        assertEquals(new BigDecimal("1200.00"), saldoConta.getTotalDespesas());
+
+        service.reverterMovimentacao(saldoConta, TipoMovimentacao.DESPESA, StatusMovimentacao.CONCLUIDA,
+                new BigDecimal("1200.00"), null);
+        assertEquals(new BigDecimal("5000.00"), saldoConta.getSaldo());
+        verify(repository, times(2)).save(saldoConta);
+    }
+
+    @Test
+    @DisplayName("Não deve alterar saldo com movimentação pendente")
+    void naoDeveAlterarSaldoComMovimentacaoPendente() {
+        SaldoConta saldoConta = new SaldoConta(1L, new BigDecimal("5000.00"), BigDecimal.ZERO, null);
+        MovimentacaoFinanceira pendente = TestDataBuilder.movimentacaoFinanceira()
+                .comStatus(StatusMovimentacao.PENDENTE)
+                .build();
+
+        service.aplicarMovimentacao(saldoConta, pendente);
+
+        assertEquals(new BigDecimal("5000.00"), saldoConta.getSaldo());
+    }
+
+    @Test
+    @DisplayName("Deve reportar divergência sem corrigir quando solicitado apenas verificação")
+    void deveReportarDivergenciaSemCorrigir() {
+        SaldoConta saldoConta = new SaldoConta(1L, new BigDecimal("5000.00"), BigDecimal.ZERO, 3L);
+        when(movimentacaoRepository.sumValorConcluidoAgrupadoPorContaETipo()).thenReturn(List.of(
+                new Object[] { 1L, TipoMovimentacao.RECEITA, new BigDecimal("5000.00"), 3L },
+                new Object[] { 1L, TipoMovimentacao.DESPESA, new BigDecimal("500.00"), 5L }));
+        when(repository.findAll()).thenReturn(List.of(saldoConta));
+
+        ReconciliacaoSaldoDTO resultado = service.reconciliarSaldos(false);
+
+        assertEquals(1, resultado.contasVerificadas());
+        assertEquals(1, resultado.contasDivergentes());
+        assertFalse(resultado.corrigido());
+        assertEquals(new BigDecimal("4500.00"), resultado.divergencias().get(0).saldoCalculado());
+        assertEquals(new BigDecimal("500.00"), resultado.divergencias().get(0).diferenca());
+        assertEquals(new BigDecimal("5000.00"), saldoConta.getSaldo());
+        verify(repository, never()).save(any(SaldoConta.class));
+    }
+
+    @Test
+    @DisplayName("Deve corrigir divergências e criar saldo para contas sem registro")
+    void deveCorrigirDivergenciasECriarSaldoAusente() {
+        SaldoConta saldoConta = new SaldoConta(1L, new BigDecimal("5000.00"), BigDecimal.ZERO, 3L);
+        when(movimentacaoRepository.sumValorConcluidoAgrupadoPorContaETipo()).thenReturn(List.of(
+                new Object[] { 1L, TipoMovimentacao.RECEITA, new BigDecimal("5000.00"), 3L },
+                new Object[] { 1L, TipoMovimentacao.DESPESA, new BigDecimal("500.00"), 5L },
+                new Object[] { 2L, TipoMovimentacao.RECEITA, new BigDecimal("100.00"), 4L }));
+        when(repository.findAll()).thenReturn(List.of(saldoConta));
+
+        ReconciliacaoSaldoDTO resultado = service.reconciliarSaldos(true);
+
+        assertEquals(2, resultado.contasVerificadas());
+        assertEquals(1, resultado.contasDivergentes());
+        assertTrue(resultado.corrigido());
+        assertEquals(new BigDecimal("4500.00"), saldoConta.getSaldo());
+        assertEquals(5L, saldoConta.getUltimaMovimentacaoId());
+
+        ArgumentCaptor<SaldoConta> captor = ArgumentCaptor.forClass(SaldoConta.class);
+        verify(repository, times(2)).save(captor.capture());
+        SaldoConta criado = captor.getAllValues().get(1);
+        assertEquals(2L, criado.getContaId());
+        assertEquals(new BigDecimal("100.00"), criado.getSaldo());
+    }
+}
@@ -12,6 +12,7 @@ import com.financeiro.assitentefinanceiro.financeiro.enums.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 public class TestDataBuilder {
 
@@ -87,6 +88,11 @@ public class TestDataBuilder {
             return this;
         }
 
+        public MovimentacaoFinanceiraDTOBuilder comObservacoes(String observacoes) {
+            this.observacoes = observacoes;
+            return this;
+        }
+
         public MovimentacaoFinanceiraDTOBuilder comCategoria(CategoriaFinanceira categoria) {
             this.categoria = categoria;
             return this;
@@ -112,6 +118,11 @@ public class TestDataBuilder {
             return this;
         }
 
+        public MovimentacaoFinanceiraDTOBuilder comIdentificadorExterno(String identificadorExterno) {
+            this.identificadorExterno = identificadorExterno;
+            return this;
+        }
+
         public MovimentacaoFinanceiraDTOBuilder comSaldoAnterior(BigDecimal saldoAnterior) {
             this.saldoAnterior = saldoAnterior;
             return this;
@@ -189,6 +200,7 @@ public class TestDataBuilder {
         private String observacoes = "Observação de teste";
         private BigDecimal percentualConcluido = BigDecimal.ZERO;
         private Long contaId = 1L;
+        private Set<CategoriaFinanceira> categoriasVinculadas = null;
 
         public MetaEconomiaDTOBuilder comId(Long id) {
             this.id = id;
@@ -240,10 +252,15 @@ public class TestDataBuilder {
             return this;
         }
 
+        public MetaEconomiaDTOBuilder comCategoriasVinculadas(CategoriaFinanceira... categorias) {
+            this.categoriasVinculadas = Set.of(categorias);
+            return this;
+        }
+
         public MetaEconomiaDTO build() {
             return new MetaEconomiaDTO(
                 id, nome, descricao, tipoMeta, valorMeta, valorAtual, dataInicio, dataFim,
-                status, dataRegistro, observacoes, percentualConcluido, contaId
+                status, dataRegistro, observacoes, percentualConcluido, contaId, categoriasVinculadas
             );
         }
     }
@@ -437,7 +454,7 @@ public class TestDataBuilder {
             return new RelatorioDadosDTO(
                     tituloRelatorio, conta, dataGeracao, movimentacoes,
                     totalReceitas, totalDespesas, saldoLiquido, saldoAtual,
-                    dataInicio, dataFim, tipoMovimentacao
+                    dataInicio, dataFim, tipoMovimentacao, movimentacoes.size(), null, null
             );
         }
     }